@@ -0,0 +1,39 @@
+package codeGen;
+
+import jasmin.ClassFile;
+
+import java.io.*;
+
+/*
+ * Assembles Jasmin code into a class file in memory, using the jasmin library
+ * in this JVM instead of running jasmin.jar on a .j file
+ */
+public class JasminAssembler{
+
+	/*
+	 * Returns the bytes of the class file
+	 * The jasmin library is not thread safe, so only one class is assembled at a time
+	 */
+	public static synchronized byte[] assemble(String code) throws IOException{
+
+		ClassFile classFile = new ClassFile();
+		try{
+			classFile.readJasmin(new StringReader(code), "jmm", false);
+		} catch(IOException exception){
+			throw exception;
+		} catch(Exception exception){
+			throw new IOException(exception.getMessage(), exception);
+		}
+
+		if(classFile.errorCount() > 0)
+			throw new IOException(classFile.errorCount() + " errors assembling class " + classFile.getClassName());
+
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		try{
+			classFile.write(output);
+		} catch(jas.jasError exception){
+			throw new IOException(exception.getMessage(), exception);
+		}
+		return output.toByteArray();
+	}
+}
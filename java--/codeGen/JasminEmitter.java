@@ -0,0 +1,182 @@
+package codeGen;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+
+/*
+ * Growable byte buffer the Jasmin code is written to
+ *
+ * Instructions are written piece by piece (opcode, operands) straight into the buffer, ints are
+ * converted to digits in place, so no String is built per line. The whole buffer is written
+ * with a single FileChannel write at the end, and the buffer can be reset and reused (or shrunk
+ * after a large class, see reset(int)).
+ */
+public class JasminEmitter{
+
+	private byte[] buffer;
+	private int size = 0;
+
+	public JasminEmitter(){
+		this(8192);
+	}
+
+	public JasminEmitter(int capacity){
+		this.buffer = new byte[capacity];
+	}
+
+	public JasminEmitter print(String text){
+
+		int length = text.length();
+		ensureCapacity(length);
+		for(int i = 0; i < length; i++){
+			char c = text.charAt(i);
+			if(c >= 0x80){		// Identifiers are ASCII, anything else is written as UTF-8
+				printUTF8(text.substring(i));
+				return this;
+			}
+			this.buffer[this.size++] = (byte) c;
+		}
+		return this;
+	}
+
+	public JasminEmitter print(char c){
+
+		if(c >= 0x80)
+			return print(String.valueOf(c));
+
+		ensureCapacity(1);
+		this.buffer[this.size++] = (byte) c;
+		return this;
+	}
+
+	/*
+	 * Writes the decimal digits of an int
+	 */
+	public JasminEmitter print(int value){
+
+		if(value == Integer.MIN_VALUE)
+			return print("-2147483648");
+
+		ensureCapacity(11);
+		if(value < 0){
+			this.buffer[this.size++] = '-';
+			value = -value;
+		}
+
+		int end = this.size + digits(value);
+		int position = end;
+		do{
+			this.buffer[--position] = (byte) ('0' + value % 10);
+			value /= 10;
+		} while(value != 0);
+
+		this.size = end;
+		return this;
+	}
+
+	public JasminEmitter println(){
+		return print('\n');
+	}
+
+	public JasminEmitter println(String text){
+		return print(text).print('\n');
+	}
+
+	public JasminEmitter println(int value){
+		return print(value).print('\n');
+	}
+
+	/*
+	 * Appends the content of another emitter
+	 */
+	public JasminEmitter print(JasminEmitter emitter){
+
+		ensureCapacity(emitter.size);
+		System.arraycopy(emitter.buffer, 0, this.buffer, this.size, emitter.size);
+		this.size += emitter.size;
+		return this;
+	}
+
+	public int size(){
+		return this.size;
+	}
+
+	/*
+	 * Empties the buffer, keeping its capacity
+	 */
+	public void reset(){
+		this.size = 0;
+	}
+
+	/*
+	 * Empties the buffer, and gives its memory back if it grew larger than capacity
+	 */
+	public void reset(int capacity){
+
+		this.size = 0;
+		if(this.buffer.length > capacity)
+			this.buffer = new byte[capacity];
+	}
+
+	/*
+	 * Writes the buffer to a file with a single FileChannel write
+	 */
+	public void writeTo(String output_file) throws IOException{
+
+		Path path = Paths.get(output_file);
+		if(path.getParent() != null)
+			Files.createDirectories(path.getParent());
+
+		try(FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)){
+			ByteBuffer bytes = ByteBuffer.wrap(this.buffer, 0, this.size);
+			while(bytes.hasRemaining()){
+				channel.write(bytes);
+			}
+		}
+	}
+
+	public void writeTo(Writer writer) throws IOException{
+		writer.write(toString());
+	}
+
+	public void writeTo(OutputStream output) throws IOException{
+		output.write(this.buffer, 0, this.size);
+	}
+
+	@Override
+	public String toString(){
+		return new String(this.buffer, 0, this.size, StandardCharsets.UTF_8);
+	}
+
+	private void printUTF8(String text){
+
+		byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+		ensureCapacity(bytes.length);
+		System.arraycopy(bytes, 0, this.buffer, this.size, bytes.length);
+		this.size += bytes.length;
+	}
+
+	private void ensureCapacity(int extra){
+
+		if(this.size + extra <= this.buffer.length)
+			return;
+
+		int capacity = Math.max(this.buffer.length * 2, this.size + extra);
+		byte[] buffer = new byte[capacity];
+		System.arraycopy(this.buffer, 0, buffer, 0, this.size);
+		this.buffer = buffer;
+	}
+
+	private static int digits(int value){
+
+		int digits = 1;
+		while(value >= 10){
+			value /= 10;
+			digits++;
+		}
+		return digits;
+	}
+}
@@ -2,17 +2,32 @@ package codeGen;
 
 import symbol.*;
 import parser.*;
+import static parser.ParserTreeConstants.*;
 
 import java.io.*;
 import java.util.*;
+import java.util.stream.IntStream;
 
 public class JasminGenerator{
 
 	private ClassSymbolTable symbolTable;
 	private SimpleNode rootNode;
 
-	private PrintWriter printWriter;
+	// Every thread reuses the buffer of its emitter between classes
+	private static final ThreadLocal<JasminEmitter> emitters = ThreadLocal.withInitial(JasminEmitter::new);
 
+	// Largest buffer an emitter keeps once its code is written, a larger one is dropped so a thread does not hold the size of its largest class
+	private static final int RETAINED_CAPACITY = 1 << 20;
+
+	// Classes with fewer methods are generated in the calling thread
+	private static final int PARALLEL_THRESHOLD = 8;
+
+	private JasminEmitter emitter;
+
+	// Output of a class generated one method at a time
+	private OutputStream output;
+
+	// Labels are numbered per method, so methods can be generated independently
 	private int labelCounter = 0;
 
 	/*
@@ -23,14 +38,103 @@ public class JasminGenerator{
 		this.symbolTable = symbolTable;
 		this.rootNode = (SimpleNode) rootNode.jjtGetChild(0);
 
+		generate();
 		createFile(output_file);
+	}
+
+	/*
+	 * Generator of a single method, writing to its own emitter with its own labels
+	 */
+	private JasminGenerator(JasminGenerator parent, JasminEmitter emitter){
+
+		this.symbolTable = parent.symbolTable;
+		this.rootNode = parent.rootNode;
+		this.emitter = emitter;
+	}
+
+	/*
+	 * Writes the Jasmin code to a writer instead of a .j file
+	 */
+	public JasminGenerator(ClassSymbolTable symbolTable, SimpleNode rootNode, Writer writer){
+
+		this.symbolTable = symbolTable;
+		this.rootNode = (SimpleNode) rootNode.jjtGetChild(0);
+
+		generate();
+		try{
+			this.emitter.writeTo(writer);
+			writer.flush();
+		} catch(IOException exception){
+
+			exception.printStackTrace();
+		} finally{
+			this.emitter.reset(RETAINED_CAPACITY);
+		}
+	}
+
+	/*
+	 * Generator writing a class to an output stream one method at a time
+	 *
+	 * The header, the fields and <init> are written from the symbol table, then every call of
+	 * generateMethod writes one more method, so the tree of the whole class is never needed
+	 */
+	public JasminGenerator(ClassSymbolTable symbolTable, OutputStream output) throws IOException{
+
+		this(symbolTable, output, emitters.get());
+	}
+
+	/*
+	 * Same, writing through an emitter of the caller instead of the one of the thread, for a generator
+	 * that is kept between calls and may be called from another thread
+	 */
+	public JasminGenerator(ClassSymbolTable symbolTable, OutputStream output, JasminEmitter emitter) throws IOException{
+
+		this.symbolTable = symbolTable;
+		this.output = output;
+		this.emitter = emitter;
+		this.emitter.reset();
+
+		createFileHeader();
+		manageFields();
+		manageInit();
+		this.emitter.println("\n; methods");
+		this.emitter.writeTo(output);
+		this.emitter.reset(RETAINED_CAPACITY);
+	}
+
+	/*
+	 * Writes the next method of the class to the output stream
+	 *
+	 * The local variables of the method are not needed once it is written and are dropped
+	 * from its symbol table, so the symbols kept for the whole class are only the signatures
+	 */
+	public void generateMethod(SimpleNode method) throws IOException{
+
+		generateMethod(method, this.output);
+	}
+
+	/*
+	 * Writes a method to another output stream, so the code of each method can be kept apart and replaced
+	 */
+	public void generateMethod(SimpleNode method, OutputStream output) throws IOException{
+
+		this.emitter.reset();
+		this.labelCounter = 0;
+		manageMethod(method);
+		this.emitter.writeTo(output);
+		this.emitter.reset(RETAINED_CAPACITY);
+		getMethodSymbolTable(method).clearLocalVariables();
+	}
+
+	private void generate(){
+
+		this.emitter = emitters.get();
+		this.emitter.reset();
 
 		createFileHeader();			// .class .super
 		manageFields();				// Global Variables
 		manageInit();
 		manageMethods();			// Methods
-
-		this.printWriter.close();
 	}
 
 	/*
@@ -39,18 +143,13 @@ public class JasminGenerator{
 	private void createFile(String output_file){
 
 		try{
-			File file = new File(output_file);
-
-			if(!file.exists())
-			    try {
-                    file.getParentFile().mkdir();
-                } catch (Exception e) {}
-
-			this.printWriter = new PrintWriter(file);
+			this.emitter.writeTo(output_file);
 
 		} catch(IOException exception){
 
 			exception.printStackTrace();
+		} finally{
+			this.emitter.reset(RETAINED_CAPACITY);
 		}
 	}
 
@@ -59,11 +158,11 @@ public class JasminGenerator{
 	 */
 	private void createFileHeader(){
 
-		this.printWriter.println(".class public " + symbolTable.getClassName());
+		this.emitter.print(".class public ").println(symbolTable.getClassName());
 		if(symbolTable.itExtends()) 
-			this.printWriter.println(".super " + symbolTable.getExtendedClassName());
+			this.emitter.print(".super ").println(symbolTable.getExtendedClassName());
 		else
-			this.printWriter.println(".super java/lang/Object\n");
+			this.emitter.println(".super java/lang/Object\n");
 	}
 
 	/*
@@ -76,11 +175,7 @@ public class JasminGenerator{
 		Map<String, Symbol> map = symbolTable.getGlobal_variables();
 		map.forEach((key, value) -> {
 
-			String str = ".field ";
-			str += "'" + key + "' ";
-			str += value.getTypeDescriptor();
-
-			this.printWriter.println(str);
+			this.emitter.print(".field '").print(key).print("' ").println(value.getTypeDescriptor());
 		});
 	}
 
@@ -89,27 +184,40 @@ public class JasminGenerator{
 	 */
 	private void manageInit(){
 
-		this.printWriter.println("\n.method public <init>()V");
-		this.printWriter.println("\taload_0");
+		this.emitter.println("\n.method public <init>()V");
+		this.emitter.println("\taload_0");
 		if(symbolTable.itExtends()) 
-			this.printWriter.println("\tinvokenonvirtual " + symbolTable.getExtendedClassName() + "/<init>()V");
+			this.emitter.print("\tinvokenonvirtual ").print(symbolTable.getExtendedClassName()).println("/<init>()V");
 		else
-			this.printWriter.println("\tinvokenonvirtual java/lang/Object/<init>()V");
-		this.printWriter.println("\treturn");
-		this.printWriter.println(".end method\n");
+			this.emitter.println("\tinvokenonvirtual java/lang/Object/<init>()V");
+		this.emitter.println("\treturn");
+		this.emitter.println(".end method\n");
 	}
 
 	/*
 	 * Iterates through every method to create the code for each one
+	 *
+	 * Every method is generated into its own buffer, in parallel for larger classes,
+	 * and the buffers are appended in declaration order, so the output is always the same
 	 */
 	private void manageMethods(){
 
-		this.printWriter.println("\n; methods");
+		this.emitter.println("\n; methods");
 
 		SimpleNode methodsNode = (SimpleNode) this.rootNode.jjtGetChild(this.rootNode.jjtGetNumChildren() - 1);
-		for(int i = 0; i < methodsNode.jjtGetNumChildren(); i++){
+		JasminEmitter[] methods = new JasminEmitter[methodsNode.jjtGetNumChildren()];
+
+		IntStream indexes = IntStream.range(0, methods.length);
+		if(methods.length >= PARALLEL_THRESHOLD)
+			indexes = indexes.parallel();
+
+		indexes.forEach(i -> {
+			methods[i] = new JasminEmitter(1024);
+			new JasminGenerator(this, methods[i]).manageMethod((SimpleNode) methodsNode.jjtGetChild(i));
+		});
 
-			manageMethod((SimpleNode) methodsNode.jjtGetChild(i));
+		for(JasminEmitter method : methods){
+			this.emitter.print(method);
 		}
 	}
 
@@ -122,22 +230,21 @@ public class JasminGenerator{
 	 */
 	private void manageMethod(SimpleNode method){
 
-		if(!(method instanceof ASTMETHOD)){		// Main
+		FunctionSymbolTable fst = getMethodSymbolTable(method);
+
+		if(method.getId() != JJTMETHOD){		// Main
 			
 			String methodName = "main";
-			int numberArgs = 1;
-			FunctionSymbolTable fst = this.symbolTable.getFunction(methodName, numberArgs);
 			
 			manageMethodHeader(methodName, fst);
 			manageMethodLimits(fst);
 			manageMethodBody((SimpleNode) method.jjtGetChild(1), fst, 1);
-			this.printWriter.println("\treturn\n");
+			this.emitter.println("\treturn\n");
 		}
 		else{
 
 			String methodName = ((SimpleNode) method.jjtGetChild(1)).getName();
 			int numberArgs = method.jjtGetChild(2).jjtGetNumChildren();
-			FunctionSymbolTable fst = this.symbolTable.getFunction(methodName, numberArgs);
 
 			manageMethodHeader(methodName, fst);
 			manageMethodLimits(fst);
@@ -145,7 +252,14 @@ public class JasminGenerator{
 			manageMethodReturn((SimpleNode) method.jjtGetChild(4), fst, method.jjtGetChild(2).jjtGetNumChildren());
 		}
 
-		this.printWriter.println(".end method");
+		this.emitter.println(".end method");
+	}
+
+	/*
+	 * The symbol table of a method, resolved by the semantic analysis
+	 */
+	private FunctionSymbolTable getMethodSymbolTable(SimpleNode method){
+		return method.function;
 	}
 
 	/*
@@ -155,26 +269,22 @@ public class JasminGenerator{
 	 */
 	private void manageMethodHeader(String methodName, FunctionSymbolTable fst){
 
-		String str = "\n.method public ";
+		this.emitter.print("\n.method public ");
 
 		if(methodName.equals("main")){
-			str += "static ";
+			this.emitter.print("static ");
 		}
 
-		str += methodName;
-		str += getParametersInformation(fst);
+		this.emitter.print(methodName);
+		writeParametersInformation(fst);
 
 		if(fst.getReturnSymbol() == null)
-			str += "V";
+			this.emitter.print("V");
 		else{
-			str += fst.getReturnSymbol().getTypeDescriptor();
-			String type = fst.getReturnSymbol().getTypeString();
-			if(!(type == "int" || type == "boolean" || type == "int[]")){
-				str += ";";
-			}
+			this.emitter.print(fst.getReturnSymbol().getTypeDescriptor());
 		}
 
-		this.printWriter.println(str);		// Contains .method <access-spec> <method-spec>
+		this.emitter.println();		// Contains .method <access-spec> <method-spec>
 	}
 
 	/*
@@ -186,8 +296,8 @@ public class JasminGenerator{
 	private void manageMethodLimits(FunctionSymbolTable fst){
 
 		int size = fst.getParameters().size() + fst.getLocalVariables().size() + 1;
-		this.printWriter.println("\n\t.limit locals " + size);
-		this.printWriter.println("\t.limit stack " + 999 + "\n");
+		this.emitter.print("\n\t.limit locals ").println(size);
+		this.emitter.print("\t.limit stack ").print(999).println("\n");
 	}
 
 	/*
@@ -199,49 +309,60 @@ public class JasminGenerator{
 
 		for(int i = 0; i < body.jjtGetNumChildren(); i++){
 
-			if(body.jjtGetChild(i) instanceof ASTASSIGN){
+			SimpleNode statement = (SimpleNode) body.jjtGetChild(i);
 
-				manageASSIGN((SimpleNode) body.jjtGetChild(i), fst, num_parameters);
-			}
-			else if(body.jjtGetChild(i) instanceof ASTASSIGN_ARRAY){
+			switch(statement.getId()){
+				case JJTASSIGN:
+					manageASSIGN(statement, fst, num_parameters);
+					break;
 
-				manageASSIGN_ARRAY((SimpleNode) body.jjtGetChild(i), fst, num_parameters);
-			}
-			else if(body.jjtGetChild(i) instanceof ASTCALL_FUNCTION){
-				manageCALL_FUNCTION((SimpleNode) body.jjtGetChild(i), fst, "V", num_parameters);
-				SimpleNode lhs = (SimpleNode) body.jjtGetChild(i).jjtGetChild(0);
-				String rhs = ((SimpleNode) body.jjtGetChild(i).jjtGetChild(1)).getName();
-				int numberArgs = ((SimpleNode) body.jjtGetChild(i).jjtGetChild(2)).jjtGetNumChildren();
+				case JJTASSIGN_ARRAY:
+					manageASSIGN_ARRAY(statement, fst, num_parameters);
+					break;
 
-				if(lhs instanceof ASTTHIS || lhs instanceof ASTNEW_CLASS) {
+				case JJTCALL_FUNCTION:
+					manageCALL_FUNCTION(statement, fst, "V", num_parameters);
+					manageDiscardedReturn(statement, fst);
+					break;
 
-					if(this.symbolTable.getFunction(rhs, numberArgs).getReturnSymbol().getTypeDescriptor() != "V") {
-						this.printWriter.println("\tpop\n");
-					}
-				}
-				else if(lhs instanceof ASTIDENTIFIER){
-
-					String lhsName = lhs.getName();
-					if(isGlobal(lhsName) || isLocal(lhsName, fst)){
-						try {
-							if(this.symbolTable.getFunction(rhs, numberArgs).getReturnSymbol().getTypeDescriptor() != "V")
-								this.printWriter.println("\tpop\n");
-						} catch (Exception e) {}
-					}
-				}
-			}
-			else if(body.jjtGetChild(i) instanceof ASTIF_ELSE_STATEMENT){
+				case JJTIF_ELSE_STATEMENT:
+					manageIF_ELSE(statement, fst, num_parameters);
+					break;
 
-				manageIF_ELSE((SimpleNode) body.jjtGetChild(i), fst, num_parameters);
-			} 
-			else if(body.jjtGetChild(i) instanceof ASTNEW_CLASS){
+				case JJTNEW_CLASS:
+					manageNEW_CLASS(statement, fst, true);
+					break;
 
-				manageNEW_CLASS((SimpleNode) body.jjtGetChild(i), fst, true);
+				case JJTWHILE:
+					manageWHILE(statement, fst, num_parameters);
+					break;
 			}
-			else if(body.jjtGetChild(i) instanceof ASTWHILE){
+		}
+	}
 
-				manageWHILE((SimpleNode) body.jjtGetChild(i), fst, num_parameters);
-			}
+	/*
+	 * Pops the value returned by a call used as a statement
+	 */
+	private void manageDiscardedReturn(SimpleNode call, FunctionSymbolTable fst){
+
+		SimpleNode lhs = (SimpleNode) call.jjtGetChild(0);
+
+		switch(lhs.getId()){
+			case JJTTHIS:
+			case JJTNEW_CLASS:
+				if(call.function.getReturnSymbol().getTypeDescriptor() != "V") {
+					this.emitter.println("\tpop\n");
+				}
+				break;
+
+			case JJTIDENTIFIER:
+				if(lhs.symbol != null){
+					try {
+						if(call.function.getReturnSymbol().getTypeDescriptor() != "V")
+							this.emitter.println("\tpop\n");
+					} catch (Exception e) {}
+				}
+				break;
 		}
 	}
 
@@ -253,55 +374,59 @@ public class JasminGenerator{
 
 		SimpleNode ret = (SimpleNode) returnAux.jjtGetChild(0);
 
-		if(ret instanceof ASTIDENTIFIER){
-
-			writeIDENTIFIER(ret, fst);
-
-			String type;
-			if(isLocal(ret.getName(), fst))
-				type = getLocalType(ret, fst);
-			else
-				type = getGlobalType(ret);
-
-			if(type.equals("int") || type.equals("boolean"))
-				this.printWriter.println("\tireturn\n");
-			else
-				this.printWriter.println("\tareturn\n");
-		}
-		else if(ret instanceof ASTINT){
-			
-			int value = Integer.parseInt(ret.getValueInt());
-			writeINT(value);
-			this.printWriter.println("\tireturn\n");
-		}
-		else if(ret instanceof ASTTRUE || ret instanceof ASTFALSE){
-			
-			String value = ret.getValueBoolean();
-			writeBOOLEAN(value);
-
-			this.printWriter.println("\tireturn\n");
-		}
-		else if(ret instanceof ASTCALL_FUNCTION){
+		switch(ret.getId()){
+			case JJTIDENTIFIER:
+				writeIDENTIFIER(ret, fst);
 
-			manageCALL_FUNCTION(ret, fst, fst.getReturnSymbol().getTypeDescriptor(), num_parameters);
-			this.printWriter.println("\tireturn\n");
-		}
-		else if(ret instanceof ASTADD || ret instanceof ASTSUB || 
-			ret instanceof ASTDIV || ret instanceof ASTMUL ||
-			ret instanceof ASTAND || ret instanceof ASTLT ||
-			ret instanceof ASTNOT){
-
-			manageArithmeticExpression(ret, fst, num_parameters);
-			this.printWriter.println("\tireturn\n");
-		}
-		else if(ret instanceof ASTACCESS_ARRAY){
-			
-			manageArithmeticExpression(ret, fst, num_parameters);
-			this.printWriter.println("\tireturn\n");
-		}
-		else{	// No return
-
-			this.printWriter.println("\treturn");
+				if(ret.symbol.isIntValue())
+					this.emitter.println("\tireturn\n");
+				else
+					this.emitter.println("\tareturn\n");
+				break;
+
+			case JJTINT:
+				writeINT(Integer.parseInt(ret.getValueInt()));
+				this.emitter.println("\tireturn\n");
+				break;
+
+			case JJTTRUE:
+			case JJTFALSE:
+				writeBOOLEAN(ret.getValueBoolean());
+				this.emitter.println("\tireturn\n");
+				break;
+
+			case JJTCALL_FUNCTION:
+				manageCALL_FUNCTION(ret, fst, fst.getReturnSymbol().getTypeDescriptor(), num_parameters);
+				if(fst.getReturnSymbol().isIntValue())
+					this.emitter.println("\tireturn\n");
+				else
+					this.emitter.println("\tareturn\n");
+				break;
+
+			case JJTTHIS:
+				this.emitter.println("\taload_0");
+				this.emitter.println("\tareturn\n");
+				break;
+
+			case JJTNEW_CLASS:
+				manageNEW_CLASS(ret, fst, false);
+				this.emitter.println("\tareturn\n");
+				break;
+
+			case JJTADD:
+			case JJTSUB:
+			case JJTDIV:
+			case JJTMUL:
+			case JJTAND:
+			case JJTLT:
+			case JJTNOT:
+			case JJTACCESS_ARRAY:
+				manageArithmeticExpression(ret, fst, num_parameters);
+				this.emitter.println("\tireturn\n");
+				break;
+
+			default:	// No return
+				this.emitter.println("\treturn");
 		}
 	}
 
@@ -310,9 +435,9 @@ public class JasminGenerator{
 	 */
 	private void manageASSIGN(SimpleNode node, FunctionSymbolTable fst, int num_parameters){
 
-		String name = ((SimpleNode) node.jjtGetChild(0)).getName();
+		SimpleNode lhs = (SimpleNode) node.jjtGetChild(0);
 
-		if(isLocal(name, fst))
+		if(isLocal(lhs))
 			manageParamLocalASSIGN(node, fst, num_parameters);
 		else
 			manageGlobalASSIGN(node, fst, num_parameters);
@@ -320,9 +445,9 @@ public class JasminGenerator{
 
 	private void manageASSIGN_ARRAY(SimpleNode node, FunctionSymbolTable fst, int num_parameters){
 
-		String name = ((SimpleNode) node.jjtGetChild(0).jjtGetChild(0)).getName();
+		SimpleNode lhs = (SimpleNode) node.jjtGetChild(0).jjtGetChild(0);
 
-		if(isLocal(name, fst)){
+		if(isLocal(lhs)){
 			manageParamLocalASSIGN_ARRAY(node, fst, num_parameters);			
 		}
 		else{
@@ -341,17 +466,17 @@ public class JasminGenerator{
 
 		SimpleNode rhs = ((SimpleNode) node.jjtGetChild(1));
 
-		this.printWriter.println("\taload_0");
+		this.emitter.println("\taload_0");
 		writeGetfield(lhs_ident);
 		manageArithmeticExpressionAux(lhs_type, fst, "I", num_parameters);
 
-		if(rhs instanceof ASTLENGTH){
+		if(rhs.getId() == JJTLENGTH){
 			manageLENGTH(rhs, fst);
 		}
 		else{
 			manageArithmeticExpressionAux(rhs, fst, "I", num_parameters);
 		}
-		this.printWriter.println("\tiastore\n");
+		this.emitter.println("\tiastore\n");
 	}
 
 	/*
@@ -363,8 +488,6 @@ public class JasminGenerator{
 
 		//AST_IDENTIFIER
 		SimpleNode lhs_1 = ((SimpleNode) lhs.jjtGetChild(0));
-		String lhsName = lhs_1.getName();
-		int index = getNodeIndex(lhsName, fst);
 
 		//AST_INT
 		SimpleNode lhs_2 = ((SimpleNode) lhs.jjtGetChild(1));
@@ -375,45 +498,50 @@ public class JasminGenerator{
 		writeIDENTIFIER(lhs_1, fst);
 		manageArithmeticExpressionAux(lhs_2, fst, "I", num_parameters);
 
-		if(rhs instanceof ASTINT){
-			int value = Integer.parseInt(rhs.getValueInt());
-			writeINT(value);
-			this.printWriter.println("\tiastore " + "\n");
-		}
-		else if(rhs instanceof ASTIDENTIFIER){
-			writeIDENTIFIER(rhs, fst);
-			this.printWriter.println("\tiastore " + "\n");
-		}
-		else if(rhs instanceof ASTCALL_FUNCTION){
-			manageCALL_FUNCTION(rhs, fst, "I", num_parameters);
-			this.printWriter.println("\tiastore" + "\n");
-		}
-		else if(rhs instanceof ASTADD || rhs instanceof ASTSUB || 
-			rhs instanceof ASTDIV || rhs instanceof ASTMUL){
-
-			manageArithmeticExpression(rhs, fst, num_parameters);
-			this.printWriter.println("\tiastore " + "\n");
-		}
-		else if(rhs instanceof ASTACCESS_ARRAY){
-			SimpleNode ident = (SimpleNode) rhs.jjtGetChild(0);
-			String identName = ident.getName();
-
-			if(isLocal(identName, fst)){
-				writeIDENTIFIER(ident, fst);
-				manageArithmeticExpressionAux((SimpleNode) rhs.jjtGetChild(1), fst, "I", num_parameters);
-				this.printWriter.println("\tiaload");
-			}
-			else{
-				this.printWriter.println("\taload_0");
-				writeGetfield(ident);
-				manageArithmeticExpressionAux((SimpleNode) rhs.jjtGetChild(1), fst, "I", num_parameters);
-				this.printWriter.println("\tiaload");
+		switch(rhs.getId()){
+			case JJTINT:
+				writeINT(Integer.parseInt(rhs.getValueInt()));
+				this.emitter.println("\tiastore \n");
+				break;
+
+			case JJTIDENTIFIER:
+				writeIDENTIFIER(rhs, fst);
+				this.emitter.println("\tiastore \n");
+				break;
+
+			case JJTCALL_FUNCTION:
+				manageCALL_FUNCTION(rhs, fst, "I", num_parameters);
+				this.emitter.println("\tiastore\n");
+				break;
+
+			case JJTADD:
+			case JJTSUB:
+			case JJTDIV:
+			case JJTMUL:
+				manageArithmeticExpression(rhs, fst, num_parameters);
+				this.emitter.println("\tiastore \n");
+				break;
+
+			case JJTACCESS_ARRAY: {
+				SimpleNode ident = (SimpleNode) rhs.jjtGetChild(0);
+				if(isLocal(ident)){
+					writeIDENTIFIER(ident, fst);
+					manageArithmeticExpressionAux((SimpleNode) rhs.jjtGetChild(1), fst, "I", num_parameters);
+					this.emitter.println("\tiaload");
+				}
+				else{
+					this.emitter.println("\taload_0");
+					writeGetfield(ident);
+					manageArithmeticExpressionAux((SimpleNode) rhs.jjtGetChild(1), fst, "I", num_parameters);
+					this.emitter.println("\tiaload");
+				}
+				this.emitter.println("\tiastore \n");
+				break;
 			}
-			this.printWriter.println("\tiastore " + "\n");
-		}
-		else if(rhs instanceof ASTLENGTH){
-			manageLENGTH(rhs, fst);
-			this.printWriter.println("\tiastore " + "\n");
+			case JJTLENGTH:
+				manageLENGTH(rhs, fst);
+				this.emitter.println("\tiastore \n");
+				break;
 		}
 	}
 
@@ -423,79 +551,69 @@ public class JasminGenerator{
 	private void manageParamLocalASSIGN(SimpleNode node, FunctionSymbolTable fst, int num_parameters){
 
 		SimpleNode lhs = ((SimpleNode) node.jjtGetChild(0));
-		String lhsName = lhs.getName();
 		SimpleNode rhs = ((SimpleNode) node.jjtGetChild(1));
 
-		int index = getNodeIndex(lhsName, fst);
-
-		if(rhs instanceof ASTINT){
-
-			int value = Integer.parseInt(rhs.getValueInt());
-			writeINT(value);
-			this.printWriter.println("\tistore " + Integer.toString(index) + "\n");
-		}
-		else if(rhs instanceof ASTTRUE || rhs instanceof ASTFALSE){
-
-			writeBOOLEAN(rhs.getValueBoolean());
-			this.printWriter.println("\tistore " + Integer.toString(index) + "\n");
-		}
-		else if(rhs instanceof ASTIDENTIFIER){
-
-			writeIDENTIFIER(rhs ,fst);
-			String type = getLocalType(lhs, fst);
-			if(type.equals("int") || type.equals("boolean"))
-				this.printWriter.println("\tistore " + Integer.toString(index) + "\n");
-			else
-				this.printWriter.println("\tastore " + Integer.toString(index) + "\n");
-		}
-		else if(rhs instanceof ASTCALL_FUNCTION){
-			String type = getLocalDescriptor(lhs, fst);
-			manageCALL_FUNCTION(rhs, fst, type, num_parameters);
-			if(type.equals("[I"))
-				this.printWriter.println("\tastore " + Integer.toString(index) + "\n");
-			else
-				this.printWriter.println("\tistore " + Integer.toString(index) + "\n");
-		}
-		else if(rhs instanceof ASTNEW_CLASS){
-			manageNEW_CLASS(rhs, fst, false);
-			this.printWriter.println("\tastore " + Integer.toString(index) + "\n");
-		}
-		else if(rhs instanceof ASTADD || rhs instanceof ASTSUB || 
-			rhs instanceof ASTDIV || rhs instanceof ASTMUL ||
-			rhs instanceof ASTAND || rhs instanceof ASTLT ||
-			rhs instanceof ASTNOT){
-
-			manageArithmeticExpression(rhs, fst, num_parameters);
-			this.printWriter.println("\tistore " + Integer.toString(index) + "\n");
-		}
-		else if(rhs instanceof ASTNEW_INT_ARRAY){
-
-			SimpleNode size = ((SimpleNode) rhs.jjtGetChild(0));
+		int index = lhs.symbol.getIndex();
 
-			manageArithmeticExpressionAux(size, fst, "I", num_parameters);
-			this.printWriter.println("\tnewarray int");
-			this.printWriter.println("\tastore " + Integer.toString(index) + "\n");
-		}
-		else if(rhs instanceof ASTACCESS_ARRAY){
+		switch(rhs.getId()){
+			case JJTINT:
+				writeINT(Integer.parseInt(rhs.getValueInt()));
+				this.emitter.print("\tistore ").print(index).println("\n");
+				break;
 
-			SimpleNode ident = (SimpleNode) rhs.jjtGetChild(0);
-			String identName = ident.getName();
+			case JJTTRUE:
+			case JJTFALSE:
+				writeBOOLEAN(rhs.getValueBoolean());
+				this.emitter.print("\tistore ").print(index).println("\n");
+				break;
 
-			if(isLocal(identName, fst)){
-				writeIDENTIFIER(ident, fst);
-				manageArithmeticExpressionAux((SimpleNode) rhs.jjtGetChild(1), fst, "I", num_parameters);
-				this.printWriter.println("\tiaload");
+			case JJTIDENTIFIER: {
+				writeIDENTIFIER(rhs ,fst);
+				if(lhs.symbol.isIntValue())
+					this.emitter.print("\tistore ").print(index).println("\n");
+				else
+					this.emitter.print("\tastore ").print(index).println("\n");
+				break;
 			}
-			else{
-				this.printWriter.println("\taload_0");
-				writeGetfield(ident);
-				manageArithmeticExpressionAux((SimpleNode) rhs.jjtGetChild(1), fst, "I", num_parameters);
-				this.printWriter.println("\tiaload");
+			case JJTCALL_FUNCTION: {
+				manageCALL_FUNCTION(rhs, fst, lhs.symbol.getTypeDescriptor(), num_parameters);
+				if(lhs.symbol.isIntValue())
+					this.emitter.print("\tistore ").print(index).println("\n");
+				else
+					this.emitter.print("\tastore ").print(index).println("\n");
+				break;
 			}
-			this.printWriter.println("\tistore " + Integer.toString(index) + "\n");
-		} else if(rhs instanceof ASTLENGTH){
-			manageLENGTH(rhs, fst);
-			this.printWriter.println("\tistore " + Integer.toString(index) + "\n");
+			case JJTNEW_CLASS:
+				manageNEW_CLASS(rhs, fst, false);
+				this.emitter.print("\tastore ").print(index).println("\n");
+				break;
+
+			case JJTADD:
+			case JJTSUB:
+			case JJTDIV:
+			case JJTMUL:
+			case JJTAND:
+			case JJTLT:
+			case JJTNOT:
+				manageArithmeticExpression(rhs, fst, num_parameters);
+				this.emitter.print("\tistore ").print(index).println("\n");
+				break;
+
+			case JJTNEW_INT_ARRAY:
+				manageArithmeticExpressionAux((SimpleNode) rhs.jjtGetChild(0), fst, "I", num_parameters);
+				this.emitter.println("\tnewarray int");
+				this.emitter.print("\tastore ").print(index).println("\n");
+				break;
+
+			case JJTACCESS_ARRAY:
+				manageACCESS_ARRAY(rhs, fst, num_parameters);
+				this.emitter.print("\tistore ").print(index).println("\n");
+				break;
+
+			case JJTLENGTH:
+				manageLENGTH(rhs, fst);
+				this.emitter.print("\tistore ").print(index).println("\n");
+				break;
 		}
 	}
 
@@ -507,85 +625,86 @@ public class JasminGenerator{
 		SimpleNode lhs = ((SimpleNode) node.jjtGetChild(0));
 		SimpleNode rhs = ((SimpleNode) node.jjtGetChild(1));
 
-		this.printWriter.println("\taload_0");
-		
-		if(rhs instanceof ASTINT){
+		this.emitter.println("\taload_0");
 
-			int value = Integer.parseInt(rhs.getValueInt());
-			writeINT(value);
-			writePutfield(lhs);
-		}
-		else if(rhs instanceof ASTTRUE || rhs instanceof ASTFALSE){
+		switch(rhs.getId()){
+			case JJTINT:
+				writeINT(Integer.parseInt(rhs.getValueInt()));
+				writePutfield(lhs);
+				break;
 
-			writeBOOLEAN(rhs.getValueBoolean());
-			writePutfield(lhs);
-		}
-		else if(rhs instanceof ASTIDENTIFIER){
+			case JJTTRUE:
+			case JJTFALSE:
+				writeBOOLEAN(rhs.getValueBoolean());
+				writePutfield(lhs);
+				break;
 
-			String rhsName = rhs.getName(); 
-			if(isLocal(rhsName, fst)){
-				int index2 = getNodeIndex(rhsName, fst);
+			case JJTIDENTIFIER:
+				if(isLocal(rhs)){
+					int index2 = rhs.symbol.getIndex();
 
-				String type = getLocalType(rhs, fst);
-				if(type.equals("int") || type.equals("boolean"))
-					this.printWriter.println("\tiload " +  Integer.toString(index2));
-				else
-					this.printWriter.println("\taload " +  Integer.toString(index2));
+					if(rhs.symbol.isIntValue())
+						this.emitter.print("\tiload ").println(index2);
+					else
+						this.emitter.print("\taload ").println(index2);
 
-				writePutfield(lhs);
-			}
-			else{
-				this.printWriter.println("\taload_0");
+					writePutfield(lhs);
+				}
+				else{
+					this.emitter.println("\taload_0");
+
+					writeGetfield(rhs);
+					writePutfield(lhs);
+				}
+				break;
 
-				writeGetfield(rhs);
+			case JJTCALL_FUNCTION:
+				manageCALL_FUNCTION(rhs, fst, lhs.symbol.getTypeDescriptor(), num_parameters);
 				writePutfield(lhs);
-			}
-		}
-		else if(rhs instanceof ASTCALL_FUNCTION){
-			String type = getGlobalDescriptor(lhs);
-			manageCALL_FUNCTION(rhs, fst, type, num_parameters);
-			writePutfield(lhs);
-		}
-		else if(rhs instanceof ASTNEW_CLASS){
+				break;
 
-			manageNEW_CLASS(rhs, fst, false);
-			writePutfield(lhs);
-		}
-		else if(rhs instanceof ASTADD || rhs instanceof ASTSUB || 
-			rhs instanceof ASTDIV || rhs instanceof ASTMUL ||
-			rhs instanceof ASTAND || rhs instanceof ASTLT ||
-			rhs instanceof ASTNOT){
+			case JJTNEW_CLASS:
+				manageNEW_CLASS(rhs, fst, false);
+				writePutfield(lhs);
+				break;
+
+			case JJTADD:
+			case JJTSUB:
+			case JJTDIV:
+			case JJTMUL:
+			case JJTAND:
+			case JJTLT:
+			case JJTNOT:
+				manageArithmeticExpression(rhs, fst, num_parameters);
+				writePutfield(lhs);
+				break;
 
-			manageArithmeticExpression(rhs, fst, num_parameters);
-			writePutfield(lhs);
-		}
-		else if(rhs instanceof ASTNEW_INT_ARRAY){
-			SimpleNode size = ((SimpleNode) rhs.jjtGetChild(0));
+			case JJTNEW_INT_ARRAY:
+				SimpleNode size = ((SimpleNode) rhs.jjtGetChild(0));
 
-			int value = Integer.parseInt(size.getValueInt());
-			writeINT(value);
-			this.printWriter.println("\tnewarray int");
-			writePutfield(lhs);
-		}
-		else if(rhs instanceof ASTACCESS_ARRAY){
+				writeINT(Integer.parseInt(size.getValueInt()));
+				this.emitter.println("\tnewarray int");
+				writePutfield(lhs);
+				break;
 
-			SimpleNode child = (SimpleNode) rhs.jjtGetChild(0);
+			case JJTACCESS_ARRAY:
+				SimpleNode child = (SimpleNode) rhs.jjtGetChild(0);
 
-			String childName = child.getName(); 
-			if(isLocal(childName, fst)){
-				int index2 = getNodeIndex(childName, fst);
-				this.printWriter.println("\taload " +  Integer.toString(index2));
-			}
-			else{
-				this.printWriter.println("\taload_0");
-				writeGetfield(child);
-			}
+				if(isLocal(child)){
+					int index2 = child.symbol.getIndex();
+					this.emitter.print("\taload ").println(index2);
+				}
+				else{
+					this.emitter.println("\taload_0");
+					writeGetfield(child);
+				}
 
-			manageArithmeticExpressionAux((SimpleNode) rhs.jjtGetChild(1), fst, "I", num_parameters);
-			this.printWriter.println("\tiaload");
-			writePutfield(lhs);
+				manageArithmeticExpressionAux((SimpleNode) rhs.jjtGetChild(1), fst, "I", num_parameters);
+				this.emitter.println("\tiaload");
+				writePutfield(lhs);
+				break;
 		}
-		this.printWriter.println();
+		this.emitter.println();
 	}
 
 	/*
@@ -596,37 +715,38 @@ public class JasminGenerator{
 		SimpleNode child = (SimpleNode) node.jjtGetChild(0);
 		boolean flag = true;
 
-		if(child instanceof ASTIDENTIFIER){
+		switch(child.getId()){
+			case JJTIDENTIFIER:
+				flag = writeIDENTIFIER(child, fst);
+				break;
 
-			flag = writeIDENTIFIER(child, fst);
-		}
-		else if(child instanceof ASTNEW_CLASS){
-
-			manageNEW_CLASS(child, fst, false);
-		}
-		else if(child instanceof ASTCALL_FUNCTION){
+			case JJTNEW_CLASS:
+				manageNEW_CLASS(child, fst, false);
+				break;
 
-			manageCALL_FUNCTION(child, fst, staticRet, num_parameters);
-		}
-		else if(child instanceof ASTTHIS){
+			case JJTCALL_FUNCTION:
+				manageCALL_FUNCTION(child, fst, staticRet, num_parameters);
+				break;
 
-			this.printWriter.print("\taload_0\n");
+			case JJTTHIS:
+				this.emitter.print("\taload_0\n");
+				break;
 		}
 
 		manageCALL_ARGUMENTS((SimpleNode) node.jjtGetChild(2), fst, num_parameters);
 
 		if(flag)
-			if(this.symbolTable.getFunction(((SimpleNode) node.jjtGetChild(1)).getName(), ((SimpleNode) node.jjtGetChild(2)).jjtGetNumChildren()) != null)
-				manageFUNCTION((SimpleNode) node.jjtGetChild(1), ((SimpleNode) node.jjtGetChild(2)).jjtGetNumChildren());
+			if(node.function != null)
+				manageFUNCTION((SimpleNode) node.jjtGetChild(1), node.function);
 			else {
-				this.printWriter.print("\tinvokevirtual " + symbolTable.getExtendedClassName());
-				this.printWriter.print("/" + ((SimpleNode) node.jjtGetChild(1)).getName());
-				this.printWriter.println("(" + getCALL_ARGUMENTS_Descriptor((SimpleNode) node.jjtGetChild(2), fst, num_parameters) + ")" + staticRet);	
+				this.emitter.print("\tinvokevirtual ").print(symbolTable.getExtendedClassName());
+				this.emitter.print("/").print(((SimpleNode) node.jjtGetChild(1)).getName());
+				this.emitter.print("(").print(getCALL_ARGUMENTS_Descriptor((SimpleNode) node.jjtGetChild(2), fst, num_parameters)).print(")").println(staticRet);
 			}
 		else{
-			this.printWriter.print("\tinvokestatic " + child.getName());
-			this.printWriter.print("/" + ((SimpleNode) node.jjtGetChild(1)).getName());
-			this.printWriter.println("(" + getCALL_ARGUMENTS_Descriptor((SimpleNode) node.jjtGetChild(2), fst, num_parameters) + ")" + staticRet);
+			this.emitter.print("\tinvokestatic ").print(child.getName());
+			this.emitter.print("/").print(((SimpleNode) node.jjtGetChild(1)).getName());
+			this.emitter.print("(").print(getCALL_ARGUMENTS_Descriptor((SimpleNode) node.jjtGetChild(2), fst, num_parameters)).print(")").println(staticRet);
 		}
 	}
 
@@ -635,53 +755,56 @@ public class JasminGenerator{
 		for(int i = 0; i < node.jjtGetNumChildren(); i++){
 			SimpleNode child = (SimpleNode) node.jjtGetChild(i);
 
-			if(child instanceof ASTINT || child instanceof ASTADD || child instanceof ASTSUB
-			|| child instanceof ASTDIV || child instanceof ASTMUL || child instanceof ASTACCESS_ARRAY
-			|| child instanceof ASTLENGTH){
-				ret += "I";
-			}
-			else if(child instanceof ASTTRUE || child instanceof ASTFALSE
-			|| child instanceof ASTLT || child instanceof ASTNOT || child instanceof ASTAND ){
-				ret += "Z";
-			}
-			else if(child instanceof ASTIDENTIFIER){
-				String type = child.getName();
-				if(isLocal(child.getName(), fst))
-					type = getLocalDescriptor(child, fst);
-				else
-					type = getGlobalDescriptor(child);
-				ret += type;
-				if(!(type.equals("I") || type.equals("Z") || type.equals("[I")))
-					ret += ";";
-			}
-			else if(child instanceof ASTCALL_FUNCTION){
-				ret += getCALL_FUNCTION_RetDesc(child, fst, num_parameters);
-			}
-			else if(child instanceof ASTNEW_CLASS){
-				ret += this.symbolTable.getClassName() + ";";
-			}
-			else if(child instanceof ASTINT_ARRAY){
-				ret += "[I";
+			switch(child.getId()){
+				case JJTINT:
+				case JJTADD:
+				case JJTSUB:
+				case JJTDIV:
+				case JJTMUL:
+				case JJTACCESS_ARRAY:
+				case JJTLENGTH:
+					ret += "I";
+					break;
+
+				case JJTTRUE:
+				case JJTFALSE:
+				case JJTLT:
+				case JJTNOT:
+				case JJTAND:
+					ret += "Z";
+					break;
+
+				case JJTIDENTIFIER:
+					ret += child.symbol.getTypeDescriptor();
+					break;
+
+				case JJTCALL_FUNCTION:
+					ret += getCALL_FUNCTION_RetDesc(child);
+					break;
+
+				case JJTNEW_CLASS:
+					ret += "L" + ((SimpleNode) child.jjtGetChild(0)).getName() + ";";
+					break;
+
+				case JJTINT_ARRAY:
+					ret += "[I";
+					break;
 			}
 		}
 		return ret;
 	}
 
-	private String getCALL_FUNCTION_RetDesc(SimpleNode node, FunctionSymbolTable fst, int num_parameters){
+	private String getCALL_FUNCTION_RetDesc(SimpleNode node){
 		SimpleNode child = (SimpleNode) node.jjtGetChild(0);
 		boolean flag = true;
 
-		if(child instanceof ASTIDENTIFIER){
-			String nodeName = child.getName();
-			if(!isGlobal(nodeName) && !isLocal(nodeName, fst)){
+		if(child.getId() == JJTIDENTIFIER){
+			if(child.symbol == null){
 				flag = false;
 			}
 		}
 		if(flag) {
-			String ret = this.symbolTable.getFunction(((SimpleNode) node.jjtGetChild(1)).getName(), num_parameters).getReturnSymbol().getTypeDescriptor();
-			if(!(ret.equals("I") || ret.equals("Z") || ret.equals("[I")))
-				ret += ";";
-			return ret;
+			return node.function.getReturnSymbol().getTypeDescriptor();
 		} else{
 			return "V";
 
@@ -697,107 +820,109 @@ public class JasminGenerator{
 		SimpleNode if_body = (SimpleNode) node.jjtGetChild(1);
 		SimpleNode else_body = (SimpleNode) node.jjtGetChild(2);
 
-		if(condition.jjtGetChild(0) instanceof ASTLT){
+		switch(condition.jjtGetChild(0).getId()){
+			case JJTLT: {
+				SimpleNode lt = (SimpleNode) condition.jjtGetChild(0);
+				SimpleNode lhs = (SimpleNode) lt.jjtGetChild(0);
+				SimpleNode rhs = (SimpleNode) lt.jjtGetChild(1);
 
-			SimpleNode lt = (SimpleNode) condition.jjtGetChild(0);
-			SimpleNode lhs = (SimpleNode) lt.jjtGetChild(0);
-			SimpleNode rhs = (SimpleNode) lt.jjtGetChild(1);
+				int label1 = labelCounter;
+				labelCounter++;
+				int label2 = labelCounter;
+				labelCounter++;
 
-			String label1 = "label_" + Integer.toString(labelCounter);
-			labelCounter++;
-			String label2 = "label_" + Integer.toString(labelCounter);
-			labelCounter++;
+				manageArithmeticExpressionAux(lhs, fst, "I", num_parameters);
+				manageArithmeticExpressionAux(rhs, fst, "I", num_parameters);
+				this.emitter.print("\tif_icmpge label_").println(label1);
+				manageIfBody(if_body, fst, num_parameters);
+				this.emitter.print("\tgoto label_").println(label2);
+				this.emitter.print("\tlabel_").print(label1).println(":");
+				manageIfBody(else_body, fst, num_parameters);
+				this.emitter.print("\tlabel_").print(label2).println(":");
+				break;
+			}
+			case JJTNOT: {
+				SimpleNode not = (SimpleNode) condition.jjtGetChild(0);
+				SimpleNode rhs = (SimpleNode) not.jjtGetChild(0);
 
-			manageArithmeticExpressionAux(lhs, fst, "I", num_parameters);
-			manageArithmeticExpressionAux(rhs, fst, "I", num_parameters);
-			this.printWriter.println("\tif_icmpge " + label1);
-			manageIfBody(if_body, fst, num_parameters);
-			this.printWriter.println("\tgoto " + label2);
-			this.printWriter.println("\t" + label1 + ":");
-			manageIfBody(else_body, fst, num_parameters);
-			this.printWriter.println("\t" + label2 + ":");
-		}
-		else if(condition.jjtGetChild(0) instanceof ASTNOT){
-
-			SimpleNode not = (SimpleNode) condition.jjtGetChild(0);
-			SimpleNode rhs = (SimpleNode) not.jjtGetChild(0);
-
-			String label1 = "label_" + Integer.toString(labelCounter);
-			labelCounter++;
-			String label2 = "label_" + Integer.toString(labelCounter);
-			labelCounter++;
-
-			manageArithmeticExpressionAux(rhs, fst, "Z", num_parameters);
-			this.printWriter.println("\tifne " + label1);
-			manageIfBody(if_body, fst, num_parameters);
-			this.printWriter.println("\tgoto " + label2);
-			this.printWriter.println("\t" + label1 + ":");
-			manageIfBody(else_body, fst, num_parameters);
-			this.printWriter.println("\t" + label2 + ":");
-		}
-		else if(condition.jjtGetChild(0) instanceof ASTAND){
-
-			SimpleNode and = (SimpleNode) condition.jjtGetChild(0);
-			SimpleNode lhs = (SimpleNode) and.jjtGetChild(0);
-			SimpleNode rhs = (SimpleNode) and.jjtGetChild(1);
-
-			String label1 = "label_" + Integer.toString(labelCounter);
-			labelCounter++;
-			String label2 = "label_" + Integer.toString(labelCounter);
-			labelCounter++;
-
-			manageArithmeticExpressionAux(lhs, fst, "Z", num_parameters);
-			this.printWriter.println("\tifeq " + label1);
-			manageArithmeticExpressionAux(rhs, fst, "Z", num_parameters);
-			this.printWriter.println("\tifeq " + label1);
-
-			manageIfBody(if_body, fst, num_parameters);
-			this.printWriter.println("\tgoto " + label2);
-			this.printWriter.println("\t" + label1 + ":");
-			manageIfBody(else_body, fst, num_parameters);
-			this.printWriter.println("\t" + label2 + ":");
-		}
-		else if(condition.jjtGetChild(0) instanceof ASTTRUE){
+				int label1 = labelCounter;
+				labelCounter++;
+				int label2 = labelCounter;
+				labelCounter++;
 
-			manageIfBody(if_body, fst, num_parameters);
-		}
-		else if(condition.jjtGetChild(0) instanceof ASTFALSE){
+				manageArithmeticExpressionAux(rhs, fst, "Z", num_parameters);
+				this.emitter.print("\tifne label_").println(label1);
+				manageIfBody(if_body, fst, num_parameters);
+				this.emitter.print("\tgoto label_").println(label2);
+				this.emitter.print("\tlabel_").print(label1).println(":");
+				manageIfBody(else_body, fst, num_parameters);
+				this.emitter.print("\tlabel_").print(label2).println(":");
+				break;
+			}
+			case JJTAND: {
+				SimpleNode and = (SimpleNode) condition.jjtGetChild(0);
+				SimpleNode lhs = (SimpleNode) and.jjtGetChild(0);
+				SimpleNode rhs = (SimpleNode) and.jjtGetChild(1);
 
-			manageIfBody(else_body, fst, num_parameters);
-		}
-		else if(condition.jjtGetChild(0) instanceof ASTCALL_FUNCTION){
-
-			SimpleNode call_function = (SimpleNode) condition.jjtGetChild(0);
-
-			String label1 = "label_" + Integer.toString(labelCounter);
-			labelCounter++;
-			String label2 = "label_" + Integer.toString(labelCounter);
-			labelCounter++;
-
-			manageCALL_FUNCTION(call_function, fst, "Z", num_parameters);
-			this.printWriter.println("\tifeq " + label1);
-			manageIfBody(if_body, fst, num_parameters);
-			this.printWriter.println("\tgoto " + label2);
-			this.printWriter.println("\t" + label1 + ":");
-			manageIfBody(else_body, fst, num_parameters);
-			this.printWriter.println("\t" + label2 + ":");
-		}
-		else if(condition.jjtGetChild(0) instanceof ASTIDENTIFIER){
-
-			SimpleNode ident = (SimpleNode) condition.jjtGetChild(0);
-
-			String label1 = "label_" + Integer.toString(labelCounter);
-			labelCounter++;
-			String label2 = "label_" + Integer.toString(labelCounter);
-			labelCounter++;
-
-			manageArithmeticExpressionAux(ident, fst, "Z", num_parameters);
-			this.printWriter.println("\tifeq " + label1);
-			manageIfBody(if_body, fst, num_parameters);
-			this.printWriter.println("\tgoto " + label2);
-			this.printWriter.println("\t" + label1 + ":");
-			manageIfBody(else_body, fst, num_parameters);
-			this.printWriter.println("\t" + label2 + ":");
+				int label1 = labelCounter;
+				labelCounter++;
+				int label2 = labelCounter;
+				labelCounter++;
+
+				manageArithmeticExpressionAux(lhs, fst, "Z", num_parameters);
+				this.emitter.print("\tifeq label_").println(label1);
+				manageArithmeticExpressionAux(rhs, fst, "Z", num_parameters);
+				this.emitter.print("\tifeq label_").println(label1);
+
+				manageIfBody(if_body, fst, num_parameters);
+				this.emitter.print("\tgoto label_").println(label2);
+				this.emitter.print("\tlabel_").print(label1).println(":");
+				manageIfBody(else_body, fst, num_parameters);
+				this.emitter.print("\tlabel_").print(label2).println(":");
+				break;
+			}
+			case JJTTRUE:
+				manageIfBody(if_body, fst, num_parameters);
+				break;
+
+			case JJTFALSE:
+				manageIfBody(else_body, fst, num_parameters);
+				break;
+
+			case JJTCALL_FUNCTION: {
+				SimpleNode call_function = (SimpleNode) condition.jjtGetChild(0);
+
+				int label1 = labelCounter;
+				labelCounter++;
+				int label2 = labelCounter;
+				labelCounter++;
+
+				manageCALL_FUNCTION(call_function, fst, "Z", num_parameters);
+				this.emitter.print("\tifeq label_").println(label1);
+				manageIfBody(if_body, fst, num_parameters);
+				this.emitter.print("\tgoto label_").println(label2);
+				this.emitter.print("\tlabel_").print(label1).println(":");
+				manageIfBody(else_body, fst, num_parameters);
+				this.emitter.print("\tlabel_").print(label2).println(":");
+				break;
+			}
+			case JJTIDENTIFIER: {
+				SimpleNode ident = (SimpleNode) condition.jjtGetChild(0);
+
+				int label1 = labelCounter;
+				labelCounter++;
+				int label2 = labelCounter;
+				labelCounter++;
+
+				manageArithmeticExpressionAux(ident, fst, "Z", num_parameters);
+				this.emitter.print("\tifeq label_").println(label1);
+				manageIfBody(if_body, fst, num_parameters);
+				this.emitter.print("\tgoto label_").println(label2);
+				this.emitter.print("\tlabel_").print(label1).println(":");
+				manageIfBody(else_body, fst, num_parameters);
+				this.emitter.print("\tlabel_").print(label2).println(":");
+				break;
+			}
 		}
 	}
 
@@ -808,7 +933,7 @@ public class JasminGenerator{
 	 */
 	private void manageIfBody(SimpleNode node, FunctionSymbolTable fst, int num_parameters){
 
-		if(node.jjtGetChild(0) instanceof ASTSTATEMENT_LIST)
+		if(node.jjtGetChild(0).getId() == JJTSTATEMENT_LIST)
 			manageMethodBody((SimpleNode) node.jjtGetChild(0), fst, num_parameters);
 		else
 			manageMethodBody(node, fst, num_parameters);
@@ -822,102 +947,104 @@ public class JasminGenerator{
 		SimpleNode condition = (SimpleNode) node.jjtGetChild(0);
 		SimpleNode while_body = (SimpleNode) node.jjtGetChild(1);
 
-		if(condition.jjtGetChild(0) instanceof ASTLT){
+		switch(condition.jjtGetChild(0).getId()){
+			case JJTLT: {
+				SimpleNode lt = (SimpleNode) condition.jjtGetChild(0);
+				SimpleNode lhs = (SimpleNode) lt.jjtGetChild(0);
+				SimpleNode rhs = (SimpleNode) lt.jjtGetChild(1);
 
-			SimpleNode lt = (SimpleNode) condition.jjtGetChild(0);
-			SimpleNode lhs = (SimpleNode) lt.jjtGetChild(0);
-			SimpleNode rhs = (SimpleNode) lt.jjtGetChild(1);
+				int label1 = labelCounter;
+				labelCounter++;
+				int label2 = labelCounter;
+				labelCounter++;
 
-			String label1 = "label_" + Integer.toString(labelCounter);
-			labelCounter++;
-			String label2 = "label_" + Integer.toString(labelCounter);
-			labelCounter++;
+				this.emitter.print("\tlabel_").print(label1).println(":");
+				manageArithmeticExpressionAux(lhs, fst, "I", num_parameters);
+				manageArithmeticExpressionAux(rhs, fst, "I", num_parameters);
+				this.emitter.print("\tif_icmpge label_").println(label2);
+				manageMethodBody((SimpleNode) while_body.jjtGetChild(0), fst, num_parameters);
+				this.emitter.print("\tgoto label_").println(label1);
+				this.emitter.print("\tlabel_").print(label2).println(":");
+				break;
+			}
+			case JJTNOT: {
+				SimpleNode not = (SimpleNode) condition.jjtGetChild(0);
+				SimpleNode rhs = (SimpleNode) not.jjtGetChild(0);
 
-			this.printWriter.println("\t" + label1 + ":");
-			manageArithmeticExpressionAux(lhs, fst, "I", num_parameters);
-			manageArithmeticExpressionAux(rhs, fst, "I", num_parameters);
-			this.printWriter.println("\tif_icmpge " + label2);
-			manageMethodBody((SimpleNode) while_body.jjtGetChild(0), fst, num_parameters);
-			this.printWriter.println("\tgoto " + label1);
-			this.printWriter.println("\t" + label2 + ":");
-		}
-		else if(condition.jjtGetChild(0) instanceof ASTNOT){
-
-			SimpleNode not = (SimpleNode) condition.jjtGetChild(0);
-			SimpleNode rhs = (SimpleNode) not.jjtGetChild(0);
-
-			String label1 = "label_" + Integer.toString(labelCounter);
-			labelCounter++;
-			String label2 = "label_" + Integer.toString(labelCounter);
-			labelCounter++;
-
-			this.printWriter.println("\t" + label1 + ":");
-			manageArithmeticExpressionAux(rhs, fst, "Z", num_parameters);
-			this.printWriter.println("\tifne " + label2);
-			manageMethodBody((SimpleNode) while_body.jjtGetChild(0), fst, num_parameters);
-			this.printWriter.println("\tgoto " + label1);
-			this.printWriter.println("\t" + label2 + ":");
-		}
-		else if(condition.jjtGetChild(0) instanceof ASTAND){
-
-			SimpleNode and = (SimpleNode) condition.jjtGetChild(0);
-			SimpleNode lhs = (SimpleNode) and.jjtGetChild(0);
-			SimpleNode rhs = (SimpleNode) and.jjtGetChild(1);
-
-			String label1 = "label_" + Integer.toString(labelCounter);
-			labelCounter++;
-			String label2 = "label_" + Integer.toString(labelCounter);
-			labelCounter++;
-
-			this.printWriter.println("\t" + label1 + ":");
-			manageArithmeticExpressionAux(lhs, fst, "Z", num_parameters);
-			this.printWriter.println("\tifeq " + label2);
-			manageArithmeticExpressionAux(rhs, fst, "Z", num_parameters);
-			this.printWriter.println("\tifeq " + label2);
-			manageMethodBody((SimpleNode) while_body.jjtGetChild(0), fst, num_parameters);
-			this.printWriter.println("\tgoto " + label1);
-			this.printWriter.println("\t" + label2 + ":");
-		}
-		else if(condition.jjtGetChild(0) instanceof ASTCALL_FUNCTION){
+				int label1 = labelCounter;
+				labelCounter++;
+				int label2 = labelCounter;
+				labelCounter++;
 
-			SimpleNode call_function = (SimpleNode) condition.jjtGetChild(0);
+				this.emitter.print("\tlabel_").print(label1).println(":");
+				manageArithmeticExpressionAux(rhs, fst, "Z", num_parameters);
+				this.emitter.print("\tifne label_").println(label2);
+				manageMethodBody((SimpleNode) while_body.jjtGetChild(0), fst, num_parameters);
+				this.emitter.print("\tgoto label_").println(label1);
+				this.emitter.print("\tlabel_").print(label2).println(":");
+				break;
+			}
+			case JJTAND: {
+				SimpleNode and = (SimpleNode) condition.jjtGetChild(0);
+				SimpleNode lhs = (SimpleNode) and.jjtGetChild(0);
+				SimpleNode rhs = (SimpleNode) and.jjtGetChild(1);
 
-			String label1 = "label_" + Integer.toString(labelCounter);
-			labelCounter++;
-			String label2 = "label_" + Integer.toString(labelCounter);
-			labelCounter++;
+				int label1 = labelCounter;
+				labelCounter++;
+				int label2 = labelCounter;
+				labelCounter++;
 
-			this.printWriter.println("\t" + label1 + ":");
-			manageCALL_FUNCTION(call_function, fst, "Z", num_parameters);
-			this.printWriter.println("\tifeq " + label2);
-			manageMethodBody((SimpleNode) while_body.jjtGetChild(0), fst, num_parameters);
-			this.printWriter.println("\tgoto " + label1);
-			this.printWriter.println("\t" + label2 + ":");
-		}
-		else if(condition.jjtGetChild(0) instanceof ASTIDENTIFIER){
+				this.emitter.print("\tlabel_").print(label1).println(":");
+				manageArithmeticExpressionAux(lhs, fst, "Z", num_parameters);
+				this.emitter.print("\tifeq label_").println(label2);
+				manageArithmeticExpressionAux(rhs, fst, "Z", num_parameters);
+				this.emitter.print("\tifeq label_").println(label2);
+				manageMethodBody((SimpleNode) while_body.jjtGetChild(0), fst, num_parameters);
+				this.emitter.print("\tgoto label_").println(label1);
+				this.emitter.print("\tlabel_").print(label2).println(":");
+				break;
+			}
+			case JJTCALL_FUNCTION: {
+				SimpleNode call_function = (SimpleNode) condition.jjtGetChild(0);
 
-			SimpleNode ident = (SimpleNode) condition.jjtGetChild(0);
+				int label1 = labelCounter;
+				labelCounter++;
+				int label2 = labelCounter;
+				labelCounter++;
 
-			String label1 = "label_" + Integer.toString(labelCounter);
-			labelCounter++;
-			String label2 = "label_" + Integer.toString(labelCounter);
-			labelCounter++;
+				this.emitter.print("\tlabel_").print(label1).println(":");
+				manageCALL_FUNCTION(call_function, fst, "Z", num_parameters);
+				this.emitter.print("\tifeq label_").println(label2);
+				manageMethodBody((SimpleNode) while_body.jjtGetChild(0), fst, num_parameters);
+				this.emitter.print("\tgoto label_").println(label1);
+				this.emitter.print("\tlabel_").print(label2).println(":");
+				break;
+			}
+			case JJTIDENTIFIER: {
+				SimpleNode ident = (SimpleNode) condition.jjtGetChild(0);
 
-			this.printWriter.println("\t" + label1 + ":");
-			manageArithmeticExpressionAux(ident, fst, "Z", num_parameters);
-			this.printWriter.println("\tifeq " + label2);
-			manageMethodBody((SimpleNode) while_body.jjtGetChild(0), fst, num_parameters);
-			this.printWriter.println("\tgoto " + label1);
-			this.printWriter.println("\t" + label2 + ":");
-		}
-		else if(condition.jjtGetChild(0) instanceof ASTTRUE){
+				int label1 = labelCounter;
+				labelCounter++;
+				int label2 = labelCounter;
+				labelCounter++;
 
-			String label1 = "label_" + Integer.toString(labelCounter);
-			labelCounter++;
+				this.emitter.print("\tlabel_").print(label1).println(":");
+				manageArithmeticExpressionAux(ident, fst, "Z", num_parameters);
+				this.emitter.print("\tifeq label_").println(label2);
+				manageMethodBody((SimpleNode) while_body.jjtGetChild(0), fst, num_parameters);
+				this.emitter.print("\tgoto label_").println(label1);
+				this.emitter.print("\tlabel_").print(label2).println(":");
+				break;
+			}
+			case JJTTRUE: {
+				int label1 = labelCounter;
+				labelCounter++;
 
-			this.printWriter.println("\t" + label1 + ":");
-			manageMethodBody((SimpleNode) while_body.jjtGetChild(0), fst, num_parameters);
-			this.printWriter.println("\tgoto " + label1);
+				this.emitter.print("\tlabel_").print(label1).println(":");
+				manageMethodBody((SimpleNode) while_body.jjtGetChild(0), fst, num_parameters);
+				this.emitter.print("\tgoto label_").println(label1);
+				break;
+			}
 		}
 	}
 
@@ -931,28 +1058,26 @@ public class JasminGenerator{
 
 			SimpleNode child = (SimpleNode) node.jjtGetChild(i);
 
-			if(child instanceof ASTINT){
+			switch(child.getId()){
+				case JJTINT:
+					writeINT(Integer.parseInt(child.getValueInt()));
+					break;
 
-				int value = Integer.parseInt(child.getValueInt());
-				writeINT(value);
-			}
-			else if(child instanceof ASTTRUE || child instanceof ASTFALSE){
+				case JJTTRUE:
+				case JJTFALSE:
+					writeBOOLEAN(child.getValueBoolean());
+					break;
 
-				String value = child.getValueBoolean();
-				writeBOOLEAN(value);
-			}
-			else if(child instanceof ASTIDENTIFIER){
+				case JJTIDENTIFIER:
+					writeIDENTIFIER(child, fst);
+					break;
 
-				writeIDENTIFIER(child, fst);
-			}
-			else if(child instanceof ASTCALL_FUNCTION){
+				case JJTCALL_FUNCTION:
+					manageCALL_FUNCTION(child, fst, "V", num_parameters);
+					break;
 
-				String type = "V";
-				manageCALL_FUNCTION(child, fst, type, num_parameters);
-			}
-			else{
-
-				manageArithmeticExpression(child, fst, num_parameters);
+				default:
+					manageArithmeticExpression(child, fst, num_parameters);
 			}
 		}
 	}
@@ -960,14 +1085,11 @@ public class JasminGenerator{
 	/*
 	 * Manages the code generation for FUNCTION nodes
 	 */
-	private void manageFUNCTION(SimpleNode node, int num_parameters){
-
-		String invokeStr = "\tinvokevirtual ";
+	private void manageFUNCTION(SimpleNode node, FunctionSymbolTable function){
 
-		invokeStr += this.symbolTable.getClassName() + "/" + node.getName();
-		invokeStr += getParametersInformation(this.symbolTable.getFunction(node.getName(), num_parameters));
-		invokeStr += this.symbolTable.getFunction(node.getName(), num_parameters).getReturnSymbol().getTypeDescriptor();
-		this.printWriter.println(invokeStr);
+		this.emitter.print("\tinvokevirtual ").print(function.getClassName()).print("/").print(node.getName());
+		writeParametersInformation(function);
+		this.emitter.println(function.getReturnSymbol().getTypeDescriptor());
 	}
 
 	private void manageArithmeticExpression(SimpleNode node, FunctionSymbolTable fst, int num_parameters) {
@@ -979,136 +1101,121 @@ public class JasminGenerator{
 	 */
 	private void manageArithmeticExpressionAux(SimpleNode node, FunctionSymbolTable fst, String arithmeticType, int num_parameters){
 
-		if(node.jjtGetNumChildren() == 2){
+		switch(node.getId()){
+			case JJTADD:
+				manageBinaryOperation(node, fst, num_parameters, "\tiadd");
+				break;
 
-			SimpleNode lhs = (SimpleNode) node.jjtGetChild(0);
-			SimpleNode rhs = (SimpleNode) node.jjtGetChild(1);
+			case JJTSUB:
+				manageBinaryOperation(node, fst, num_parameters, "\tisub");
+				break;
 
-			if(node instanceof ASTADD){
+			case JJTDIV:
+				manageBinaryOperation(node, fst, num_parameters, "\tidiv");
+				break;
 
-				manageArithmeticExpressionAux(lhs, fst, "I", num_parameters);
-				manageArithmeticExpressionAux(rhs, fst, "I", num_parameters);
-				this.printWriter.println("\tiadd");
-			}
-			else if(node instanceof ASTSUB){
-
-				manageArithmeticExpressionAux(lhs, fst, "I", num_parameters);
-				manageArithmeticExpressionAux(rhs, fst, "I", num_parameters);
-				this.printWriter.println("\tisub");
-			}
-			else if(node instanceof ASTDIV){
-
-				manageArithmeticExpressionAux(lhs, fst, "I", num_parameters);
-				manageArithmeticExpressionAux(rhs, fst, "I", num_parameters);
-				this.printWriter.println("\tidiv");
-			}
-			else if(node instanceof ASTMUL){
-
-				manageArithmeticExpressionAux(lhs, fst, "I", num_parameters);
-				manageArithmeticExpressionAux(rhs, fst, "I", num_parameters);
-				this.printWriter.println("\timul");
-			}
-			else if(node instanceof ASTAND){
+			case JJTMUL:
+				manageBinaryOperation(node, fst, num_parameters, "\timul");
+				break;
 
-				String label1 = "label_" + Integer.toString(labelCounter);
+			case JJTAND: {
+				int label1 = labelCounter;
 				labelCounter++;
-				String label2 = "label_" + Integer.toString(labelCounter);
+				int label2 = labelCounter;
 				labelCounter++;
 
-				manageArithmeticExpressionAux(lhs, fst, "Z", num_parameters);
-				this.printWriter.println("\tifeq " + label1);
-				manageArithmeticExpressionAux(rhs, fst, "Z", num_parameters);
-				this.printWriter.println("\tifeq " + label1);
-				this.printWriter.println("\ticonst_1");
-				this.printWriter.println("\tgoto " + label2);
-				this.printWriter.println("\t" + label1 + ":");
-				this.printWriter.println("\ticonst_0");
-				this.printWriter.println("\t" + label2 + ":");
+				manageArithmeticExpressionAux((SimpleNode) node.jjtGetChild(0), fst, "Z", num_parameters);
+				this.emitter.print("\tifeq label_").println(label1);
+				manageArithmeticExpressionAux((SimpleNode) node.jjtGetChild(1), fst, "Z", num_parameters);
+				this.emitter.print("\tifeq label_").println(label1);
+				this.emitter.println("\ticonst_1");
+				this.emitter.print("\tgoto label_").println(label2);
+				this.emitter.print("\tlabel_").print(label1).println(":");
+				this.emitter.println("\ticonst_0");
+				this.emitter.print("\tlabel_").print(label2).println(":");
+				break;
 			}
-			else if(node instanceof ASTLT){
-
-				String label1 = "label_" + Integer.toString(labelCounter);
+			case JJTLT: {
+				int label1 = labelCounter;
 				labelCounter++;
-				String label2 = "label_" + Integer.toString(labelCounter);
+				int label2 = labelCounter;
 				labelCounter++;
 
-				manageArithmeticExpressionAux(lhs, fst, "I", num_parameters);
-				manageArithmeticExpressionAux(rhs, fst, "I", num_parameters);
-				this.printWriter.println("\tif_icmpge " + label1);
-				this.printWriter.println("\ticonst_1");
-				this.printWriter.println("\tgoto " + label2);
-				this.printWriter.println("\t" + label1 + ":");
-				this.printWriter.println("\ticonst_0");
-				this.printWriter.println("\t" + label2 + ":");
+				manageArithmeticExpressionAux((SimpleNode) node.jjtGetChild(0), fst, "I", num_parameters);
+				manageArithmeticExpressionAux((SimpleNode) node.jjtGetChild(1), fst, "I", num_parameters);
+				this.emitter.print("\tif_icmpge label_").println(label1);
+				this.emitter.println("\ticonst_1");
+				this.emitter.print("\tgoto label_").println(label2);
+				this.emitter.print("\tlabel_").print(label1).println(":");
+				this.emitter.println("\ticonst_0");
+				this.emitter.print("\tlabel_").print(label2).println(":");
+				break;
 			}
-			else if(node instanceof ASTACCESS_ARRAY){
+			case JJTACCESS_ARRAY:
 				manageACCESS_ARRAY(node, fst, num_parameters);
-			}
-		}
-		else if(node.jjtGetNumChildren() == 1){
+				break;
 
-			if(node instanceof ASTNEW_CLASS)
+			case JJTNEW_CLASS:
 				manageNEW_CLASS(node, fst, false);
+				break;
 
-			else if(node instanceof ASTNOT){
-
-				SimpleNode lhs = (SimpleNode) node.jjtGetChild(0);
-
-				String label1 = "label_" + Integer.toString(labelCounter);
+			case JJTNOT: {
+				int label1 = labelCounter;
 				labelCounter++;
-				String label2 = "label_" + Integer.toString(labelCounter);
+				int label2 = labelCounter;
 				labelCounter++;
 
-				manageArithmeticExpressionAux(lhs, fst, "Z", num_parameters);
-				this.printWriter.println("\tifne " + label1);
-				this.printWriter.println("\ticonst_1");
-				this.printWriter.println("\tgoto " + label2);
-				this.printWriter.println("\t" + label1 + ":");
-				this.printWriter.println("\ticonst_0");
-				this.printWriter.println("\t" + label2 + ":");
+				manageArithmeticExpressionAux((SimpleNode) node.jjtGetChild(0), fst, "Z", num_parameters);
+				this.emitter.print("\tifne label_").println(label1);
+				this.emitter.println("\ticonst_1");
+				this.emitter.print("\tgoto label_").println(label2);
+				this.emitter.print("\tlabel_").print(label1).println(":");
+				this.emitter.println("\ticonst_0");
+				this.emitter.print("\tlabel_").print(label2).println(":");
+				break;
 			}
-
-			else if(node instanceof ASTLENGTH){
+			case JJTLENGTH:
 				manageLENGTH(node, fst);
-			}
-		}
-		else {
-			
-			if(node instanceof ASTIDENTIFIER){
+				break;
 
+			case JJTIDENTIFIER:
 				writeIDENTIFIER(node, fst);
-			}
-			else if(node instanceof ASTTRUE || node instanceof ASTFALSE){
+				break;
 
-				String value = node.getValueBoolean();
-				writeBOOLEAN(value);
-			}
-			else if(node instanceof ASTINT){
+			case JJTTRUE:
+			case JJTFALSE:
+				writeBOOLEAN(node.getValueBoolean());
+				break;
 
-				int value = Integer.parseInt(node.getValueInt());
-				writeINT(value);
-			}
-			else if(node instanceof ASTCALL_FUNCTION){
+			case JJTINT:
+				writeINT(Integer.parseInt(node.getValueInt()));
+				break;
 
+			case JJTCALL_FUNCTION:
 				manageCALL_FUNCTION(node, fst, arithmeticType, num_parameters);
-			}
+				break;
 		}
 	}
 
+	private void manageBinaryOperation(SimpleNode node, FunctionSymbolTable fst, int num_parameters, String instruction){
+
+		manageArithmeticExpressionAux((SimpleNode) node.jjtGetChild(0), fst, "I", num_parameters);
+		manageArithmeticExpressionAux((SimpleNode) node.jjtGetChild(1), fst, "I", num_parameters);
+		this.emitter.println(instruction);
+	}
+
 	private void manageACCESS_ARRAY(SimpleNode node, FunctionSymbolTable fst, int num_parameters){
 		SimpleNode ident = (SimpleNode) node.jjtGetChild(0);
-		String identName = ident.getName();
-
-		if(isLocal(identName, fst)){
+		if(isLocal(ident)){
 			writeIDENTIFIER(ident, fst);
 			manageArithmeticExpressionAux((SimpleNode) node.jjtGetChild(1), fst, "I", num_parameters);
-			this.printWriter.println("\tiaload");
+			this.emitter.println("\tiaload");
 		}
 		else{
-			this.printWriter.println("\taload_0");
+			this.emitter.println("\taload_0");
 			writeGetfield(ident);
 			manageArithmeticExpressionAux((SimpleNode) node.jjtGetChild(1), fst, "I", num_parameters);
-			this.printWriter.println("\tiaload");
+			this.emitter.println("\tiaload");
 		}
 	}
 
@@ -1117,7 +1224,7 @@ public class JasminGenerator{
 	 */
 	private void manageLENGTH(SimpleNode node, FunctionSymbolTable fst) {
 		writeIDENTIFIER((SimpleNode) node.jjtGetChild(0), fst);
-		this.printWriter.println("\tarraylength");
+		this.emitter.println("\tarraylength");
 	}
 
 	/*
@@ -1125,11 +1232,12 @@ public class JasminGenerator{
 	 */ 
 	private void manageNEW_CLASS(SimpleNode node, FunctionSymbolTable fst, boolean remove){
 
-		this.printWriter.println("\tnew " + this.symbolTable.getClassName());
+		String className = ((SimpleNode) node.jjtGetChild(0)).getName();
+		this.emitter.print("\tnew ").println(className);
 		if(!remove) {
-			this.printWriter.println("\tdup");
+			this.emitter.println("\tdup");
 		}
-		this.printWriter.println("\tinvokespecial " + this.symbolTable.getClassName() + "/<init>()V");
+		this.emitter.print("\tinvokespecial ").print(className).println("/<init>()V");
 	}
 
 	/*
@@ -1138,15 +1246,15 @@ public class JasminGenerator{
 	private void writeINT(int value){
 
 		if(value >= 0 && value <= 5)
-			this.printWriter.println("\ticonst_" + Integer.toString(value));
+			this.emitter.print("\ticonst_").println(value);
 		else if(value == -1)
-			this.printWriter.println("\ticonst_m1");
+			this.emitter.println("\ticonst_m1");
 		else if(value >= -128 && value <= 127)
-			this.printWriter.println("\tbipush " + Integer.toString(value));
+			this.emitter.print("\tbipush ").println(value);
 		else if(value >= -32768 && value <= 32767)
-			this.printWriter.println("\tsipush " + Integer.toString(value));
+			this.emitter.print("\tsipush ").println(value);
 		else
-			this.printWriter.println("\tldc " + Integer.toString(value));
+			this.emitter.print("\tldc ").println(value);
 	}
 	/*
 	 * Manages the code generation for the BOOLEAN's
@@ -1154,29 +1262,27 @@ public class JasminGenerator{
 	private void writeBOOLEAN(String value){
 
 		if(value.equals("true"))
-			this.printWriter.println("\ticonst_1");
+			this.emitter.println("\ticonst_1");
 		else
-			this.printWriter.println("\ticonst_0");
+			this.emitter.println("\ticonst_0");
 	}
 	/*
 	 * Manages the code generation for the IDENTIFIER's
 	 */
 	private boolean writeIDENTIFIER(SimpleNode node, FunctionSymbolTable fst){
 
-		String nodeName = node.getName();
-		if(isLocal(nodeName, fst)){
-			int index = getNodeIndex(nodeName, fst);
-			String type = getLocalType(node, fst);
-			if(type.equals("int") || type.equals("boolean")){
-				this.printWriter.println("\tiload " + Integer.toString(index));
+		if(isLocal(node)){
+			int index = node.symbol.getIndex();
+			if(node.symbol.isIntValue()){
+				this.emitter.print("\tiload ").println(index);
 			}
 			else{
-				this.printWriter.println("\taload " + Integer.toString(index));
+				this.emitter.print("\taload ").println(index);
 			}
 			return true;
 		}
-		else if(isGlobal(nodeName)){
-			this.printWriter.println("\taload_0");
+		else if(node.symbol != null){
+			this.emitter.println("\taload_0");
 			writeGetfield(node);
 			return true;
 		}
@@ -1190,10 +1296,8 @@ public class JasminGenerator{
 	 */
 	private void writeGetfield(SimpleNode var){
 
-		String getfieldStr = "\tgetfield ";
-		getfieldStr += this.symbolTable.getClassName() + "/" + var.getName() + " ";
-		getfieldStr += this.symbolTable.getGlobal_variables().get(var.getName()).getTypeDescriptor();
-		this.printWriter.println(getfieldStr);
+		this.emitter.print("\tgetfield ").print(this.symbolTable.getClassName()).print("/").print(var.getName()).print(" ");
+		this.emitter.println(var.symbol.getTypeDescriptor());
 	}
 
 	/*
@@ -1201,105 +1305,32 @@ public class JasminGenerator{
 	 */
 	private void writePutfield(SimpleNode var){
 
-		String putfieldStr = "\tputfield ";
-		putfieldStr += this.symbolTable.getClassName() + "/" + var.getName() + " ";
-		putfieldStr += this.symbolTable.getGlobal_variables().get(var.getName()).getTypeDescriptor();
-		this.printWriter.println(putfieldStr);
+		this.emitter.print("\tputfield ").print(this.symbolTable.getClassName()).print("/").print(var.getName()).print(" ");
+		this.emitter.println(var.symbol.getTypeDescriptor());
 	}
 
 	/*
-	 * Checks whether a variable is global or not
-	 * Returns true if it is global, false if not
+	 * Checks whether a variable is a parameter or local variable of the method
+	 * Returns false for a global variable or a class name
 	 */
-	private boolean isGlobal(String name){
-
-		if(this.symbolTable.getGlobal_variables().get(name) != null)
-			return true;
-		return false;
+	private boolean isLocal(SimpleNode node){
+		return node.symbol != null && !node.symbol.isField();
 	}
 
 	/*
-	 * Checks whether a variable is local or not
-	 * Returns true if it is local, false if not
+	 * Writes the descriptor of the parameters
 	 */
-	private boolean isLocal(String name, FunctionSymbolTable fst){
+	private void writeParametersInformation(FunctionSymbolTable value) {
 
-		if(fst.getParameters().get(name) != null || fst.getLocalVariables().get(name) != null)
-			return true;
-		return false;
-	}
-
-	/*
-	 * Returns the index of a parameter or local variable inside a method
-	 */
-	private int getNodeIndex(String name, FunctionSymbolTable fst){
-
-		Map<String, Symbol> map;
-		int index;
-
-		if(fst.getParameters().get(name) != null){
-			map = fst.getParameters();
-			index = 1;
-		}
-		else{
-			map = fst.getLocalVariables();
-			index = 1 + fst.getParameters().size();
-		}
-
-		for (Map.Entry<String, Symbol> entry : map.entrySet()) {
-		    if(entry.getKey().equals(name))
-		    	break;
-		    index++;
-		}
-		return index;
-	}
-
-	/*
-	 * Creates a string with the code needed for the parameters
-	 */
-	private String getParametersInformation(FunctionSymbolTable value) {
-
-		String str = "(";
+		this.emitter.print("(");
 
 		Map<String, Symbol> map2 = value.getParameters();
 		for (Map.Entry<String, Symbol> entry : map2.entrySet()) {
 
-			String type = entry.getValue().getTypeDescriptor();
-			str += type;
-			if(!(type.equals("I") || type.equals("Z") || type.equals("[I")))
-				str += ";";
+			this.emitter.print(entry.getValue().getTypeDescriptor());
 		}
 
-		str += ")";
-		return str;
-	}
-
-	/*
-	 * Returns a string with the type of the global nodes
-	 */
-	private String getGlobalType(SimpleNode node){
-		return this.symbolTable.getGlobal_variables().get(node.getName()).getTypeString();
-	}
-
-	private String getGlobalDescriptor(SimpleNode node){
-		return this.symbolTable.getGlobal_variables().get(node.getName()).getTypeDescriptor();
-	}
-
-	/*
-	 * Returns a string with the type of the parameter ou local nodes
-	 */
-	private String getLocalType(SimpleNode node, FunctionSymbolTable fst){
-		if(fst.getParameters().get(node.getName()) != null)
-			return fst.getParameters().get(node.getName()).getTypeString();
-		else
-			return fst.getLocalVariables().get(node.getName()).getTypeString();
-	}
-
-	private String getLocalDescriptor(SimpleNode node, FunctionSymbolTable fst){
-		if(fst.getParameters().get(node.getName()) != null)
-			return fst.getParameters().get(node.getName()).getTypeDescriptor();
-		else
-			return fst.getLocalVariables().get(node.getName()).getTypeDescriptor();
+		this.emitter.print(")");
 	}
 
 	/*
@@ -0,0 +1,49 @@
+package codeGen;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * Defines classes from class files kept in memory
+ *
+ * Classes added to the loader are defined by it even if the parent class loader
+ * has a class with the same name, every other class is delegated to the parent.
+ */
+public class JmmClassLoader extends ClassLoader{
+
+	// Key is the class name, value is the class file
+	private Map<String, byte[]> classFiles = new ConcurrentHashMap<>();
+
+	public JmmClassLoader(ClassLoader parent){
+		super(parent);
+	}
+
+	public void addClass(String className, byte[] classFile){
+		this.classFiles.put(className, classFile);
+	}
+
+	@Override
+	protected Class<?> loadClass(String className, boolean resolve) throws ClassNotFoundException{
+
+		if(!this.classFiles.containsKey(className))
+			return super.loadClass(className, resolve);
+
+		synchronized(getClassLoadingLock(className)){
+			Class<?> loaded = findLoadedClass(className);
+			if(loaded == null)
+				loaded = findClass(className);
+			if(resolve)
+				resolveClass(loaded);
+			return loaded;
+		}
+	}
+
+	@Override
+	protected Class<?> findClass(String className) throws ClassNotFoundException{
+
+		byte[] classFile = this.classFiles.get(className);
+		if(classFile == null)
+			throw new ClassNotFoundException(className);
+		return defineClass(className, classFile, 0, classFile.length);
+	}
+}
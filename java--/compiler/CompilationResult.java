@@ -0,0 +1,87 @@
+package compiler;
+
+import diagnostics.Diagnostic;
+import diagnostics.Diagnostics;
+
+import java.util.List;
+import java.util.Set;
+
+/*
+ * Outcome of compiling a source file with JmmCompiler.compileFile
+ */
+public class CompilationResult{
+
+	private final Diagnostics diagnostics;
+	private final int semanticErrors;
+	private final boolean written;
+	private final boolean aborted;
+	private final String className;
+	private final Set<String> dependencies;
+
+	CompilationResult(Diagnostics diagnostics, int semanticErrors, boolean written, boolean aborted){
+
+		this(diagnostics, semanticErrors, written, aborted, null, Set.of());
+	}
+
+	CompilationResult(Diagnostics diagnostics, int semanticErrors, boolean written, boolean aborted, String className, Set<String> dependencies){
+
+		this.diagnostics = diagnostics;
+		this.semanticErrors = semanticErrors;
+		this.written = written;
+		this.aborted = aborted;
+		this.className = className;
+		this.dependencies = dependencies;
+	}
+
+	public Diagnostics getDiagnostics(){
+		return this.diagnostics;
+	}
+
+	public List<Diagnostic> getDiagnosticList(){
+		return this.diagnostics.getDiagnostics();
+	}
+
+	public int getSemanticErrors(){
+		return this.semanticErrors;
+	}
+
+	/*
+	 * Whether the .j file was written
+	 * Syntax errors the parser recovered from do not stop the code of the whole tree from being generated
+	 */
+	public boolean isWritten(){
+		return this.written;
+	}
+
+	/*
+	 * Whether the compilation stopped at the error limit of the diagnostics, so later errors may be missing
+	 */
+	public boolean isAborted(){
+		return this.aborted;
+	}
+
+	/*
+	 * Name of the class of the source, null if its declarations could not be read
+	 */
+	public String getClassName(){
+		return this.className;
+	}
+
+	/*
+	 * Other classes looked up while compiling a class of a ProjectCompiler, found or not
+	 */
+	public Set<String> getDependencies(){
+		return this.dependencies;
+	}
+
+	/*
+	 * Exit status of the command line: the number of semantic errors, or 1 if the .j file was not written for
+	 * another reason
+	 */
+	public int getExitCode(){
+
+		if(this.semanticErrors > 0)
+			return this.semanticErrors;
+		return this.written ? 0 : 1;
+	}
+}
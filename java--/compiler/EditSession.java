@@ -0,0 +1,315 @@
+package compiler;
+
+import parser.*;
+import static parser.ParserTreeConstants.*;
+import semantic.SemanticAnalyzer;
+import codeGen.JasminEmitter;
+import codeGen.JasminGenerator;
+import diagnostics.Diagnostic;
+import diagnostics.Diagnostics;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/*
+ * A class being edited, kept compiled between edits for an editor or a daemon
+ *
+ * The text is parsed and analysed once, and the offsets where every method begins and ends are
+ * kept. An edit that falls inside one method only lexes and parses the text of that method again:
+ * its new tree replaces the old one under METHODS, it is analysed again on its own and its code is
+ * dropped, while the analysis and the code of the other methods are kept. The diagnostics of the
+ * class are then the ones of the declarations and of every method, merged again in source order.
+ *
+ * An edit that adds or removes lines moves the kept diagnostics that come after its method by as
+ * many lines; if the declarations have a diagnostic on the lines of the method itself, where it is
+ * not known whether it moved, the whole text is compiled again.
+ *
+ * An edit anywhere else (fields, class name, between methods), one that changes the signature of
+ * its method, or one after which the method no longer parses on its own, compiles the whole text
+ * again, so the results are always those of compiling the text from scratch. A text with syntax
+ * errors is only kept as text and every edit compiles it again.
+ */
+public class EditSession{
+
+	private char[] text;
+
+	/*
+	 * Incremental state, analyzer is null when the text did not parse
+	 */
+	private IdentifierPool identifiers;
+	private SemanticAnalyzer analyzer;
+	private SimpleNode methodsNode;
+	private int[] begins;
+	private int[] ends;
+	private int[] endLines;
+	private SemanticAnalyzer[] analyses;
+	private byte[][] code;
+	private JasminGenerator generator;
+	private byte[] header;
+	private final JasminEmitter emitter = new JasminEmitter();
+
+	private List<Diagnostic> diagnostics;
+	private int errors;
+	private boolean incremental = false;
+
+	public EditSession(String text){
+
+		this.text = text.toCharArray();
+		compile();
+	}
+
+	/*
+	 * Replaces length chars at offset with replacement and returns the diagnostics of the new text
+	 */
+	public List<Diagnostic> edit(int offset, int length, String replacement){
+
+		if(offset < 0 || length < 0 || offset + length > this.text.length)
+			throw new IndexOutOfBoundsException("Edit of " + length + " chars at " + offset + " in a text of " + this.text.length);
+
+		char[] edited = new char[this.text.length - length + replacement.length()];
+		System.arraycopy(this.text, 0, edited, 0, offset);
+		replacement.getChars(0, replacement.length(), edited, offset);
+		System.arraycopy(this.text, offset + length, edited, offset + replacement.length(), this.text.length - offset - length);
+		this.text = edited;
+
+		int method = this.analyzer == null ? -1 : enclosingMethod(offset, length);
+		this.incremental = method >= 0 && reparse(method, replacement.length() - length);
+		if(!this.incremental)
+			compile();
+		return this.diagnostics;
+	}
+
+	public String getText(){
+		return new String(this.text);
+	}
+
+	public List<Diagnostic> getDiagnostics(){
+		return this.diagnostics;
+	}
+
+	public int getErrorCount(){
+		return this.errors;
+	}
+
+	/*
+	 * Whether the last edit only parsed its method again
+	 */
+	public boolean wasIncremental(){
+		return this.incremental;
+	}
+
+	/*
+	 * The Jasmin code of the class, null if it has errors
+	 * Only the methods whose code was dropped by an edit are generated again
+	 */
+	public String getCode(){
+
+		if(this.analyzer == null || this.errors > 0)
+			return null;
+
+		try{
+			if(this.generator == null){
+				ByteArrayOutputStream header = new ByteArrayOutputStream();
+				this.generator = new JasminGenerator(this.analyzer.getSymbolTables(), header, this.emitter);
+				this.header = header.toByteArray();
+			}
+			ByteArrayOutputStream output = new ByteArrayOutputStream();
+			output.write(this.header);
+			for(int i = 0; i < this.code.length; i++){
+				if(this.code[i] == null){
+					ByteArrayOutputStream method = new ByteArrayOutputStream();
+					this.generator.generateMethod((SimpleNode) this.methodsNode.jjtGetChild(i), method);
+					this.code[i] = method.toByteArray();
+				}
+				output.write(this.code[i]);
+			}
+			return new String(output.toByteArray(), StandardCharsets.UTF_8);
+		} catch(IOException exception){
+			throw new UncheckedIOException(exception);
+		}
+	}
+
+	/*
+	 * Parses, analyses and finds the methods of the whole text
+	 */
+	private void compile(){
+
+		this.analyzer = null;
+		this.generator = null;
+		this.identifiers = null;
+
+		SourceCharStream source = new SourceCharStream(CharBuffer.wrap(this.text));
+		Diagnostics diagnostics = new Diagnostics(null);
+		try{
+			SimpleNode root = null;
+			if(ParallelParser.isWorthIt(this.text.length)){
+				ParallelParser parallelParser = new ParallelParser(source);
+				root = parallelParser.parse();
+				this.identifiers = parallelParser.getIdentifiers();
+			}
+			if(root == null){
+				FastTokenManager tokens = new FastTokenManager(source);
+				Parser parser = new Parser(tokens);
+				parser.setDiagnostics(diagnostics);
+				root = parser.Program();
+				if(parser.getNumberErrors() > 0)
+					root = null;
+				this.identifiers = tokens.identifiers;
+			}
+			if(root != null && diagnostics.getErrorCount() == 0){
+				if(findMethods(source, root)){
+					this.analyzer = SemanticAnalyzer.forHeader(root, new Diagnostics(null));
+					this.analyses = new SemanticAnalyzer[this.begins.length];
+					this.code = new byte[this.begins.length][];
+					for(int i = 0; i < this.analyses.length; i++)
+						this.analyses[i] = this.analyzer.analyzeMethodAlone(this.methodsNode.jjtGetChild(i));
+					report();
+					return;
+				}
+				/*
+				 * Methods the scan does not agree on are only checked, like any text that does not parse
+				 */
+				new SemanticAnalyzer(root, diagnostics);
+			}
+		} catch(ParseException | TokenMgrError exception){
+			String code = exception instanceof TokenMgrError ? "lexical-error" : "syntax-error";
+			diagnostics.report(new Diagnostic(Diagnostic.Severity.ERROR, 0, 0, code, exception.getMessage(), "ERROR: " + exception.getMessage()));
+		}
+		this.diagnostics = diagnostics.getDiagnostics();
+		this.errors = diagnostics.getErrorCount();
+	}
+
+	/*
+	 * Keeps the offsets of the methods, from their public to their closing }, found by a MethodScanner,
+	 * and the lines of their closing }
+	 * Returns false if they are not the methods of the tree
+	 */
+	private boolean findMethods(SourceCharStream source, SimpleNode root){
+
+		Node classNode = root.jjtGetChild(0);
+		this.methodsNode = (SimpleNode) classNode.jjtGetChild(classNode.jjtGetNumChildren() - 1);
+		int methods = this.methodsNode.jjtGetNumChildren();
+
+		MethodScanner scanner = new MethodScanner(source);
+		if(!scanner.scan() || scanner.getMethodCount() != methods)
+			return false;
+		this.begins = new int[methods];
+		this.ends = new int[methods];
+		this.endLines = new int[methods];
+		for(int i = 0; i < methods; i++){
+			this.begins[i] = scanner.getBegin(i);
+			this.ends[i] = scanner.getEnd(i);
+			this.endLines[i] = source.lineOf(this.ends[i] - 1);
+		}
+		return true;
+	}
+
+	/*
+	 * The method whose text holds the edited chars, -1 if there is none
+	 */
+	private int enclosingMethod(int offset, int length){
+
+		int i = Arrays.binarySearch(this.begins, offset);
+		if(i < 0)
+			i = -i - 2;
+		if(i < 0 || offset + length > this.ends[i])
+			return -1;
+		return i;
+	}
+
+	/*
+	 * Parses a method again after an edit of delta chars inside it
+	 * Returns false, changing nothing, if the method does not parse on its own, its signature changed or
+	 * the lines it added or removed leave a diagnostic of the declarations where it may or may not have moved
+	 */
+	private boolean reparse(int method, int delta){
+
+		int begin = this.begins[method];
+		int end = this.ends[method] + delta;
+		SourceCharStream source = new SourceCharStream(CharBuffer.wrap(this.text));
+		Diagnostics diagnostics = new Diagnostics(null);
+		Parser parser = new Parser(new FastTokenManager(source, this.identifiers, begin, end));
+		parser.setDiagnostics(diagnostics);
+
+		SimpleNode node;
+		try{
+			node = parser.parseMethod();
+			if(parser.getNumberErrors() > 0 || diagnostics.getErrorCount() > 0 || parser.getToken(1).kind != ParserConstants.EOF)
+				return false;
+		} catch(ParseException | TokenMgrError exception){
+			return false;
+		}
+
+		Node old = this.methodsNode.jjtGetChild(method);
+		if(!sameSignature(old, node))
+			return false;
+
+		/*
+		 * The text after the closing } is the same, so everything after it moved by as many lines as the }
+		 */
+		int endLine = source.lineOf(end - 1);
+		int lines = endLine - this.endLines[method];
+		if(lines != 0){
+			if(this.analyzer.hasMessagesOnLines(source.lineOf(begin), this.endLines[method]))
+				return false;
+			this.analyzer.shiftLines(this.endLines[method], lines);
+			for(int i = method + 1; i < this.analyses.length; i++)
+				this.analyses[i].shiftLines(0, lines);
+		}
+
+		node.jjtSetParent(this.methodsNode);
+		this.methodsNode.jjtAddChild(node, method);
+		this.ends[method] = end;
+		this.endLines[method] = endLine;
+		for(int i = method + 1; i < this.begins.length; i++){
+			this.begins[i] += delta;
+			this.ends[i] += delta;
+			this.endLines[i] += lines;
+		}
+
+		this.analyses[method] = this.analyzer.analyzeMethodAlone(node);
+		this.code[method] = null;
+		report();
+		return true;
+	}
+
+	private void report(){
+
+		Diagnostics diagnostics = new Diagnostics(null);
+		this.errors = this.analyzer.reportMethods(Arrays.asList(this.analyses), diagnostics);
+		this.diagnostics = diagnostics.getDiagnostics();
+	}
+
+	/*
+	 * Same kind of method with the same return type, name and parameters, so the symbol tables still hold
+	 */
+	private static boolean sameSignature(Node a, Node b){
+
+		if(a.getId() != b.getId())
+			return false;
+		if(a.getId() == JJTMAIN)
+			return sameTree(a.jjtGetChild(0), b.jjtGetChild(0));
+		for(int i = 0; i < 3; i++)
+			if(!sameTree(a.jjtGetChild(i), b.jjtGetChild(i)))
+				return false;
+		return true;
+	}
+
+	private static boolean sameTree(Node a, Node b){
+
+		if(a.getId() != b.getId() || a.jjtGetNumChildren() != b.jjtGetNumChildren())
+			return false;
+		String name = ((SimpleNode) a).name;
+		if(name == null ? ((SimpleNode) b).name != null : !name.equals(((SimpleNode) b).name))
+			return false;
+		for(int i = 0; i < a.jjtGetNumChildren(); i++)
+			if(!sameTree(a.jjtGetChild(i), b.jjtGetChild(i)))
+				return false;
+		return true;
+	}
+}
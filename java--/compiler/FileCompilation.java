@@ -0,0 +1,166 @@
+package compiler;
+
+import parser.*;
+import symbol.ClassSymbolTable;
+import semantic.SemanticAnalyzer;
+import codeGen.JasminGenerator;
+import diagnostics.Diagnostic;
+import diagnostics.Diagnostics;
+import diagnostics.ErrorLimitException;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.function.Consumer;
+
+/*
+ * Compilation of one source file to a .j file (see JmmCompiler.compileFile)
+ */
+class FileCompilation{
+
+	private final SourceCharStream source;
+	private final Path output;
+	private final Diagnostics diagnostics;
+	private final Parser parser;
+
+	private SemanticAnalyzer analyzer;
+	private int methodsParsed = 0;
+
+	FileCompilation(SourceCharStream source, Path output, boolean fastLexer, Diagnostics diagnostics){
+
+		this.source = source;
+		this.output = output.toAbsolutePath();
+		this.diagnostics = diagnostics;
+		this.parser = new Parser(fastLexer ? new FastTokenManager(source) : new LeanTokenManager(source));
+		this.parser.setDiagnostics(diagnostics);
+	}
+
+	CompilationResult compile() throws IOException{
+
+		try{
+			CompilationResult result = ParallelParser.isWorthIt(this.source.length()) ? compileByMethod(true) : null;
+			if(result == null)
+				result = compileByMethod(false);
+			return result != null ? result : compileTree(this.parser.Program());
+		} catch(ErrorLimitException exception){
+			return new CompilationResult(this.diagnostics, semanticErrors(), false, true);
+		} catch(ParseException | TokenMgrError exception){
+			String code = exception instanceof TokenMgrError ? "lexical-error" : "syntax-error";
+			this.diagnostics.report(new Diagnostic(Diagnostic.Severity.ERROR, 0, 0, code, exception.getMessage(), "ERROR: " + exception.getMessage()));
+			return new CompilationResult(this.diagnostics, semanticErrors(), false, false);
+		} catch(RuntimeException exception){
+			/*
+			 * A failure of the compiler on this class, reported like ProjectCompiler does, no .j file is written
+			 */
+			String message = "Cannot compile " + this.output.getFileName() + ": " + exception;
+			this.diagnostics.report(new Diagnostic(Diagnostic.Severity.ERROR, 0, 0, "internal-error", message, "ERROR: " + message));
+			return new CompilationResult(this.diagnostics, semanticErrors(), false, false);
+		}
+	}
+
+	/*
+	 * Compiles the class one method at a time: the declarations are read by a pre-pass, then every method
+	 * is checked and written as soon as it is parsed and is then dropped, so only the tree of one method
+	 * is kept in memory. The code goes to a .part file that only replaces the output if the whole class
+	 * compiles. Returns null, before parsing anything, if the pre-pass cannot read the declarations.
+	 *
+	 * A large class has its methods parsed in parallel, a batch at a time (see ParallelParser.parseMethods),
+	 * and they are checked and written in order as their batch is parsed. If it does not parse without
+	 * errors that way, null is returned as well, having reported nothing, and the class is compiled again
+	 * by the parser.
+	 */
+	private CompilationResult compileByMethod(boolean parallel) throws ParseException, IOException{
+
+		SimpleNode header = new HeaderScanner(this.source, this.parser.getIdentifiers()).scan();
+		if(header == null)
+			return null;
+
+		SemanticAnalyzer analyzer = SemanticAnalyzer.forHeader(header, this.diagnostics);
+		this.analyzer = analyzer;
+		this.methodsParsed = 0;
+		ClassSymbolTable symbolTables = analyzer.getSymbolTables();
+		Node classNode = header.jjtGetChild(0);
+		int methodsDeclared = classNode.jjtGetChild(classNode.jjtGetNumChildren() - 1).jjtGetNumChildren();
+		/*
+		 * The declarations are in the symbol tables now
+		 */
+		header = null;
+		classNode = null;
+
+		Path partial = this.output.resolveSibling(this.output.getFileName() + ".part");
+		Files.createDirectories(this.output.getParent());
+		boolean parsed = true;
+		boolean aborted = false;
+		boolean written = false;
+		try{
+			try(OutputStream stream = new BufferedOutputStream(Files.newOutputStream(partial))){
+				JasminGenerator generator = new JasminGenerator(symbolTables, stream);
+				Consumer<SimpleNode> handler = method -> {
+					this.methodsParsed++;
+					if(!analyzer.analyzeMethod(method))
+						return;
+					try{
+						generator.generateMethod(method);
+					} catch(IOException exception){
+						throw new UncheckedIOException(exception);
+					}
+				};
+				if(parallel){
+					parsed = new ParallelParser(this.source, this.parser.getIdentifiers()).parseMethods(handler) && this.methodsParsed == methodsDeclared;
+				}
+				else {
+					this.parser.setMethodHandler(handler);
+					this.parser.Program();
+				}
+			} catch(UncheckedIOException exception){
+				throw exception.getCause();
+			} catch(ErrorLimitException exception){
+				aborted = true;
+			} finally {
+				if(parsed)
+					analyzer.reportMessages();
+			}
+			if(!parsed)
+				return null;
+
+			if(!aborted && analyzer.getNumberErrors() == 0 && this.methodsParsed == methodsDeclared){
+				Files.move(partial, this.output, StandardCopyOption.REPLACE_EXISTING);
+				written = true;
+			}
+		} finally {
+			Files.deleteIfExists(partial);
+		}
+
+		/*
+		 * Methods skipped by the syntax error recovery were declared but never generated
+		 */
+		if(!aborted && analyzer.getNumberErrors() == 0 && this.methodsParsed != methodsDeclared){
+			String message = (methodsDeclared - this.methodsParsed) + " declared methods were not parsed, no code generated.";
+			this.diagnostics.report(new Diagnostic(Diagnostic.Severity.ERROR, 0, 0, "methods-not-parsed", message, "ERROR: " + message));
+		}
+		return new CompilationResult(this.diagnostics, analyzer.getNumberErrors(), written, aborted);
+	}
+
+	/*
+	 * Checks and generates the whole tree of the class, rootNode is null if the class could not be parsed
+	 */
+	private CompilationResult compileTree(SimpleNode rootNode){
+
+		if(rootNode == null)
+			return new CompilationResult(this.diagnostics, 0, false, false);
+		this.analyzer = new SemanticAnalyzer(rootNode, this.diagnostics);
+		if(this.analyzer.getNumberErrors() > 0)
+			return new CompilationResult(this.diagnostics, this.analyzer.getNumberErrors(), false, this.diagnostics.limitReached());
+
+		new JasminGenerator(this.analyzer.getSymbolTables(), rootNode, this.output.toString());
+		return new CompilationResult(this.diagnostics, 0, true, false);
+	}
+
+	private int semanticErrors(){
+		return this.analyzer != null ? this.analyzer.getNumberErrors() : 0;
+	}
+}
@@ -0,0 +1,276 @@
+package compiler;
+
+import symbol.SignatureFile;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/*
+ * Compiles the classes of a project like ProjectCompiler, but only the sources that need it
+ *
+ * The state of the last build is kept in <output_dir>/.jmm-build: for every source that was compiled
+ * without errors, the SHA-256 of its content, the name of its class and the classes it looked up, each
+ * with the SHA-256 of the signature file it was compiled against (or none if there was none). A source
+ * is compiled again when its content changed, when its outputs are missing, when it had errors the last
+ * time, or when the signature of a class it looked up changed. The sources compiled in a round are
+ * compiled together and the others are read from their signature files, so the dependents of a class
+ * whose signature changed are compiled in the next round, until no signature changes.
+ *
+ * The state is only read and written by build, a builder can be kept and called again after each edit.
+ */
+public class IncrementalBuilder{
+
+	public static final String STATE_FILE = ".jmm-build";
+
+	private static final String STATE_HEADER = "# jmm build state 1";
+	private static final String NO_SIGNATURE = "-";
+
+	private final Path outputDirectory;
+	private final List<Path> signaturePath;
+	private final boolean fastLexer;
+	private final int errorLimit;
+
+	/*
+	 * Last build of every source, by absolute path
+	 */
+	private Map<String, Entry> entries;
+
+	public IncrementalBuilder(Path outputDirectory, List<Path> signaturePath, boolean fastLexer, int errorLimit){
+
+		this.outputDirectory = outputDirectory;
+		this.signaturePath = new ArrayList<>(signaturePath);
+		this.fastLexer = fastLexer;
+		this.errorLimit = errorLimit;
+	}
+
+	/*
+	 * Brings the outputs of the sources up to date
+	 * Returns the result of every source that was compiled, in the order of sources, the others are up to date
+	 */
+	public Map<Path, CompilationResult> build(List<Path> sources) throws IOException{
+
+		Files.createDirectories(this.outputDirectory);
+		if(this.entries == null)
+			this.entries = readState();
+
+		List<Path> dirty = new ArrayList<>();
+		Map<Path, String> hashes = new HashMap<>();
+		for(Path source : sources){
+			String hash = sha256(Files.readAllBytes(source));
+			hashes.put(source, hash);
+			Entry entry = this.entries.get(key(source));
+			if(entry == null || !entry.sourceHash.equals(hash) || !outputsExist(entry.className))
+				dirty.add(source);
+		}
+		/*
+		 * Signatures from the signature path may have changed too
+		 */
+		Map<String, String> current = new HashMap<>();
+		for(Path source : sources)
+			if(!dirty.contains(source) && dependenciesChanged(this.entries.get(key(source)), current))
+				dirty.add(source);
+
+		Map<Path, CompilationResult> compiled = new HashMap<>();
+		while(!dirty.isEmpty()){
+			/*
+			 * The old outputs go first, a class that is not written again must not be found by its dependents
+			 */
+			for(Path source : dirty){
+				Entry entry = this.entries.remove(key(source));
+				if(entry != null)
+					deleteOutputs(entry.className);
+			}
+
+			List<CompilationResult> results = new ProjectCompiler(this.outputDirectory, this.signaturePath, this.fastLexer, this.errorLimit).compile(dirty);
+			Map<String, String> signatures = new HashMap<>();
+			for(int i = 0; i < dirty.size(); i++){
+				Path source = dirty.get(i);
+				CompilationResult result = results.get(i);
+				compiled.put(source, result);
+				if(!result.isWritten())
+					continue;
+
+				Map<String, String> dependencies = new TreeMap<>();
+				for(String dependency : result.getDependencies())
+					dependencies.put(dependency, signatureHash(dependency, signatures));
+				this.entries.put(key(source), new Entry(hashes.get(source), result.getClassName(), dependencies));
+			}
+
+			dirty = new ArrayList<>();
+			for(Path source : sources){
+				Entry entry = this.entries.get(key(source));
+				if(!compiled.containsKey(source) && entry != null && dependenciesChanged(entry, signatures))
+					dirty.add(source);
+			}
+		}
+
+		writeState();
+
+		Map<Path, CompilationResult> results = new LinkedHashMap<>();
+		for(Path source : sources)
+			if(compiled.containsKey(source))
+				results.put(source, compiled.get(source));
+		return results;
+	}
+
+	private boolean dependenciesChanged(Entry entry, Map<String, String> signatures) throws IOException{
+
+		for(Map.Entry<String, String> dependency : entry.dependencies.entrySet())
+			if(!dependency.getValue().equals(signatureHash(dependency.getKey(), signatures)))
+				return true;
+		return false;
+	}
+
+	/*
+	 * Forgets a source that is gone and deletes its outputs, the sources that used its class are compiled
+	 * again by the next build
+	 */
+	public void remove(Path source) throws IOException{
+
+		if(this.entries == null)
+			this.entries = readState();
+		Entry entry = this.entries.remove(key(source));
+		if(entry != null){
+			deleteOutputs(entry.className);
+			writeState();
+		}
+	}
+
+	/*
+	 * SHA-256 of the signature file a class is read from, the same that ProjectCompiler would find
+	 * signatures caches them for a round, the files do not change in between
+	 */
+	private String signatureHash(String className, Map<String, String> signatures) throws IOException{
+
+		String hash = signatures.get(className);
+		if(hash != null)
+			return hash;
+
+		hash = NO_SIGNATURE;
+		List<Path> directories = new ArrayList<>(this.signaturePath);
+		directories.add(this.outputDirectory);
+		/*
+		 * A class of the project is in the output directory whatever the signature path has
+		 */
+		for(Entry entry : this.entries.values()){
+			if(entry.className.equals(className)){
+				directories.add(0, this.outputDirectory);
+				break;
+			}
+		}
+		for(Path directory : directories){
+			Path file = directory.resolve(className + SignatureFile.EXTENSION);
+			if(Files.isRegularFile(file)){
+				hash = sha256(Files.readAllBytes(file));
+				break;
+			}
+		}
+		signatures.put(className, hash);
+		return hash;
+	}
+
+	private boolean outputsExist(String className){
+		return Files.isRegularFile(this.outputDirectory.resolve(className + ".j"))
+			&& Files.isRegularFile(this.outputDirectory.resolve(className + SignatureFile.EXTENSION));
+	}
+
+	private void deleteOutputs(String className) throws IOException{
+
+		Files.deleteIfExists(this.outputDirectory.resolve(className + ".j"));
+		Files.deleteIfExists(this.outputDirectory.resolve(className + SignatureFile.EXTENSION));
+	}
+
+	/*
+	 * One line per source: source hash, class name, dependencies as class=hash separated by commas, path
+	 * A state that cannot be read is dropped and every source is compiled
+	 */
+	private Map<String, Entry> readState() throws IOException{
+
+		Map<String, Entry> entries = new HashMap<>();
+		Path file = this.outputDirectory.resolve(STATE_FILE);
+		if(!Files.isRegularFile(file))
+			return entries;
+
+		List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+		if(lines.isEmpty() || !lines.get(0).equals(STATE_HEADER))
+			return new HashMap<>();
+		for(String line : lines.subList(1, lines.size())){
+			String[] fields = line.split("\t", 4);
+			if(fields.length != 4)
+				return new HashMap<>();
+
+			Map<String, String> dependencies = new TreeMap<>();
+			for(String dependency : fields[2].split(",")){
+				if(dependency.isEmpty())
+					continue;
+				int equals = dependency.indexOf('=');
+				if(equals < 0)
+					return new HashMap<>();
+				dependencies.put(dependency.substring(0, equals), dependency.substring(equals + 1));
+			}
+			entries.put(fields[3], new Entry(fields[0], fields[1], dependencies));
+		}
+		return entries;
+	}
+
+	private void writeState() throws IOException{
+
+		List<String> lines = new ArrayList<>();
+		lines.add(STATE_HEADER);
+		for(Map.Entry<String, Entry> source : new TreeMap<>(this.entries).entrySet()){
+			Entry entry = source.getValue();
+			StringBuilder dependencies = new StringBuilder();
+			for(Map.Entry<String, String> dependency : entry.dependencies.entrySet()){
+				if(dependencies.length() > 0)
+					dependencies.append(',');
+				dependencies.append(dependency.getKey()).append('=').append(dependency.getValue());
+			}
+			lines.add(entry.sourceHash + "\t" + entry.className + "\t" + dependencies + "\t" + source.getKey());
+		}
+		Files.write(this.outputDirectory.resolve(STATE_FILE), lines, StandardCharsets.UTF_8);
+	}
+
+	private static String key(Path source){
+		return source.toAbsolutePath().normalize().toString();
+	}
+
+	static String sha256(byte[] bytes){
+
+		try{
+			return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+		} catch(NoSuchAlgorithmException exception){
+			throw new IllegalStateException("SHA-256 is not available", exception);
+		}
+	}
+
+	/*
+	 * Last build of a source
+	 */
+	private static class Entry{
+
+		final String sourceHash;
+		final String className;
+		/*
+		 * Class name to the hash of the signature it was compiled against
+		 */
+		final Map<String, String> dependencies;
+
+		Entry(String sourceHash, String className, Map<String, String> dependencies){
+
+			this.sourceHash = sourceHash;
+			this.className = className;
+			this.dependencies = dependencies;
+		}
+	}
+}
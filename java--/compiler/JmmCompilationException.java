@@ -0,0 +1,17 @@
+package compiler;
+
+/*
+ * Thrown when a Java-- source cannot be compiled, the message has the errors reported by the compiler
+ */
+public class JmmCompilationException extends Exception{
+
+	private static final long serialVersionUID = 1L;
+
+	public JmmCompilationException(String message){
+		super(message);
+	}
+
+	public JmmCompilationException(String message, Throwable cause){
+		super(message, cause);
+	}
+}
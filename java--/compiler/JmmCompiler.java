@@ -0,0 +1,123 @@
+package compiler;
+
+import parser.*;
+import symbol.ClassSymbolTable;
+import semantic.SemanticAnalyzer;
+import codeGen.*;
+import diagnostics.Diagnostic;
+import diagnostics.Diagnostics;
+
+import java.io.*;
+import java.nio.CharBuffer;
+import java.nio.file.Path;
+import java.util.StringJoiner;
+
+/*
+ * Compiles Java-- sources in memory or to .j files
+ *
+ * In memory, the source goes through the parser, the semantic analysis and the JasminGenerator without
+ * writing a .j file, the Jasmin code is assembled by the jasmin library in this JVM and the
+ * class is defined by a new JmmClassLoader. Every call uses its own parser and class loader,
+ * so sources can be compiled from several threads.
+ *
+ * The errors and warnings of a compilation are reported to a Diagnostics instead of ending the
+ * program, so the compiler can be used for any number of sources in the same JVM.
+ */
+public class JmmCompiler{
+
+	/*
+	 * Compiles a source and loads its class
+	 * Other classes used by the source (like io) are loaded by the class loader of the compiler
+	 */
+	public static Class<?> compileToClass(String source) throws JmmCompilationException{
+		return compileToClass(source, JmmCompiler.class.getClassLoader());
+	}
+
+	public static Class<?> compileToClass(String source, ClassLoader parent) throws JmmCompilationException{
+
+		Compilation compilation = compile(source);
+
+		JmmClassLoader classLoader = new JmmClassLoader(parent);
+		classLoader.addClass(compilation.className, compilation.classFile);
+		try{
+			return classLoader.loadClass(compilation.className);
+		} catch(ClassNotFoundException | LinkageError exception){
+			throw new JmmCompilationException("Cannot load class " + compilation.className + ": " + exception, exception);
+		}
+	}
+
+	/*
+	 * Compiles a source to the bytes of its class file
+	 */
+	public static byte[] compileToBytes(String source) throws JmmCompilationException{
+		return compile(source).classFile;
+	}
+
+	/*
+	 * Compiles a source file to a Jasmin .j file, reporting the errors and warnings to diagnostics
+	 *
+	 * The class is compiled one method at a time when a pre-pass can read its declarations
+	 * (parser.HeaderScanner), otherwise from the whole tree. On more than one core, a source of at
+	 * least ParallelParser.MIN_LENGTH chars without syntax errors has its methods parsed in parallel,
+	 * a batch at a time, and still checked and written one at a time. The .j file is not written if the class has semantic errors, or if
+	 * the diagnostics reach their error limit, which stops the compilation. A failure of the compiler
+	 * itself is reported as an "internal-error" diagnostic of the result instead of being thrown.
+	 */
+	public static CompilationResult compileFile(Path source, Path output, Diagnostics diagnostics) throws IOException{
+		return compileFile(SourceCharStream.open(source), output, false, diagnostics);
+	}
+
+	/*
+	 * fastLexer reads the tokens with parser.FastTokenManager instead of the generated lexer
+	 */
+	public static CompilationResult compileFile(SourceCharStream source, Path output, boolean fastLexer, Diagnostics diagnostics) throws IOException{
+		return new FileCompilation(source, output, fastLexer, diagnostics).compile();
+	}
+
+	private static Compilation compile(String source) throws JmmCompilationException{
+
+		Parser parser = new Parser(new LeanTokenManager(new SourceCharStream(CharBuffer.wrap(source))));
+		Diagnostics diagnostics = new Diagnostics();
+		parser.setDiagnostics(diagnostics);
+		SimpleNode rootNode;
+		try{
+			rootNode = parser.Program();
+		} catch(ParseException | TokenMgrError exception){
+			throw new JmmCompilationException(exception.getMessage(), exception);
+		}
+		if(rootNode == null)
+			throw new JmmCompilationException(diagnostics.getDiagnostics().get(0).getMessage());
+		if(parser.getNumberErrors() > 0)
+			throw new JmmCompilationException(parser.getNumberErrors() + " syntactic errors");
+
+		SemanticAnalyzer analyzer = new SemanticAnalyzer(rootNode, diagnostics);
+		if(analyzer.getNumberErrors() > 0){
+			StringJoiner messages = new StringJoiner(System.lineSeparator());
+			for(Diagnostic diagnostic : diagnostics.getDiagnostics())
+				messages.add(diagnostic.getText());
+			throw new JmmCompilationException(messages.toString());
+		}
+
+		ClassSymbolTable symbolTable = analyzer.getSymbolTables();
+		StringWriter code = new StringWriter();
+		new JasminGenerator(symbolTable, rootNode, code);
+
+		try{
+			return new Compilation(symbolTable.getClassName(), JasminAssembler.assemble(code.toString()));
+		} catch(IOException exception){
+			throw new JmmCompilationException(exception.getMessage(), exception);
+		}
+	}
+
+	private static class Compilation{
+
+		final String className;
+		final byte[] classFile;
+
+		Compilation(String className, byte[] classFile){
+
+			this.className = className;
+			this.classFile = classFile;
+		}
+	}
+}
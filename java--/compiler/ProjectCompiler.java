@@ -0,0 +1,199 @@
+package compiler;
+
+import parser.*;
+import symbol.ClassRegistry;
+import symbol.ClassSymbolTable;
+import symbol.SignatureFile;
+import semantic.SemanticAnalyzer;
+import codeGen.JasminGenerator;
+import diagnostics.Diagnostic;
+import diagnostics.Diagnostics;
+import diagnostics.ErrorLimitException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/*
+ * Compiles several classes together, one source file per class, to a .j file per class
+ *
+ * The sources are parsed in parallel and the declarations of every class are registered in a
+ * ClassRegistry. Once all of them are there, the classes are checked and generated in parallel:
+ * a call on an object of another class of the project is checked against that class and called
+ * with the exact descriptor of its method. Calls on classes outside the project (io, ...) are
+ * generated as for a single file.
+ *
+ * Next to the .j file of every class goes its signature file (<class name>.jms, see SignatureFile).
+ * A class used by the project that is not one of its sources is read from its signature file,
+ * looked for in the signature path and then in the output directory, so the classes compiled
+ * before do not have to be parsed again.
+ *
+ * Every source reports to its own Diagnostics, so the messages of a class are not mixed with the
+ * others. A source with syntax errors is not registered nor generated.
+ */
+public class ProjectCompiler{
+
+	private final Path outputDirectory;
+	private final List<Path> signaturePath;
+	private final boolean fastLexer;
+	private final int errorLimit;
+
+	/*
+	 * errorLimit applies to each source, see Diagnostics
+	 */
+	public ProjectCompiler(Path outputDirectory, boolean fastLexer, int errorLimit){
+
+		this(outputDirectory, new ArrayList<>(), fastLexer, errorLimit);
+	}
+
+	public ProjectCompiler(Path outputDirectory, List<Path> signaturePath, boolean fastLexer, int errorLimit){
+
+		this.outputDirectory = outputDirectory;
+		this.signaturePath = new ArrayList<>(signaturePath);
+		this.signaturePath.add(outputDirectory);
+		this.fastLexer = fastLexer;
+		this.errorLimit = errorLimit;
+	}
+
+	/*
+	 * Returns the result of every source, in the same order
+	 */
+	public List<CompilationResult> compile(List<Path> sources) throws IOException{
+
+		Files.createDirectories(this.outputDirectory);
+		ClassRegistry registry = new ClassRegistry(this.signaturePath);
+		Unit[] units = new Unit[sources.size()];
+		for(int i = 0; i < units.length; i++)
+			units[i] = new Unit(sources.get(i), new Diagnostics(null, this.errorLimit));
+
+		IntStream.range(0, units.length).parallel().forEach(i -> units[i].declare(registry));
+		IntStream.range(0, units.length).parallel().forEach(i -> units[i].generate());
+
+		List<CompilationResult> results = new ArrayList<>();
+		for(Unit unit : units)
+			results.add(unit.result());
+		return results;
+	}
+
+	/*
+	 * A source file and the state of its compilation
+	 */
+	private class Unit{
+
+		private final Path source;
+		private final Diagnostics diagnostics;
+		private final Set<String> dependencies = ConcurrentHashMap.newKeySet();
+
+		private SimpleNode rootNode;
+		private SemanticAnalyzer analyzer;
+		private boolean written = false;
+		private boolean aborted = false;
+
+		Unit(Path source, Diagnostics diagnostics){
+
+			this.source = source;
+			this.diagnostics = diagnostics;
+		}
+
+		/*
+		 * Parses the source and registers the declarations of its class
+		 */
+		void declare(ClassRegistry registry){
+
+			try{
+				SourceCharStream stream = SourceCharStream.open(this.source);
+				/*
+				 * A large class has its methods parsed in parallel, if it has any syntax error the parser reports it
+				 */
+				SimpleNode rootNode = ParallelParser.isWorthIt(stream.length()) ? new ParallelParser(stream).parse() : null;
+				if(rootNode == null){
+					Parser parser = new Parser(fastLexer ? new FastTokenManager(stream) : new LeanTokenManager(stream));
+					parser.setDiagnostics(this.diagnostics);
+					rootNode = parser.Program();
+					if(parser.getNumberErrors() > 0 || this.diagnostics.getErrorCount() > 0)
+						return;
+				}
+
+				this.analyzer = SemanticAnalyzer.forHeader(rootNode, this.diagnostics, registry.recording(this.dependencies));
+				this.rootNode = rootNode;
+			} catch(ErrorLimitException exception){
+				this.aborted = true;
+			} catch(IOException exception){
+				error("io-error", "Cannot read " + this.source + ": " + exception.getMessage());
+			} catch(ParseException | TokenMgrError exception){
+				error(exception instanceof TokenMgrError ? "lexical-error" : "syntax-error", exception.getMessage());
+			} catch(RuntimeException exception){
+				internalError(exception);
+			}
+		}
+
+		/*
+		 * Checks the methods of the class and writes its .j and signature files, the classes it uses are all registered by now
+		 */
+		void generate(){
+
+			if(this.rootNode == null)
+				return;
+
+			Node classNode = this.rootNode.jjtGetChild(0);
+			Node methods = classNode.jjtGetChild(classNode.jjtGetNumChildren() - 1);
+			try{
+				for(int i = 0; i < methods.jjtGetNumChildren(); i++)
+					this.analyzer.analyzeMethod(methods.jjtGetChild(i));
+			} catch(ErrorLimitException exception){
+				this.aborted = true;
+			} catch(RuntimeException exception){
+				internalError(exception);
+				return;
+			} finally {
+				this.analyzer.reportMessages();
+			}
+			if(this.aborted || this.analyzer.getNumberErrors() > 0)
+				return;
+
+			ClassSymbolTable symbolTable = this.analyzer.getSymbolTables();
+			Path output = outputDirectory.resolve(symbolTable.getClassName() + ".j");
+			try{
+				new JasminGenerator(symbolTable, this.rootNode, output.toString());
+			} catch(RuntimeException exception){
+				internalError(exception);
+				return;
+			}
+			try{
+				SignatureFile.write(symbolTable, outputDirectory.resolve(symbolTable.getClassName() + SignatureFile.EXTENSION));
+			} catch(IOException exception){
+				error("io-error", "Cannot write the signature of " + symbolTable.getClassName() + ": " + exception.getMessage());
+				return;
+			}
+			this.written = true;
+		}
+
+		CompilationResult result(){
+
+			if(this.analyzer == null || this.analyzer.getSymbolTables() == null)
+				return new CompilationResult(this.diagnostics, this.analyzer != null ? this.analyzer.getNumberErrors() : 0, this.written, this.aborted);
+
+			String className = this.analyzer.getSymbolTables().getClassName();
+			Set<String> dependencies = new TreeSet<>(this.dependencies);
+			dependencies.remove(className);
+			return new CompilationResult(this.diagnostics, this.analyzer.getNumberErrors(), this.written, this.aborted, className, dependencies);
+		}
+
+		private void error(String code, String message){
+			this.diagnostics.report(new Diagnostic(Diagnostic.Severity.ERROR, 0, 0, code, message, "ERROR: " + message));
+		}
+
+		/*
+		 * A failure of the compiler on this class, the other classes of the build go on
+		 */
+		private void internalError(RuntimeException exception){
+			error("internal-error", "Cannot compile " + this.source + ": " + exception);
+		}
+	}
+}
@@ -0,0 +1,167 @@
+package compiler;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import diagnostics.Diagnostic;
+
+/*
+ * Compiles the .jmm files of a directory and its subdirectories whenever they change, until the thread is
+ * interrupted or close is called
+ *
+ * The compiler stays in this JVM with its IncrementalBuilder, so an edit only pays for compiling the
+ * sources it changed and the ones that depend on their signatures. The events of the WatchService come in
+ * bursts (an editor saving a file, a checkout), they are gathered until none arrives for DEBOUNCE_MILLIS
+ * and then the sources are built once.
+ */
+public class ProjectWatcher implements AutoCloseable{
+
+	public static final long DEBOUNCE_MILLIS = 100;
+
+	/*
+	 * Told about every build, nanos is the time the build took, from reading the sources to the last file written
+	 */
+	public interface Listener{
+		void built(Map<Path, CompilationResult> results, int sources, long nanos);
+
+		/*
+		 * Told about a build that could not finish (a source deleted while it was read, a failure of the
+		 * compiler), the watch goes on and the next change builds again
+		 */
+		void failed(Diagnostic diagnostic);
+	}
+
+	private final Path directory;
+	private final IncrementalBuilder builder;
+	private final Listener listener;
+	private final WatchService watchService;
+
+	private Set<Path> sources = new HashSet<>();
+
+	public ProjectWatcher(Path directory, Path outputDirectory, List<Path> signaturePath, boolean fastLexer, int errorLimit, Listener listener) throws IOException{
+
+		this.directory = directory;
+		this.builder = new IncrementalBuilder(outputDirectory, signaturePath, fastLexer, errorLimit);
+		this.listener = listener;
+		this.watchService = FileSystems.getDefault().newWatchService();
+	}
+
+	/*
+	 * Builds the sources once and then after every burst of changes
+	 */
+	public void run() throws IOException, InterruptedException{
+
+		register(this.directory);
+		build();
+
+		try{
+			while(true){
+				boolean changed = handle(this.watchService.take());
+				WatchKey key;
+				while((key = this.watchService.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS)) != null)
+					changed |= handle(key);
+				if(changed)
+					build();
+			}
+		} catch(ClosedWatchServiceException exception){
+			/*
+			 * Closed by close, the watch is over
+			 */
+		}
+	}
+
+	@Override
+	public void close() throws IOException{
+		this.watchService.close();
+	}
+
+	private void build(){
+
+		long start = System.nanoTime();
+		try{
+			List<Path> sources;
+			try(Stream<Path> files = Files.walk(this.directory)){
+				sources = files.filter(ProjectWatcher::isSource).sorted().collect(Collectors.toList());
+			}
+			/*
+			 * The outputs of a deleted source go too, and its dependents are compiled again without it
+			 */
+			for(Path source : this.sources)
+				if(!sources.contains(source))
+					this.builder.remove(source);
+			this.sources = new HashSet<>(sources);
+
+			Map<Path, CompilationResult> results = this.builder.build(sources);
+			this.listener.built(results, sources.size(), System.nanoTime() - start);
+		} catch(IOException | RuntimeException exception){
+			/*
+			 * The sources that were not built are not recorded as built, so the next build compiles them again
+			 */
+			String message = "Cannot build " + this.directory + ": " + exception;
+			this.listener.failed(new Diagnostic(Diagnostic.Severity.ERROR, 0, 0, "build-error", message, "ERROR: " + message));
+		}
+	}
+
+	/*
+	 * Takes the events of a key, returns whether a source may have changed
+	 */
+	private boolean handle(WatchKey key) throws IOException{
+
+		boolean changed = false;
+		Path parent = (Path) key.watchable();
+		for(WatchEvent<?> event : key.pollEvents()){
+			if(event.kind() == StandardWatchEventKinds.OVERFLOW){
+				changed = true;
+				continue;
+			}
+			Path path = parent.resolve((Path) event.context());
+			if(event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(path)){
+				try{
+					register(path);
+				} catch(IOException | UncheckedIOException exception){
+					/*
+					 * Deleted again before it was walked, its own event follows
+					 */
+				}
+				changed = true;
+			}
+			else if(isSource(path)){
+				changed = true;
+			}
+		}
+		key.reset();
+		return changed;
+	}
+
+	/*
+	 * Watches a directory and the ones inside it
+	 */
+	private void register(Path directory) throws IOException{
+
+		List<Path> directories;
+		try(Stream<Path> files = Files.walk(directory)){
+			directories = files.filter(Files::isDirectory).collect(Collectors.toList());
+		}
+		for(Path path : directories)
+			path.register(this.watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+	}
+
+	private static boolean isSource(Path path){
+		return path.getFileName().toString().endsWith(".jmm") && !Files.isDirectory(path);
+	}
+}
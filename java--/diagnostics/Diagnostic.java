@@ -0,0 +1,65 @@
+package diagnostics;
+
+/*
+ * An error or warning reported by the compiler
+ *
+ * The code names the kind of problem ("syntax-error", "cannot-find-symbol", ...) and the message
+ * describes this occurrence. The text is the line the command line prints for it.
+ */
+public class Diagnostic{
+
+	public enum Severity{
+		ERROR, WARNING
+	}
+
+	private final Severity severity;
+	// 0 when unknown
+	private final int line;
+	private final int column;
+	private final String code;
+	private final String message;
+	private final String text;
+
+	public Diagnostic(Severity severity, int line, int column, String code, String message, String text){
+
+		this.severity = severity;
+		this.line = line;
+		this.column = column;
+		this.code = code;
+		this.message = message;
+		this.text = text;
+	}
+
+	public Severity getSeverity(){
+		return this.severity;
+	}
+
+	public boolean isError(){
+		return this.severity == Severity.ERROR;
+	}
+
+	public int getLine(){
+		return this.line;
+	}
+
+	public int getColumn(){
+		return this.column;
+	}
+
+	public String getCode(){
+		return this.code;
+	}
+
+	public String getMessage(){
+		return this.message;
+	}
+
+	public String getText(){
+		return this.text;
+	}
+
+	@Override
+	public String toString(){
+		return this.text;
+	}
+}
@@ -0,0 +1,103 @@
+package diagnostics;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/*
+ * Collects the diagnostics of a compilation, in the order they are reported
+ *
+ * Every diagnostic can also be printed as it is reported, which is what the command line does.
+ * With an error limit the errors after the first errorLimit are dropped and checkLimit throws
+ * an ErrorLimitException, so the parser and the semantic analysis stop early on broken sources.
+ * A Diagnostics can be reported to from several threads.
+ */
+public class Diagnostics{
+
+	public static final int NO_LIMIT = Integer.MAX_VALUE;
+
+	private final PrintStream out;
+	private final int errorLimit;
+	private final List<Diagnostic> diagnostics = new ArrayList<>();
+	private int errors = 0;
+	private int warnings = 0;
+
+	/*
+	 * Diagnostics that are only collected, without an error limit
+	 */
+	public Diagnostics(){
+		this(null, NO_LIMIT);
+	}
+
+	public Diagnostics(PrintStream out){
+		this(out, NO_LIMIT);
+	}
+
+	/*
+	 * out, if not null, gets the text of every diagnostic kept
+	 */
+	public Diagnostics(PrintStream out, int errorLimit){
+
+		if(errorLimit < 1)
+			throw new IllegalArgumentException("The error limit must be positive: " + errorLimit);
+		this.out = out;
+		this.errorLimit = errorLimit;
+	}
+
+	/*
+	 * Keeps the diagnostic, unless it is an error and the error limit has been reached
+	 * Returns whether it was kept
+	 */
+	public synchronized boolean report(Diagnostic diagnostic){
+
+		if(diagnostic.isError()){
+			if(this.errors >= this.errorLimit)
+				return false;
+			this.errors++;
+		}
+		else
+			this.warnings++;
+
+		this.diagnostics.add(diagnostic);
+		if(this.out != null)
+			this.out.println(diagnostic.getText());
+		return true;
+	}
+
+	public synchronized boolean limitReached(){
+		return this.errors >= this.errorLimit;
+	}
+
+	/*
+	 * Throws an ErrorLimitException if the error limit has been reached
+	 */
+	public void checkLimit(){
+
+		if(limitReached())
+			throw new ErrorLimitException(this.errorLimit);
+	}
+
+	/*
+	 * Number of errors that can still be reported before the limit, NO_LIMIT if there is none
+	 */
+	public synchronized int getErrorsLeft(){
+		return this.errorLimit == NO_LIMIT ? NO_LIMIT : this.errorLimit - this.errors;
+	}
+
+	public int getErrorLimit(){
+		return this.errorLimit;
+	}
+
+	public synchronized int getErrorCount(){
+		return this.errors;
+	}
+
+	public synchronized int getWarningCount(){
+		return this.warnings;
+	}
+
+	public synchronized List<Diagnostic> getDiagnostics(){
+		return Collections.unmodifiableList(new ArrayList<>(this.diagnostics));
+	}
+}
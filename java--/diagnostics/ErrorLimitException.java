@@ -0,0 +1,13 @@
+package diagnostics;
+
+/*
+ * Thrown to stop a compilation once it has reported as many errors as its Diagnostics allow
+ */
+public class ErrorLimitException extends RuntimeException{
+
+	private static final long serialVersionUID = 1L;
+
+	public ErrorLimitException(int errorLimit){
+		super("Compilation stopped after " + errorLimit + " errors");
+	}
+}
@@ -0,0 +1,91 @@
+package interpreter;
+
+/*
+ * Compiled boolean expression
+ */
+public abstract class BooleanExecutor{
+
+	public abstract boolean execute(Frame frame);
+
+	static final class Constant extends BooleanExecutor{
+
+		private final boolean value;
+
+		Constant(boolean value){
+			this.value = value;
+		}
+
+		public boolean execute(Frame frame){
+			return this.value;
+		}
+	}
+
+	static final class LocalLoad extends BooleanExecutor{
+
+		private final int slot;
+
+		LocalLoad(int slot){
+			this.slot = slot;
+		}
+
+		public boolean execute(Frame frame){
+			return frame.ints[this.slot] != 0;
+		}
+	}
+
+	static final class NotNode extends BooleanExecutor{
+
+		private final BooleanExecutor value;
+
+		NotNode(BooleanExecutor value){
+			this.value = value;
+		}
+
+		public boolean execute(Frame frame){
+			return !this.value.execute(frame);
+		}
+	}
+
+	static final class AndNode extends BooleanExecutor{
+
+		private final BooleanExecutor lhs;
+		private final BooleanExecutor rhs;
+
+		AndNode(BooleanExecutor lhs, BooleanExecutor rhs){
+			this.lhs = lhs;
+			this.rhs = rhs;
+		}
+
+		public boolean execute(Frame frame){
+			return this.lhs.execute(frame) && this.rhs.execute(frame);
+		}
+	}
+
+	static final class LtNode extends BooleanExecutor{
+
+		private final IntExecutor lhs;
+		private final IntExecutor rhs;
+
+		LtNode(IntExecutor lhs, IntExecutor rhs){
+			this.lhs = lhs;
+			this.rhs = rhs;
+		}
+
+		public boolean execute(Frame frame){
+			return this.lhs.execute(frame) < this.rhs.execute(frame);
+		}
+	}
+
+	static final class FromInt extends BooleanExecutor{
+
+		private final IntExecutor value;
+
+		FromInt(IntExecutor value){
+			this.value = value;
+		}
+
+		public boolean execute(Frame frame){
+			return this.value.execute(frame) != 0;
+		}
+	}
+}
@@ -0,0 +1,142 @@
+package interpreter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.util.Random;
+
+/*
+ * Bindings for the library classes used by the Java-- programs (io, ioPlus and MathUtils)
+ *
+ * A library method is first resolved to an id and then called with up to two int arguments,
+ * so calls can be bound once and executed without allocating an argument array.
+ */
+public class Builtins{
+
+	public static final int UNKNOWN = -1;
+	public static final int IO_PRINTLN = 0;
+	public static final int IO_PRINTLN_INT = 1;
+	public static final int IO_PRINT_INT = 2;
+	public static final int IO_READ = 3;
+	public static final int IOPLUS_PRINT_RESULT = 4;
+	public static final int IOPLUS_PRINT_HELLO_WORLD = 5;
+	public static final int IOPLUS_REQUEST_NUMBER = 6;
+	public static final int MATHUTILS_RANDOM = 7;
+
+	private final PrintStream out;
+	private final BufferedReader in;
+	private final Random random = new Random();
+
+	public Builtins(){
+		this(System.out, new BufferedReader(new InputStreamReader(System.in)));
+	}
+
+	public Builtins(PrintStream out, BufferedReader in){
+
+		this.out = out;
+		this.in = in;
+	}
+
+	/*
+	 * Returns the id of a static method of a library class, or UNKNOWN
+	 */
+	public static int resolve(String className, String methodName, int numberArgs){
+
+		if(className.equals("io")){
+			if(methodName.equals("println"))
+				return numberArgs == 0 ? IO_PRINTLN : numberArgs == 1 ? IO_PRINTLN_INT : UNKNOWN;
+			else if(methodName.equals("print") && numberArgs == 1)
+				return IO_PRINT_INT;
+			else if(methodName.equals("read") && numberArgs == 0)
+				return IO_READ;
+		}
+		else if(className.equals("ioPlus")){
+			if(methodName.equals("printResult") && numberArgs == 1)
+				return IOPLUS_PRINT_RESULT;
+			else if(methodName.equals("printHelloWorld") && numberArgs == 0)
+				return IOPLUS_PRINT_HELLO_WORLD;
+			else if(methodName.equals("requestNumber") && numberArgs == 0)
+				return IOPLUS_REQUEST_NUMBER;
+		}
+		else if(className.equals("MathUtils")){
+			if(methodName.equals("random") && numberArgs == 2)
+				return MATHUTILS_RANDOM;
+		}
+		return UNKNOWN;
+	}
+
+	/*
+	 * Calls a static method of a library class
+	 * Returns the int result of the method, or 0 for void methods
+	 */
+	public int invoke(String className, String methodName, int[] args){
+
+		int method = resolve(className, methodName, args.length);
+		if(method == UNKNOWN)
+			throw new InterpreterException("Cannot find library method " + className + "." + methodName + " with " + args.length + " arguments");
+
+		return invoke(method, args.length > 0 ? args[0] : 0, args.length > 1 ? args[1] : 0);
+	}
+
+	/*
+	 * Calls a resolved library method, unused arguments are ignored
+	 */
+	public int invoke(int method, int arg0, int arg1){
+
+		switch(method){
+			case IO_PRINTLN:
+				this.out.println();
+				return 0;
+			case IO_PRINTLN_INT:
+				this.out.println(arg0);
+				return 0;
+			case IO_PRINT_INT:
+				this.out.print(arg0);
+				return 0;
+			case IO_READ:
+				return readInt();
+			case IOPLUS_PRINT_RESULT:
+				this.out.println("Result: " + arg0);
+				return 0;
+			case IOPLUS_PRINT_HELLO_WORLD:
+				this.out.println("Hello, World!");
+				return 0;
+			case IOPLUS_REQUEST_NUMBER:
+				this.out.print("Enter number: ");
+				return readInt();
+			case MATHUTILS_RANDOM:
+				/*
+				 * The bounds are inclusive, only a range wider than an int is drawn as a long (nextInt is much faster)
+				 */
+				if(arg1 < arg0)
+					throw new InterpreterException("MathUtils.random called with an empty range " + arg0 + ".." + arg1);
+				long range = (long) arg1 - arg0 + 1;
+				if(range <= Integer.MAX_VALUE)
+					return arg0 + this.random.nextInt((int) range);
+				return (int) this.random.nextLong(arg0, (long) arg1 + 1);
+			default:
+				throw new InterpreterException("Unknown library method " + method);
+		}
+	}
+
+	/*
+	 * Reads an int from the standard input, 0 is returned when nothing valid can be read
+	 */
+	private int readInt(){
+
+		this.out.flush();
+		try{
+			String line = this.in.readLine();
+			if(line == null)
+				return 0;
+			return Integer.parseInt(line.trim());
+		} catch(IOException | NumberFormatException exception){
+			return 0;
+		}
+	}
+
+	public void flush(){
+		this.out.flush();
+	}
+}
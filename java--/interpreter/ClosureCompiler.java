@@ -0,0 +1,408 @@
+package interpreter;
+
+import symbol.*;
+import parser.*;
+
+import java.util.*;
+
+/*
+ * Compiles a checked AST into a tree of executor objects and runs it
+ *
+ * Unlike the Interpreter, which dispatches on the node class every time a node is visited,
+ * every node is turned once into a specialised executor: variables are resolved to their
+ * slots, library calls to their ids and method calls to their ExecutableMethod ahead of time.
+ */
+public class ClosureCompiler{
+
+	private ClassSymbolTable symbolTable;
+	private Builtins builtins;
+
+	// Key is the function symbol table of the method
+	private Map<FunctionSymbolTable, ExecutableMethod> methods = new HashMap<>();
+
+	private SlotLayout fields;
+
+	/*
+	 * Constructor of the class
+	 */
+	public ClosureCompiler(ClassSymbolTable symbolTable, SimpleNode rootNode){
+		this(symbolTable, rootNode, new Builtins());
+	}
+
+	public ClosureCompiler(ClassSymbolTable symbolTable, SimpleNode rootNode, Builtins builtins){
+
+		this.symbolTable = symbolTable;
+		this.builtins = builtins;
+
+		this.fields = SlotLayout.forFields(symbolTable);
+		manageMethods((SimpleNode) rootNode.jjtGetChild(0));
+	}
+
+	/*
+	 * Runs the main method of the class
+	 */
+	public void run(String[] args){
+
+		FunctionSymbolTable fst = this.symbolTable.getFunction("main", 1);
+		if(fst == null)
+			throw new InterpreterException("Class " + this.symbolTable.getClassName() + " has no main method");
+
+		ExecutableMethod main = this.methods.get(fst);
+		Frame frame = new Frame(null, main.layout.size());
+		frame.refs[1] = args;
+
+		try{
+			main.body.execute(frame);
+		} finally{
+			this.builtins.flush();
+		}
+	}
+
+	public Collection<ExecutableMethod> getMethods(){
+		return this.methods.values();
+	}
+
+	/*
+	 * Creates every method first and then compiles their bodies,
+	 * so a call can be bound to a method declared after it
+	 */
+	private void manageMethods(SimpleNode classNode){
+
+		SimpleNode methodsNode = (SimpleNode) classNode.jjtGetChild(classNode.jjtGetNumChildren() - 1);
+		ExecutableMethod[] compiled = new ExecutableMethod[methodsNode.jjtGetNumChildren()];
+
+		for(int i = 0; i < methodsNode.jjtGetNumChildren(); i++){
+
+			SimpleNode method = (SimpleNode) methodsNode.jjtGetChild(i);
+			FunctionSymbolTable fst;
+			String methodName;
+
+			if(method instanceof ASTMETHOD){
+				methodName = ((SimpleNode) method.jjtGetChild(1)).getName();
+				fst = this.symbolTable.getFunction(methodName, method.jjtGetChild(2).jjtGetNumChildren());
+			}
+			else{
+				methodName = "main";
+				fst = this.symbolTable.getFunction("main", 1);
+			}
+
+			compiled[i] = new ExecutableMethod(methodName, fst);
+			this.methods.put(fst, compiled[i]);
+		}
+
+		for(int i = 0; i < methodsNode.jjtGetNumChildren(); i++){
+
+			SimpleNode method = (SimpleNode) methodsNode.jjtGetChild(i);
+			ExecutableMethod executable = compiled[i];
+
+			if(method instanceof ASTMETHOD){
+				executable.body = compileBlock((SimpleNode) method.jjtGetChild(3), executable);
+
+				SimpleNode returnExpression = (SimpleNode) method.jjtGetChild(4).jjtGetChild(0);
+				if(executable.returnsRef)
+					executable.refResult = compileRef(returnExpression, executable);
+				else
+					executable.intResult = compileInt(returnExpression, executable);
+			}
+			else{
+				executable.body = compileBlock((SimpleNode) method.jjtGetChild(1), executable);
+			}
+		}
+	}
+
+	private StatementExecutor compileBlock(SimpleNode block, ExecutableMethod method){
+
+		StatementExecutor[] statements = new StatementExecutor[block.jjtGetNumChildren()];
+		for(int i = 0; i < statements.length; i++){
+			statements[i] = compileStatement((SimpleNode) block.jjtGetChild(i), method);
+		}
+
+		if(statements.length == 1)
+			return statements[0];
+		return new StatementExecutor.Block(statements);
+	}
+
+	private StatementExecutor compileStatement(SimpleNode statement, ExecutableMethod method){
+
+		if(statement instanceof ASTASSIGN){
+
+			return compileASSIGN((SimpleNode) statement.jjtGetChild(0), (SimpleNode) statement.jjtGetChild(1), method);
+		}
+		else if(statement instanceof ASTASSIGN_ARRAY){
+
+			SimpleNode access = (SimpleNode) statement.jjtGetChild(0);
+			return new StatementExecutor.ArrayStore(compileRef((SimpleNode) access.jjtGetChild(0), method),
+				compileInt((SimpleNode) access.jjtGetChild(1), method),
+				compileInt((SimpleNode) statement.jjtGetChild(1), method));
+		}
+		else if(statement instanceof ASTWHILE){
+
+			SimpleNode condition = (SimpleNode) statement.jjtGetChild(0).jjtGetChild(0);
+			StatementExecutor body = compileBlock((SimpleNode) statement.jjtGetChild(1), method);
+
+			if(condition instanceof ASTLT)
+				return new StatementExecutor.LtBranch(compileInt((SimpleNode) condition.jjtGetChild(0), method),
+					compileInt((SimpleNode) condition.jjtGetChild(1), method), body, method);
+			return new StatementExecutor.While(compileBoolean(condition, method), body, method);
+		}
+		else if(statement instanceof ASTIF_ELSE_STATEMENT){
+
+			SimpleNode condition = (SimpleNode) statement.jjtGetChild(0).jjtGetChild(0);
+			StatementExecutor ifBody = compileBlock((SimpleNode) statement.jjtGetChild(1), method);
+			StatementExecutor elseBody = compileBlock((SimpleNode) statement.jjtGetChild(2), method);
+
+			if(condition instanceof ASTLT)
+				return new StatementExecutor.IfLt(compileInt((SimpleNode) condition.jjtGetChild(0), method),
+					compileInt((SimpleNode) condition.jjtGetChild(1), method), ifBody, elseBody);
+			return new StatementExecutor.If(compileBoolean(condition, method), ifBody, elseBody);
+		}
+		else if(statement instanceof ASTSTATEMENT_LIST){
+
+			return compileBlock(statement, method);
+		}
+		else if(statement instanceof ASTCALL_FUNCTION){
+
+			ExecutableMethod callee = findMethod(statement, method);
+			if(callee != null && callee.returnsRef)
+				return new StatementExecutor.EvaluateRef(compileRef(statement, method));
+			return new StatementExecutor.EvaluateInt(compileInt(statement, method));
+		}
+		else if(statement instanceof ASTNEW_CLASS){
+
+			return new StatementExecutor.EvaluateRef(compileRef(statement, method));
+		}
+
+		return new StatementExecutor.Block(new StatementExecutor[0]);
+	}
+
+	/*
+	 * Compiles the store of an expression in a local variable, parameter or field
+	 */
+	private StatementExecutor compileASSIGN(SimpleNode lhs, SimpleNode rhs, ExecutableMethod method){
+
+		String name = lhs.getName();
+
+		int slot = method.layout.getSlot(name);
+		if(slot != -1){
+			if(method.layout.isRef(slot))
+				return new StatementExecutor.StoreLocalRef(slot, compileRef(rhs, method));
+			return new StatementExecutor.StoreLocalInt(slot, compileInt(rhs, method));
+		}
+
+		int field = this.fields.getSlot(name);
+		if(field != -1){
+			if(this.fields.isRef(field))
+				return new StatementExecutor.StoreFieldRef(field, compileRef(rhs, method));
+			return new StatementExecutor.StoreFieldInt(field, compileInt(rhs, method));
+		}
+
+		return new StatementExecutor.EvaluateInt(new IntExecutor.Fail("Cannot find symbol " + name));
+	}
+
+	/*
+	 * Compiles an int expression (booleans are converted to 0/1)
+	 */
+	private IntExecutor compileInt(SimpleNode node, ExecutableMethod method){
+
+		if(node instanceof ASTINT){
+			return new IntExecutor.Literal(Integer.parseInt(node.getValueInt()));
+		}
+		else if(node instanceof ASTIDENTIFIER){
+			String name = node.getName();
+
+			int slot = method.layout.getSlot(name);
+			if(slot != -1)
+				return new IntExecutor.LocalLoad(slot);
+
+			int field = this.fields.getSlot(name);
+			if(field != -1)
+				return new IntExecutor.FieldLoad(field);
+
+			return new IntExecutor.Fail("Cannot find symbol " + name);
+		}
+		else if(node instanceof ASTADD || node instanceof ASTSUB){
+			IntExecutor lhs = compileInt((SimpleNode) node.jjtGetChild(0), method);
+			SimpleNode rhs = (SimpleNode) node.jjtGetChild(1);
+
+			if(rhs instanceof ASTINT){
+				int value = Integer.parseInt(rhs.getValueInt());
+				return new IntExecutor.AddLiteralNode(lhs, node instanceof ASTADD ? value : -value);
+			}
+			if(node instanceof ASTADD)
+				return new IntExecutor.AddNode(lhs, compileInt(rhs, method));
+			return new IntExecutor.SubNode(lhs, compileInt(rhs, method));
+		}
+		else if(node instanceof ASTMUL){
+			return new IntExecutor.MulNode(compileInt((SimpleNode) node.jjtGetChild(0), method), compileInt((SimpleNode) node.jjtGetChild(1), method));
+		}
+		else if(node instanceof ASTDIV){
+			return new IntExecutor.DivNode(compileInt((SimpleNode) node.jjtGetChild(0), method), compileInt((SimpleNode) node.jjtGetChild(1), method));
+		}
+		else if(node instanceof ASTACCESS_ARRAY){
+			return new IntExecutor.ArrayLoad(compileRef((SimpleNode) node.jjtGetChild(0), method), compileInt((SimpleNode) node.jjtGetChild(1), method));
+		}
+		else if(node instanceof ASTLENGTH){
+			return new IntExecutor.ArrayLength(compileRef((SimpleNode) node.jjtGetChild(0), method));
+		}
+		else if(node instanceof ASTCALL_FUNCTION){
+			return compileCALL_FUNCTION(node, method);
+		}
+		else if(node instanceof ASTTRUE || node instanceof ASTFALSE
+			|| node instanceof ASTNOT || node instanceof ASTAND || node instanceof ASTLT){
+			return new IntExecutor.FromBoolean(compileBoolean(node, method));
+		}
+
+		return new IntExecutor.Fail("Cannot evaluate " + node + " as int (line " + node.line + ")");
+	}
+
+	/*
+	 * Compiles a boolean expression
+	 */
+	private BooleanExecutor compileBoolean(SimpleNode node, ExecutableMethod method){
+
+		if(node instanceof ASTTRUE){
+			return new BooleanExecutor.Constant(true);
+		}
+		else if(node instanceof ASTFALSE){
+			return new BooleanExecutor.Constant(false);
+		}
+		else if(node instanceof ASTNOT){
+			return new BooleanExecutor.NotNode(compileBoolean((SimpleNode) node.jjtGetChild(0), method));
+		}
+		else if(node instanceof ASTAND){
+			return new BooleanExecutor.AndNode(compileBoolean((SimpleNode) node.jjtGetChild(0), method), compileBoolean((SimpleNode) node.jjtGetChild(1), method));
+		}
+		else if(node instanceof ASTLT){
+			return new BooleanExecutor.LtNode(compileInt((SimpleNode) node.jjtGetChild(0), method), compileInt((SimpleNode) node.jjtGetChild(1), method));
+		}
+		else if(node instanceof ASTIDENTIFIER && method.layout.contains(node.getName())){
+			return new BooleanExecutor.LocalLoad(method.layout.getSlot(node.getName()));
+		}
+
+		return new BooleanExecutor.FromInt(compileInt(node, method));
+	}
+
+	/*
+	 * Compiles an expression whose value is an int[] or an object
+	 */
+	private RefExecutor compileRef(SimpleNode node, ExecutableMethod method){
+
+		if(node instanceof ASTIDENTIFIER){
+			String name = node.getName();
+
+			int slot = method.layout.getSlot(name);
+			if(slot != -1)
+				return new RefExecutor.LocalLoad(slot);
+
+			int field = this.fields.getSlot(name);
+			if(field != -1)
+				return new RefExecutor.FieldLoad(field);
+
+			return new RefExecutor.Fail("Cannot find symbol " + name);
+		}
+		else if(node instanceof ASTTHIS){
+			return new RefExecutor.This();
+		}
+		else if(node instanceof ASTNEW_INT_ARRAY){
+			return new RefExecutor.NewIntArray(compileInt((SimpleNode) node.jjtGetChild(0), method));
+		}
+		else if(node instanceof ASTNEW_CLASS){
+			String className = ((SimpleNode) node.jjtGetChild(0)).getName();
+			if(!className.equals(this.symbolTable.getClassName()))
+				return new RefExecutor.Fail("Class " + className + " is not available to the interpreter");
+			return new RefExecutor.NewInstance(this.symbolTable);
+		}
+		else if(node instanceof ASTCALL_FUNCTION){
+			SimpleNode target = (SimpleNode) node.jjtGetChild(0);
+			String methodName = ((SimpleNode) node.jjtGetChild(1)).getName();
+
+			if(isLibraryCall(target, method))
+				return new RefExecutor.Fail("Library method " + target.getName() + "." + methodName + " does not return a reference");
+
+			ExecutableMethod callee = findMethod(node, method);
+			if(callee == null)
+				return new RefExecutor.Fail(missingMethod(node));
+			return new RefExecutor.Call(compileInvocation(node, callee, method));
+		}
+
+		return new RefExecutor.Fail("Cannot evaluate " + node + " as a reference (line " + node.line + ")");
+	}
+
+	/*
+	 * Compiles a call whose result is an int or boolean (or is discarded)
+	 */
+	private IntExecutor compileCALL_FUNCTION(SimpleNode node, ExecutableMethod method){
+
+		SimpleNode target = (SimpleNode) node.jjtGetChild(0);
+		String methodName = ((SimpleNode) node.jjtGetChild(1)).getName();
+		SimpleNode arguments = (SimpleNode) node.jjtGetChild(2);
+
+		if(isLibraryCall(target, method)){
+			int numberArgs = arguments.jjtGetNumChildren();
+			int library = Builtins.resolve(target.getName(), methodName, numberArgs);
+			if(library == Builtins.UNKNOWN)
+				return new IntExecutor.Fail("Cannot find library method " + target.getName() + "." + methodName + " with " + numberArgs + " arguments");
+
+			IntExecutor arg0 = numberArgs > 0 ? compileInt((SimpleNode) arguments.jjtGetChild(0), method) : null;
+			IntExecutor arg1 = numberArgs > 1 ? compileInt((SimpleNode) arguments.jjtGetChild(1), method) : null;
+			return new IntExecutor.LibraryCall(this.builtins, library, arg0, arg1);
+		}
+
+		ExecutableMethod callee = findMethod(node, method);
+		if(callee == null)
+			return new IntExecutor.Fail(missingMethod(node));
+		if(callee.returnsRef)
+			return new IntExecutor.Fail("Method " + methodName + " does not return an int (line " + ((SimpleNode) node.jjtGetChild(1)).line + ")");
+		return new IntExecutor.Call(compileInvocation(node, callee, method));
+	}
+
+	/*
+	 * Binds the receiver and the arguments of a call to a method of the class
+	 */
+	private Invocation compileInvocation(SimpleNode node, ExecutableMethod callee, ExecutableMethod method){
+
+		SimpleNode arguments = (SimpleNode) node.jjtGetChild(2);
+		Invocation.Argument[] passed = new Invocation.Argument[arguments.jjtGetNumChildren()];
+
+		for(int i = 0; i < passed.length; i++){
+			SimpleNode argument = (SimpleNode) arguments.jjtGetChild(i);
+			if(callee.layout.isRef(i + 1))
+				passed[i] = new Invocation.RefArgument(i + 1, compileRef(argument, method));
+			else
+				passed[i] = new Invocation.IntArgument(i + 1, compileInt(argument, method));
+		}
+
+		return new Invocation(callee, compileRef((SimpleNode) node.jjtGetChild(0), method), passed, ((SimpleNode) node.jjtGetChild(1)).line);
+	}
+
+	/*
+	 * Checks whether a call is a static call to a library class
+	 * (the target is an identifier that is not a variable)
+	 */
+	private boolean isLibraryCall(SimpleNode target, ExecutableMethod method){
+
+		return target instanceof ASTIDENTIFIER
+			&& !method.layout.contains(target.getName())
+			&& !this.fields.contains(target.getName());
+	}
+
+	/*
+	 * Returns the method of the class called by a node, or null if it is a library call or does not exist
+	 * Only the class being compiled is available, so every object is an instance of it
+	 */
+	private ExecutableMethod findMethod(SimpleNode node, ExecutableMethod method){
+
+		if(isLibraryCall((SimpleNode) node.jjtGetChild(0), method))
+			return null;
+
+		String methodName = ((SimpleNode) node.jjtGetChild(1)).getName();
+		FunctionSymbolTable fst = this.symbolTable.getFunction(methodName, node.jjtGetChild(2).jjtGetNumChildren());
+		return fst == null ? null : this.methods.get(fst);
+	}
+
+	private String missingMethod(SimpleNode node){
+
+		SimpleNode function = (SimpleNode) node.jjtGetChild(1);
+		return "Cannot find method " + function.getName() + " of class " + this.symbolTable.getClassName() + " (line " + function.line + ")";
+	}
+}
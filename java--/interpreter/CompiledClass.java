@@ -0,0 +1,146 @@
+package interpreter;
+
+import symbol.*;
+import codeGen.*;
+
+import java.util.*;
+
+/*
+ * Class generated by the JasminGenerator and loaded by the TieredExecutor
+ *
+ * The compiled code works on objects of this class: every Instance a compiled method is called on
+ * gets one (Instance.compiled), whose fields are copied in from the Instance before each call and
+ * copied back when it returns. Only classes whose fields are int, boolean or int[] are compiled,
+ * so no Instance is ever seen by the compiled code.
+ *
+ * The calls go through a subclass of CompiledMethod generated for every method and loaded by the
+ * class loader of the compiled class: the fields of the compiled class have package access, so
+ * it copies them with getfield and putfield, and nothing is boxed or looked up by reflection.
+ */
+class CompiledClass{
+
+	private final JmmClassLoader classLoader;
+	private final ClassSymbolTable symbolTable;
+	private final SlotLayout fields;
+
+	// Only used by the background thread of the TieredExecutor
+	private int methods = 0;
+
+	CompiledClass(JmmClassLoader classLoader, ClassSymbolTable symbolTable, SlotLayout fields){
+
+		this.classLoader = classLoader;
+		this.symbolTable = symbolTable;
+		this.fields = fields;
+	}
+
+	/*
+	 * Finds the bytecode version of a method
+	 */
+	CompiledMethod getMethod(ExecutableMethod method) throws Exception{
+
+		String name = this.symbolTable.getClassName() + "$" + this.methods++;
+		this.classLoader.addClass(name, JasminAssembler.assemble(getJasminCode(name, method)));
+		return (CompiledMethod) this.classLoader.loadClass(name).getConstructor().newInstance();
+	}
+
+	/*
+	 * Returns the Jasmin code of the CompiledMethod of a method
+	 *
+	 * Locals: 1 the Instance, 2 and 3 the ints and refs of the frame, 4 the compiled object, 5 the result
+	 */
+	private String getJasminCode(String name, ExecutableMethod method){
+
+		String className = this.symbolTable.getClassName();
+		String invoke = method.returnsRef ? "invokeRef" : "invokeInt";
+		Map<String, Symbol> parameters = method.fst.getParameters();
+
+		StringBuilder code = new StringBuilder();
+		code.append(".class public ").append(name).append("\n");
+		code.append(".super interpreter/CompiledMethod\n");
+
+		code.append("\n.method public <init>()V\n");
+		code.append("\t.limit stack 1\n");
+		code.append("\t.limit locals 1\n");
+		code.append("\taload_0\n");
+		code.append("\tinvokespecial interpreter/CompiledMethod/<init>()V\n");
+		code.append("\treturn\n");
+		code.append(".end method\n");
+
+		code.append("\n.method public ").append(invoke).append("(Linterpreter/Instance;[I[Ljava/lang/Object;)");
+		code.append(method.returnsRef ? "Ljava/lang/Object;" : "I").append("\n");
+		code.append("\t.limit stack ").append(Math.max(4, parameters.size() + 3)).append("\n");
+		code.append("\t.limit locals 6\n");
+
+		code.append("\taload_1\n");
+		code.append("\tgetfield interpreter/Instance/compiled Ljava/lang/Object;\n");
+		code.append("\tifnonnull Created\n");
+		code.append("\taload_1\n");
+		code.append("\tnew ").append(className).append("\n");
+		code.append("\tdup\n");
+		code.append("\tinvokespecial ").append(className).append("/<init>()V\n");
+		code.append("\tputfield interpreter/Instance/compiled Ljava/lang/Object;\n");
+		code.append("Created:\n");
+		code.append("\taload_1\n");
+		code.append("\tgetfield interpreter/Instance/compiled Ljava/lang/Object;\n");
+		code.append("\tcheckcast ").append(className).append("\n");
+		code.append("\tastore 4\n");
+
+		for(Map.Entry<String, Symbol> field : this.symbolTable.getGlobal_variables().entrySet()){
+			int slot = this.fields.getSlot(field.getKey());
+			code.append("\taload 4\n");
+			appendSlotLoad(code, true, slot, field.getValue());
+			code.append("\tputfield ").append(className).append("/").append(field.getKey()).append(" ").append(field.getValue().getTypeDescriptor()).append("\n");
+		}
+
+		code.append("\taload 4\n");
+		StringBuilder descriptor = new StringBuilder("(");
+		int slot = 1;
+		for(Symbol parameter : parameters.values()){
+			appendSlotLoad(code, false, slot++, parameter);
+			descriptor.append(parameter.getTypeDescriptor());
+		}
+		descriptor.append(")").append(method.fst.getReturnSymbol().getTypeDescriptor());
+		code.append("\tinvokevirtual ").append(className).append("/").append(method.name).append(descriptor).append("\n");
+		code.append(method.returnsRef ? "\tastore 5\n" : "\tistore 5\n");
+
+		for(Map.Entry<String, Symbol> field : this.symbolTable.getGlobal_variables().entrySet()){
+			boolean ref = SlotLayout.isRef(field.getValue());
+			code.append("\taload_1\n");
+			code.append(ref ? "\tgetfield interpreter/Instance/refs [Ljava/lang/Object;\n" : "\tgetfield interpreter/Instance/ints [I\n");
+			code.append("\tsipush ").append(this.fields.getSlot(field.getKey())).append("\n");
+			code.append("\taload 4\n");
+			code.append("\tgetfield ").append(className).append("/").append(field.getKey()).append(" ").append(field.getValue().getTypeDescriptor()).append("\n");
+			code.append(ref ? "\taastore\n" : "\tiastore\n");
+		}
+
+		code.append(method.returnsRef ? "\taload 5\n\tareturn\n" : "\tiload 5\n\tireturn\n");
+		code.append(".end method\n");
+		return code.toString();
+	}
+
+	/*
+	 * Appends the code pushing a slot of the Instance or of the frame (its arrays are in locals 2 and 3)
+	 */
+	private static void appendSlotLoad(StringBuilder code, boolean instance, int slot, Symbol symbol){
+
+		boolean ref = SlotLayout.isRef(symbol);
+		if(instance)
+			code.append(ref ? "\taload_1\n\tgetfield interpreter/Instance/refs [Ljava/lang/Object;\n" : "\taload_1\n\tgetfield interpreter/Instance/ints [I\n");
+		else
+			code.append(ref ? "\taload_3\n" : "\taload_2\n");
+		code.append("\tsipush ").append(slot).append("\n");
+		if(ref)
+			code.append("\taaload\n\tcheckcast [I\n");
+		else
+			code.append("\tiaload\n");
+	}
+
+	/*
+	 * Checks whether a variable can be passed between the executors and the compiled code
+	 */
+	static boolean isCompilable(Symbol symbol){
+
+		Symbol.SymbolType type = symbol.getType();
+		return type == Symbol.SymbolType.INT || type == Symbol.SymbolType.BOOLEAN || type == Symbol.SymbolType.INT_ARRAY;
+	}
+}
@@ -0,0 +1,27 @@
+package interpreter;
+
+/*
+ * Bytecode version of a method, called with the frame prepared for the executors
+ *
+ * Every compiled method gets a subclass of its own, generated by CompiledClass.getMethod and
+ * loaded next to the compiled class. It reads the arguments from the slots of the frame and
+ * calls the method with invokevirtual on the compiled object of the Instance, so a call boxes
+ * and allocates nothing and the JIT sees it as a plain virtual call. Only the method matching
+ * the return type of the compiled method is overridden.
+ */
+public abstract class CompiledMethod{
+
+	/*
+	 * Calls a method returning int or boolean (as 0/1)
+	 */
+	public int invokeInt(Instance self, int[] ints, Object[] refs){
+		throw new InterpreterException("Compiled method does not return an int");
+	}
+
+	/*
+	 * Calls a method returning int[]
+	 */
+	public Object invokeRef(Instance self, int[] ints, Object[] refs){
+		throw new InterpreterException("Compiled method does not return an array");
+	}
+}
@@ -0,0 +1,81 @@
+package interpreter;
+
+import symbol.FunctionSymbolTable;
+
+/*
+ * Compiled method: its body and return expression are bound by the ClosureCompiler
+ * after every method of the class has been created, so calls can refer to any method
+ *
+ * When tiering is enabled, invocations and loop back-edges are counted and the method is
+ * handed to the TieredExecutor once it is hot. Calls switch to the bytecode version as
+ * soon as it has been installed; a call already running keeps executing the executors.
+ */
+public class ExecutableMethod{
+
+	final String name;
+	final FunctionSymbolTable fst;
+	final SlotLayout layout;
+	final boolean returnsRef;
+
+	StatementExecutor body;
+	IntExecutor intResult;
+	RefExecutor refResult;
+
+	TieredExecutor tiering;
+	private int invocations = 0;
+	private int backEdges = 0;
+	volatile CompiledMethod compiled;
+
+	ExecutableMethod(String name, FunctionSymbolTable fst){
+
+		this.name = name;
+		this.fst = fst;
+		this.layout = SlotLayout.forMethod(fst);
+		this.returnsRef = fst.getReturnSymbol() != null && SlotLayout.isRef(fst.getReturnSymbol());
+	}
+
+	int executeInt(Frame frame){
+
+		CompiledMethod compiled = this.compiled;
+		if(compiled != null)
+			return compiled.invokeInt(frame.self, frame.ints, frame.refs);
+
+		countInvocation();
+		this.body.execute(frame);
+		return this.intResult.execute(frame);
+	}
+
+	Object executeRef(Frame frame){
+
+		CompiledMethod compiled = this.compiled;
+		if(compiled != null)
+			return compiled.invokeRef(frame.self, frame.ints, frame.refs);
+
+		countInvocation();
+		this.body.execute(frame);
+		return this.refResult.execute(frame);
+	}
+
+	private void countInvocation(){
+
+		if(this.tiering != null && ++this.invocations == this.tiering.invocationThreshold)
+			this.tiering.hot(this);
+	}
+
+	/*
+	 * Called by the loops of the method after every iteration
+	 */
+	void backEdge(){
+
+		if(this.tiering != null && ++this.backEdges == this.tiering.backEdgeThreshold)
+			this.tiering.hot(this);
+	}
+
+	public String getName(){
+		return this.name;
+	}
+
+	public boolean isCompiled(){
+		return this.compiled != null;
+	}
+}
@@ -0,0 +1,22 @@
+package interpreter;
+
+/*
+ * Storage of one method activation
+ *
+ * Slots follow the JVM layout used by the JasminGenerator: slot 0 is "this",
+ * the parameters come next and the local variables after them.
+ * int and boolean values live in "ints" (booleans as 0/1), int[] and objects in "refs".
+ */
+public class Frame{
+
+	public final Instance self;
+	public final int[] ints;
+	public final Object[] refs;
+
+	public Frame(Instance self, int size){
+
+		this.self = self;
+		this.ints = new int[size];
+		this.refs = new Object[size];
+	}
+}
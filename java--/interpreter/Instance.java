@@ -0,0 +1,34 @@
+package interpreter;
+
+import symbol.ClassSymbolTable;
+
+/*
+ * Object of a Java-- class created by the interpreter
+ *
+ * Fields are stored by declaration order, primitive ones in "ints" and references in "refs"
+ */
+public class Instance{
+
+	public final ClassSymbolTable classTable;
+	public final int[] ints;
+	public final Object[] refs;
+
+	/*
+	 * Object of the compiled class the bytecode methods of this instance run on (see CompiledClass),
+	 * created by the first of them
+	 */
+	public Object compiled;
+
+	public Instance(ClassSymbolTable classTable){
+
+		int size = classTable.getGlobal_variables().size();
+
+		this.classTable = classTable;
+		this.ints = new int[size];
+		this.refs = new Object[size];
+	}
+
+	public String toString(){
+		return this.classTable.getClassName() + "@" + Integer.toHexString(hashCode());
+	}
+}
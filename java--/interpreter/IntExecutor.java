@@ -0,0 +1,218 @@
+package interpreter;
+
+/*
+ * Compiled int expression, booleans converted to int are 0/1
+ */
+public abstract class IntExecutor{
+
+	public abstract int execute(Frame frame);
+
+	static final class Literal extends IntExecutor{
+
+		private final int value;
+
+		Literal(int value){
+			this.value = value;
+		}
+
+		public int execute(Frame frame){
+			return this.value;
+		}
+	}
+
+	static final class LocalLoad extends IntExecutor{
+
+		private final int slot;
+
+		LocalLoad(int slot){
+			this.slot = slot;
+		}
+
+		public int execute(Frame frame){
+			return frame.ints[this.slot];
+		}
+	}
+
+	static final class FieldLoad extends IntExecutor{
+
+		private final int slot;
+
+		FieldLoad(int slot){
+			this.slot = slot;
+		}
+
+		public int execute(Frame frame){
+			return frame.self.ints[this.slot];
+		}
+	}
+
+	static final class AddNode extends IntExecutor{
+
+		private final IntExecutor lhs;
+		private final IntExecutor rhs;
+
+		AddNode(IntExecutor lhs, IntExecutor rhs){
+			this.lhs = lhs;
+			this.rhs = rhs;
+		}
+
+		public int execute(Frame frame){
+			return this.lhs.execute(frame) + this.rhs.execute(frame);
+		}
+	}
+
+	/*
+	 * Addition of a literal, like "i + 1" (subtractions of literals use the negated value)
+	 */
+	static final class AddLiteralNode extends IntExecutor{
+
+		private final IntExecutor lhs;
+		private final int value;
+
+		AddLiteralNode(IntExecutor lhs, int value){
+			this.lhs = lhs;
+			this.value = value;
+		}
+
+		public int execute(Frame frame){
+			return this.lhs.execute(frame) + this.value;
+		}
+	}
+
+	static final class SubNode extends IntExecutor{
+
+		private final IntExecutor lhs;
+		private final IntExecutor rhs;
+
+		SubNode(IntExecutor lhs, IntExecutor rhs){
+			this.lhs = lhs;
+			this.rhs = rhs;
+		}
+
+		public int execute(Frame frame){
+			return this.lhs.execute(frame) - this.rhs.execute(frame);
+		}
+	}
+
+	static final class MulNode extends IntExecutor{
+
+		private final IntExecutor lhs;
+		private final IntExecutor rhs;
+
+		MulNode(IntExecutor lhs, IntExecutor rhs){
+			this.lhs = lhs;
+			this.rhs = rhs;
+		}
+
+		public int execute(Frame frame){
+			return this.lhs.execute(frame) * this.rhs.execute(frame);
+		}
+	}
+
+	static final class DivNode extends IntExecutor{
+
+		private final IntExecutor lhs;
+		private final IntExecutor rhs;
+
+		DivNode(IntExecutor lhs, IntExecutor rhs){
+			this.lhs = lhs;
+			this.rhs = rhs;
+		}
+
+		public int execute(Frame frame){
+			return this.lhs.execute(frame) / this.rhs.execute(frame);
+		}
+	}
+
+	static final class ArrayLoad extends IntExecutor{
+
+		private final RefExecutor array;
+		private final IntExecutor index;
+
+		ArrayLoad(RefExecutor array, IntExecutor index){
+			this.array = array;
+			this.index = index;
+		}
+
+		public int execute(Frame frame){
+			int[] array = (int[]) this.array.execute(frame);
+			return array[this.index.execute(frame)];
+		}
+	}
+
+	static final class ArrayLength extends IntExecutor{
+
+		private final RefExecutor array;
+
+		ArrayLength(RefExecutor array){
+			this.array = array;
+		}
+
+		public int execute(Frame frame){
+			return ((int[]) this.array.execute(frame)).length;
+		}
+	}
+
+	static final class FromBoolean extends IntExecutor{
+
+		private final BooleanExecutor value;
+
+		FromBoolean(BooleanExecutor value){
+			this.value = value;
+		}
+
+		public int execute(Frame frame){
+			return this.value.execute(frame) ? 1 : 0;
+		}
+	}
+
+	static final class Call extends IntExecutor{
+
+		private final Invocation invocation;
+
+		Call(Invocation invocation){
+			this.invocation = invocation;
+		}
+
+		public int execute(Frame frame){
+			return this.invocation.method.executeInt(this.invocation.prepare(frame));
+		}
+	}
+
+	static final class LibraryCall extends IntExecutor{
+
+		private final Builtins builtins;
+		private final int method;
+		private final IntExecutor arg0;
+		private final IntExecutor arg1;
+
+		LibraryCall(Builtins builtins, int method, IntExecutor arg0, IntExecutor arg1){
+			this.builtins = builtins;
+			this.method = method;
+			this.arg0 = arg0;
+			this.arg1 = arg1;
+		}
+
+		public int execute(Frame frame){
+			int value0 = this.arg0 == null ? 0 : this.arg0.execute(frame);
+			int value1 = this.arg1 == null ? 0 : this.arg1.execute(frame);
+			return this.builtins.invoke(this.method, value0, value1);
+		}
+	}
+
+	/*
+	 * Expression that could not be bound, the error is only raised if it is executed
+	 */
+	static final class Fail extends IntExecutor{
+
+		private final String message;
+
+		Fail(String message){
+			this.message = message;
+		}
+
+		public int execute(Frame frame){
+			throw new InterpreterException(this.message);
+		}
+	}
+}
@@ -0,0 +1,479 @@
+package interpreter;
+
+import symbol.*;
+import parser.*;
+import static parser.ParserTreeConstants.*;
+
+import java.util.*;
+
+/*
+ * Executes a checked AST directly, without generating Jasmin code
+ *
+ * Values are never boxed: int and boolean expressions are evaluated to int/boolean
+ * and int[] and objects to references, each kind stored in its own frame array.
+ * The AST is walked in its compact form, where nodes are int indexes.
+ * Names are resolved once, before the program runs: every identifier node gets the
+ * slot of its variable and every library call node the id of its Builtins method.
+ */
+public class Interpreter{
+
+	private ClassSymbolTable symbolTable;
+	private CompactTree tree;
+	private Builtins builtins;
+
+	// Key is the function symbol table of the method
+	private Map<FunctionSymbolTable, Method> methods = new HashMap<>();
+
+	private SlotLayout fields;
+
+	// Slot of a name that is neither a variable of its method nor a field (the class of a library call)
+	private static final int NO_SLOT = -1;
+
+	/*
+	 * Indexed by node: for an identifier the slot of its variable in the frame of its method,
+	 * or the slot of a field encoded by field(slot), or NO_SLOT; for a call on a library class
+	 * the id of the Builtins method, Builtins.UNKNOWN if there is none
+	 */
+	private int[] resolved;
+
+	/*
+	 * Constructor of the class
+	 */
+	public Interpreter(ClassSymbolTable symbolTable, SimpleNode rootNode){
+		this(symbolTable, rootNode, new Builtins());
+	}
+
+	public Interpreter(ClassSymbolTable symbolTable, SimpleNode rootNode, Builtins builtins){
+		this(symbolTable, CompactTree.of(rootNode), builtins);
+	}
+
+	public Interpreter(ClassSymbolTable symbolTable, CompactTree tree){
+		this(symbolTable, tree, new Builtins());
+	}
+
+	public Interpreter(ClassSymbolTable symbolTable, CompactTree tree, Builtins builtins){
+
+		this.symbolTable = symbolTable;
+		this.tree = tree;
+		this.builtins = builtins;
+
+		this.fields = SlotLayout.forFields(symbolTable);
+		this.resolved = new int[tree.size()];
+		manageMethods(tree.child(CompactTree.ROOT, 0));
+	}
+
+	/*
+	 * Runs the main method of the class
+	 */
+	public void run(String[] args){
+
+		FunctionSymbolTable fst = this.symbolTable.getFunction("main", 1);
+		if(fst == null)
+			throw new InterpreterException("Class " + this.symbolTable.getClassName() + " has no main method");
+
+		Method main = this.methods.get(fst);
+		Frame frame = new Frame(null, main.layout.size());
+		frame.refs[1] = args;
+
+		try{
+			executeBlock(main.body, frame, main);
+		} finally{
+			this.builtins.flush();
+		}
+	}
+
+	/*
+	 * Collects the body, return expression and frame layout of every method
+	 */
+	private void manageMethods(int classNode){
+
+		int methodsNode = this.tree.child(classNode, this.tree.numChildren(classNode) - 1);
+		for(int i = 0; i < this.tree.numChildren(methodsNode); i++){
+
+			int method = this.tree.child(methodsNode, i);
+			FunctionSymbolTable fst;
+			Method code;
+
+			if(this.tree.kind(method) == JJTMETHOD){
+				String methodName = this.tree.name(this.tree.child(method, 1));
+				fst = this.symbolTable.getFunction(methodName, this.tree.numChildren(this.tree.child(method, 2)));
+				code = new Method(methodName, fst, this.tree.child(method, 3), this.tree.child(this.tree.child(method, 4), 0));
+			}
+			else{
+				fst = this.symbolTable.getFunction("main", 1);
+				code = new Method("main", fst, this.tree.child(method, 1), -1);
+			}
+			this.methods.put(fst, code);
+			resolveNames(method, code.layout);
+		}
+	}
+
+	/*
+	 * Fills resolved for the nodes of a method, walked with an explicit stack like CompactTree copies them
+	 */
+	private void resolveNames(int method, SlotLayout layout){
+
+		int[] stack = new int[64];
+		int top = 0;
+		stack[top++] = method;
+		while(top > 0){
+			int node = stack[--top];
+
+			if(this.tree.kind(node) == JJTIDENTIFIER)
+				this.resolved[node] = resolveSlot(this.tree.name(node), layout);
+			else if(this.tree.kind(node) == JJTCALL_FUNCTION){
+				int target = this.tree.child(node, 0);
+				if(this.tree.kind(target) == JJTIDENTIFIER && resolveSlot(this.tree.name(target), layout) == NO_SLOT)
+					this.resolved[node] = Builtins.resolve(this.tree.name(target), this.tree.name(this.tree.child(node, 1)), this.tree.numChildren(this.tree.child(node, 2)));
+			}
+
+			int numChildren = this.tree.numChildren(node);
+			if(top + numChildren > stack.length)
+				stack = Arrays.copyOf(stack, Math.max(stack.length * 2, top + numChildren));
+			for(int i = 0; i < numChildren; i++){
+				stack[top++] = this.tree.child(node, i);
+			}
+		}
+	}
+
+	/*
+	 * A variable of the method hides a field with the same name
+	 */
+	private int resolveSlot(String name, SlotLayout layout){
+
+		int slot = layout.getSlot(name);
+		if(slot != -1)
+			return slot;
+		int field = this.fields.getSlot(name);
+		return field != -1 ? field(field) : NO_SLOT;
+	}
+
+	/*
+	 * Encodes the slot of a field as a resolved slot below NO_SLOT, and decodes it back
+	 */
+	private static int field(int slot){
+		return -2 - slot;
+	}
+
+	/*
+	 * Executes every statement of a block
+	 */
+	private void executeBlock(int block, Frame frame, Method method){
+
+		for(int i = 0; i < this.tree.numChildren(block); i++){
+			executeStatement(this.tree.child(block, i), frame, method);
+		}
+	}
+
+	/*
+	 * Executes a single statement
+	 */
+	private void executeStatement(int statement, Frame frame, Method method){
+
+		switch(this.tree.kind(statement)){
+			case JJTASSIGN:
+				executeASSIGN(this.tree.child(statement, 0), this.tree.child(statement, 1), frame, method);
+				break;
+
+			case JJTASSIGN_ARRAY: {
+				int access = this.tree.child(statement, 0);
+				int[] array = (int[]) evaluateRef(this.tree.child(access, 0), frame, method);
+				int index = evaluateInt(this.tree.child(access, 1), frame, method);
+				array[index] = evaluateInt(this.tree.child(statement, 1), frame, method);
+				break;
+			}
+			case JJTWHILE: {
+				int condition = this.tree.child(this.tree.child(statement, 0), 0);
+				int body = this.tree.child(statement, 1);
+				while(evaluateBoolean(condition, frame, method)){
+					executeBlock(body, frame, method);
+				}
+				break;
+			}
+			case JJTIF_ELSE_STATEMENT: {
+				int condition = this.tree.child(this.tree.child(statement, 0), 0);
+				if(evaluateBoolean(condition, frame, method))
+					executeBlock(this.tree.child(statement, 1), frame, method);
+				else
+					executeBlock(this.tree.child(statement, 2), frame, method);
+				break;
+			}
+			case JJTSTATEMENT_LIST:
+				executeBlock(statement, frame, method);
+				break;
+
+			case JJTCALL_FUNCTION:
+				invokeCALL_FUNCTION(statement, frame, method);
+				break;
+
+			case JJTNEW_CLASS:
+				evaluateRef(statement, frame, method);
+				break;
+		}
+	}
+
+	/*
+	 * Stores the value of an expression in a local variable, parameter or field
+	 */
+	private void executeASSIGN(int lhs, int rhs, Frame frame, Method method){
+
+		int slot = this.resolved[lhs];
+		if(slot >= 0){
+			if(method.layout.isRef(slot))
+				frame.refs[slot] = evaluateRef(rhs, frame, method);
+			else
+				frame.ints[slot] = evaluateInt(rhs, frame, method);
+			return;
+		}
+
+		if(slot != NO_SLOT){
+			int field = field(slot);
+			if(this.fields.isRef(field))
+				frame.self.refs[field] = evaluateRef(rhs, frame, method);
+			else
+				frame.self.ints[field] = evaluateInt(rhs, frame, method);
+			return;
+		}
+
+		throw new InterpreterException("Cannot find symbol " + this.tree.name(lhs));
+	}
+
+	/*
+	 * Evaluates an int expression (booleans are converted to 0/1)
+	 */
+	private int evaluateInt(int node, Frame frame, Method method){
+
+		switch(this.tree.kind(node)){
+			case JJTINT:
+				return this.tree.literal(node);
+
+			case JJTIDENTIFIER: {
+				int slot = this.resolved[node];
+				if(slot >= 0)
+					return frame.ints[slot];
+				if(slot != NO_SLOT)
+					return frame.self.ints[field(slot)];
+
+				throw new InterpreterException("Cannot find symbol " + this.tree.name(node));
+			}
+			case JJTADD:
+				return evaluateInt(this.tree.child(node, 0), frame, method) + evaluateInt(this.tree.child(node, 1), frame, method);
+
+			case JJTSUB:
+				return evaluateInt(this.tree.child(node, 0), frame, method) - evaluateInt(this.tree.child(node, 1), frame, method);
+
+			case JJTMUL:
+				return evaluateInt(this.tree.child(node, 0), frame, method) * evaluateInt(this.tree.child(node, 1), frame, method);
+
+			case JJTDIV:
+				return evaluateInt(this.tree.child(node, 0), frame, method) / evaluateInt(this.tree.child(node, 1), frame, method);
+
+			case JJTACCESS_ARRAY: {
+				int[] array = (int[]) evaluateRef(this.tree.child(node, 0), frame, method);
+				return array[evaluateInt(this.tree.child(node, 1), frame, method)];
+			}
+			case JJTLENGTH:
+				return ((int[]) evaluateRef(this.tree.child(node, 0), frame, method)).length;
+
+			case JJTCALL_FUNCTION:
+				return invokeCALL_FUNCTION(node, frame, method);
+
+			case JJTTRUE:
+			case JJTFALSE:
+			case JJTNOT:
+			case JJTAND:
+			case JJTLT:
+				return evaluateBoolean(node, frame, method) ? 1 : 0;
+		}
+
+		throw new InterpreterException("Cannot evaluate " + ParserTreeConstants.jjtNodeName[this.tree.kind(node)] + " as int (line " + this.tree.line(node) + ")");
+	}
+
+	/*
+	 * Evaluates a boolean expression
+	 */
+	private boolean evaluateBoolean(int node, Frame frame, Method method){
+
+		switch(this.tree.kind(node)){
+			case JJTTRUE:
+				return true;
+
+			case JJTFALSE:
+				return false;
+
+			case JJTNOT:
+				return !evaluateBoolean(this.tree.child(node, 0), frame, method);
+
+			case JJTAND:
+				return evaluateBoolean(this.tree.child(node, 0), frame, method)
+					&& evaluateBoolean(this.tree.child(node, 1), frame, method);
+
+			case JJTLT:
+				return evaluateInt(this.tree.child(node, 0), frame, method) < evaluateInt(this.tree.child(node, 1), frame, method);
+
+			case JJTIDENTIFIER:
+			case JJTCALL_FUNCTION:
+				return evaluateInt(node, frame, method) != 0;
+		}
+
+		throw new InterpreterException("Cannot evaluate " + ParserTreeConstants.jjtNodeName[this.tree.kind(node)] + " as boolean (line " + this.tree.line(node) + ")");
+	}
+
+	/*
+	 * Evaluates an expression whose value is an int[] or an object
+	 */
+	private Object evaluateRef(int node, Frame frame, Method method){
+
+		switch(this.tree.kind(node)){
+			case JJTIDENTIFIER: {
+				int slot = this.resolved[node];
+				if(slot >= 0)
+					return frame.refs[slot];
+				if(slot != NO_SLOT)
+					return frame.self.refs[field(slot)];
+
+				throw new InterpreterException("Cannot find symbol " + this.tree.name(node));
+			}
+			case JJTTHIS:
+				return frame.self;
+
+			case JJTNEW_INT_ARRAY:
+				return new int[evaluateInt(this.tree.child(node, 0), frame, method)];
+
+			case JJTNEW_CLASS: {
+				String className = this.tree.name(this.tree.child(node, 0));
+				if(!className.equals(this.symbolTable.getClassName()))
+					throw new InterpreterException("Class " + className + " is not available to the interpreter");
+				return new Instance(this.symbolTable);
+			}
+			case JJTCALL_FUNCTION:
+				return invokeCALL_FUNCTION_Ref(node, frame, method);
+		}
+
+		throw new InterpreterException("Cannot evaluate " + ParserTreeConstants.jjtNodeName[this.tree.kind(node)] + " as a reference (line " + this.tree.line(node) + ")");
+	}
+
+	/*
+	 * Calls a method whose result is an int or boolean (or is discarded)
+	 */
+	private int invokeCALL_FUNCTION(int node, Frame frame, Method method){
+
+		int target = this.tree.child(node, 0);
+		int function = this.tree.child(node, 1);
+		String methodName = this.tree.name(function);
+		int arguments = this.tree.child(node, 2);
+
+		if(isLibraryCall(target)){
+			/*
+			 * Library methods take at most two ints, like IntExecutor.LibraryCall they get them without an array
+			 */
+			int numberArgs = this.tree.numChildren(arguments);
+			int arg0 = numberArgs > 0 ? evaluateInt(this.tree.child(arguments, 0), frame, method) : 0;
+			int arg1 = numberArgs > 1 ? evaluateInt(this.tree.child(arguments, 1), frame, method) : 0;
+			for(int i = 2; i < numberArgs; i++){
+				evaluateInt(this.tree.child(arguments, i), frame, method);
+			}
+			int library = this.resolved[node];
+			if(library == Builtins.UNKNOWN)
+				throw new InterpreterException("Cannot find library method " + this.tree.name(target) + "." + methodName + " with " + numberArgs + " arguments");
+			return this.builtins.invoke(library, arg0, arg1);
+		}
+
+		Instance receiver = getReceiver(target, frame, method);
+		Method callee = findMethod(receiver, methodName, this.tree.numChildren(arguments), function);
+		Frame calleeFrame = passArguments(callee, receiver, arguments, frame, method);
+
+		executeBlock(callee.body, calleeFrame, callee);
+		if(callee.returnsRef){
+			evaluateRef(callee.returnExpression, calleeFrame, callee);
+			return 0;
+		}
+		return evaluateInt(callee.returnExpression, calleeFrame, callee);
+	}
+
+	/*
+	 * Calls a method whose result is an int[] or an object
+	 */
+	private Object invokeCALL_FUNCTION_Ref(int node, Frame frame, Method method){
+
+		int target = this.tree.child(node, 0);
+		int function = this.tree.child(node, 1);
+		String methodName = this.tree.name(function);
+		int arguments = this.tree.child(node, 2);
+
+		if(isLibraryCall(target))
+			throw new InterpreterException("Library method " + this.tree.name(target) + "." + methodName + " does not return a reference");
+
+		Instance receiver = getReceiver(target, frame, method);
+		Method callee = findMethod(receiver, methodName, this.tree.numChildren(arguments), function);
+		Frame calleeFrame = passArguments(callee, receiver, arguments, frame, method);
+
+		executeBlock(callee.body, calleeFrame, callee);
+		return evaluateRef(callee.returnExpression, calleeFrame, callee);
+	}
+
+	/*
+	 * Checks whether a call is a static call to a library class
+	 * (the target is an identifier that is not a variable)
+	 */
+	private boolean isLibraryCall(int target){
+
+		return this.tree.kind(target) == JJTIDENTIFIER && this.resolved[target] == NO_SLOT;
+	}
+
+	private Instance getReceiver(int target, Frame frame, Method method){
+
+		Object receiver = evaluateRef(target, frame, method);
+		if(receiver == null)
+			throw new InterpreterException("Method called on a null object (line " + this.tree.line(target) + ")");
+		return (Instance) receiver;
+	}
+
+	private Method findMethod(Instance receiver, String methodName, int numberArgs, int node){
+
+		FunctionSymbolTable fst = receiver.classTable.getFunction(methodName, numberArgs);
+		Method callee = fst == null ? null : this.methods.get(fst);
+		if(callee == null)
+			throw new InterpreterException("Cannot find method " + methodName + " of class " + receiver.classTable.getClassName() + " (line " + this.tree.line(node) + ")");
+		return callee;
+	}
+
+	/*
+	 * Creates the frame of the called method and evaluates the arguments into it
+	 */
+	private Frame passArguments(Method callee, Instance receiver, int arguments, Frame frame, Method method){
+
+		Frame calleeFrame = new Frame(receiver, callee.layout.size());
+		for(int i = 0; i < this.tree.numChildren(arguments); i++){
+			int argument = this.tree.child(arguments, i);
+			if(callee.layout.isRef(i + 1))
+				calleeFrame.refs[i + 1] = evaluateRef(argument, frame, method);
+			else
+				calleeFrame.ints[i + 1] = evaluateInt(argument, frame, method);
+		}
+		return calleeFrame;
+	}
+
+	/*
+	 * Code and frame layout of a method
+	 */
+	private static class Method{
+
+		final String name;
+		final FunctionSymbolTable fst;
+		final int body;
+		final int returnExpression;
+		final boolean returnsRef;
+		final SlotLayout layout;
+
+		Method(String name, FunctionSymbolTable fst, int body, int returnExpression){
+
+			this.name = name;
+			this.fst = fst;
+			this.body = body;
+			this.returnExpression = returnExpression;
+			this.returnsRef = fst.getReturnSymbol() != null && SlotLayout.isRef(fst.getReturnSymbol());
+			this.layout = SlotLayout.forMethod(fst);
+		}
+	}
+}
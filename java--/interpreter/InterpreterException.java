@@ -0,0 +1,13 @@
+package interpreter;
+
+/*
+ * Error found while executing a program that the semantic analysis let through
+ */
+public class InterpreterException extends RuntimeException{
+
+	private static final long serialVersionUID = 1L;
+
+	public InterpreterException(String message){
+		super(message);
+	}
+}
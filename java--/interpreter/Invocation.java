@@ -0,0 +1,78 @@
+package interpreter;
+
+/*
+ * Call of a method of the class, bound at compile time
+ *
+ * The receiver and the arguments are evaluated left to right, each argument
+ * directly into its slot of the frame of the called method.
+ */
+final class Invocation{
+
+	final ExecutableMethod method;
+	private final RefExecutor receiver;
+	private final Argument[] arguments;
+	private final int line;
+
+	Invocation(ExecutableMethod method, RefExecutor receiver, Argument[] arguments, int line){
+
+		this.method = method;
+		this.receiver = receiver;
+		this.arguments = arguments;
+		this.line = line;
+	}
+
+	/*
+	 * Creates the frame of the called method
+	 */
+	Frame prepare(Frame frame){
+
+		Object receiver = this.receiver.execute(frame);
+		if(receiver == null)
+			throw new InterpreterException("Method called on a null object (line " + this.line + ")");
+
+		Frame calleeFrame = new Frame((Instance) receiver, this.method.layout.size());
+		for(Argument argument : this.arguments){
+			argument.pass(frame, calleeFrame);
+		}
+		return calleeFrame;
+	}
+
+	static abstract class Argument{
+
+		final int slot;
+
+		Argument(int slot){
+			this.slot = slot;
+		}
+
+		abstract void pass(Frame frame, Frame calleeFrame);
+	}
+
+	static final class IntArgument extends Argument{
+
+		private final IntExecutor value;
+
+		IntArgument(int slot, IntExecutor value){
+			super(slot);
+			this.value = value;
+		}
+
+		void pass(Frame frame, Frame calleeFrame){
+			calleeFrame.ints[this.slot] = this.value.execute(frame);
+		}
+	}
+
+	static final class RefArgument extends Argument{
+
+		private final RefExecutor value;
+
+		RefArgument(int slot, RefExecutor value){
+			super(slot);
+			this.value = value;
+		}
+
+		void pass(Frame frame, Frame calleeFrame){
+			calleeFrame.refs[this.slot] = this.value.execute(frame);
+		}
+	}
+}
@@ -0,0 +1,69 @@
+package interpreter;
+
+/*
+ * Lets bytecode compiled by the TieredExecutor call the library classes of the Builtins
+ *
+ * The io, ioPlus and MathUtils classes loaded next to the compiled class are generated
+ * from the table below, every method only forwards its id and arguments to the Builtins
+ * in the static builtins field of its class. Every TieredExecutor loads the classes with
+ * its own class loader and sets the field to its own Builtins (see setBuiltins), so
+ * programs run at the same time each keep their own input and output.
+ */
+public class LibraryBridge{
+
+	static final String[] CLASS_NAMES = {"io", "ioPlus", "MathUtils"};
+
+	// Id, class name, method name and descriptor of every library method
+	private static final Object[][] METHODS = {
+		{Builtins.IO_PRINTLN, "io", "println", "()V"},
+		{Builtins.IO_PRINTLN_INT, "io", "println", "(I)V"},
+		{Builtins.IO_PRINT_INT, "io", "print", "(I)V"},
+		{Builtins.IO_READ, "io", "read", "()I"},
+		{Builtins.IOPLUS_PRINT_RESULT, "ioPlus", "printResult", "(I)V"},
+		{Builtins.IOPLUS_PRINT_HELLO_WORLD, "ioPlus", "printHelloWorld", "()V"},
+		{Builtins.IOPLUS_REQUEST_NUMBER, "ioPlus", "requestNumber", "()I"},
+		{Builtins.MATHUTILS_RANDOM, "MathUtils", "random", "(II)I"}
+	};
+
+	/*
+	 * Gives the library class loaded for a compiled class the Builtins its methods call
+	 */
+	static void setBuiltins(Class<?> libraryClass, Builtins builtins) throws ReflectiveOperationException{
+		libraryClass.getField("builtins").set(null, builtins);
+	}
+
+	/*
+	 * Returns the Jasmin code of a library class
+	 */
+	static String getJasminCode(String className){
+
+		StringBuilder code = new StringBuilder();
+		code.append(".class public ").append(className).append("\n");
+		code.append(".super java/lang/Object\n");
+		code.append(".field public static builtins Linterpreter/Builtins;\n");
+
+		for(Object[] method : METHODS){
+			if(!method[1].equals(className))
+				continue;
+
+			String descriptor = (String) method[3];
+			int numberArgs = descriptor.indexOf(')') - 1;
+
+			code.append("\n.method public static ").append(method[2]).append(descriptor).append("\n");
+			code.append("\t.limit locals ").append(Math.max(numberArgs, 1)).append("\n");
+			code.append("\t.limit stack 4\n");
+			code.append("\tgetstatic ").append(className).append("/builtins Linterpreter/Builtins;\n");
+			code.append("\tbipush ").append(method[0]).append("\n");
+			for(int i = 0; i < 2; i++){
+				code.append(i < numberArgs ? "\tiload " + i + "\n" : "\ticonst_0\n");
+			}
+			code.append("\tinvokevirtual interpreter/Builtins/invoke(III)I\n");
+			if(descriptor.endsWith("V"))
+				code.append("\tpop\n\treturn\n");
+			else
+				code.append("\tireturn\n");
+			code.append(".end method\n");
+		}
+		return code.toString();
+	}
+}
@@ -0,0 +1,99 @@
+package interpreter;
+
+import symbol.ClassSymbolTable;
+
+/*
+ * Compiled expression whose value is an int[] or an object
+ */
+public abstract class RefExecutor{
+
+	public abstract Object execute(Frame frame);
+
+	static final class LocalLoad extends RefExecutor{
+
+		private final int slot;
+
+		LocalLoad(int slot){
+			this.slot = slot;
+		}
+
+		public Object execute(Frame frame){
+			return frame.refs[this.slot];
+		}
+	}
+
+	static final class FieldLoad extends RefExecutor{
+
+		private final int slot;
+
+		FieldLoad(int slot){
+			this.slot = slot;
+		}
+
+		public Object execute(Frame frame){
+			return frame.self.refs[this.slot];
+		}
+	}
+
+	static final class This extends RefExecutor{
+
+		public Object execute(Frame frame){
+			return frame.self;
+		}
+	}
+
+	static final class NewIntArray extends RefExecutor{
+
+		private final IntExecutor size;
+
+		NewIntArray(IntExecutor size){
+			this.size = size;
+		}
+
+		public Object execute(Frame frame){
+			return new int[this.size.execute(frame)];
+		}
+	}
+
+	static final class NewInstance extends RefExecutor{
+
+		private final ClassSymbolTable classTable;
+
+		NewInstance(ClassSymbolTable classTable){
+			this.classTable = classTable;
+		}
+
+		public Object execute(Frame frame){
+			return new Instance(this.classTable);
+		}
+	}
+
+	static final class Call extends RefExecutor{
+
+		private final Invocation invocation;
+
+		Call(Invocation invocation){
+			this.invocation = invocation;
+		}
+
+		public Object execute(Frame frame){
+			return this.invocation.method.executeRef(this.invocation.prepare(frame));
+		}
+	}
+
+	/*
+	 * Expression that could not be bound, the error is only raised if it is executed
+	 */
+	static final class Fail extends RefExecutor{
+
+		private final String message;
+
+		Fail(String message){
+			this.message = message;
+		}
+
+		public Object execute(Frame frame){
+			throw new InterpreterException(this.message);
+		}
+	}
+}
@@ -0,0 +1,76 @@
+package interpreter;
+
+import symbol.*;
+
+import java.util.*;
+
+/*
+ * Maps the variables of a method (or the fields of a class) to slots
+ *
+ * Method slots follow the JVM layout used by the JasminGenerator: slot 0 is "this",
+ * the parameters come next and the local variables after them.
+ * Field slots follow the declaration order of the global variables.
+ */
+public class SlotLayout{
+
+	// Key is the variable name, value is the slot
+	private final Map<String, Integer> slots = new HashMap<>();
+	private final boolean[] refSlots;
+
+	private SlotLayout(int size){
+		this.refSlots = new boolean[size];
+	}
+
+	public static SlotLayout forMethod(FunctionSymbolTable fst){
+
+		SlotLayout layout = new SlotLayout(fst.getParameters().size() + fst.getLocalVariables().size() + 1);
+		int slot = layout.add(fst.getParameters(), 1);
+		layout.add(fst.getLocalVariables(), slot);
+		return layout;
+	}
+
+	public static SlotLayout forFields(ClassSymbolTable symbolTable){
+
+		SlotLayout layout = new SlotLayout(symbolTable.getGlobal_variables().size());
+		layout.add(symbolTable.getGlobal_variables(), 0);
+		return layout;
+	}
+
+	private int add(Map<String, Symbol> map, int slot){
+
+		for(Map.Entry<String, Symbol> entry : map.entrySet()){
+			this.slots.put(entry.getKey(), slot);
+			this.refSlots[slot] = isRef(entry.getValue());
+			slot++;
+		}
+		return slot;
+	}
+
+	/*
+	 * Returns the slot of a variable, or -1 if the variable is not in this layout
+	 */
+	public int getSlot(String name){
+
+		Integer slot = this.slots.get(name);
+		return slot == null ? -1 : slot;
+	}
+
+	public boolean contains(String name){
+		return this.slots.containsKey(name);
+	}
+
+	/*
+	 * Checks whether a slot holds an int[] or an object (instead of an int or boolean)
+	 */
+	public boolean isRef(int slot){
+		return this.refSlots[slot];
+	}
+
+	public int size(){
+		return this.refSlots.length;
+	}
+
+	public static boolean isRef(Symbol symbol){
+		return symbol.getType() != Symbol.SymbolType.INT && symbol.getType() != Symbol.SymbolType.BOOLEAN;
+	}
+}
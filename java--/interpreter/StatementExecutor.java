@@ -0,0 +1,220 @@
+package interpreter;
+
+/*
+ * Compiled statement
+ */
+public abstract class StatementExecutor{
+
+	public abstract void execute(Frame frame);
+
+	static final class Block extends StatementExecutor{
+
+		private final StatementExecutor[] statements;
+
+		Block(StatementExecutor[] statements){
+			this.statements = statements;
+		}
+
+		public void execute(Frame frame){
+			for(StatementExecutor statement : this.statements){
+				statement.execute(frame);
+			}
+		}
+	}
+
+	static final class StoreLocalInt extends StatementExecutor{
+
+		private final int slot;
+		private final IntExecutor value;
+
+		StoreLocalInt(int slot, IntExecutor value){
+			this.slot = slot;
+			this.value = value;
+		}
+
+		public void execute(Frame frame){
+			frame.ints[this.slot] = this.value.execute(frame);
+		}
+	}
+
+	static final class StoreLocalRef extends StatementExecutor{
+
+		private final int slot;
+		private final RefExecutor value;
+
+		StoreLocalRef(int slot, RefExecutor value){
+			this.slot = slot;
+			this.value = value;
+		}
+
+		public void execute(Frame frame){
+			frame.refs[this.slot] = this.value.execute(frame);
+		}
+	}
+
+	static final class StoreFieldInt extends StatementExecutor{
+
+		private final int slot;
+		private final IntExecutor value;
+
+		StoreFieldInt(int slot, IntExecutor value){
+			this.slot = slot;
+			this.value = value;
+		}
+
+		public void execute(Frame frame){
+			frame.self.ints[this.slot] = this.value.execute(frame);
+		}
+	}
+
+	static final class StoreFieldRef extends StatementExecutor{
+
+		private final int slot;
+		private final RefExecutor value;
+
+		StoreFieldRef(int slot, RefExecutor value){
+			this.slot = slot;
+			this.value = value;
+		}
+
+		public void execute(Frame frame){
+			frame.self.refs[this.slot] = this.value.execute(frame);
+		}
+	}
+
+	static final class ArrayStore extends StatementExecutor{
+
+		private final RefExecutor array;
+		private final IntExecutor index;
+		private final IntExecutor value;
+
+		ArrayStore(RefExecutor array, IntExecutor index, IntExecutor value){
+			this.array = array;
+			this.index = index;
+			this.value = value;
+		}
+
+		public void execute(Frame frame){
+			int[] array = (int[]) this.array.execute(frame);
+			int index = this.index.execute(frame);
+			array[index] = this.value.execute(frame);
+		}
+	}
+
+	static final class While extends StatementExecutor{
+
+		private final BooleanExecutor condition;
+		private final StatementExecutor body;
+		private final ExecutableMethod method;
+
+		While(BooleanExecutor condition, StatementExecutor body, ExecutableMethod method){
+			this.condition = condition;
+			this.body = body;
+			this.method = method;
+		}
+
+		public void execute(Frame frame){
+			while(this.condition.execute(frame)){
+				this.body.execute(frame);
+				this.method.backEdge();
+			}
+		}
+	}
+
+	/*
+	 * While loop whose condition is a "<" comparison, fused so the loop does not go
+	 * through a boolean node on every iteration
+	 */
+	static final class LtBranch extends StatementExecutor{
+
+		private final IntExecutor lhs;
+		private final IntExecutor rhs;
+		private final StatementExecutor body;
+		private final ExecutableMethod method;
+
+		LtBranch(IntExecutor lhs, IntExecutor rhs, StatementExecutor body, ExecutableMethod method){
+			this.lhs = lhs;
+			this.rhs = rhs;
+			this.body = body;
+			this.method = method;
+		}
+
+		public void execute(Frame frame){
+			while(this.lhs.execute(frame) < this.rhs.execute(frame)){
+				this.body.execute(frame);
+				this.method.backEdge();
+			}
+		}
+	}
+
+	static final class If extends StatementExecutor{
+
+		private final BooleanExecutor condition;
+		private final StatementExecutor ifBody;
+		private final StatementExecutor elseBody;
+
+		If(BooleanExecutor condition, StatementExecutor ifBody, StatementExecutor elseBody){
+			this.condition = condition;
+			this.ifBody = ifBody;
+			this.elseBody = elseBody;
+		}
+
+		public void execute(Frame frame){
+			if(this.condition.execute(frame))
+				this.ifBody.execute(frame);
+			else
+				this.elseBody.execute(frame);
+		}
+	}
+
+	static final class IfLt extends StatementExecutor{
+
+		private final IntExecutor lhs;
+		private final IntExecutor rhs;
+		private final StatementExecutor ifBody;
+		private final StatementExecutor elseBody;
+
+		IfLt(IntExecutor lhs, IntExecutor rhs, StatementExecutor ifBody, StatementExecutor elseBody){
+			this.lhs = lhs;
+			this.rhs = rhs;
+			this.ifBody = ifBody;
+			this.elseBody = elseBody;
+		}
+
+		public void execute(Frame frame){
+			if(this.lhs.execute(frame) < this.rhs.execute(frame))
+				this.ifBody.execute(frame);
+			else
+				this.elseBody.execute(frame);
+		}
+	}
+
+	/*
+	 * Expression used as a statement, its value is discarded
+	 */
+	static final class EvaluateInt extends StatementExecutor{
+
+		private final IntExecutor value;
+
+		EvaluateInt(IntExecutor value){
+			this.value = value;
+		}
+
+		public void execute(Frame frame){
+			this.value.execute(frame);
+		}
+	}
+
+	static final class EvaluateRef extends StatementExecutor{
+
+		private final RefExecutor value;
+
+		EvaluateRef(RefExecutor value){
+			this.value = value;
+		}
+
+		public void execute(Frame frame){
+			this.value.execute(frame);
+		}
+	}
+}
@@ -0,0 +1,163 @@
+package interpreter;
+
+import symbol.*;
+import parser.*;
+import codeGen.*;
+
+import java.io.StringWriter;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/*
+ * Runs a program with the executors of the ClosureCompiler and compiles its hot methods to bytecode
+ *
+ * Every method starts executed by the executors, counting its invocations and loop back-edges.
+ * When one of the counters reaches its threshold the method is compiled on a background thread:
+ * the class is generated by the JasminGenerator, assembled in memory and loaded by a JmmClassLoader
+ * (only once, the first time a method gets hot), and the following calls of the method use the
+ * bytecode. A call that is already running is not replaced, so a loop in a method that is called
+ * only once (like main) stays in the executors, but the methods it calls are compiled.
+ */
+public class TieredExecutor{
+
+	private static final boolean DEBUG = false;
+
+	public static final int INVOCATION_THRESHOLD = 1000;
+	public static final int BACK_EDGE_THRESHOLD = 10000;
+
+	final int invocationThreshold;
+	final int backEdgeThreshold;
+
+	private ClassSymbolTable symbolTable;
+	private SimpleNode rootNode;
+	private ClosureCompiler compiler;
+	private Builtins builtins;
+
+	private ExecutorService background = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "jmm-compiler");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	// Only used by the background thread
+	private CompiledClass compiledClass;
+	private boolean failed = false;
+
+	/*
+	 * Constructor of the class
+	 */
+	public TieredExecutor(ClassSymbolTable symbolTable, SimpleNode rootNode){
+		this(symbolTable, rootNode, new Builtins(), INVOCATION_THRESHOLD, BACK_EDGE_THRESHOLD);
+	}
+
+	public TieredExecutor(ClassSymbolTable symbolTable, SimpleNode rootNode, Builtins builtins, int invocationThreshold, int backEdgeThreshold){
+
+		this.symbolTable = symbolTable;
+		this.rootNode = rootNode;
+		this.invocationThreshold = invocationThreshold;
+		this.backEdgeThreshold = backEdgeThreshold;
+
+		this.builtins = builtins;
+		this.compiler = new ClosureCompiler(symbolTable, rootNode, builtins);
+
+		if(!isCompilable())
+			return;
+
+		for(ExecutableMethod method : this.compiler.getMethods()){
+			if(isCompilable(method.fst))
+				method.tiering = this;
+		}
+	}
+
+	/*
+	 * Runs the main method of the class
+	 */
+	public void run(String[] args){
+
+		try{
+			this.compiler.run(args);
+		} finally{
+			this.background.shutdownNow();
+		}
+	}
+
+	/*
+	 * Called by a method when one of its counters reaches the threshold
+	 */
+	void hot(ExecutableMethod method){
+
+		method.tiering = null;		// Stops counting, the method is only queued once
+		this.background.execute(() -> install(method));
+	}
+
+	/*
+	 * Compiles a method and switches its calls to the bytecode
+	 */
+	private void install(ExecutableMethod method){
+
+		if(this.failed)
+			return;
+
+		try{
+			if(this.compiledClass == null)
+				this.compiledClass = compileClass();
+
+			method.compiled = this.compiledClass.getMethod(method);
+			if(DEBUG)
+				System.err.println("Compiled method " + method.name);
+
+		} catch(Exception | LinkageError exception){
+
+			this.failed = true;
+			if(DEBUG)
+				System.err.println("Cannot compile class " + this.symbolTable.getClassName() + ": " + exception);
+		}
+	}
+
+	private CompiledClass compileClass() throws Exception{
+
+		StringWriter code = new StringWriter();
+		new JasminGenerator(this.symbolTable, this.rootNode, code);
+
+		JmmClassLoader classLoader = new JmmClassLoader(TieredExecutor.class.getClassLoader());
+		classLoader.addClass(this.symbolTable.getClassName(), JasminAssembler.assemble(code.toString()));
+		for(String className : LibraryBridge.CLASS_NAMES){
+			classLoader.addClass(className, JasminAssembler.assemble(LibraryBridge.getJasminCode(className)));
+			LibraryBridge.setBuiltins(classLoader.loadClass(className), this.builtins);
+		}
+
+		classLoader.loadClass(this.symbolTable.getClassName());
+		return new CompiledClass(classLoader, this.symbolTable, SlotLayout.forFields(this.symbolTable));
+	}
+
+	/*
+	 * Checks whether the objects of the class can be copied to the compiled class
+	 * (the superclass of a class that extends another is not available)
+	 */
+	private boolean isCompilable(){
+
+		if(this.symbolTable.itExtends())
+			return false;
+
+		for(Symbol field : this.symbolTable.getGlobal_variables().values()){
+			if(!CompiledClass.isCompilable(field))
+				return false;
+		}
+		return true;
+	}
+
+	/*
+	 * Checks whether a method only receives and returns values that can be passed to the compiled code
+	 */
+	private boolean isCompilable(FunctionSymbolTable fst){
+
+		if(fst.getReturnSymbol() == null || !CompiledClass.isCompilable(fst.getReturnSymbol()))
+			return false;
+
+		for(Symbol parameter : fst.getParameters().values()){
+			if(!CompiledClass.isCompilable(parameter))
+				return false;
+		}
+		return true;
+	}
+}
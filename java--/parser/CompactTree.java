@@ -0,0 +1,174 @@
+package parser;
+
+import java.util.Arrays;
+
+/*
+ * Compact, read-only copy of an AST
+ *
+ * A node is an int indexing parallel arrays: its kind (the ParserTreeConstants id), line,
+ * int literal and name id. The children of a node are stored next to each other, in the
+ * range [firstChild, firstChild + numChildren), so a tree is a handful of int arrays instead
+ * of one object, one children array and up to three Strings per node.
+ *
+ * The copy is made from the tree built by the parser once the analysis, which still works on
+ * SimpleNode like the generators, is done: only the interpreter walks it, and jmm --interpret
+ * lets the parser tree go before running, so the program runs with the compact copy alone. It
+ * does not make the parse or the analysis smaller. Int literals are parsed once, TRUE/FALSE have the literal 1/0, and the name
+ * ids are the ones the token manager gave the identifiers (SimpleNode.nameId), nodes without
+ * a name have the id -1.
+ */
+public final class CompactTree{
+
+	public static final int ROOT = 0;
+
+	private final int[] kinds;
+	private final int[] lines;
+	private final int[] firstChildren;
+	private final int[] numChildren;
+	private final int[] literals;
+	private final int[] nameIds;
+
+	// Indexed by name id, only the names used by the tree are set
+	private String[] names = new String[16];
+
+	// Next free index while the tree is copied
+	private int next = 1;
+
+	private CompactTree(int size){
+
+		this.kinds = new int[size];
+		this.lines = new int[size];
+		this.firstChildren = new int[size];
+		this.numChildren = new int[size];
+		this.literals = new int[size];
+		this.nameIds = new int[size];
+	}
+
+	/*
+	 * Copies a tree built by the parser
+	 */
+	public static CompactTree of(SimpleNode root){
+
+		CompactTree tree = new CompactTree(count(root));
+		tree.copy(root, ROOT);
+		return tree;
+	}
+
+	/*
+	 * Counts the nodes with an explicit stack, a deeply nested expression must not overflow the Java stack
+	 */
+	private static int count(Node root){
+
+		int count = 0;
+		Node[] stack = new Node[64];
+		int top = 0;
+		stack[top++] = root;
+		while(top > 0){
+			Node node = stack[--top];
+			stack[top] = null;
+			count++;
+			int numChildren = node.jjtGetNumChildren();
+			if(top + numChildren > stack.length)
+				stack = Arrays.copyOf(stack, Math.max(stack.length * 2, top + numChildren));
+			for(int i = 0; i < numChildren; i++){
+				stack[top++] = node.jjtGetChild(i);
+			}
+		}
+		return count;
+	}
+
+	/*
+	 * Copies the tree with an explicit stack of the nodes still to copy and their indexes
+	 * The block of the children of a node is taken when the node is copied, before any of them, so siblings
+	 * are adjacent. The children are pushed last first, so they are copied in the order of the recursive walk
+	 */
+	private void copy(SimpleNode root, int rootIndex){
+
+		SimpleNode[] stack = new SimpleNode[64];
+		int[] indexes = new int[64];
+		int top = 0;
+		stack[top] = root;
+		indexes[top++] = rootIndex;
+		while(top > 0){
+			SimpleNode node = stack[--top];
+			int index = indexes[top];
+			stack[top] = null;
+
+			int numChildren = node.jjtGetNumChildren();
+			int first = this.next;
+			this.next += numChildren;
+
+			this.kinds[index] = node.getId();
+			this.lines[index] = node.line;
+			this.literals[index] = literal(node);
+			this.firstChildren[index] = first;
+			this.numChildren[index] = numChildren;
+			this.nameIds[index] = node.nameId;
+			if(node.nameId >= 0)
+				setName(node.nameId, node.getName());
+
+			if(top + numChildren > stack.length){
+				int length = Math.max(stack.length * 2, top + numChildren);
+				stack = Arrays.copyOf(stack, length);
+				indexes = Arrays.copyOf(indexes, length);
+			}
+			for(int i = numChildren - 1; i >= 0; i--){
+				stack[top] = (SimpleNode) node.jjtGetChild(i);
+				indexes[top++] = first + i;
+			}
+		}
+	}
+
+	private void setName(int nameId, String name){
+
+		if(nameId >= this.names.length)
+			this.names = Arrays.copyOf(this.names, Math.max(this.names.length * 2, nameId + 1));
+		this.names[nameId] = name;
+	}
+
+	public int size(){
+		return this.kinds.length;
+	}
+
+	public int kind(int node){
+		return this.kinds[node];
+	}
+
+	public int line(int node){
+		return this.lines[node];
+	}
+
+	public int numChildren(int node){
+		return this.numChildren[node];
+	}
+
+	public int child(int node, int i){
+		return this.firstChildren[node] + i;
+	}
+
+	public int literal(int node){
+		return this.literals[node];
+	}
+
+	public int nameId(int node){
+		return this.nameIds[node];
+	}
+
+	public String name(int node){
+		int id = this.nameIds[node];
+		return id == -1 ? null : this.names[id];
+	}
+
+	public String nameOf(int nameId){
+		return this.names[nameId];
+	}
+
+	private static int literal(SimpleNode node){
+
+		if(node.getValueInt() != null)
+			return Integer.parseInt(node.getValueInt());
+		if(node.getValueBoolean() != null)
+			return node.getValueBoolean().equals("true") ? 1 : 0;
+		return 0;
+	}
+}
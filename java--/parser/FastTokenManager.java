@@ -0,0 +1,230 @@
+package parser;
+
+/*
+ * Hand written scanner for the Java-- tokens, a replacement for the generated ParserTokenManager
+ *
+ * The token set is small and ASCII: one and two char operators, keywords, identifiers, integers,
+ * whitespace and comments. Each token is found with a lookup in a table indexed by its first
+ * char and a loop over the chars it can contain, instead of the NFA simulation of the generated
+ * lexer. A word is looked up in a perfect hash of the keywords, (first + 3 * last + length) & 63,
+ * and is an identifier if its slot is empty or holds another keyword.
+ *
+ * The tokens are the same as the generated lexer's, with the same images and positions, and
+ * identifiers are interned like in LeanTokenManager. The rules that make this true are the
+ * longest match ones of JavaCC: "int[]" is one token only when written without spaces, a "/*"
+ * that is never closed is a DIVIDE_OP followed by more tokens and a word is a keyword only if
+ * it is exactly the keyword. Lexical errors are rare, so the generated lexer is run from the
+ * offending char to throw exactly the TokenMgrError it would.
+ */
+public class FastTokenManager implements ParserConstants, TokenManager{
+
+	private static final int[] SINGLE_CHAR_KINDS = new int[128];
+	private static final boolean[] WORD_STARTS = new boolean[128];
+	private static final boolean[] WORD_PARTS = new boolean[128];
+
+	private static final String[] KEYWORD_IMAGES = new String[64];
+	private static final int[] KEYWORD_KINDS = new int[64];
+
+	static{
+		int[] singleChars = {LT_OP, PLUS_OP, MINUS_OP, TIMES_OP, NOT_OP, ASSIGN, LPAR, RPAR, DOT, VIRG, PVIRG,
+			LCHAVETA, RCHAVETA, LPARRETO, RPARRETO};
+		for(int kind : singleChars){
+			SINGLE_CHAR_KINDS[ParserTokenManager.jjstrLiteralImages[kind].charAt(0)] = kind;
+		}
+
+		for(int c = 0; c < 128; c++){
+			WORD_STARTS[c] = c == '$' || c == '_' || (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z');
+			WORD_PARTS[c] = WORD_STARTS[c] || (c >= '0' && c <= '9');
+		}
+
+		int[] keywords = {WHILE, IF, ELSE, LENGTH, EXTENDS, CLASS, PUBLIC, STATIC, VOID, MAIN, INT, BOOLEAN,
+			TRUE, FALSE, RETURN, THIS, NEW, STRING};
+		for(int kind : keywords){
+			String image = ParserTokenManager.jjstrLiteralImages[kind];
+			int hash = keywordHash(image.charAt(0), image.charAt(image.length() - 1), image.length());
+			if(KEYWORD_IMAGES[hash] != null)
+				throw new IllegalStateException("Keyword hash collision: " + image + " and " + KEYWORD_IMAGES[hash]);
+			KEYWORD_IMAGES[hash] = image;
+			KEYWORD_KINDS[hash] = kind;
+		}
+	}
+
+	public final IdentifierPool identifiers;
+
+	private final SourceCharStream source;
+	private final int length;
+	private int position = 0;
+
+	public FastTokenManager(SourceCharStream source){
+		this(source, new IdentifierPool());
+	}
+
+	/*
+	 * Scanner interning the identifiers in the pool of another token manager, so both give the same ids
+	 */
+	public FastTokenManager(SourceCharStream source, IdentifierPool identifiers){
+
+		this.source = source;
+		this.length = source.length();
+		this.identifiers = identifiers;
+	}
+
+	/*
+	 * Scanner of the chars of the source from begin to end only, as if the source ended there
+	 * The tokens keep their offsets, lines and columns in the whole source
+	 */
+	public FastTokenManager(SourceCharStream source, IdentifierPool identifiers, int begin, int end){
+
+		this.source = source;
+		this.length = end;
+		this.identifiers = identifiers;
+		this.position = begin;
+	}
+
+	private static int keywordHash(int first, int last, int length){
+		return (first + 3 * last + length) & 63;
+	}
+
+	public Token getNextToken(){
+
+		int begin = skip(this.position);
+		if(begin >= this.length){
+			this.position = this.length;
+			return token(EOF, "", this.length - 1, this.length);
+		}
+
+		char c = this.source.charAt(begin);
+		if(c >= 128)
+			return lexicalError(begin);
+
+		int kind = SINGLE_CHAR_KINDS[c];
+		if(kind != 0)
+			return token(kind, ParserTokenManager.jjstrLiteralImages[kind], begin, begin + 1);
+
+		if(c == '/')
+			return token(DIVIDE_OP, "/", begin, begin + 1);
+
+		if(c == '&'){
+			if(begin + 1 < this.length && this.source.charAt(begin + 1) == '&')
+				return token(AND_OP, "&&", begin, begin + 2);
+			return lexicalError(begin);
+		}
+
+		if(c >= '0' && c <= '9'){
+			int end = begin + 1;
+			while(end < this.length && isDigit(this.source.charAt(end)))
+				end++;
+			return token(INTEGER, LeanTokenManager.integerImage(this.source, begin, end), begin, end);
+		}
+
+		if(WORD_STARTS[c])
+			return word(begin);
+
+		return lexicalError(begin);
+	}
+
+	private Token word(int begin){
+
+		int end = begin + 1;
+		while(end < this.length && isWordPart(this.source.charAt(end)))
+			end++;
+
+		int length = end - begin;
+		int hash = keywordHash(this.source.charAt(begin), this.source.charAt(end - 1), length);
+		String keyword = KEYWORD_IMAGES[hash];
+		if(keyword != null && keyword.length() == length && matches(keyword, begin)){
+			int kind = KEYWORD_KINDS[hash];
+			if(kind == INT && end + 1 < this.length && this.source.charAt(end) == '[' && this.source.charAt(end + 1) == ']')
+				return token(INT_ARRAY, ParserTokenManager.jjstrLiteralImages[INT_ARRAY], begin, end + 2);
+			return token(kind, keyword, begin, end);
+		}
+
+		int id = this.source.internImage(this.identifiers, begin, end);
+		Token t = token(IDENTIFIER, this.identifiers.getName(id), begin, end);
+		t.id = id;
+		return t;
+	}
+
+	/*
+	 * Returns the offset of the first char after the whitespace and comments at an offset
+	 */
+	private int skip(int i){
+
+		while(i < this.length){
+			char c = this.source.charAt(i);
+			if(c == ' ' || c == '\t' || c == '\n' || c == '\r'){
+				i++;
+			}
+			else if(c == '/' && i + 1 < this.length && this.source.charAt(i + 1) == '/'){
+				i += 2;
+				while(i < this.length && (c = this.source.charAt(i)) != '\n' && c != '\r')
+					i++;
+			}
+			else if(c == '/' && i + 1 < this.length && this.source.charAt(i + 1) == '*'){
+				int end = commentEnd(i + 2);
+				if(end == -1)
+					return i;
+				i = end;
+			}
+			else
+				return i;
+		}
+		return i;
+	}
+
+	/*
+	 * Returns the offset after the first "*" "/" from an offset, or -1 if the comment is not closed
+	 */
+	private int commentEnd(int i){
+
+		for(; i + 1 < this.length; i++){
+			if(this.source.charAt(i) == '*' && this.source.charAt(i + 1) == '/')
+				return i + 2;
+		}
+		return -1;
+	}
+
+	private boolean matches(String keyword, int begin){
+
+		for(int i = 0; i < keyword.length(); i++){
+			if(this.source.charAt(begin + i) != keyword.charAt(i))
+				return false;
+		}
+		return true;
+	}
+
+	private static boolean isDigit(char c){
+		return c >= '0' && c <= '9';
+	}
+
+	private static boolean isWordPart(char c){
+		return c < 128 && WORD_PARTS[c];
+	}
+
+	/*
+	 * A token never spans lines, so its end is on the line of its begin
+	 */
+	private Token token(int kind, String image, int begin, int end){
+
+		Token t = Token.newToken(kind, image);
+		t.beginOffset = begin;
+		t.endOffset = end;
+		t.beginLine = this.source.lineOf(begin);
+		t.beginColumn = this.source.columnOf(begin);
+		t.endLine = t.beginLine;
+		t.endColumn = t.beginColumn + Math.max(end - begin - 1, 0);
+		this.position = end;
+		return t;
+	}
+
+	/*
+	 * Runs the generated lexer from the offending char, which throws the TokenMgrError
+	 */
+	private Token lexicalError(int begin){
+
+		this.source.backup(this.source.getEndOffset() - begin);
+		Token t = new ParserTokenManager(this.source).getNextToken();
+		this.position = this.source.getEndOffset();
+		return t;
+	}
+}
@@ -0,0 +1,205 @@
+package parser;
+
+/*
+ * Pre-pass reading only the declarations of a class: its name and superclass, its fields and
+ * the signatures of its methods
+ *
+ * Method bodies are skipped by counting braces, so they are lexed but not parsed. The result is
+ * a tree shaped like the parser's, a Program with a CLASS or CLASS_EXTENDS node holding the
+ * CLASS_NAME, EXTENDED_CLASS, VAR_DECLS and METHODS nodes, where a METHOD only has its type, NAME
+ * and METHOD_ARGS and a MAIN only its ARGV. That is all the symbol tables are built from, so the
+ * bodies can then be parsed and compiled one at a time (see Parser.setMethodHandler).
+ *
+ * The scanner shares the identifier pool of the parser's token manager, so the names get the ids
+ * the parser will give them. It only accepts declarations the grammar accepts without recovering
+ * from an error: for anything else scan returns null and the source is left to the parser alone.
+ */
+public class HeaderScanner implements ParserConstants, ParserTreeConstants{
+
+	private final TokenManager tokens;
+	private Token token;
+
+	public HeaderScanner(SourceCharStream source, IdentifierPool identifiers){
+		this.tokens = new FastTokenManager(source.duplicate(), identifiers);
+	}
+
+	/*
+	 * Returns the declarations of the class, or null if they do not follow the grammar
+	 */
+	public SimpleNode scan(){
+
+		try{
+			this.token = this.tokens.getNextToken();
+			return program();
+		} catch(ParseException | TokenMgrError exception){
+			return null;
+		}
+	}
+
+	private SimpleNode program() throws ParseException{
+
+		expect(CLASS);
+		SimpleNode className = named(new ASTCLASS_NAME(JJTCLASS_NAME), expect(IDENTIFIER));
+
+		SimpleNode classNode;
+		if(this.token.kind == EXTENDS){
+			next();
+			classNode = new ASTCLASS_EXTENDS(JJTCLASS_EXTENDS);
+			add(classNode, className);
+			add(classNode, named(new ASTEXTENDED_CLASS(JJTEXTENDED_CLASS), expect(IDENTIFIER)));
+		}
+		else {
+			classNode = new ASTCLASS(JJTCLASS);
+			add(classNode, className);
+		}
+
+		expect(LCHAVETA);
+		add(classNode, fields());
+		add(classNode, methods());
+		expect(RCHAVETA);
+
+		SimpleNode program = new ASTProgram(JJTPROGRAM);
+		add(program, classNode);
+		return program;
+	}
+
+	private SimpleNode fields() throws ParseException{
+
+		SimpleNode fields = new ASTVAR_DECLS(JJTVAR_DECLS);
+		while(isType(this.token.kind)){
+			SimpleNode field = new ASTVAR_DECL(JJTVAR_DECL);
+			add(field, type());
+			add(field, named(new ASTIDENTIFIER(JJTIDENTIFIER), expect(IDENTIFIER)));
+			expect(PVIRG);
+			add(fields, field);
+		}
+		return fields;
+	}
+
+	private SimpleNode methods() throws ParseException{
+
+		SimpleNode methods = new ASTMETHODS(JJTMETHODS);
+		while(this.token.kind == PUBLIC){
+			next();
+			add(methods, this.token.kind == STATIC ? main() : method());
+		}
+		return methods;
+	}
+
+	private SimpleNode main() throws ParseException{
+
+		SimpleNode main = new ASTMAIN(JJTMAIN);
+		expect(STATIC);
+		expect(VOID);
+		expect(MAIN);
+		expect(LPAR);
+		expect(STRING);
+		expect(LPARRETO);
+		expect(RPARRETO);
+		add(main, named(new ASTARGV(JJTARGV), expect(IDENTIFIER)));
+		expect(RPAR);
+		skipBody();
+		return main;
+	}
+
+	private SimpleNode method() throws ParseException{
+
+		SimpleNode method = new ASTMETHOD(JJTMETHOD);
+		add(method, type());
+		add(method, named(new ASTNAME(JJTNAME), expect(IDENTIFIER)));
+		expect(LPAR);
+
+		SimpleNode arguments = new ASTMETHOD_ARGS(JJTMETHOD_ARGS);
+		if(this.token.kind != RPAR){
+			add(arguments, argument());
+			while(this.token.kind == VIRG){
+				next();
+				add(arguments, argument());
+			}
+		}
+		add(method, arguments);
+
+		expect(RPAR);
+		skipBody();
+		return method;
+	}
+
+	private SimpleNode argument() throws ParseException{
+
+		SimpleNode argument = new ASTARG(JJTARG);
+		add(argument, type());
+		add(argument, named(new ASTIDENTIFIER(JJTIDENTIFIER), expect(IDENTIFIER)));
+		return argument;
+	}
+
+	private SimpleNode type() throws ParseException{
+
+		Token t = this.token;
+		SimpleNode type;
+		switch(t.kind){
+			case INT:
+				type = new ASTINT(JJTINT);
+				break;
+			case INT_ARRAY:
+				type = new ASTINT_ARRAY(JJTINT_ARRAY);
+				break;
+			case BOOLEAN:
+				type = new ASTBOOLEAN(JJTBOOLEAN);
+				break;
+			case IDENTIFIER:
+				return named(new ASTIDENTIFIER(JJTIDENTIFIER), expect(IDENTIFIER));
+			default:
+				throw new ParseException();
+		}
+		type.line = t.beginLine;
+		next();
+		return type;
+	}
+
+	/*
+	 * Skips from the "{" of a body to the "}" closing it
+	 */
+	private void skipBody() throws ParseException{
+
+		expect(LCHAVETA);
+		for(int depth = 1; depth > 0; next()){
+			if(this.token.kind == LCHAVETA)
+				depth++;
+			else if(this.token.kind == RCHAVETA)
+				depth--;
+			else if(this.token.kind == EOF)
+				throw new ParseException();
+		}
+	}
+
+	private static boolean isType(int kind){
+		return kind == INT || kind == INT_ARRAY || kind == BOOLEAN || kind == IDENTIFIER;
+	}
+
+	private static SimpleNode named(SimpleNode node, Token t){
+
+		node.name = t.image;
+		node.nameId = t.id;
+		node.line = t.beginLine;
+		return node;
+	}
+
+	private static void add(SimpleNode parent, SimpleNode child){
+
+		child.jjtSetParent(parent);
+		parent.jjtAddChild(child, parent.jjtGetNumChildren());
+	}
+
+	private Token expect(int kind) throws ParseException{
+
+		Token t = this.token;
+		if(t.kind != kind)
+			throw new ParseException();
+		next();
+		return t;
+	}
+
+	private void next(){
+		this.token = this.tokens.getNextToken();
+	}
+}
@@ -0,0 +1,117 @@
+package parser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/*
+ * Dense numbering of the identifiers of one compilation
+ *
+ * The token manager interns every IDENTIFIER token, so each distinct name is hashed
+ * once while lexing and afterwards identified by an int in [0, size()).
+ *
+ * Names are kept in an open addressing table of ids, hashed like String.hashCode, so a
+ * name can also be interned straight from a slice of chars: the String of a name is only
+ * created the first time the name is seen.
+ */
+public class IdentifierPool{
+
+	private final List<String> names = new ArrayList<>();
+	private int[] hashes = new int[16];
+	private int[] table = new int[32];
+
+	public IdentifierPool(){
+		Arrays.fill(this.table, -1);
+	}
+
+	public int intern(String name){
+
+		int hash = name.hashCode();
+		int mask = this.table.length - 1;
+		int i = hash & mask;
+		for(int id; (id = this.table[i]) != -1; i = (i + 1) & mask){
+			if(this.hashes[id] == hash && this.names.get(id).equals(name))
+				return id;
+		}
+		return add(name, hash, i);
+	}
+
+	/*
+	 * Interns the name made of length chars of an array, starting at offset
+	 */
+	public int intern(char[] chars, int offset, int length){
+
+		int hash = 0;
+		for(int c = offset; c < offset + length; c++){
+			hash = 31 * hash + chars[c];
+		}
+
+		int mask = this.table.length - 1;
+		int i = hash & mask;
+		for(int id; (id = this.table[i]) != -1; i = (i + 1) & mask){
+			if(this.hashes[id] == hash && matches(this.names.get(id), chars, offset, length))
+				return id;
+		}
+		return add(new String(chars, offset, length), hash, i);
+	}
+
+	/*
+	 * Returns the id of a name, or -1 if no identifier has that name
+	 */
+	public int getId(String name){
+
+		int hash = name.hashCode();
+		int mask = this.table.length - 1;
+		for(int i = hash & mask, id; (id = this.table[i]) != -1; i = (i + 1) & mask){
+			if(this.hashes[id] == hash && this.names.get(id).equals(name))
+				return id;
+		}
+		return -1;
+	}
+
+	public String getName(int id){
+		return this.names.get(id);
+	}
+
+	public int size(){
+		return this.names.size();
+	}
+
+	private static boolean matches(String name, char[] chars, int offset, int length){
+
+		if(name.length() != length)
+			return false;
+		for(int c = 0; c < length; c++){
+			if(name.charAt(c) != chars[offset + c])
+				return false;
+		}
+		return true;
+	}
+
+	private int add(String name, int hash, int slot){
+
+		int id = this.names.size();
+		this.names.add(name);
+		if(id == this.hashes.length)
+			this.hashes = Arrays.copyOf(this.hashes, id * 2);
+		this.hashes[id] = hash;
+		this.table[slot] = id;
+
+		if(this.names.size() * 2 > this.table.length)
+			rehash();
+		return id;
+	}
+
+	private void rehash(){
+
+		this.table = new int[this.table.length * 2];
+		Arrays.fill(this.table, -1);
+		int mask = this.table.length - 1;
+		for(int id = 0; id < this.names.size(); id++){
+			int i = this.hashes[id] & mask;
+			while(this.table[i] != -1)
+				i = (i + 1) & mask;
+			this.table[i] = id;
+		}
+	}
+}
@@ -2,18 +2,31 @@
 package parser;
 
 public class JJTParserState {
-  private java.util.List<Node> nodes;
-  private java.util.List<Integer> marks;
+  private Node[] nodes;
+  private int[] marks;
 
   private int sp;        // number of nodes on stack
   private int mk;        // current mark
+  private int depth;     // number of marks on stack
   private boolean node_created;
+  private boolean abandoned;  // the stacks are left alone until the next reset
+
+  private int nodes_created;  // nodes closed since the last reset
+  private int max_depth;      // deepest nesting of node scopes since the last reset
 
   public JJTParserState() {
-    nodes = new java.util.ArrayList<Node>();
-    marks = new java.util.ArrayList<Integer>();
+    this(256);
+  }
+
+  /* The stacks start with room for capacity nodes and marks, grow when
+     needed and keep their size when reset, so a parser reinitialised for
+     another compilation does not allocate them again. */
+  public JJTParserState(int capacity) {
+    nodes = new Node[capacity];
+    marks = new int[capacity];
     sp = 0;
     mk = 0;
+    depth = 0;
   }
 
   /* Determines whether the current node was actually closed and
@@ -26,36 +39,57 @@ public class JJTParserState {
   /* Call this to reinitialize the node stack.  It is called
      automatically by the parser's ReInit() method. */
   public void reset() {
-    nodes.clear();
-    marks.clear();
+    java.util.Arrays.fill(nodes, 0, sp, null);
     sp = 0;
     mk = 0;
+    depth = 0;
+    nodes_created = 0;
+    max_depth = 0;
+    abandoned = false;
+  }
+
+  /* Stops building the tree of the current parse.  A parse stopped by
+     an exception (see Parser.error_skipto) may leave the stacks in any
+     state the error recovery put them in, so the node scopes it unwinds
+     through no longer touch them until the next reset. */
+  public void abandon() {
+    abandoned = true;
   }
 
   /* Returns the root node of the AST.  It only makes sense to call
      this after a successful parse. */
   public Node rootNode() {
-    return nodes.get(0);
+    return nodes[0];
   }
 
   /* Pushes a node on to the stack. */
   public void pushNode(Node n) {
-    nodes.add(n);
-    ++sp;
+    if (abandoned) {
+      return;
+    }
+    if (sp == nodes.length) {
+      nodes = java.util.Arrays.copyOf(nodes, sp * 2);
+    }
+    nodes[sp++] = n;
   }
 
   /* Returns the node on the top of the stack, and remove it from the
      stack.  */
   public Node popNode() {
+    if (abandoned) {
+      return null;
+    }
     if (--sp < mk) {
-      mk = marks.remove(marks.size()-1);
+      mk = marks[--depth];
     }
-    return nodes.remove(nodes.size()-1);
+    Node n = nodes[sp];
+    nodes[sp] = null;
+    return n;
   }
 
   /* Returns the node currently on the top of the stack. */
   public Node peekNode() {
-    return nodes.get(nodes.size()-1);
+    return nodes[sp-1];
   }
 
   /* Returns the number of children on the stack in the current node
@@ -64,17 +98,36 @@ public class JJTParserState {
     return sp - mk;
   }
 
+  /* Returns the number of nodes closed since the last reset. */
+  public int getNodesCreated() {
+    return nodes_created;
+  }
+
+  /* Returns the deepest nesting of node scopes since the last reset. */
+  public int getMaxDepth() {
+    return max_depth;
+  }
+
 
   public void clearNodeScope(Node n) {
+    if (abandoned) {
+      return;
+    }
     while (sp > mk) {
       popNode();
     }
-    mk = marks.remove(marks.size()-1);
+    mk = marks[--depth];
   }
 
 
   public void openNodeScope(Node n) {
-    marks.add(mk);
+    if (depth == marks.length) {
+      marks = java.util.Arrays.copyOf(marks, depth * 2);
+    }
+    marks[depth++] = mk;
+    if (depth > max_depth) {
+      max_depth = depth;
+    }
     mk = sp;
     n.jjtOpen();
   }
@@ -85,7 +138,16 @@ public class JJTParserState {
      made the children of the definite node.  Then the definite node
      is pushed on to the stack. */
   public void closeNodeScope(Node n, int num) {
-    mk = marks.remove(marks.size()-1);
+    if (abandoned) {
+      return;
+    }
+    mk = marks[--depth];
+    /* A parse that recovered from a syntax error may have left fewer
+       nodes in the enclosing scope than the node takes, it only takes
+       those, popping more would pop the marks of the enclosing scopes. */
+    if (num > sp - mk) {
+      num = sp - mk;
+    }
     while (num-- > 0) {
       Node c = popNode();
       c.jjtSetParent(n);
@@ -94,6 +156,7 @@ public class JJTParserState {
     n.jjtClose();
     pushNode(n);
     node_created = true;
+    nodes_created++;
   }
 
 
@@ -103,9 +166,12 @@ public class JJTParserState {
      on to the stack.  If the condition is false the node is not
      constructed and they are left on the stack. */
   public void closeNodeScope(Node n, boolean condition) {
+    if (abandoned) {
+      return;
+    }
     if (condition) {
       int a = nodeArity();
-      mk = marks.remove(marks.size()-1);
+      mk = marks[--depth];
       while (a-- > 0) {
         Node c = popNode();
         c.jjtSetParent(n);
@@ -114,8 +180,9 @@ public class JJTParserState {
       n.jjtClose();
       pushNode(n);
       node_created = true;
+      nodes_created++;
     } else {
-      mk = marks.remove(marks.size()-1);
+      mk = marks[--depth];
       node_created = false;
     }
   }
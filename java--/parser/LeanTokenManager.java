@@ -0,0 +1,103 @@
+package parser;
+
+/*
+ * Token manager handing out tokens as slices of a SourceCharStream
+ *
+ * ParserTokenManager fills a new Token for every token, with an image String for every
+ * identifier and integer literal. Here a token is its kind and the offsets of its chars in
+ * the source. Keywords and operators keep their shared literal images, identifiers get the
+ * String kept by the identifier pool, which is only created the first time a name is seen,
+ * and integer literals are parsed from the source and take a shared image when they are
+ * small. Only the begin line and column are worked out: the end of a token is its endOffset.
+ *
+ * Token objects are reused. The parser reads a token right after consuming it and looks at
+ * most one token ahead, so each Token is handed out again RING_SIZE tokens later.
+ * That only holds with LOOKAHEAD=1 and no syntactic lookahead in Parser.jjt: JavaCC then scans
+ * tokens ahead with jj_scan_token, which would be handed out again before the parser consumes
+ * them. A token manager is not created for a Parser generated that way (see SCANS_AHEAD).
+ */
+public class LeanTokenManager extends ParserTokenManager{
+
+	private static final int RING_SIZE = 8;
+
+	// Whether the generated Parser has the methods JavaCC adds for a lookahead deeper than one token
+	private static final boolean SCANS_AHEAD = scansAhead();
+	private static final String[] SMALL_INTEGERS = new String[1024];
+
+	static{
+		for(int i = 0; i < SMALL_INTEGERS.length; i++){
+			SMALL_INTEGERS[i] = Integer.toString(i);
+		}
+	}
+
+	private final SourceCharStream source;
+	private final Token[] ring = new Token[RING_SIZE];
+	private int next = 0;
+
+	public LeanTokenManager(SourceCharStream source){
+
+		super(source);
+		if(SCANS_AHEAD)
+			throw new IllegalStateException("Parser looks more than one token ahead, the " + RING_SIZE + " reused tokens of LeanTokenManager would be overwritten: use ParserTokenManager or FastTokenManager");
+		this.source = source;
+		for(int i = 0; i < RING_SIZE; i++){
+			this.ring[i] = new Token();
+		}
+	}
+
+	/*
+	 * JavaCC only generates jj_scan_token, with a jj_2_ and jj_3 method per choice, for a LOOKAHEAD
+	 * option above 1 or a syntactic LOOKAHEAD, the only ways the parser reads tokens it will not consume next
+	 */
+	private static boolean scansAhead(){
+
+		for(java.lang.reflect.Method method : Parser.class.getDeclaredMethods()){
+			if(method.getName().equals("jj_scan_token") || method.getName().startsWith("jj_2_"))
+				return true;
+		}
+		return false;
+	}
+
+	@Override
+	protected Token jjFillToken(){
+
+		Token t = this.ring[this.next];
+		this.next = (this.next + 1) % RING_SIZE;
+
+		t.kind = jjmatchedKind;
+		t.beginOffset = this.source.getBeginOffset();
+		t.endOffset = this.source.getEndOffset();
+		t.beginLine = this.source.getBeginLine();
+		t.beginColumn = this.source.getBeginColumn();
+		t.next = null;
+		t.id = -1;
+
+		switch(t.kind){
+			case IDENTIFIER:
+				t.id = this.source.internImage(identifiers);
+				t.image = identifiers.getName(t.id);
+				break;
+			case INTEGER:
+				t.image = integerImage(this.source, t.beginOffset, t.endOffset);
+				break;
+			default:
+				t.image = jjstrLiteralImages[t.kind];
+		}
+		return t;
+	}
+
+	/*
+	 * Literals below SMALL_INTEGERS share their image, unless written with leading zeros
+	 */
+	static String integerImage(SourceCharStream source, int begin, int end){
+
+		int value = 0;
+		for(int i = begin; i < end && value < SMALL_INTEGERS.length; i++){
+			value = value * 10 + source.charAt(i) - '0';
+		}
+
+		if(value < SMALL_INTEGERS.length && (end - begin == 1 || source.charAt(begin) != '0'))
+			return SMALL_INTEGERS[value];
+		return source.image(begin, end);
+	}
+}
@@ -0,0 +1,174 @@
+package parser;
+
+import java.util.Arrays;
+
+/*
+ * Pre-pass finding where the methods of a class begin and end, without lexing them into tokens
+ *
+ * The chars are only told apart as far as braces need: comments are skipped, so are words and
+ * numbers (a brace never is part of one), and every other char is a single char token. A method
+ * begins at a public at brace depth 1 and ends at the } that closes its body, back to depth 1.
+ *
+ * The scan is strict about the class around the methods, so the text between them is never lost:
+ * before the first method there is no brace at depth 1 (the fields have none), between and after
+ * the methods there is nothing but public and the } that closes the class, which is kept as well.
+ * Anything else, an unterminated comment or braces that do not match, and scan returns false: the
+ * source is then left to the parser, which reports whatever is wrong with it. Whether each part
+ * really is a method is only known once it is parsed (see ParallelParser).
+ */
+public class MethodScanner{
+
+	private final SourceCharStream source;
+	private final int length;
+
+	private int[] begins = new int[64];
+	private int[] ends = new int[64];
+	private int methods = 0;
+	private int classEnd = -1;
+
+	public MethodScanner(SourceCharStream source){
+
+		this.source = source;
+		this.length = source.length();
+	}
+
+	/*
+	 * Returns whether the methods were found
+	 */
+	public boolean scan(){
+
+		int depth = 0;
+		boolean inMethod = false;
+		int i = 0;
+		while(i < this.length){
+			char c = this.source.charAt(i);
+
+			if(c == ' ' || c == '\t' || c == '\n' || c == '\r'){
+				i++;
+				continue;
+			}
+			if(c == '/' && i + 1 < this.length && this.source.charAt(i + 1) == '/'){
+				i += 2;
+				while(i < this.length && this.source.charAt(i) != '\n' && this.source.charAt(i) != '\r')
+					i++;
+				continue;
+			}
+			if(c == '/' && i + 1 < this.length && this.source.charAt(i + 1) == '*'){
+				i = commentEnd(i + 2);
+				if(i < 0)
+					return false;
+				continue;
+			}
+
+			/*
+			 * Between the methods, depth 1 outside of a method once the first one began
+			 */
+			boolean between = depth == 1 && !inMethod && this.methods > 0;
+
+			if(isWordChar(c)){
+				int begin = i;
+				while(i < this.length && isWordChar(this.source.charAt(i)))
+					i++;
+				if(depth == 1 && isPublic(begin, i)){
+					if(inMethod)
+						return false;
+					add(begin);
+					inMethod = true;
+				}
+				else if(between){
+					return false;
+				}
+				continue;
+			}
+
+			if(c == '{'){
+				if(depth == 1 && !inMethod)
+					return false;
+				depth++;
+			}
+			else if(c == '}'){
+				if(depth == 0)
+					return false;
+				if(--depth == 0){
+					if(inMethod)
+						return false;
+					this.classEnd = i;
+					return true;
+				}
+				if(depth == 1 && inMethod){
+					this.ends[this.methods - 1] = i + 1;
+					inMethod = false;
+				}
+			}
+			else if(between){
+				return false;
+			}
+			i++;
+		}
+		return false;
+	}
+
+	public int getMethodCount(){
+		return this.methods;
+	}
+
+	/*
+	 * Offset of the public of a method
+	 */
+	public int getBegin(int method){
+		return this.begins[method];
+	}
+
+	/*
+	 * Offset just after the } of a method
+	 */
+	public int getEnd(int method){
+		return this.ends[method];
+	}
+
+	/*
+	 * Offset of the } that closes the class
+	 */
+	public int getClassEnd(){
+		return this.classEnd;
+	}
+
+	private void add(int begin){
+
+		if(this.methods == this.begins.length){
+			this.begins = Arrays.copyOf(this.begins, this.methods * 2);
+			this.ends = Arrays.copyOf(this.ends, this.methods * 2);
+		}
+		this.begins[this.methods++] = begin;
+	}
+
+	/*
+	 * Offset just after the end of a comment whose text starts at offset, -1 if it never ends
+	 */
+	private int commentEnd(int offset){
+
+		for(int i = offset; i + 1 < this.length; i++){
+			if(this.source.charAt(i) == '*' && this.source.charAt(i + 1) == '/')
+				return i + 2;
+		}
+		return -1;
+	}
+
+	private boolean isPublic(int begin, int end){
+
+		if(end - begin != 6)
+			return false;
+		for(int i = 0; i < 6; i++){
+			if(this.source.charAt(begin + i) != "public".charAt(i))
+				return false;
+		}
+		return true;
+	}
+
+	/*
+	 * Chars of identifiers, keywords and integer literals
+	 */
+	private static boolean isWordChar(char c){
+		return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_' || c == '$';
+	}
+}
@@ -0,0 +1,244 @@
+package parser;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import diagnostics.Diagnostics;
+
+/*
+ * Parses the methods of a large class on every core
+ *
+ * A MethodScanner finds where the methods are, then the declarations of the class (the text
+ * before the first method and the } that closes it) are parsed by one Parser, and the methods
+ * by a Parser each, in parallel. Every method parser has its own token manager over its part of
+ * the source and its own identifier pool; once they are done the names of each pool are added
+ * to the pool of the class, method after method, and the ids in the trees are renumbered, so
+ * the ids are the ones a single parser gives. The methods are then added to the METHODS node of
+ * the declarations in their order, and the tree is the same as the one of Parser.Program.
+ *
+ * A class compiled one method at a time does not need that tree: parseMethods parses the methods
+ * in batches and hands them over in order as they are parsed, keeping at most two batches.
+ *
+ * Only a source that parses without a single syntax error is parsed this way: if the scan, the
+ * declarations or any method fail, parse returns null and the source is left to a Parser of the
+ * whole source, which reports the errors as usual. Nothing is reported from here.
+ */
+public class ParallelParser implements ParserConstants{
+
+	/*
+	 * Sources shorter than this are parsed faster by a single parser than split
+	 */
+	public static final int MIN_LENGTH = 1 << 20;
+
+	/*
+	 * Chars of the methods parsed together by parseMethods, a batch has at least one method
+	 */
+	private static final int BATCH_LENGTH = 1 << 16;
+
+	/*
+	 * Whether a source of length chars is worth parsing this way: the scan, the declarations and the
+	 * renumbering are extra work that only more than one core makes up for
+	 */
+	public static boolean isWorthIt(int length){
+		return length >= MIN_LENGTH && Runtime.getRuntime().availableProcessors() > 1;
+	}
+
+	private final SourceCharStream source;
+	private final IdentifierPool identifiers;
+
+	public ParallelParser(SourceCharStream source){
+		this(source, new IdentifierPool());
+	}
+
+	/*
+	 * The names get the ids of identifiers, the pool of a HeaderScanner of the same source for instance
+	 */
+	public ParallelParser(SourceCharStream source, IdentifierPool identifiers){
+
+		this.source = source;
+		this.identifiers = identifiers;
+	}
+
+	/*
+	 * Returns the tree of the source, or null if it does not parse without errors
+	 */
+	public SimpleNode parse(){
+
+		MethodScanner scanner = new MethodScanner(this.source);
+		if(!scanner.scan() || scanner.getMethodCount() == 0)
+			return null;
+		int count = scanner.getMethodCount();
+
+		/*
+		 * Every part of the source is lexed by a stream of its own, they all share the index of the lines
+		 */
+		this.source.indexAllLines();
+
+		SimpleNode root = parseDeclarations(scanner.getBegin(0), scanner.getClassEnd());
+		if(root == null)
+			return null;
+
+		SimpleNode[] methods = parseMethods(scanner, 0, count);
+		if(methods == null)
+			return null;
+
+		/*
+		 * From the last method, so the children of METHODS are only allocated once
+		 */
+		Node classNode = root.jjtGetChild(0);
+		Node methodsNode = classNode.jjtGetChild(classNode.jjtGetNumChildren() - 1);
+		for(int i = count - 1; i >= 0; i--){
+			methods[i].jjtSetParent(methodsNode);
+			methodsNode.jjtAddChild(methods[i], i);
+		}
+		return root;
+	}
+
+	/*
+	 * Gives handler the methods of the source in order, with the ids of the pool of this parser, without
+	 * keeping them: a batch of methods is parsed in parallel while handler takes the ones of the batch
+	 * before, so the trees of two batches at most are in memory whatever the size of the class
+	 *
+	 * The declarations around the methods are parsed to check them and dropped, a HeaderScanner gives
+	 * them. Returns false once a part of the source does not parse without errors, handler may have been
+	 * given the methods before it. An exception of handler stops the parse and is thrown.
+	 */
+	public boolean parseMethods(Consumer<SimpleNode> handler){
+
+		MethodScanner scanner = new MethodScanner(this.source);
+		if(!scanner.scan() || scanner.getMethodCount() == 0)
+			return false;
+		int count = scanner.getMethodCount();
+		this.source.indexAllLines();
+		if(parseDeclarations(scanner.getBegin(0), scanner.getClassEnd()) == null)
+			return false;
+
+		CompletableFuture<SimpleNode[]> next = parseBatch(scanner, 0);
+		try{
+			int parsed = 0;
+			while(next != null){
+				SimpleNode[] methods = next.join();
+				next = null;
+				if(methods == null)
+					return false;
+				parsed += methods.length;
+				if(parsed < count)
+					next = parseBatch(scanner, parsed);
+				for(int i = 0; i < methods.length; i++){
+					handler.accept(methods[i]);
+					methods[i] = null;
+				}
+			}
+			return true;
+		} finally{
+			/*
+			 * After an exception of handler the batch being parsed is waited for, it interns into the pool
+			 */
+			if(next != null)
+				next.handle((methods, exception) -> null).join();
+		}
+	}
+
+	/*
+	 * The pool of the ids in the tree
+	 */
+	public IdentifierPool getIdentifiers(){
+		return this.identifiers;
+	}
+
+	/*
+	 * Parses the source up to the first method followed by the } that closes the class, leaving METHODS empty
+	 */
+	private SimpleNode parseDeclarations(int firstMethod, int classEnd){
+
+		SourceCharStream stream = this.source.duplicate();
+		TokenManager fields = new FastTokenManager(stream, this.identifiers, 0, firstMethod);
+		TokenManager end = new FastTokenManager(stream, this.identifiers, classEnd, this.source.length());
+		TokenManager tokens = () -> {
+			Token t = fields.getNextToken();
+			return t.kind != EOF ? t : end.getNextToken();
+		};
+
+		Parser parser = new Parser(tokens);
+		parser.setDiagnostics(new Diagnostics(null));
+		try{
+			SimpleNode root = parser.Program();
+			return root != null && parsedWithoutErrors(parser) ? root : null;
+		} catch(ParseException | TokenMgrError exception){
+			return null;
+		}
+	}
+
+	/*
+	 * Parses, on the common pool, the methods from first on that fit in BATCH_LENGTH chars
+	 */
+	private CompletableFuture<SimpleNode[]> parseBatch(MethodScanner scanner, int first){
+
+		int end = first + 1;
+		while(end < scanner.getMethodCount() && scanner.getEnd(end) - scanner.getBegin(first) <= BATCH_LENGTH)
+			end++;
+		int last = end;
+		return CompletableFuture.supplyAsync(() -> parseMethods(scanner, first, last));
+	}
+
+	/*
+	 * Parses the methods from first to end in parallel and renumbers them into the pool of the class, in order
+	 * Returns null if any of them does not parse
+	 */
+	private SimpleNode[] parseMethods(MethodScanner scanner, int first, int end){
+
+		int count = end - first;
+		SimpleNode[] methods = new SimpleNode[count];
+		IdentifierPool[] pools = new IdentifierPool[count];
+		boolean parsed = IntStream.range(0, count).parallel().allMatch(i -> {
+			pools[i] = new IdentifierPool();
+			methods[i] = parseMethod(scanner.getBegin(first + i), scanner.getEnd(first + i), pools[i]);
+			return methods[i] != null;
+		});
+		if(!parsed)
+			return null;
+
+		int[][] ids = new int[count][];
+		for(int i = 0; i < count; i++){
+			ids[i] = new int[pools[i].size()];
+			for(int id = 0; id < ids[i].length; id++){
+				ids[i][id] = this.identifiers.intern(pools[i].getName(id));
+			}
+		}
+		IntStream.range(0, count).parallel().forEach(i -> renumber(methods[i], ids[i]));
+		return methods;
+	}
+
+	/*
+	 * Parses a method from its public to its }, null if it does not parse or does not end there
+	 */
+	private SimpleNode parseMethod(int begin, int end, IdentifierPool identifiers){
+
+		Parser parser = new Parser(new FastTokenManager(this.source.duplicate(), identifiers, begin, end));
+		parser.setDiagnostics(new Diagnostics(null));
+		try{
+			SimpleNode method = parser.parseMethod();
+			return parsedWithoutErrors(parser) && parser.getToken(1).kind == EOF ? method : null;
+		} catch(ParseException | TokenMgrError exception){
+			return null;
+		}
+	}
+
+	private static boolean parsedWithoutErrors(Parser parser){
+		return parser.getNumberErrors() == 0 && parser.getDiagnostics().getErrorCount() == 0;
+	}
+
+	/*
+	 * Gives the names of a tree the ids of the class pool, ids maps the ids of the method pool to them
+	 */
+	private static void renumber(Node node, int[] ids){
+
+		SimpleNode simpleNode = (SimpleNode) node;
+		if(simpleNode.nameId >= 0)
+			simpleNode.nameId = ids[simpleNode.nameId];
+		for(int i = 0; i < node.jjtGetNumChildren(); i++){
+			renumber(node.jjtGetChild(i), ids);
+		}
+	}
+}
@@ -4,17 +4,94 @@ package parser;
 
 import java.io.IOException;
 import java.io.FileInputStream;
+import java.util.function.Consumer;
+
+import diagnostics.Diagnostic;
+import diagnostics.Diagnostics;
 
 public class Parser/*@bgen(jjtree)*/implements ParserTreeConstants, ParserConstants {/*@bgen(jjtree)*/
-  protected static JJTParserState jjtree = new JJTParserState();
-    private static int errors = 0;
+  protected JJTParserState jjtree = new JJTParserState();
+    private int errors = 0;
+    private int number_errors = 0;
+    // RECEIVES EVERY PARSED METHOD INSTEAD OF THE METHODS NODE, WHEN SET
+    private Consumer<SimpleNode> methodHandler = null;
+    // SYNTAX ERRORS ARE REPORTED HERE, BY DEFAULT THEY ARE ONLY PRINTED TO System.out
+    private Diagnostics diagnostics = new Diagnostics(System.out);
 
 
     public Parser() {
     }
 
-    public static void error_skipto(ParseException e, String error, int kind) {
-        System.out.println("ERROR: Syntatic Error on " + error + ". " + e.toString());
+    public int getNumberErrors() {
+        return number_errors;
+    }
+
+    // NODES CREATED AND DEEPEST NESTING OF NODE SCOPES IN THE LAST PARSE
+    public int getNodesCreated() {
+        return jjtree.getNodesCreated();
+    }
+
+    public int getMaxDepth() {
+        return jjtree.getMaxDepth();
+    }
+
+    // LETS THE TREE OF THE LAST PARSE GO, THE PARSER STILL HOLDS ITS ROOT UNTIL THE NEXT ONE
+    // (jmm --interpret RUNS A COMPACT COPY OF THE TREE, SEE parser.CompactTree)
+    public void releaseTree() {
+        jjtree.reset();
+    }
+
+    // EVERY MAIN OR METHOD NODE IS POPPED FROM THE TREE AS SOON AS IT IS PARSED AND GIVEN TO handler,
+    // SO THE METHODS NODE OF THE PROGRAM STAYS EMPTY AND ONLY ONE METHOD TREE IS KEPT AT A TIME
+    public void setMethodHandler(Consumer<SimpleNode> handler) {
+        this.methodHandler = handler;
+    }
+
+    void methodParsed() {
+        if(methodHandler != null)
+            methodHandler.accept((SimpleNode) jjtree.popNode());
+    }
+
+    // PARSES A SINGLE MAIN OR METHOD DECLARATION, FROM ITS public TO ITS CLOSING }, AND RETURNS ITS NODE
+    // LETS AN EDITED METHOD BE PARSED AGAIN WITHOUT THE REST OF ITS CLASS (SEE compiler.EditSession)
+    public SimpleNode parseMethod() throws ParseException {
+        jj_consume_token(PUBLIC);
+        ClassDeclaration_Methods();
+        return (SimpleNode) jjtree.popNode();
+    }
+
+    // THE IDENTIFIER POOL OF THE TOKEN MANAGER, OR null FOR A TOKEN MANAGER WITHOUT ONE
+    public IdentifierPool getIdentifiers() {
+        if(token_source instanceof ParserTokenManager)
+            return ((ParserTokenManager) token_source).identifiers;
+        if(token_source instanceof FastTokenManager)
+            return ((FastTokenManager) token_source).identifiers;
+        return null;
+    }
+
+    public void setDiagnostics(Diagnostics diagnostics) {
+        this.diagnostics = diagnostics;
+    }
+
+    public Diagnostics getDiagnostics() {
+        return diagnostics;
+    }
+
+    // REPORTS A SYNTAX ERROR AT THE TOKEN THE PARSER FAILED ON, text IS THE LINE PRINTED FOR IT
+    void syntaxError(ParseException e, String code, String text) {
+        Token t = e.currentToken != null ? e.currentToken.next : null;
+        diagnostics.report(new Diagnostic(Diagnostic.Severity.ERROR, t != null ? t.beginLine : 0, t != null ? t.beginColumn : 0, code, e.getMessage(), text));
+    }
+
+    // THROWS diagnostics.ErrorLimitException, INSTEAD OF RECOVERING, ONCE THE ERROR LIMIT OF THE DIAGNOSTICS IS REACHED
+    // THE TREE IS ABANDONED FIRST, SO THE NODE SCOPES THE EXCEPTION GOES THROUGH LEAVE IT AS IT IS
+    public void error_skipto(ParseException e, String error, int kind) {
+        number_errors++;
+        syntaxError(e, "syntax-error", "ERROR: Syntatic Error on " + error + ". " + e.toString());
+        if(diagnostics.limitReached()) {
+            jjtree.abandon();
+            diagnostics.checkLimit();
+        }
         Token t;
         do {
             t = getNextToken();
@@ -23,7 +100,7 @@ public class Parser/*@bgen(jjtree)*/implements ParserTreeConstants, ParserConsta
         } while (t.kind != kind);
     }
 
-  static final public SimpleNode Program() throws ParseException {/*@bgen(jjtree) Program */
+  final public SimpleNode Program() throws ParseException {/*@bgen(jjtree) Program */
   ASTProgram jjtn000 = new ASTProgram(JJTPROGRAM);
   boolean jjtc000 = true;
   jjtree.openNodeScope(jjtn000);
@@ -32,7 +109,8 @@ public class Parser/*@bgen(jjtree)*/implements ParserTreeConstants, ParserConsta
         ClassDeclaration();
 {if ("" != null) return jjtn000;}
       } catch (ParseException e) {
-System.out.println("Code Syntatic Error. " + e.toString());
+syntaxError(e, "syntax-error", "Code Syntatic Error. " + e.toString());
+{if ("" != null) return null;}
       }
     } catch (Throwable jjte000) {
 if (jjtc000) {
@@ -56,7 +134,7 @@ if (jjtc000) {
     throw new Error("Missing return statement in function");
   }
 
-  static final public void ClassDeclaration() throws ParseException {Token t;
+  final public void ClassDeclaration() throws ParseException {Token t;
     try {
       jj_consume_token(CLASS);
       t = jj_consume_token(IDENTIFIER);
@@ -66,19 +144,19 @@ ASTCLASS_NAME jjtn001 = new ASTCLASS_NAME(JJTCLASS_NAME);
       try {
 jjtree.closeNodeScope(jjtn001, true);
                                  jjtc001 = false;
-jjtn001.name = t.image; jjtn001.line = t.beginLine;
+jjtn001.name = t.image; jjtn001.nameId = t.id; jjtn001.line = t.beginLine;
       } finally {
 if (jjtc001) {
                                    jjtree.closeNodeScope(jjtn001, true);
                                  }
       }
     } catch (ParseException e) {
-System.out.println("Syntatic Error on Class initialization. " + e.toString());
+syntaxError(e, "syntax-error", "Syntatic Error on Class initialization. " + e.toString());
     }
     ClassDeclaration_1();
   }
 
-  static final public void ClassDeclaration_1() throws ParseException {
+  final public void ClassDeclaration_1() throws ParseException {
     switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
     case LCHAVETA:{
       ClassDeclaration_Not_Extends();
@@ -95,7 +173,7 @@ System.out.println("Syntatic Error on Class initialization. " + e.toString());
     }
   }
 
-  static final public void ClassDeclaration_Not_Extends() throws ParseException {/*@bgen(jjtree) #CLASS( 3) */
+  final public void ClassDeclaration_Not_Extends() throws ParseException {/*@bgen(jjtree) #CLASS( 3) */
   ASTCLASS jjtn000 = new ASTCLASS(JJTCLASS);
   boolean jjtc000 = true;
   jjtree.openNodeScope(jjtn000);
@@ -133,7 +211,7 @@ if (jjtc000) {
     }
   }
 
-  static final public void ClassDeclaration_Extends() throws ParseException {/*@bgen(jjtree) #CLASS_EXTENDS( 4) */
+  final public void ClassDeclaration_Extends() throws ParseException {/*@bgen(jjtree) #CLASS_EXTENDS( 4) */
                                                      ASTCLASS_EXTENDS jjtn000 = new ASTCLASS_EXTENDS(JJTCLASS_EXTENDS);
                                                      boolean jjtc000 = true;
                                                      jjtree.openNodeScope(jjtn000);Token t;
@@ -147,7 +225,7 @@ ASTEXTENDED_CLASS jjtn001 = new ASTEXTENDED_CLASS(JJTEXTENDED_CLASS);
         try {
 jjtree.closeNodeScope(jjtn001, true);
                                    jjtc001 = false;
-jjtn001.name = t.image; jjtn001.line = t.beginLine;
+jjtn001.name = t.image; jjtn001.nameId = t.id; jjtn001.line = t.beginLine;
         } finally {
 if (jjtc001) {
                                      jjtree.closeNodeScope(jjtn001, true);
@@ -181,7 +259,7 @@ if (jjtc000) {
     }
   }
 
-  static final public void Methods() throws ParseException {/*@bgen(jjtree) METHODS */
+  final public void Methods() throws ParseException {/*@bgen(jjtree) METHODS */
   ASTMETHODS jjtn000 = new ASTMETHODS(JJTMETHODS);
   boolean jjtc000 = true;
   jjtree.openNodeScope(jjtn000);
@@ -199,6 +277,7 @@ if (jjtc000) {
         }
         jj_consume_token(PUBLIC);
         ClassDeclaration_Methods();
+methodParsed();
       }
     } catch (Throwable jjte000) {
 if (jjtc000) {
@@ -221,7 +300,7 @@ if (jjtc000) {
     }
   }
 
-  static final public void Vars() throws ParseException {/*@bgen(jjtree) VAR_DECLS */
+  final public void Vars() throws ParseException {/*@bgen(jjtree) VAR_DECLS */
   ASTVAR_DECLS jjtn000 = new ASTVAR_DECLS(JJTVAR_DECLS);
   boolean jjtc000 = true;
   jjtree.openNodeScope(jjtn000);
@@ -263,7 +342,7 @@ if (jjtc000) {
     }
   }
 
-  static final public void ClassDeclaration_Methods() throws ParseException {
+  final public void ClassDeclaration_Methods() throws ParseException {
     switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
     case STATIC:{
       MainDeclaration();
@@ -283,7 +362,7 @@ if (jjtc000) {
     }
   }
 
-  static final public void VarDeclaration() throws ParseException {/*@bgen(jjtree) #VAR_DECL( 2) */
+  final public void VarDeclaration() throws ParseException {/*@bgen(jjtree) #VAR_DECL( 2) */
                                       ASTVAR_DECL jjtn000 = new ASTVAR_DECL(JJTVAR_DECL);
                                       boolean jjtc000 = true;
                                       jjtree.openNodeScope(jjtn000);Token t;
@@ -296,7 +375,7 @@ ASTIDENTIFIER jjtn001 = new ASTIDENTIFIER(JJTIDENTIFIER);
       try {
 jjtree.closeNodeScope(jjtn001, true);
                             jjtc001 = false;
-jjtn001.name = t.image; jjtn001.line = t.beginLine;
+jjtn001.name = t.image; jjtn001.nameId = t.id; jjtn001.line = t.beginLine;
       } finally {
 if (jjtc001) {
                               jjtree.closeNodeScope(jjtn001, true);
@@ -324,7 +403,7 @@ if (jjtc000) {
     }
   }
 
-  static final public void Vars_Statement() throws ParseException {/*@bgen(jjtree) METHOD_BODY */
+  final public void Vars_Statement() throws ParseException {/*@bgen(jjtree) METHOD_BODY */
   ASTMETHOD_BODY jjtn000 = new ASTMETHOD_BODY(JJTMETHOD_BODY);
   boolean jjtc000 = true;
   jjtree.openNodeScope(jjtn000);
@@ -351,7 +430,7 @@ if (jjtc000) {
     }
   }
 
-  static final public void Vars_Statement_Aux() throws ParseException {Token t;
+  final public void Vars_Statement_Aux() throws ParseException {Token t;
     switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
     case INT:
     case INT_ARRAY:
@@ -364,7 +443,7 @@ ASTIDENTIFIER jjtn001 = new ASTIDENTIFIER(JJTIDENTIFIER);
       try {
 jjtree.closeNodeScope(jjtn001, true);
                               jjtc001 = false;
-jjtn001.name = t.image; jjtn001.line = t.beginLine;
+jjtn001.name = t.image; jjtn001.nameId = t.id; jjtn001.line = t.beginLine;
       } finally {
 if (jjtc001) {
                                 jjtree.closeNodeScope(jjtn001, true);
@@ -391,7 +470,7 @@ ASTIDENTIFIER jjtn003 = new ASTIDENTIFIER(JJTIDENTIFIER);
       try {
 jjtree.closeNodeScope(jjtn003, true);
                        jjtc003 = false;
-jjtn003.name = t.image; jjtn003.line = t.beginLine;
+jjtn003.name = t.image; jjtn003.nameId = t.id; jjtn003.line = t.beginLine;
       } finally {
 if (jjtc003) {
                          jjtree.closeNodeScope(jjtn003, true);
@@ -442,7 +521,7 @@ if (jjtc003) {
     }
   }
 
-  static final public void Vars_Statement_1() throws ParseException {Token t;
+  final public void Vars_Statement_1() throws ParseException {Token t;
     switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
     case IDENTIFIER:{
       t = jj_consume_token(IDENTIFIER);
@@ -452,7 +531,7 @@ ASTIDENTIFIER jjtn001 = new ASTIDENTIFIER(JJTIDENTIFIER);
       try {
 jjtree.closeNodeScope(jjtn001, true);
                      jjtc001 = false;
-jjtn001.name = t.image; jjtn001.line = t.beginLine;
+jjtn001.name = t.image; jjtn001.nameId = t.id; jjtn001.line = t.beginLine;
       } finally {
 if (jjtc001) {
                        jjtree.closeNodeScope(jjtn001, true);
@@ -522,7 +601,7 @@ if (jjtc002) {
     }
   }
 
-  static final public void MainDeclaration() throws ParseException {/*@bgen(jjtree) #MAIN( 2) */
+  final public void MainDeclaration() throws ParseException {/*@bgen(jjtree) #MAIN( 2) */
                                    ASTMAIN jjtn000 = new ASTMAIN(JJTMAIN);
                                    boolean jjtc000 = true;
                                    jjtree.openNodeScope(jjtn000);Token t;
@@ -542,7 +621,7 @@ ASTARGV jjtn001 = new ASTARGV(JJTARGV);
         try {
 jjtree.closeNodeScope(jjtn001, true);
                                                                                       jjtc001 = false;
-jjtn001.name = t.image; jjtn001.line = t.beginLine;
+jjtn001.name = t.image; jjtn001.nameId = t.id; jjtn001.line = t.beginLine;
         } finally {
 if (jjtc001) {
                                                                                         jjtree.closeNodeScope(jjtn001, true);
@@ -557,7 +636,7 @@ error_skipto(e, "Main declaration", LCHAVETA);
       try {
         jj_consume_token(RCHAVETA);
       } catch (ParseException e) {
-System.out.println("Missing } in Main Declaration." + e.toString());
+syntaxError(e, "missing-brace", "Missing } in Main Declaration." + e.toString());
       }
     } catch (Throwable jjte000) {
 if (jjtc000) {
@@ -580,7 +659,7 @@ if (jjtc000) {
     }
   }
 
-  static final public void MethodDeclaration() throws ParseException {/*@bgen(jjtree) #METHOD( 5) */
+  final public void MethodDeclaration() throws ParseException {/*@bgen(jjtree) #METHOD( 5) */
                                        ASTMETHOD jjtn000 = new ASTMETHOD(JJTMETHOD);
                                        boolean jjtc000 = true;
                                        jjtree.openNodeScope(jjtn000);Token t;
@@ -593,7 +672,7 @@ ASTNAME jjtn001 = new ASTNAME(JJTNAME);
       try {
 jjtree.closeNodeScope(jjtn001, true);
                             jjtc001 = false;
-jjtn001.name = t.image; jjtn001.line = t.beginLine;
+jjtn001.name = t.image; jjtn001.nameId = t.id; jjtn001.line = t.beginLine;
       } finally {
 if (jjtc001) {
                               jjtree.closeNodeScope(jjtn001, true);
@@ -626,7 +705,7 @@ if (jjtc000) {
     }
   }
 
-  static final public void Method_Return() throws ParseException {/*@bgen(jjtree) RETURN_EXPRESSION */
+  final public void Method_Return() throws ParseException {/*@bgen(jjtree) RETURN_EXPRESSION */
                                            ASTRETURN_EXPRESSION jjtn000 = new ASTRETURN_EXPRESSION(JJTRETURN_EXPRESSION);
                                            boolean jjtc000 = true;
                                            jjtree.openNodeScope(jjtn000);Token t;
@@ -657,7 +736,7 @@ if (jjtc000) {
     }
   }
 
-  static final public void MethodDeclaration_Args() throws ParseException {/*@bgen(jjtree) METHOD_ARGS */
+  final public void MethodDeclaration_Args() throws ParseException {/*@bgen(jjtree) METHOD_ARGS */
                                               ASTMETHOD_ARGS jjtn000 = new ASTMETHOD_ARGS(JJTMETHOD_ARGS);
                                               boolean jjtc000 = true;
                                               jjtree.openNodeScope(jjtn000);Token t1, t2;
@@ -679,7 +758,7 @@ ASTIDENTIFIER jjtn001 = new ASTIDENTIFIER(JJTIDENTIFIER);
           try {
 jjtree.closeNodeScope(jjtn001, true);
                                   jjtc001 = false;
-jjtn001.name = t1.image; jjtn001.line = t1.beginLine;
+jjtn001.name = t1.image; jjtn001.nameId = t1.id; jjtn001.line = t1.beginLine;
           } finally {
 if (jjtc001) {
                                     jjtree.closeNodeScope(jjtn001, true);
@@ -714,7 +793,7 @@ ASTIDENTIFIER jjtn003 = new ASTIDENTIFIER(JJTIDENTIFIER);
             try {
 jjtree.closeNodeScope(jjtn003, true);
                                            jjtc003 = false;
-jjtn003.name = t2.image; jjtn003.line = t2.beginLine;
+jjtn003.name = t2.image; jjtn003.nameId = t2.id; jjtn003.line = t2.beginLine;
             } finally {
 if (jjtc003) {
                                              jjtree.closeNodeScope(jjtn003, true);
@@ -753,7 +832,7 @@ if (jjtc000) {
     }
   }
 
-  static final public void Type() throws ParseException {Token t;
+  final public void Type() throws ParseException {Token t;
     switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
     case INT:
     case INT_ARRAY:
@@ -769,7 +848,7 @@ ASTIDENTIFIER jjtn001 = new ASTIDENTIFIER(JJTIDENTIFIER);
       try {
 jjtree.closeNodeScope(jjtn001, true);
                        jjtc001 = false;
-jjtn001.name = t.image; jjtn001.line = t.beginLine;
+jjtn001.name = t.image; jjtn001.nameId = t.id; jjtn001.line = t.beginLine;
       } finally {
 if (jjtc001) {
                          jjtree.closeNodeScope(jjtn001, true);
@@ -784,7 +863,7 @@ if (jjtc001) {
     }
   }
 
-  static final public void Type_1() throws ParseException {Token t1; Token t2; Token t3;
+  final public void Type_1() throws ParseException {Token t1; Token t2; Token t3;
     switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
     case INT:{
       t1 = jj_consume_token(INT);
@@ -841,7 +920,7 @@ if (jjtc003) {
     }
   }
 
-  static final public void Statement() throws ParseException {Token t;
+  final public void Statement() throws ParseException {Token t;
     switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
     case LCHAVETA:{
       Multiple_Statements();
@@ -874,7 +953,7 @@ ASTIDENTIFIER jjtn001 = new ASTIDENTIFIER(JJTIDENTIFIER);
       try {
 jjtree.closeNodeScope(jjtn001, true);
                        jjtc001 = false;
-jjtn001.name = t.image; jjtn001.line = t.beginLine;
+jjtn001.name = t.image; jjtn001.nameId = t.id; jjtn001.line = t.beginLine;
       } finally {
 if (jjtc001) {
                          jjtree.closeNodeScope(jjtn001, true);
@@ -891,7 +970,7 @@ if (jjtc001) {
     }
   }
 
-  static final public void Statement_Aux() throws ParseException {
+  final public void Statement_Aux() throws ParseException {
     switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
     case LCHAVETA:{
       Multiple_Statements();
@@ -923,7 +1002,7 @@ if (jjtc001) {
     }
   }
 
-  static final public void Multiple_Statements() throws ParseException {/*@bgen(jjtree) STATEMENT_LIST */
+  final public void Multiple_Statements() throws ParseException {/*@bgen(jjtree) STATEMENT_LIST */
   ASTSTATEMENT_LIST jjtn000 = new ASTSTATEMENT_LIST(JJTSTATEMENT_LIST);
   boolean jjtc000 = true;
   jjtree.openNodeScope(jjtn000);
@@ -974,14 +1053,14 @@ if (jjtc000) {
     }
   }
 
-  static final public void If_Else_Statement() throws ParseException {/*@bgen(jjtree) #IF_ELSE_STATEMENT( 3) */
+  final public void If_Else_Statement() throws ParseException {/*@bgen(jjtree) #IF_ELSE_STATEMENT( 3) */
                                                   ASTIF_ELSE_STATEMENT jjtn000 = new ASTIF_ELSE_STATEMENT(JJTIF_ELSE_STATEMENT);
                                                   boolean jjtc000 = true;
                                                   jjtree.openNodeScope(jjtn000);Token t;
     try {
       jj_consume_token(IF);
       t = jj_consume_token(LPAR);
-jjtn000.name = t.image; jjtn000.line = t.beginLine;
+jjtn000.name = t.image; jjtn000.nameId = t.id; jjtn000.line = t.beginLine;
       Statement_COND();
       jj_consume_token(RPAR);
       If_Else_Statement_IF();
@@ -1008,7 +1087,7 @@ if (jjtc000) {
     }
   }
 
-  static final public void Statement_COND() throws ParseException {/*@bgen(jjtree) CONDITION */
+  final public void Statement_COND() throws ParseException {/*@bgen(jjtree) CONDITION */
   ASTCONDITION jjtn000 = new ASTCONDITION(JJTCONDITION);
   boolean jjtc000 = true;
   jjtree.openNodeScope(jjtn000);
@@ -1035,7 +1114,7 @@ if (jjtc000) {
     }
   }
 
-  static final public void If_Else_Statement_IF() throws ParseException {/*@bgen(jjtree) IF_BODY */
+  final public void If_Else_Statement_IF() throws ParseException {/*@bgen(jjtree) IF_BODY */
   ASTIF_BODY jjtn000 = new ASTIF_BODY(JJTIF_BODY);
   boolean jjtc000 = true;
   jjtree.openNodeScope(jjtn000);
@@ -1062,7 +1141,7 @@ if (jjtc000) {
     }
   }
 
-  static final public void If_Else_Statement_ELSE() throws ParseException {/*@bgen(jjtree) ELSE_BODY */
+  final public void If_Else_Statement_ELSE() throws ParseException {/*@bgen(jjtree) ELSE_BODY */
   ASTELSE_BODY jjtn000 = new ASTELSE_BODY(JJTELSE_BODY);
   boolean jjtc000 = true;
   jjtree.openNodeScope(jjtn000);
@@ -1089,7 +1168,7 @@ if (jjtc000) {
     }
   }
 
-  static final public void While_Statement() throws ParseException {/*@bgen(jjtree) #WHILE( 2) */
+  final public void While_Statement() throws ParseException {/*@bgen(jjtree) #WHILE( 2) */
                                     ASTWHILE jjtn000 = new ASTWHILE(JJTWHILE);
                                     boolean jjtc000 = true;
                                     jjtree.openNodeScope(jjtn000);Token t;
@@ -1097,13 +1176,13 @@ if (jjtc000) {
       try {
         jj_consume_token(WHILE);
         t = jj_consume_token(LPAR);
-jjtn000.name = t.image; jjtn000.line = t.beginLine;
+jjtn000.name = t.image; jjtn000.nameId = t.id; jjtn000.line = t.beginLine;
         Statement_COND();
         jj_consume_token(RPAR);
       } catch (ParseException e) {
 errors++;
         if(errors > 10){
-            System.out.println("Maximum number of errors allowed");
+            syntaxError(e, "too-many-errors", "Maximum number of errors allowed");
             {if (true) throw e;}
         }
         error_skipto(e, "WHILE statement declaration", RPAR);
@@ -1130,7 +1209,7 @@ if (jjtc000) {
     }
   }
 
-  static final public void While_Statement_BODY() throws ParseException {/*@bgen(jjtree) WHILE_BODY */
+  final public void While_Statement_BODY() throws ParseException {/*@bgen(jjtree) WHILE_BODY */
   ASTWHILE_BODY jjtn000 = new ASTWHILE_BODY(JJTWHILE_BODY);
   boolean jjtc000 = true;
   jjtree.openNodeScope(jjtn000);
@@ -1157,7 +1236,7 @@ if (jjtc000) {
     }
   }
 
-  static final public void Statement1() throws ParseException {
+  final public void Statement1() throws ParseException {
     switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
     case NOT_OP:
     case LPAR:
@@ -1290,7 +1369,7 @@ if (jjtc002) {
     }
   }
 
-  static final public void Statement2() throws ParseException {
+  final public void Statement2() throws ParseException {
     switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
     case ASSIGN:{
       jj_consume_token(ASSIGN);
@@ -1339,7 +1418,7 @@ if (jjtc001) {
     }
   }
 
-  static final public void Expression() throws ParseException {
+  final public void Expression() throws ParseException {
     Expression1();
     label_13:
     while (true) {
@@ -1356,7 +1435,7 @@ if (jjtc001) {
     }
   }
 
-  static final public void Expression_No_Identifier() throws ParseException {
+  final public void Expression_No_Identifier() throws ParseException {
     Term_Literal();
     label_14:
     while (true) {
@@ -1414,7 +1493,7 @@ if (jjtc001) {
     }
   }
 
-  static final public void Expression1() throws ParseException {
+  final public void Expression1() throws ParseException {
     Expression2();
     label_18:
     while (true) {
@@ -1431,7 +1510,7 @@ if (jjtc001) {
     }
   }
 
-  static final public void Expression2() throws ParseException {
+  final public void Expression2() throws ParseException {
     Expression3();
     label_19:
     while (true) {
@@ -1449,7 +1528,7 @@ if (jjtc001) {
     }
   }
 
-  static final public void Expression3() throws ParseException {
+  final public void Expression3() throws ParseException {
     Term();
     label_20:
     while (true) {
@@ -1467,7 +1546,7 @@ if (jjtc001) {
     }
   }
 
-  static final public void Term() throws ParseException {
+  final public void Term() throws ParseException {
     switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
     case NOT_OP:
     case LPAR:
@@ -1490,7 +1569,7 @@ if (jjtc001) {
     }
   }
 
-  static final public void Term_Literal() throws ParseException {Token t;
+  final public void Term_Literal() throws ParseException {Token t;
     switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
     case INTEGER:{
       t = jj_consume_token(INTEGER);
@@ -1658,7 +1737,7 @@ if (jjtc004) {
     }
   }
 
-  static final public void Term_Identifier() throws ParseException {Token t;
+  final public void Term_Identifier() throws ParseException {Token t;
     t = jj_consume_token(IDENTIFIER);
 ASTIDENTIFIER jjtn001 = new ASTIDENTIFIER(JJTIDENTIFIER);
                      boolean jjtc001 = true;
@@ -1666,7 +1745,7 @@ ASTIDENTIFIER jjtn001 = new ASTIDENTIFIER(JJTIDENTIFIER);
     try {
 jjtree.closeNodeScope(jjtn001,  0);
                      jjtc001 = false;
-jjtn001.name = t.image; jjtn001.line = t.beginLine;
+jjtn001.name = t.image; jjtn001.nameId = t.id; jjtn001.line = t.beginLine;
     } finally {
 if (jjtc001) {
                        jjtree.closeNodeScope(jjtn001,  0);
@@ -1688,7 +1767,7 @@ if (jjtc001) {
     }
   }
 
-  static final public void Term_NOT() throws ParseException {/*@bgen(jjtree) #NOT( 1) */
+  final public void Term_NOT() throws ParseException {/*@bgen(jjtree) #NOT( 1) */
                            ASTNOT jjtn000 = new ASTNOT(JJTNOT);
                            boolean jjtc000 = true;
                            jjtree.openNodeScope(jjtn000);Token t;
@@ -1717,12 +1796,12 @@ if (jjtc000) {
     }
   }
 
-  static final public void Term_NEW() throws ParseException {
+  final public void Term_NEW() throws ParseException {
     jj_consume_token(NEW);
     Term_NEW_1();
   }
 
-  static final public void Term_NEW_1() throws ParseException {Token t;
+  final public void Term_NEW_1() throws ParseException {Token t;
     switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
     case INT:{
       jj_consume_token(INT);
@@ -1748,7 +1827,7 @@ ASTCLASS jjtn002 = new ASTCLASS(JJTCLASS);
       try {
 jjtree.closeNodeScope(jjtn002, true);
                        jjtc002 = false;
-jjtn002.name = t.image; jjtn002.line = t.beginLine;
+jjtn002.name = t.image; jjtn002.nameId = t.id; jjtn002.line = t.beginLine;
       } finally {
 if (jjtc002) {
                          jjtree.closeNodeScope(jjtn002, true);
@@ -1774,7 +1853,7 @@ if (jjtc003) {
     }
   }
 
-  static final public void Operator_1() throws ParseException {/*@bgen(jjtree) #AND( 2) */
+  final public void Operator_1() throws ParseException {/*@bgen(jjtree) #AND( 2) */
                              ASTAND jjtn000 = new ASTAND(JJTAND);
                              boolean jjtc000 = true;
                              jjtree.openNodeScope(jjtn000);Token t;
@@ -1803,7 +1882,7 @@ if (jjtc000) {
     }
   }
 
-  static final public void Operator_2() throws ParseException {/*@bgen(jjtree) #LT( 2) */
+  final public void Operator_2() throws ParseException {/*@bgen(jjtree) #LT( 2) */
                             ASTLT jjtn000 = new ASTLT(JJTLT);
                             boolean jjtc000 = true;
                             jjtree.openNodeScope(jjtn000);Token t;
@@ -1832,7 +1911,7 @@ if (jjtc000) {
     }
   }
 
-  static final public void Operator_3() throws ParseException {
+  final public void Operator_3() throws ParseException {
     switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
     case PLUS_OP:{
       Operator_3_PLUS();
@@ -1849,7 +1928,7 @@ if (jjtc000) {
     }
   }
 
-  static final public void Operator_3_PLUS() throws ParseException {/*@bgen(jjtree) #ADD( 2) */
+  final public void Operator_3_PLUS() throws ParseException {/*@bgen(jjtree) #ADD( 2) */
                                  ASTADD jjtn000 = new ASTADD(JJTADD);
                                  boolean jjtc000 = true;
                                  jjtree.openNodeScope(jjtn000);Token t;
@@ -1878,7 +1957,7 @@ if (jjtc000) {
     }
   }
 
-  static final public void Operator_3_MINUS() throws ParseException {/*@bgen(jjtree) #SUB( 2) */
+  final public void Operator_3_MINUS() throws ParseException {/*@bgen(jjtree) #SUB( 2) */
                                   ASTSUB jjtn000 = new ASTSUB(JJTSUB);
                                   boolean jjtc000 = true;
                                   jjtree.openNodeScope(jjtn000);Token t;
@@ -1907,7 +1986,7 @@ if (jjtc000) {
     }
   }
 
-  static final public void Operator_4() throws ParseException {Token t;
+  final public void Operator_4() throws ParseException {Token t;
     switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
     case TIMES_OP:{
       Operator_4_TIMES();
@@ -1924,7 +2003,7 @@ if (jjtc000) {
     }
   }
 
-  static final public void Operator_4_TIMES() throws ParseException {/*@bgen(jjtree) #MUL( 2) */
+  final public void Operator_4_TIMES() throws ParseException {/*@bgen(jjtree) #MUL( 2) */
                                    ASTMUL jjtn000 = new ASTMUL(JJTMUL);
                                    boolean jjtc000 = true;
                                    jjtree.openNodeScope(jjtn000);Token t;
@@ -1953,7 +2032,7 @@ if (jjtc000) {
     }
   }
 
-  static final public void Operator_4_DIVIDE() throws ParseException {/*@bgen(jjtree) #DIV( 2) */
+  final public void Operator_4_DIVIDE() throws ParseException {/*@bgen(jjtree) #DIV( 2) */
                                     ASTDIV jjtn000 = new ASTDIV(JJTDIV);
                                     boolean jjtc000 = true;
                                     jjtree.openNodeScope(jjtn000);Token t;
@@ -1982,7 +2061,7 @@ if (jjtc000) {
     }
   }
 
-  static final public void Operator_5() throws ParseException {
+  final public void Operator_5() throws ParseException {
     switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
     case LPARRETO:{
       Operator_5_ARRAY();
@@ -1999,7 +2078,7 @@ if (jjtc000) {
     }
   }
 
-  static final public void Operator_5_ARRAY() throws ParseException {/*@bgen(jjtree) #ACCESS_ARRAY( 2) */
+  final public void Operator_5_ARRAY() throws ParseException {/*@bgen(jjtree) #ACCESS_ARRAY( 2) */
   ASTACCESS_ARRAY jjtn000 = new ASTACCESS_ARRAY(JJTACCESS_ARRAY);
   boolean jjtc000 = true;
   jjtree.openNodeScope(jjtn000);
@@ -2028,12 +2107,12 @@ if (jjtc000) {
     }
   }
 
-  static final public void Operator_5_DOT() throws ParseException {
+  final public void Operator_5_DOT() throws ParseException {
     jj_consume_token(DOT);
     Operator_5_DOT_1();
   }
 
-  static final public void Operator_5_DOT_1() throws ParseException {Token t;
+  final public void Operator_5_DOT_1() throws ParseException {Token t;
     switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
     case LENGTH:{
       t = jj_consume_token(LENGTH);
@@ -2059,7 +2138,7 @@ ASTFUNCTION jjtn002 = new ASTFUNCTION(JJTFUNCTION);
       try {
 jjtree.closeNodeScope(jjtn002, true);
                        jjtc002 = false;
-jjtn002.name = t.image; jjtn002.line = t.beginLine;
+jjtn002.name = t.image; jjtn002.nameId = t.id; jjtn002.line = t.beginLine;
       } finally {
 if (jjtc002) {
                          jjtree.closeNodeScope(jjtn002, true);
@@ -2086,7 +2165,7 @@ if (jjtc003) {
     }
   }
 
-  static final public void Operator_5_Call_Args() throws ParseException {/*@bgen(jjtree) CALL_ARGUMENTS */
+  final public void Operator_5_Call_Args() throws ParseException {/*@bgen(jjtree) CALL_ARGUMENTS */
   ASTCALL_ARGUMENTS jjtn000 = new ASTCALL_ARGUMENTS(JJTCALL_ARGUMENTS);
   boolean jjtc000 = true;
   jjtree.openNodeScope(jjtn000);
@@ -2142,17 +2221,16 @@ if (jjtc000) {
     }
   }
 
-  static private boolean jj_initialized_once = false;
   /** Generated Token Manager. */
-  static public ParserTokenManager token_source;
-  static SimpleCharStream jj_input_stream;
+  public TokenManager token_source;
+  SimpleCharStream jj_input_stream;
   /** Current token. */
-  static public Token token;
+  public Token token;
   /** Next token. */
-  static public Token jj_nt;
-  static private int jj_ntk;
-  static private int jj_gen;
-  static final private int[] jj_la1 = new int[47];
+  public Token jj_nt;
+  private int jj_ntk;
+  private int jj_gen;
+  final private int[] jj_la1 = new int[47];
   static private int[] jj_la1_0;
   static private int[] jj_la1_1;
   static {
@@ -2172,13 +2250,6 @@ if (jjtc000) {
   }
   /** Constructor with InputStream and supplied encoding */
   public Parser(java.io.InputStream stream, String encoding) {
-    if (jj_initialized_once) {
-      System.out.println("ERROR: Second call to constructor of static parser.  ");
-      System.out.println("       You must either use ReInit() or set the JavaCC option STATIC to false");
-      System.out.println("       during parser generation.");
-      throw new Error();
-    }
-    jj_initialized_once = true;
     try { jj_input_stream = new SimpleCharStream(stream, encoding, 1, 1); } catch(java.io.UnsupportedEncodingException e) { throw new RuntimeException(e); }
     token_source = new ParserTokenManager(jj_input_stream);
     token = new Token();
@@ -2188,13 +2259,13 @@ if (jjtc000) {
   }
 
   /** Reinitialise. */
-  static public void ReInit(java.io.InputStream stream) {
+  public void ReInit(java.io.InputStream stream) {
      ReInit(stream, null);
   }
   /** Reinitialise. */
-  static public void ReInit(java.io.InputStream stream, String encoding) {
+  public void ReInit(java.io.InputStream stream, String encoding) {
     try { jj_input_stream.ReInit(stream, encoding, 1, 1); } catch(java.io.UnsupportedEncodingException e) { throw new RuntimeException(e); }
-    token_source.ReInit(jj_input_stream);
+    token_source = new ParserTokenManager(jj_input_stream);
     token = new Token();
     jj_ntk = -1;
     jjtree.reset();
@@ -2204,13 +2275,6 @@ if (jjtc000) {
 
   /** Constructor. */
   public Parser(java.io.Reader stream) {
-    if (jj_initialized_once) {
-      System.out.println("ERROR: Second call to constructor of static parser. ");
-      System.out.println("       You must either use ReInit() or set the JavaCC option STATIC to false");
-      System.out.println("       during parser generation.");
-      throw new Error();
-    }
-    jj_initialized_once = true;
     jj_input_stream = new SimpleCharStream(stream, 1, 1);
     token_source = new ParserTokenManager(jj_input_stream);
     token = new Token();
@@ -2220,9 +2284,9 @@ if (jjtc000) {
   }
 
   /** Reinitialise. */
-  static public void ReInit(java.io.Reader stream) {
+  public void ReInit(java.io.Reader stream) {
     jj_input_stream.ReInit(stream, 1, 1);
-    token_source.ReInit(jj_input_stream);
+    token_source = new ParserTokenManager(jj_input_stream);
     token = new Token();
     jj_ntk = -1;
     jjtree.reset();
@@ -2231,14 +2295,7 @@ if (jjtc000) {
   }
 
   /** Constructor with generated Token Manager. */
-  public Parser(ParserTokenManager tm) {
-    if (jj_initialized_once) {
-      System.out.println("ERROR: Second call to constructor of static parser. ");
-      System.out.println("       You must either use ReInit() or set the JavaCC option STATIC to false");
-      System.out.println("       during parser generation.");
-      throw new Error();
-    }
-    jj_initialized_once = true;
+  public Parser(TokenManager tm) {
     token_source = tm;
     token = new Token();
     jj_ntk = -1;
@@ -2247,7 +2304,7 @@ if (jjtc000) {
   }
 
   /** Reinitialise. */
-  public void ReInit(ParserTokenManager tm) {
+  public void ReInit(TokenManager tm) {
     token_source = tm;
     token = new Token();
     jj_ntk = -1;
@@ -2256,7 +2313,7 @@ if (jjtc000) {
     for (int i = 0; i < 47; i++) jj_la1[i] = -1;
   }
 
-  static private Token jj_consume_token(int kind) throws ParseException {
+  private Token jj_consume_token(int kind) throws ParseException {
     Token oldToken;
     if ((oldToken = token).next != null) token = token.next;
     else token = token.next = token_source.getNextToken();
@@ -2272,7 +2329,7 @@ if (jjtc000) {
 
 
 /** Get the next Token. */
-  static final public Token getNextToken() {
+  final public Token getNextToken() {
     if (token.next != null) token = token.next;
     else token = token.next = token_source.getNextToken();
     jj_ntk = -1;
@@ -2281,7 +2338,7 @@ if (jjtc000) {
   }
 
 /** Get the specific Token. */
-  static final public Token getToken(int index) {
+  final public Token getToken(int index) {
     Token t = token;
     for (int i = 0; i < index; i++) {
       if (t.next != null) t = t.next;
@@ -2290,19 +2347,19 @@ if (jjtc000) {
     return t;
   }
 
-  static private int jj_ntk_f() {
+  private int jj_ntk_f() {
     if ((jj_nt=token.next) == null)
       return (jj_ntk = (token.next=token_source.getNextToken()).kind);
     else
       return (jj_ntk = jj_nt.kind);
   }
 
-  static private java.util.List<int[]> jj_expentries = new java.util.ArrayList<int[]>();
-  static private int[] jj_expentry;
-  static private int jj_kind = -1;
+  private java.util.List<int[]> jj_expentries = new java.util.ArrayList<int[]>();
+  private int[] jj_expentry;
+  private int jj_kind = -1;
 
   /** Generate ParseException. */
-  static public ParseException generateParseException() {
+  public ParseException generateParseException() {
     jj_expentries.clear();
     boolean[] la1tokens = new boolean[48];
     if (jj_kind >= 0) {
@@ -2336,11 +2393,11 @@ if (jjtc000) {
   }
 
   /** Enable tracing. */
-  static final public void enable_tracing() {
+  final public void enable_tracing() {
   }
 
   /** Disable tracing. */
-  static final public void disable_tracing() {
+  final public void disable_tracing() {
   }
 
 }
@@ -2,6 +2,9 @@
 /* JavaCCOptions:MULTI=true,NODE_USES_PARSER=false,VISITOR=false,TRACK_TOKENS=false,NODE_PREFIX=AST,NODE_EXTENDS=,NODE_FACTORY=,SUPPORT_CLASS_VISIBILITY_PUBLIC=true */
 package parser;
 
+import symbol.FunctionSymbolTable;
+import symbol.Symbol;
+
 public
 class SimpleNode implements Node {
   protected Node parent;
@@ -11,10 +14,17 @@ class SimpleNode implements Node {
   protected Parser parser;
 
   public String name;
+  public int nameId = -1;
   public int line;
   public String valueInt;
   public String valueBoolean;
 
+  /* Set by the semantic analysis: the variable an IDENTIFIER names (null for a
+     class name), the method of the class a CALL_FUNCTION calls (null if it is
+     not one) and the symbol table of a METHOD or MAIN. */
+  public Symbol symbol;
+  public FunctionSymbolTable function;
+
   public SimpleNode(int i) {
     id = i;
   }
@@ -100,6 +110,9 @@ class SimpleNode implements Node {
   public String getName() {
     return name;
   }
+  public int getNameId() {
+    return nameId;
+  }
   public String getValueInt() {
     return valueInt;
   }
@@ -0,0 +1,401 @@
+package parser;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/*
+ * CharStream reading a whole source in place
+ *
+ * Unlike SimpleCharStream, which copies the input through a Reader into a buffer and keeps a
+ * line and a column for every buffered char, the source is one buffer and a position is just
+ * an offset into it. An ASCII file is read straight from its memory mapping, any other file
+ * is decoded once into a CharBuffer.
+ *
+ * Lines and columns are only computed when asked for, from an index of the offsets where lines
+ * start. The index is built a bit past the highest offset asked for, and the tokens are asked
+ * for in order, so the bounds of the last line found are kept and most positions are on it.
+ * The index also keeps the first tab of every line: before it a column is just the distance
+ * to the start of the line.
+ * The numbering is the same as SimpleCharStream's: "\r\n", "\n" and "\r" end a line and a tab
+ * moves the column to the next multiple of the tab size.
+ */
+public class SourceCharStream implements CharStream{
+
+	private static final int INDEX_AHEAD = 4096;
+
+	private final ByteBuffer bytes;
+	private final CharBuffer chars;
+	private final int length;
+
+	private int position = -1;
+	private int tokenBegin = 0;
+
+	private int[] lineStarts = new int[64];
+	private int[] firstTabs = new int[64];
+	private int numLines = 1;
+	private int indexed = 0;
+
+	private int lastLine = 0;
+	private int lineStart = 0;
+	private int nextLineStart = 0;
+	private int lineFirstTab = 0;
+	private int lastColumnOffset = -1;
+	private int lastColumn = 0;
+
+	private byte[] byteImage = new byte[64];
+	private char[] charImage = new char[64];
+
+	private int tabSize = 8;
+	private boolean trackLineColumn = true;
+
+	public SourceCharStream(CharBuffer chars){
+		this(null, chars.slice(), chars.remaining());
+	}
+
+	private SourceCharStream(ByteBuffer bytes, CharBuffer chars, int length){
+
+		this.bytes = bytes;
+		this.chars = chars;
+		this.length = length;
+		this.firstTabs[0] = Integer.MAX_VALUE;
+	}
+
+	/*
+	 * Maps a source file, decoded with the default charset like an InputStreamReader would
+	 */
+	public static SourceCharStream open(Path path) throws IOException{
+
+		try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)){
+			ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			Charset charset = Charset.defaultCharset();
+
+			if(isAsciiCompatible(charset) && isAscii(mapped))
+				return new SourceCharStream(mapped, null, mapped.remaining());
+			return new SourceCharStream(charset.decode(mapped));
+		}
+	}
+
+	/*
+	 * A stream over the same chars, with its own position and line index
+	 * Once indexAllLines was called the index is complete and never changes, so it is shared instead
+	 */
+	public SourceCharStream duplicate(){
+
+		SourceCharStream duplicate = new SourceCharStream(this.bytes, this.chars, this.length);
+		if(this.indexed >= this.length){
+			duplicate.lineStarts = this.lineStarts;
+			duplicate.firstTabs = this.firstTabs;
+			duplicate.numLines = this.numLines;
+			duplicate.indexed = this.indexed;
+		}
+		return duplicate;
+	}
+
+	/*
+	 * Indexes the lines of the whole source, for streams duplicated to read its parts on other threads
+	 * (see ParallelParser): each would otherwise index the lines before its part again
+	 */
+	public void indexAllLines(){
+
+		if(this.length > 0)
+			indexLines(this.length - 1);
+	}
+
+	private static boolean isAsciiCompatible(Charset charset){
+		return charset.equals(StandardCharsets.UTF_8) || charset.equals(StandardCharsets.US_ASCII)
+			|| charset.equals(StandardCharsets.ISO_8859_1);
+	}
+
+	private static boolean isAscii(ByteBuffer bytes){
+
+		int length = bytes.remaining();
+		int i = 0;
+		for(; i + 8 <= length; i += 8){
+			if((bytes.getLong(i) & 0x8080808080808080L) != 0)
+				return false;
+		}
+		for(; i < length; i++){
+			if(bytes.get(i) < 0)
+				return false;
+		}
+		return true;
+	}
+
+	public int length(){
+		return this.length;
+	}
+
+	public char charAt(int offset){
+		return this.bytes != null ? (char) (this.bytes.get(offset) & 0xff) : this.chars.get(offset);
+	}
+
+	public char readChar() throws IOException{
+
+		if(this.position + 1 >= this.length)
+			throw new IOException();
+		return charAt(++this.position);
+	}
+
+	public char BeginToken() throws IOException{
+
+		if(this.position + 1 >= this.length){
+			this.tokenBegin = this.position;
+			throw new IOException();
+		}
+		this.tokenBegin = ++this.position;
+		return charAt(this.position);
+	}
+
+	public void backup(int amount){
+		this.position -= amount;
+	}
+
+	public String GetImage(){
+		return image(this.tokenBegin, this.position + 1);
+	}
+
+	/*
+	 * Returns the chars from offset begin to offset end, exclusive
+	 */
+	public String image(int begin, int end){
+
+		int length = end - begin;
+		if(this.bytes != null){
+			if(length > this.byteImage.length)
+				this.byteImage = new byte[Math.max(length, this.byteImage.length * 2)];
+			for(int i = 0; i < length; i++){
+				this.byteImage[i] = this.bytes.get(begin + i);
+			}
+			return new String(this.byteImage, 0, length, StandardCharsets.ISO_8859_1);
+		}
+
+		if(length > this.charImage.length)
+			this.charImage = new char[Math.max(length, this.charImage.length * 2)];
+		this.chars.get(begin, this.charImage, 0, length);
+		return new String(this.charImage, 0, length);
+	}
+
+	public char[] GetSuffix(int len){
+
+		char[] suffix = new char[len];
+		for(int i = 0; i < len; i++){
+			suffix[i] = charAt(this.position - len + 1 + i);
+		}
+		return suffix;
+	}
+
+	/*
+	 * Offsets of the first char of the current token and of the char after its last one
+	 */
+	public int getBeginOffset(){
+		return this.tokenBegin;
+	}
+
+	public int getEndOffset(){
+		return this.position + 1;
+	}
+
+	/*
+	 * Interns the image of the current token without creating a String for a known name
+	 */
+	public int internImage(IdentifierPool identifiers){
+		return internImage(identifiers, this.tokenBegin, this.position + 1);
+	}
+
+	public int internImage(IdentifierPool identifiers, int begin, int end){
+
+		int length = end - begin;
+		if(length > this.charImage.length)
+			this.charImage = new char[Math.max(length, this.charImage.length * 2)];
+		for(int i = 0; i < length; i++){
+			this.charImage[i] = charAt(begin + i);
+		}
+		return identifiers.intern(this.charImage, 0, length);
+	}
+
+	/*
+	 * Nothing to release: the mapping is unmapped when the buffer is collected
+	 */
+	public void Done(){
+	}
+
+	/*
+	 * Line and column of any offset, for token managers that do not read through the stream
+	 */
+	public int lineOf(int offset){
+		return line(offset);
+	}
+
+	public int columnOf(int offset){
+		return column(offset);
+	}
+
+	public int getBeginLine(){
+		return line(this.tokenBegin);
+	}
+
+	public int getBeginColumn(){
+		return column(this.tokenBegin);
+	}
+
+	public int getEndLine(){
+		return line(this.position);
+	}
+
+	public int getEndColumn(){
+		return column(this.position);
+	}
+
+	@Deprecated
+	public int getLine(){
+		return getEndLine();
+	}
+
+	@Deprecated
+	public int getColumn(){
+		return getEndColumn();
+	}
+
+	public void setTabSize(int i){
+		this.tabSize = i;
+	}
+
+	public int getTabSize(){
+		return this.tabSize;
+	}
+
+	public boolean getTrackLineColumn(){
+		return this.trackLineColumn;
+	}
+
+	public void setTrackLineColumn(boolean trackLineColumn){
+		this.trackLineColumn = trackLineColumn;
+	}
+
+	private int line(int offset){
+
+		if(offset < 0)
+			return 0;
+		if(offset < this.lineStart || offset >= this.nextLineStart)
+			findLine(offset);
+		return this.lastLine + 1;
+	}
+
+	private int column(int offset){
+
+		if(offset < 0)
+			return 0;
+		if(offset < this.lineStart || offset >= this.nextLineStart)
+			findLine(offset);
+		if(offset < this.lineFirstTab)
+			return offset - this.lineStart + 1;
+
+		int column = 0;
+		int i = this.lineStart;
+		if(this.lastColumnOffset >= i && this.lastColumnOffset <= offset){
+			column = this.lastColumn;
+			i = this.lastColumnOffset + 1;
+		}
+
+		for(; i <= offset; i++){
+			column++;
+			if(charAt(i) == '\t'){
+				column--;
+				column += this.tabSize - (column % this.tabSize);
+			}
+		}
+
+		this.lastColumnOffset = offset;
+		this.lastColumn = column;
+		return column;
+	}
+
+	/*
+	 * Makes the line of an offset the current line
+	 * The next few lines after the current line are walked forward, other lines are found by binary search:
+	 * a stream duplicated with a whole index may start reading far from its first line
+	 */
+	private void findLine(int offset){
+
+		indexLines(offset);
+
+		int low;
+		int high;
+		if(this.lineStarts[this.lastLine] <= offset){
+			low = this.lastLine;
+			high = this.numLines - 1;
+			for(int i = 0; i < 8 && low < high; i++){
+				if(this.lineStarts[low + 1] > offset)
+					high = low;
+				else
+					low++;
+			}
+		}
+		else {
+			low = 0;
+			high = this.lastLine - 1;
+		}
+		while(low < high){
+			int middle = (low + high + 1) >>> 1;
+			if(this.lineStarts[middle] <= offset)
+				low = middle;
+			else
+				high = middle - 1;
+		}
+		int line = low;
+
+		this.lastLine = line;
+		this.lineStart = this.lineStarts[line];
+		this.nextLineStart = line + 1 < this.numLines ? this.lineStarts[line + 1] : this.indexed;
+		this.lineFirstTab = this.firstTabs[line];
+		this.lastColumnOffset = -1;
+	}
+
+	/*
+	 * Adds the lines ended by the chars up to an offset, or the next INDEX_AHEAD chars, to the index
+	 */
+	private void indexLines(int offset){
+
+		if(offset < this.indexed)
+			return;
+		offset = Math.min(Math.max(offset, this.indexed + INDEX_AHEAD), this.length - 1);
+
+		int line = this.numLines - 1;
+		for(int i = this.indexed; i <= offset; i++){
+
+			/*
+			 * An ASCII source is scanned 8 chars at a time while none of them is below '\r' + 1
+			 */
+			if(this.bytes != null && i + 8 <= offset + 1 && ((this.bytes.getLong(i) - 0x0E0E0E0E0E0E0E0EL) & 0x8080808080808080L) == 0){
+				i += 7;
+				continue;
+			}
+
+			char c = charAt(i);
+			if(c > '\r')
+				continue;
+
+			if(c == '\t'){
+				if(this.firstTabs[line] == Integer.MAX_VALUE)
+					this.firstTabs[line] = i;
+			}
+			else if(c == '\n' || (c == '\r' && (i + 1 == this.length || charAt(i + 1) != '\n'))){
+				if(++line == this.lineStarts.length){
+					this.lineStarts = Arrays.copyOf(this.lineStarts, line * 2);
+					this.firstTabs = Arrays.copyOf(this.firstTabs, line * 2);
+				}
+				this.lineStarts[line] = i + 1;
+				this.firstTabs[line] = Integer.MAX_VALUE;
+			}
+		}
+		this.numLines = line + 1;
+		this.indexed = offset + 1;
+	}
+}
@@ -31,11 +31,24 @@ public class Token implements java.io.Serializable {
   /** The column number of the last character of this Token. */
   public int endColumn;
 
+  /**
+   * The offsets of the first character of this Token and of the character
+   * after its last one in the source, set by LeanTokenManager and -1 otherwise.
+   */
+  public int beginOffset = -1;
+  public int endOffset = -1;
+
   /**
    * The string image of the token.
    */
   public String image;
 
+  /**
+   * The id of the image in the IdentifierPool of the token manager,
+   * for IDENTIFIER tokens, and -1 for every other kind.
+   */
+  public int id = -1;
+
   /**
    * A reference to the next regular (non-special) token from the input
    * stream.  If this is the last token from the input stream, or if the
@@ -0,0 +1,323 @@
+package semantic;
+
+import parser.*;
+import static parser.ParserTreeConstants.*;
+import symbol.FunctionSymbolTable;
+import symbol.IntMap;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+// DEFINITE ASSIGNMENT OF THE LOCAL VARIABLES OF A METHOD
+// THE METHOD IS SPLIT INTO THE BLOCKS OF ITS CONTROL FLOW GRAPH, EACH A LIST OF THE READS AND WRITES OF LOCAL VARIABLES
+// IN EXECUTION ORDER. A VARIABLE IS ASSIGNED AT THE START OF A BLOCK IF IT IS ASSIGNED AT THE END OF ALL ITS PREDECESSORS,
+// WHICH IS SOLVED WITH A WORKLIST OVER long[] BITSETS WITH ONE BIT PER LOCAL VARIABLE, IN DECLARATION ORDER (THE SLOT OF
+// THE VARIABLE MINUS this AND THE PARAMETERS). PARAMETERS ARE ALWAYS ASSIGNED, GLOBAL VARIABLES ARE NOT TRACKED HERE
+//
+// EVERY THREAD REUSES ONE ANALYSIS AND ITS ARRAYS FROM A METHOD TO THE NEXT, SO A RESULT IS ONLY VALID UNTIL THE SAME
+// THREAD ANALYSES ANOTHER METHOD
+public class DefiniteAssignment{
+    private static final int NONE = -1;
+
+    private static final ThreadLocal<DefiniteAssignment> analyses = ThreadLocal.withInitial(DefiniteAssignment::new);
+
+    // BIT OF EACH LOCAL VARIABLE, BY IDENTIFIER ID
+    private IntMap<Integer> bits = new IntMap<>();
+    private int num_locals = 0;
+    private int words = 0;
+
+    // EVENTS OF ALL THE BLOCKS, THOSE OF A BLOCK ARE CONSECUTIVE: A READ HAS ITS IDENTIFIER NODE AND A WRITE A null NODE
+    private int[] event_bits = new int[16];
+    private Node[] event_nodes = new Node[16];
+    private int num_events = 0;
+
+    // A BLOCK HAS AT MOST TWO PREDECESSORS AND TWO SUCCESSORS, THE LANGUAGE ONLY HAS if/else AND while
+    private int[] block_starts = new int[4];
+    private int[] predecessors = new int[8];
+    private int[] successors = new int[8];
+    private int num_blocks = 0;
+
+    // BLOCK THE NEXT EVENTS GO TO
+    private int current;
+
+    // ASSIGNED LOCAL VARIABLES AT THE START AND AT THE END OF EACH BLOCK AND WRITTEN IN EACH BLOCK, words LONGS PER BLOCK
+    private long[] assigned_in = new long[4];
+    private long[] assigned_out = new long[4];
+    private long[] written = new long[4];
+    private long[] assigned = new long[1];
+
+    private int[] worklist = new int[4];
+    private boolean[] queued = new boolean[4];
+
+    // READS OF A LOCAL VARIABLE THAT MIGHT NOT HAVE BEEN ASSIGNED, null WHILE THERE ARE NONE
+    private Set<Node> unassigned_reads;
+
+    private DefiniteAssignment(){
+    }
+
+    // method IS A METHOD OR MAIN NODE AND function ITS SYMBOL TABLE, USED TO TELL PARAMETERS FROM LOCAL VARIABLES
+    public static DefiniteAssignment analyze(Node method, FunctionSymbolTable function){
+        DefiniteAssignment analysis = analyses.get();
+        analysis.reset();
+        Node body = method.getId() == JJTMETHOD ? method.jjtGetChild(3) : method.jjtGetChild(1);
+
+        analysis.declareLocals(body, function);
+        if(analysis.num_locals == 0)
+            return analysis;
+
+        analysis.current = analysis.newBlock(NONE);
+        analysis.statements(body);
+        if(method.getId() == JJTMETHOD)
+            analysis.reads(method.jjtGetChild(4));
+
+        analysis.solve();
+        analysis.findUnassignedReads();
+        analysis.dropEvents();
+        return analysis;
+    }
+
+    // FALSE IF identifier READS A LOCAL VARIABLE THAT IS NOT ASSIGNED ON EVERY PATH FROM THE START OF THE METHOD
+    public boolean isAssigned(Node identifier){
+        return this.unassigned_reads == null || !this.unassigned_reads.contains(identifier);
+    }
+
+    // BITS OF THE LOCAL VARIABLES ASSIGNED ON EVERY PATH TO THE START OF A BLOCK, BLOCKS ARE NUMBERED IN SOURCE ORDER
+    public long[] getAssignedAtBlock(int block){
+        return Arrays.copyOfRange(this.assigned_in, block * this.words, (block + 1) * this.words);
+    }
+
+    public int getNumBlocks(){
+        return this.num_blocks;
+    }
+
+    private void reset(){
+        // CLEARING TAKES AS LONG AS THE CAPACITY, SO THE MAP GROWN BY A METHOD WITH MANY LOCAL VARIABLES IS DROPPED
+        if(this.num_locals > 64)
+            this.bits = new IntMap<>();
+        else
+            this.bits.clear();
+        this.num_locals = 0;
+        dropEvents();
+        this.num_blocks = 0;
+        if(this.unassigned_reads != null)
+            this.unassigned_reads.clear();
+    }
+
+    // THE EVENTS ARE NOT NEEDED ONCE THE UNASSIGNED READS ARE FOUND, THEIR NODES ARE DROPPED NOT TO KEEP THE TREE OF THE
+    // METHOD, AND WITH ITS PARENTS THE WHOLE PROGRAM, ALIVE IN THE ANALYSIS OF THE THREAD (jmm --interpret LETS IT GO)
+    private void dropEvents(){
+        Arrays.fill(this.event_nodes, 0, this.num_events, null);
+        this.num_events = 0;
+    }
+
+    // THE SEMANTIC ANALYSIS REJECTS A LOCAL VARIABLE NAMED LIKE A PARAMETER OR DECLARED TWICE, THE FIRST DECLARATION IS KEPT
+    private void declareLocals(Node body, FunctionSymbolTable function){
+        for(int i = 0; i < body.jjtGetNumChildren(); i++){
+            Node statement = body.jjtGetChild(i);
+            if(statement.getId() != JJTVAR_DECL)
+                continue;
+            int id = ((SimpleNode) statement.jjtGetChild(1)).nameId;
+            if(function.getParameter(id) == null && this.bits.get(id) == null)
+                this.bits.put(id, this.num_locals++);
+        }
+        this.words = (this.num_locals + 63) >>> 6;
+    }
+
+    // CONTROL FLOW GRAPH
+
+    private void statements(Node list){
+        for(int i = 0; i < list.jjtGetNumChildren(); i++){
+            Node statement = list.jjtGetChild(i);
+            switch(statement.getId()){
+                case JJTVAR_DECL:
+                    break;
+                case JJTASSIGN:
+                    reads(statement.jjtGetChild(1));
+                    write(statement.jjtGetChild(0));
+                    break;
+                case JJTSTATEMENT_LIST:
+                    statements(statement);
+                    break;
+                case JJTIF_ELSE_STATEMENT: {
+                    reads(statement.jjtGetChild(0));
+                    int condition = this.current;
+
+                    this.current = newBlock(condition);
+                    statements(statement.jjtGetChild(1));
+                    int if_end = this.current;
+
+                    this.current = newBlock(condition);
+                    statements(statement.jjtGetChild(2));
+                    int else_end = this.current;
+
+                    this.current = newBlock(if_end);
+                    addEdge(else_end, this.current);
+                    break;
+                }
+                case JJTWHILE: {
+                    int condition = newBlock(this.current);
+                    this.current = condition;
+                    reads(statement.jjtGetChild(0));
+
+                    this.current = newBlock(condition);
+                    statements(statement.jjtGetChild(1));
+                    addEdge(this.current, condition);
+
+                    this.current = newBlock(condition);
+                    break;
+                }
+                default:
+                    reads(statement);
+            }
+        }
+    }
+
+    // READS OF EVERY LOCAL VARIABLE IN AN EXPRESSION, IN EVALUATION ORDER
+    private void reads(Node expression){
+        if(expression.getId() == JJTIDENTIFIER){
+            Integer bit = this.bits.get(((SimpleNode) expression).nameId);
+            if(bit != null)
+                addEvent(bit, expression);
+        }
+        for(int i = 0; i < expression.jjtGetNumChildren(); i++)
+            reads(expression.jjtGetChild(i));
+    }
+
+    private void write(Node identifier){
+        Integer bit = this.bits.get(((SimpleNode) identifier).nameId);
+        if(bit != null)
+            addEvent(bit, null);
+    }
+
+    private void addEvent(int bit, Node node){
+        if(this.num_events == this.event_bits.length){
+            this.event_bits = Arrays.copyOf(this.event_bits, this.num_events * 2);
+            this.event_nodes = Arrays.copyOf(this.event_nodes, this.num_events * 2);
+        }
+        this.event_bits[this.num_events] = bit;
+        this.event_nodes[this.num_events] = node;
+        this.num_events++;
+    }
+
+    // A NEW BLOCK, ENTERED FROM predecessor (OR NONE FOR THE FIRST BLOCK)
+    private int newBlock(int predecessor){
+        int block = this.num_blocks++;
+        if(block == this.block_starts.length){
+            this.block_starts = Arrays.copyOf(this.block_starts, block * 2);
+            this.predecessors = Arrays.copyOf(this.predecessors, block * 4);
+            this.successors = Arrays.copyOf(this.successors, block * 4);
+        }
+        this.block_starts[block] = this.num_events;
+        this.predecessors[2 * block] = NONE;
+        this.predecessors[2 * block + 1] = NONE;
+        this.successors[2 * block] = NONE;
+        this.successors[2 * block + 1] = NONE;
+        if(predecessor != NONE)
+            addEdge(predecessor, block);
+        return block;
+    }
+
+    private void addEdge(int from, int to){
+        this.successors[this.successors[2 * from] == NONE ? 2 * from : 2 * from + 1] = to;
+        this.predecessors[this.predecessors[2 * to] == NONE ? 2 * to : 2 * to + 1] = from;
+    }
+
+    private int blockEnd(int block){
+        return block + 1 < this.num_blocks ? this.block_starts[block + 1] : this.num_events;
+    }
+
+    // DATAFLOW
+
+    // assigned_out STARTS WITH EVERY VARIABLE ASSIGNED AND ONLY LOSES BITS, SO THE WORKLIST STOPS AT THE LARGEST FIXED POINT
+    // THE BLOCKS ARE QUEUED IN SOURCE ORDER, WHERE A BLOCK COMES AFTER ITS PREDECESSORS EXCEPT ALONG THE LOOP BACK EDGES
+    private void solve(){
+        int words = this.words;
+        int length = this.num_blocks * words;
+        if(length > this.written.length){
+            this.assigned_in = new long[Math.max(length, this.written.length * 2)];
+            this.assigned_out = new long[this.assigned_in.length];
+            this.written = new long[this.assigned_in.length];
+        }
+        if(this.num_blocks > this.worklist.length){
+            this.worklist = new int[Math.max(this.num_blocks, this.worklist.length * 2)];
+            this.queued = new boolean[this.worklist.length];
+        }
+        long[] written = this.written;
+        long[] assigned_out = this.assigned_out;
+        int[] worklist = this.worklist;
+        boolean[] queued = this.queued;
+
+        Arrays.fill(written, 0, length, 0L);
+        for(int block = 0; block < this.num_blocks; block++){
+            for(int e = this.block_starts[block]; e < blockEnd(block); e++){
+                if(this.event_nodes[e] == null)
+                    written[block * words + (this.event_bits[e] >>> 6)] |= 1L << this.event_bits[e];
+            }
+        }
+
+        Arrays.fill(assigned_out, 0, length, -1L);
+        for(int block = 0; block < this.num_blocks; block++){
+            worklist[block] = block;
+            queued[block] = true;
+        }
+        int head = 0;
+        int size = this.num_blocks;
+
+        while(size > 0){
+            int block = worklist[head];
+            head = (head + 1) % this.num_blocks;
+            size--;
+            queued[block] = false;
+
+            int first = this.predecessors[2 * block];
+            int second = this.predecessors[2 * block + 1];
+            boolean changed = false;
+            for(int w = 0; w < words; w++){
+                long in = 0;
+                if(first != NONE)
+                    in = assigned_out[first * words + w];
+                if(second != NONE)
+                    in &= assigned_out[second * words + w];
+                this.assigned_in[block * words + w] = in;
+
+                long out = in | written[block * words + w];
+                if(out != assigned_out[block * words + w]){
+                    assigned_out[block * words + w] = out;
+                    changed = true;
+                }
+            }
+
+            if(!changed)
+                continue;
+            for(int s = 2 * block; s < 2 * block + 2; s++){
+                int successor = this.successors[s];
+                if(successor != NONE && !queued[successor]){
+                    worklist[(head + size) % this.num_blocks] = successor;
+                    size++;
+                    queued[successor] = true;
+                }
+            }
+        }
+    }
+
+    private void findUnassignedReads(){
+        if(this.words > this.assigned.length)
+            this.assigned = new long[this.words];
+        long[] assigned = this.assigned;
+        for(int block = 0; block < this.num_blocks; block++){
+            System.arraycopy(this.assigned_in, block * this.words, assigned, 0, this.words);
+            for(int e = this.block_starts[block]; e < blockEnd(block); e++){
+                int bit = this.event_bits[e];
+                if(this.event_nodes[e] == null)
+                    assigned[bit >>> 6] |= 1L << bit;
+                else if((assigned[bit >>> 6] & (1L << bit)) == 0){
+                    if(this.unassigned_reads == null)
+                        this.unassigned_reads = Collections.newSetFromMap(new IdentityHashMap<>());
+                    this.unassigned_reads.add(this.event_nodes[e]);
+                }
+            }
+        }
+    }
+}
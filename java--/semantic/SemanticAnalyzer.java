@@ -0,0 +1,1275 @@
+package semantic;
+
+import parser.*;
+import static parser.ParserTreeConstants.*;
+import symbol.ClassRegistry;
+import symbol.ClassSymbolTable;
+import symbol.FunctionSymbolTable;
+import symbol.Symbol;
+import diagnostics.Diagnostic;
+import diagnostics.Diagnostics;
+import diagnostics.ErrorLimitException;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+public class SemanticAnalyzer{
+    private static final int PARALLEL_THRESHOLD = 8;
+
+    private Diagnostics diagnostics;
+    private int number_errors = 0;
+
+    private ClassSymbolTable symbolTables;
+    // CLASSES COMPILED TOGETHER WITH THIS ONE, null WHEN IT IS COMPILED ALONE
+    private ClassRegistry registry;
+
+    // SETS OF TYPES AN OPERAND MAY HAVE, ONE BIT PER Symbol.SymbolType
+    private static final int INT_OPERAND = Symbol.SymbolType.INT.mask();
+    private static final int BOOLEAN_OPERAND = Symbol.SymbolType.BOOLEAN.mask();
+    private static final int INT_ARRAY_OPERAND = Symbol.SymbolType.INT_ARRAY.mask();
+    private static final int LENGTH_OPERAND = Symbol.SymbolType.IDENTIFIER.mask() | Symbol.SymbolType.INT_ARRAY.mask();
+
+    // ERRORS AND WARNINGS, NUMBERED AND REPORTED ONCE THE WHOLE CLASS IS ANALYSED
+    private List<Message> messages = new ArrayList<>();
+    // GLOBAL VARIABLES ASSIGNED SO FAR (THE GLOBAL SYMBOLS ARE SHARED BY ALL METHODS AND NEVER WRITTEN)
+    private Set<String> initialized_globals = new HashSet<>();
+    // ERRORS FOUND SO FAR, REPORTED OR NOT
+    private int errors_found = 0;
+    // SYMBOL TABLE OF THE METHOD AN ANALYSER OF A SINGLE METHOD CHECKS, LOOKED UP ONCE
+    private FunctionSymbolTable current_function;
+    // LOCAL VARIABLES OF THAT METHOD THAT MIGHT BE READ BEFORE THEY ARE ASSIGNED
+    private DefiniteAssignment assignments;
+
+    public SemanticAnalyzer(SimpleNode node){
+        this(node, System.out);
+    }
+
+    // ERRORS AND WARNINGS ARE WRITTEN TO out
+    public SemanticAnalyzer(SimpleNode node, PrintStream out){
+        this(node, new Diagnostics(out));
+    }
+
+    // ERRORS AND WARNINGS ARE REPORTED TO diagnostics; WITH AN ERROR LIMIT THE METHODS ARE ANALYSED IN SEQUENCE
+    // AND THE ANALYSIS STOPS AT THE FIRST ONE THAT BRINGS THE ERRORS FOUND TO THE LIMIT
+    public SemanticAnalyzer(SimpleNode node, Diagnostics diagnostics){
+        this.diagnostics = diagnostics;
+        createSymbolTables(node, true);
+        reportMessages();
+    }
+
+    // ANALYSER OF A SINGLE METHOD, ONLY READS THE CLASS LEVEL SYMBOLS AND WRITES THE METHOD LOCAL ONES
+    private SemanticAnalyzer(ClassSymbolTable symbolTables, ClassRegistry registry){
+        this.symbolTables = symbolTables;
+        this.registry = registry;
+    }
+
+    private SemanticAnalyzer(Diagnostics diagnostics){
+        this.diagnostics = diagnostics;
+    }
+
+    // ANALYSER OF A CLASS WHOSE METHODS ARE GIVEN ONE AT A TIME TO analyzeMethod, IN SOURCE ORDER
+    // header HOLDS THE DECLARATIONS OF THE CLASS (parser.HeaderScanner), ANY METHOD BODIES IN IT ARE IGNORED
+    public static SemanticAnalyzer forHeader(SimpleNode header, Diagnostics diagnostics){
+        return forHeader(header, diagnostics, null);
+    }
+
+    // THE CLASS IS ALSO REGISTERED IN registry, AND ITS CALLS ON OBJECTS OF THE OTHER REGISTERED CLASSES ARE CHECKED AGAINST THEM
+    // THE METHODS MUST ONLY BE ANALYSED ONCE ALL THE CLASSES THEY USE ARE REGISTERED
+    public static SemanticAnalyzer forHeader(SimpleNode header, Diagnostics diagnostics, ClassRegistry registry){
+        SemanticAnalyzer analyzer = new SemanticAnalyzer(diagnostics);
+        analyzer.registry = registry;
+        analyzer.createSymbolTables(header, false);
+        if(registry != null && analyzer.symbolTables != null && !registry.register(analyzer.symbolTables)){
+            SimpleNode class_name = (SimpleNode) header.jjtGetChild(0).jjtGetChild(0);
+            analyzer.semanticError("Duplicated class definition", class_name.name, class_name.line);
+        }
+        return analyzer;
+    }
+
+    // RETURNS FALSE IF THIS OR AN EARLIER METHOD OR DECLARATION HAS ERRORS, THE MESSAGES ARE KEPT UNTIL reportMessages
+    // THROWS ErrorLimitException ONCE THE ERRORS FOUND REACH THE ERROR LIMIT OF THE DIAGNOSTICS
+    public boolean analyzeMethod(Node method){
+        SemanticAnalyzer analyzer = new SemanticAnalyzer(this.symbolTables, this.registry);
+        analyzer.handleFunction(method);
+        mergeMessages(new SemanticAnalyzer[]{ analyzer });
+        if(errorLimitReached())
+            throw new ErrorLimitException(this.diagnostics.getErrorLimit());
+        return this.errors_found == 0;
+    }
+
+    // ANALYSES A METHOD ON ITS OWN AND RETURNS ITS ANALYSER, WHOSE MESSAGES ARE ONLY REPORTED BY reportMethods
+    // THE LOCAL VARIABLES OF THE METHOD ARE DROPPED FIRST, SO A METHOD WHOSE BODY WAS EDITED CAN BE ANALYSED AGAIN
+    public SemanticAnalyzer analyzeMethodAlone(Node method){
+        FunctionSymbolTable function = method instanceof ASTMAIN ? this.symbolTables.getFunction("main", 1)
+            : this.symbolTables.getFunction(((ASTNAME) method.jjtGetChild(1)).name, method.jjtGetChild(2).jjtGetNumChildren());
+        if(function != null)
+            function.clearLocalVariables();
+        SemanticAnalyzer analyzer = new SemanticAnalyzer(this.symbolTables, this.registry);
+        analyzer.handleFunction(method);
+        return analyzer;
+    }
+
+    // REPORTS TO diagnostics THE MESSAGES OF THE DECLARATIONS AND THEN THE ONES OF THE METHODS ANALYSED BY analyzeMethodAlone,
+    // IN SOURCE ORDER, AS IF THE CLASS WAS ANALYSED AGAIN; THE ANALYSERS ARE LEFT AS THEY ARE, SO THEY CAN BE REPORTED AGAIN
+    // RETURNS THE NUMBER OF ERRORS REPORTED
+    public int reportMethods(List<SemanticAnalyzer> methods, Diagnostics diagnostics){
+        SemanticAnalyzer report = new SemanticAnalyzer(diagnostics);
+        report.symbolTables = this.symbolTables;
+        report.messages.addAll(this.messages);
+        report.mergeMessages(methods.toArray(new SemanticAnalyzer[0]));
+        report.reportMessages();
+        return report.number_errors;
+    }
+
+    // WHETHER A MESSAGE NOT REPORTED YET IS ON A LINE FROM first TO last
+    public boolean hasMessagesOnLines(int first, int last){
+        for(Message message : this.messages){
+            if(message.line >= first && message.line <= last)
+                return true;
+        }
+        return false;
+    }
+
+    // MOVES THE MESSAGES NOT REPORTED YET THAT ARE ON A LINE AFTER line BY lines LINES
+    // FOR A TEXT EDITED BEFORE THEM, AFTER WHICH THEY ARE lines LINES FURTHER DOWN (UP IF NEGATIVE)
+    public void shiftLines(int line, int lines){
+        for(int i = 0; i < this.messages.size(); i++){
+            Message message = this.messages.get(i);
+            if(message.line > line)
+                this.messages.set(i, new Message(message.error, message.line + lines, message.problem, message.name, message.global));
+        }
+    }
+
+    public ClassSymbolTable getSymbolTables(){
+        return this.symbolTables;
+    }
+
+    public int getNumberErrors(){
+        return this.number_errors;
+    }
+
+    private void createSymbolTables(SimpleNode node, boolean analyze_methods){
+        if(node instanceof ASTProgram){
+            int i = 1;
+            boolean duplicated_functions = false;
+            int line;
+            if(node.jjtGetChild(0) instanceof ASTCLASS){
+                ASTCLASS root_class = (ASTCLASS) node.jjtGetChild(0);
+                ASTCLASS_NAME class_name = (ASTCLASS_NAME) root_class.jjtGetChild(0);
+                this.symbolTables = new ClassSymbolTable(class_name.name);
+            }
+            else if(node.jjtGetChild(0) instanceof ASTCLASS_EXTENDS){
+                ASTCLASS_EXTENDS root_class = (ASTCLASS_EXTENDS) node.jjtGetChild(0);
+                ASTCLASS_NAME class_name = (ASTCLASS_NAME) root_class.jjtGetChild(0);
+                ASTEXTENDED_CLASS extended_class_name = (ASTEXTENDED_CLASS) root_class.jjtGetChild(1);
+                this.symbolTables = new ClassSymbolTable(class_name.name, extended_class_name.name);
+                i = 2;
+            }
+
+            for( ; i < node.jjtGetChild(0).jjtGetNumChildren(); i++){
+
+                //GLOBAL VARIABLES
+                if(node.jjtGetChild(0).jjtGetChild(i) instanceof ASTVAR_DECLS){
+                    ASTVAR_DECLS var_declarations = (ASTVAR_DECLS) node.jjtGetChild(0).jjtGetChild(i);
+                    for(int j = 0; j < var_declarations.jjtGetNumChildren(); j++){
+                        String variable_name = ((ASTIDENTIFIER) var_declarations.jjtGetChild(j).jjtGetChild(1)).name;
+                        int variable_id = ((ASTIDENTIFIER) var_declarations.jjtGetChild(j).jjtGetChild(1)).nameId;
+                        line = ((ASTIDENTIFIER) var_declarations.jjtGetChild(j).jjtGetChild(1)).line;
+                        if(var_declarations.jjtGetChild(j).jjtGetChild(0) instanceof ASTINT_ARRAY){
+                            if(!this.symbolTables.addGlobalVariable(variable_name, variable_id, Symbol.SymbolType.INT_ARRAY)){
+                                semanticError("Redefinition of global variable.", variable_name, line);
+                            }
+                        }else if (var_declarations.jjtGetChild(j).jjtGetChild(0) instanceof ASTINT){
+                            if(!this.symbolTables.addGlobalVariable(variable_name, variable_id, Symbol.SymbolType.INT)){
+                                semanticError("Redefinition of global variable.", variable_name, line);
+                            }
+                        }else if(var_declarations.jjtGetChild(j).jjtGetChild(0) instanceof ASTBOOLEAN){
+                            if(!this.symbolTables.addGlobalVariable(variable_name, variable_id, Symbol.SymbolType.BOOLEAN)){
+                                semanticError("Redefinition of global variable.", variable_name, line);
+                            }
+                        }else if(var_declarations.jjtGetChild(j).jjtGetChild(0) instanceof ASTIDENTIFIER){
+                            String identifier_name = ((ASTIDENTIFIER) var_declarations.jjtGetChild(j).jjtGetChild(0)).name;
+                            if(!this.symbolTables.addGlobalVariable(variable_name, variable_id, Symbol.SymbolType.IDENTIFIER, identifier_name)){
+                                semanticError("Redefinition of global variable.", variable_name, line);
+                            }
+                        }
+                    }
+                }
+
+                //FUNCTIONS
+                else if(node.jjtGetChild(0).jjtGetChild(i) instanceof ASTMETHODS){
+                    ASTMETHODS functions = (ASTMETHODS) node.jjtGetChild(0).jjtGetChild(i);
+
+                    // LOOP TO ADD ALL FUNCTIONS STRUCTURE (FUNCTION NAME, PARAMETERS AND RETURN TYPE)
+                    for(int j = 0; j < functions.jjtGetNumChildren(); j++){
+                        // NORMAL FUNCTION
+                        if(functions.jjtGetChild(j) instanceof ASTMETHOD){
+                            ASTMETHOD function = (ASTMETHOD) functions.jjtGetChild(j);
+
+                            // FUNCTION NAME
+                            String function_name = ((ASTNAME) function.jjtGetChild(1)).name;
+                            int function_id = ((ASTNAME) function.jjtGetChild(1)).nameId;
+                            line = ((ASTNAME) function.jjtGetChild(1)).line;
+                            if(!this.symbolTables.addFunction(function_name, function_id, function.jjtGetChild(2).jjtGetNumChildren())){
+                                duplicated_functions = true;
+                                semanticError("Duplicated function definition", function_name, line);
+                            }
+
+                            // FUNCTION RETURN TYPE
+                            if(function.jjtGetChild(0) instanceof ASTINT_ARRAY){
+                                if(!this.symbolTables.setFunctionReturnType(function_name, Symbol.SymbolType.INT_ARRAY, function.jjtGetChild(2).jjtGetNumChildren())){
+                                    semanticError("Duplicated function return type definition", function_name, line);
+                                }
+                            } else if(function.jjtGetChild(0) instanceof ASTINT){
+                                if(!this.symbolTables.setFunctionReturnType(function_name, Symbol.SymbolType.INT, function.jjtGetChild(2).jjtGetNumChildren())){
+                                    semanticError("Duplicated function return type definition", function_name, line);
+                                }
+                            } else if(function.jjtGetChild(0) instanceof ASTBOOLEAN){
+                                if(!this.symbolTables.setFunctionReturnType(function_name, Symbol.SymbolType.BOOLEAN, function.jjtGetChild(2).jjtGetNumChildren())){
+                                    semanticError("Duplicated function return type definition", function_name, line);
+                                }
+                            } else if(function.jjtGetChild(0) instanceof ASTIDENTIFIER){
+                                String identifier_name = ((ASTIDENTIFIER) function.jjtGetChild(0)).name;
+                                if(!this.symbolTables.setFunctionReturnType(function_name, Symbol.SymbolType.IDENTIFIER, identifier_name, function.jjtGetChild(2).jjtGetNumChildren())){
+                                    semanticError("Duplicated function return type definition", function_name, line);
+                                }
+                            }
+
+                            // FUNCTION PARAMETERS
+                            ASTMETHOD_ARGS function_args = (ASTMETHOD_ARGS) function.jjtGetChild(2);
+                            for(int m = 0; m < function_args.jjtGetNumChildren(); m++){
+                                String parameter_name = ((ASTIDENTIFIER) function_args.jjtGetChild(m).jjtGetChild(1)).name;
+                                int parameter_id = ((ASTIDENTIFIER) function_args.jjtGetChild(m).jjtGetChild(1)).nameId;
+                                line = ((ASTIDENTIFIER) function_args.jjtGetChild(m).jjtGetChild(1)).line;
+                                if(function_args.jjtGetChild(m).jjtGetChild(0) instanceof ASTINT_ARRAY){
+                                    if(!this.symbolTables.addFunctionParameter(function_name, parameter_name, parameter_id, Symbol.SymbolType.INT_ARRAY, function_args.jjtGetNumChildren())){
+                                        semanticError("Duplicated parameter in function arguments", function_name, line);
+                                    }
+                                } else if(function_args.jjtGetChild(m).jjtGetChild(0) instanceof ASTINT){
+                                    if(!this.symbolTables.addFunctionParameter(function_name, parameter_name, parameter_id, Symbol.SymbolType.INT, function_args.jjtGetNumChildren())){
+                                        semanticError("Duplicated parameter in function arguments", function_name, line);
+                                    }
+
+                                } else if(function_args.jjtGetChild(m).jjtGetChild(0) instanceof ASTBOOLEAN){
+                                    if(!this.symbolTables.addFunctionParameter(function_name, parameter_name, parameter_id, Symbol.SymbolType.BOOLEAN, function_args.jjtGetNumChildren())){
+                                        semanticError("Duplicated parameter in function arguments", function_name, line);
+                                    }
+
+                                } else if(function_args.jjtGetChild(m).jjtGetChild(0) instanceof ASTIDENTIFIER){
+                                    String identifier_name = ((ASTIDENTIFIER) function_args.jjtGetChild(m).jjtGetChild(0)).name;
+                                    if(!this.symbolTables.addFunctionParameter(function_name, parameter_name, parameter_id, Symbol.SymbolType.IDENTIFIER, identifier_name, function_args.jjtGetNumChildren())){
+                                        semanticError("Duplicated parameter in function arguments", function_name, line);
+                                    }
+                                }
+                            }
+                        } else if(functions.jjtGetChild(j) instanceof ASTMAIN){
+                            String function_name = "main";
+                            ASTMAIN function = (ASTMAIN) functions.jjtGetChild(j);
+                            String parameter = ((ASTARGV) function.jjtGetChild(0)).name;
+                            line = ((ASTARGV) function.jjtGetChild(0)).line;
+
+                            // ADDING MAIN FUNCTION
+                            if(!this.symbolTables.addFunction("main", -1, 1)){
+                                duplicated_functions = true;
+                                semanticError("Duplicated function definition", function_name, line);
+                            }
+
+                            // ADDING MAIN PARAMETERS
+                            if(!this.symbolTables.addFunctionParameter(function_name, parameter, ((ASTARGV) function.jjtGetChild(0)).nameId, Symbol.SymbolType.STRING_ARRAY, 1)){
+                                semanticError("Parameter already defined", parameter, line);
+                            }
+                        }
+                    }
+
+                    if(!analyze_methods)
+                        continue;
+
+                    // LOOP TO HANDLE FUNCTIONS BODY AND RETURN EXPRESSION
+                    // EACH METHOD IS ANALYSED ON ITS OWN, IN PARALLEL FOR LARGER CLASSES, AND THE MESSAGES ARE MERGED IN SOURCE ORDER
+                    // METHODS WITH A DUPLICATED DEFINITION SHARE THEIR SYMBOL TABLE, SO THEY ARE ANALYSED ONE AFTER THE OTHER
+                    // WITH AN ERROR LIMIT ALL METHODS ARE ANALYSED IN SEQUENCE, UNTIL THE ERRORS FOUND REACH THE LIMIT
+                    SemanticAnalyzer[] methods = new SemanticAnalyzer[functions.jjtGetNumChildren()];
+                    if(this.diagnostics.getErrorsLeft() != Diagnostics.NO_LIMIT){
+                        for(int j = 0; j < methods.length && !errorLimitReached(); j++){
+                            methods[j] = new SemanticAnalyzer(this.symbolTables, this.registry);
+                            methods[j].handleFunction(functions.jjtGetChild(j));
+                            mergeMessages(new SemanticAnalyzer[]{ methods[j] });
+                        }
+                        continue;
+                    }
+
+                    IntStream indexes = IntStream.range(0, methods.length);
+                    if(methods.length >= PARALLEL_THRESHOLD && !duplicated_functions)
+                        indexes = indexes.parallel();
+
+                    // THE CLASS LEVEL SYMBOLS ARE READ ONLY MEANWHILE, A WRITE TO THEM FROM A METHOD THROWS IllegalStateException
+                    this.symbolTables.setReadOnly(true);
+                    try {
+                        indexes.forEach(j -> {
+                            methods[j] = new SemanticAnalyzer(this.symbolTables, this.registry);
+                            methods[j].handleFunction(functions.jjtGetChild(j));
+                        });
+                    } finally {
+                        this.symbolTables.setReadOnly(false);
+                    }
+                    mergeMessages(methods);
+                }
+            }
+        }
+    }
+
+    private void handleFunction(Node method){
+        // NORMAL FUNCTION
+        if(method instanceof ASTMETHOD){
+            ASTMETHOD function = (ASTMETHOD) method;
+
+            // FUNCTION NAME
+            String function_name = ((ASTNAME) function.jjtGetChild(1)).name;
+            this.current_function = this.symbolTables.getFunction(function_name, function.jjtGetChild(2).jjtGetNumChildren());
+            this.assignments = DefiniteAssignment.analyze(function, this.current_function);
+
+            // FUNCTION BODY
+            ASTMETHOD_BODY function_body = (ASTMETHOD_BODY) function.jjtGetChild(3);
+            handleMethodBody(function_name, function_body, 1, function.jjtGetChild(2).jjtGetNumChildren());
+
+            // FUNCTION RETURN EXPRESSION
+            ASTRETURN_EXPRESSION return_expression = (ASTRETURN_EXPRESSION) function.jjtGetChild(4);
+            int line_return = return_expression.line;
+            handleReturnExpression(function_name, return_expression.jjtGetChild(0), line_return, function.jjtGetChild(2).jjtGetNumChildren());
+
+            resolveNames(function);
+        }
+
+        // MAIN FUNCTION
+        else if(method instanceof ASTMAIN){
+            String function_name = "main";
+            ASTMAIN function = (ASTMAIN) method;
+            this.current_function = this.symbolTables.getFunction(function_name, 1);
+            this.assignments = DefiniteAssignment.analyze(function, this.current_function);
+
+            // MAIN BODY
+            ASTMETHOD_BODY function_body = (ASTMETHOD_BODY) function.jjtGetChild(1);
+            handleMethodBody(function_name, function_body, 1, 1);
+            resolveNames(function);
+        }
+    }
+
+    // RECORDS IN THE TREE OF A METHOD WHAT THE CODE GENERATOR NEEDS: THE SYMBOL OF EVERY IDENTIFIER, THE METHOD EVERY CALL
+    // CALLS WHEN IT IS ONE OF THIS CLASS AND THE SYMBOL TABLE OF THE METHOD ITSELF (SEE SimpleNode.symbol)
+    // A PARAMETER OR LOCAL VARIABLE HIDES A GLOBAL ONE OF THE SAME NAME
+    private void resolveNames(Node node){
+        SimpleNode simple_node = (SimpleNode) node;
+        switch(node.getId()){
+            case JJTMETHOD:
+            case JJTMAIN:
+                simple_node.function = this.current_function;
+                break;
+            case JJTIDENTIFIER: {
+                Symbol symbol = this.current_function.getVariable(simple_node.nameId);
+                simple_node.symbol = symbol != null ? symbol : this.symbolTables.getGlobalVariable(simple_node.nameId);
+                break;
+            }
+            case JJTCALL_FUNCTION: {
+                String class_name = registeredReceiverClass(node.jjtGetChild(0));
+                if(class_name != null){
+                    simple_node.function = this.registry.getFunction(class_name, ((SimpleNode) node.jjtGetChild(1)).name, node.jjtGetChild(2).jjtGetNumChildren());
+                    break;
+                }
+                int function_call_id = ((SimpleNode) node.jjtGetChild(1)).nameId;
+                simple_node.function = this.symbolTables.getFunction(function_call_id, node.jjtGetChild(2).jjtGetNumChildren());
+                break;
+            }
+        }
+        for(int i = 0; i < node.jjtGetNumChildren(); i++)
+            resolveNames(node.jjtGetChild(i));
+    }
+
+    // TRUE ONCE THE ERRORS FOUND, REPORTED OR NOT, REACH THE ERROR LIMIT OF THE DIAGNOSTICS
+    private boolean errorLimitReached(){
+        return this.errors_found - this.number_errors >= this.diagnostics.getErrorsLeft();
+    }
+
+    // A WARNING ABOUT A GLOBAL IS DROPPED IF AN EARLIER METHOD ASSIGNS IT, AS WHEN THE METHODS WERE ANALYSED IN SEQUENCE
+    private void mergeMessages(SemanticAnalyzer[] methods){
+        for(SemanticAnalyzer method : methods){
+            for(Message message : method.messages){
+                if(message.global == null || !this.initialized_globals.contains(message.global))
+                    this.messages.add(message);
+            }
+            this.errors_found += method.errors_found;
+            this.initialized_globals.addAll(method.initialized_globals);
+        }
+    }
+
+    private void handleMethodBody(String function_name, Node body, int local, int num_parameters){
+        for(int n = 0; n < body.jjtGetNumChildren(); n++){
+            Node statement = body.jjtGetChild(n);
+            switch(statement.getId()){
+                case JJTVAR_DECL: {
+                    Node type = statement.jjtGetChild(0);
+                    ASTIDENTIFIER variable = (ASTIDENTIFIER) statement.jjtGetChild(1);
+                    Symbol.SymbolType variable_type = getSymbolType(type);
+                    if(variable_type == null)
+                        break;
+
+                    if(this.current_function.getParameters().containsKey(variable.name)){
+                        semanticError("Variable already defined", variable.name, variable.line);
+                    } else if(variable_type == Symbol.SymbolType.IDENTIFIER){
+                        if(!this.current_function.addLocalVariable(variable.name, variable.nameId, variable_type, ((ASTIDENTIFIER) type).name, local))
+                            semanticError("Redefinition of local variable", variable.name, variable.line);
+                    } else if(!this.current_function.addLocalVariable(variable.name, variable.nameId, variable_type, local)){
+                        semanticError("Redefinition of local variable", variable.name, variable.line);
+                    }
+                    break;
+                }
+                case JJTASSIGN: {
+                    ASTIDENTIFIER variable = (ASTIDENTIFIER) statement.jjtGetChild(0);
+                    String assigned_variable_name = variable.name;
+                    int line = variable.line;
+
+                    boolean parameter = this.current_function.getParameters().containsKey(assigned_variable_name);
+                    if(!parameter && !this.symbolTables.hasVariable(function_name, assigned_variable_name, num_parameters)){
+                        semanticError("Cannot find symbol", assigned_variable_name, line);
+                        continue;
+                    }
+                    else if(!parameter){
+                        if(local == 1)
+                            setInitVariable(function_name, assigned_variable_name, num_parameters);
+                    }
+
+                    handleAssignedValue(function_name, assigned_variable_name, statement.jjtGetChild(1), line, num_parameters);
+                    break;
+                }
+                case JJTASSIGN_ARRAY: {
+                    Node access = statement.jjtGetChild(0);
+                    ASTIDENTIFIER variable = (ASTIDENTIFIER) access.jjtGetChild(0);
+                    String assigned_variable_name = variable.name;
+                    int line = variable.line;
+
+                    if(!this.symbolTables.hasVariable(function_name, assigned_variable_name,num_parameters)){
+                        semanticError("Cannot find symbol", assigned_variable_name, line);
+                    } else if(this.symbolTables.getVariableType(function_name, assigned_variable_name, num_parameters) != Symbol.SymbolType.INT_ARRAY){
+                        semanticError("Incompatible assign type", assigned_variable_name, line);
+                    } else{
+                        if(local == 1)
+                            setInitVariable(function_name, assigned_variable_name, num_parameters);
+                    }
+                    handleINT(function_name, statement.jjtGetChild(1), line, num_parameters);
+                    handleINT(function_name, access.jjtGetChild(1), line, num_parameters);
+                    break;
+                }
+                case JJTWHILE: {
+                    int line = ((ASTWHILE) statement).line;
+                    handleCondition(function_name, statement.jjtGetChild(0).jjtGetChild(0), line, num_parameters);
+                    handleMethodBody(function_name, getStatementList(statement.jjtGetChild(1)), local + 1, num_parameters);
+                    break;
+                }
+                case JJTIF_ELSE_STATEMENT: {
+                    int line = ((ASTIF_ELSE_STATEMENT) statement).line;
+                    handleCondition(function_name, statement.jjtGetChild(0).jjtGetChild(0), line, num_parameters);
+                    handleMethodBody(function_name, getStatementList(statement.jjtGetChild(1)), local + 1, num_parameters);
+                    handleMethodBody(function_name, getStatementList(statement.jjtGetChild(2)), local + 1, num_parameters);
+                    break;
+                }
+                case JJTCALL_FUNCTION: {
+                    Node target = statement.jjtGetChild(0);
+                    ASTFUNCTION function_call = (ASTFUNCTION) statement.jjtGetChild(1);
+                    String function_call_name = function_call.name;
+                    int num_parameters_function_call = statement.jjtGetChild(2).jjtGetNumChildren();
+                    int line = function_call.line;
+
+                    String receiver_class = registeredReceiverClass(target);
+                    if(receiver_class != null && !(target.getId() == JJTTHIS && function_name.equals("main"))){
+                        checkRegisteredCall(function_name, receiver_class, statement, null, line, num_parameters);
+                    } else if(target.getId() == JJTTHIS){
+                        if(function_name.equals("main")){
+                            semanticError("Non-static variable this cannot be referenced from a static context", function_name, line);
+                        } else if(!this.symbolTables.getFunctions().containsKey(function_call_name)
+                        && !this.symbolTables.itExtends()){
+                            semanticError("Function not found", function_call_name, line);
+                        } else if (!this.symbolTables.itExtends()){
+                            handleFunctionArguments(function_name, function_call_name, line, statement.jjtGetChild(2), num_parameters, num_parameters_function_call);
+                        } else {
+                            handleUncheckedArguments(function_name, statement.jjtGetChild(2), line, num_parameters);
+                        }
+                    } else if(target.getId() == JJTIDENTIFIER){
+                        String name = ((ASTIDENTIFIER) target).name;
+                        if(this.symbolTables.hasVariable(function_name, name, num_parameters)
+                        && this.symbolTables.getVariableType(function_name, name, num_parameters) == Symbol.SymbolType.IDENTIFIER
+                        && (this.symbolTables.getVariableIdentifierType(function_name, name, num_parameters).equals(this.symbolTables.getClassName())
+                         || this.symbolTables.getVariableIdentifierType(function_name, name, num_parameters).equals(this.symbolTables.getExtendedClassName()))){
+                            if(!this.symbolTables.getFunctions().containsKey(function_call_name)
+                            && this.symbolTables.getVariableIdentifierType(function_name, name, num_parameters).equals(this.symbolTables.getClassName())){
+                                semanticError("Function not found", function_call_name, line);
+                            } else if(this.symbolTables.getVariableIdentifierType(function_name, name, num_parameters).equals(this.symbolTables.getClassName())){
+                                handleFunctionArguments(function_name, function_call_name, line, statement.jjtGetChild(2), num_parameters, num_parameters_function_call);
+                            } else {
+                                handleUncheckedArguments(function_name, statement.jjtGetChild(2), line, num_parameters);
+                            }
+                        } else if(this.symbolTables.hasVariable(function_name, name, num_parameters)){
+                            semanticError("Function not found", function_call_name, line);
+                        } else {
+                            handleUncheckedArguments(function_name, statement.jjtGetChild(2), line, num_parameters);
+                        }
+                    } else {
+                        handleUncheckedArguments(function_name, statement.jjtGetChild(2), line, num_parameters);
+                    }
+                    break;
+                }
+                case JJTACCESS_ARRAY:
+                    semanticError("Not a statement", function_name, ((SimpleNode) statement.jjtGetChild(0)).line);
+                    break;
+                case JJTNEW_CLASS:
+                    break;
+                default:
+                    semanticError("Not a statement", function_name, ((SimpleNode) statement).line);
+            }
+        }
+    }
+
+    private void handleAssignedValue(String function_name, String assigned_variable_name, Node value, int line, int num_parameters){
+        Symbol.SymbolType assigned_type = this.symbolTables.getVariableType(function_name, assigned_variable_name, num_parameters);
+        switch(value.getId()){
+            case JJTIDENTIFIER: {
+                handleIdentifier(function_name, line, value, typeSet(assigned_type), num_parameters);
+                break;
+            }
+            case JJTCALL_FUNCTION:
+                handleCalledFunction(function_name, value, assigned_type, line, num_parameters);
+                break;
+            case JJTACCESS_ARRAY: {
+                if(assigned_type != Symbol.SymbolType.INT){
+                    semanticError("Incompatible assign type", assigned_variable_name, line);
+                }
+                handleINT(function_name, value.jjtGetChild(1), line, num_parameters);
+                handleIdentifier(function_name, line, value.jjtGetChild(0), INT_ARRAY_OPERAND, num_parameters);
+                break;
+            }
+            case JJTAND:
+                if(assigned_type != Symbol.SymbolType.BOOLEAN){
+                    semanticError("Incompatible assign type", assigned_variable_name, line);
+                }
+                handleAND(function_name, line, value, num_parameters);
+                break;
+            case JJTLT:
+                if(assigned_type != Symbol.SymbolType.BOOLEAN){
+                    semanticError("Incompatible assign type", assigned_variable_name, line);
+                }
+                handleLT(function_name, line, value, num_parameters);
+                break;
+            case JJTADD:
+            case JJTSUB:
+            case JJTMUL:
+            case JJTDIV:
+                if(assigned_type != Symbol.SymbolType.INT){
+                    semanticError("Incompatible assign type", assigned_variable_name, line);
+                }
+                handleMathOperationsReturnExpression(function_name, line, value, num_parameters);
+                break;
+            case JJTLENGTH: {
+                if(assigned_type != Symbol.SymbolType.INT){
+                    semanticError("Incompatible assign type", assigned_variable_name, line);
+                }
+                handleIdentifier(function_name, line, value.jjtGetChild(0), INT_ARRAY_OPERAND, num_parameters);
+                break;
+            }
+            case JJTINT:
+                if(assigned_type != Symbol.SymbolType.INT){
+                    semanticError("Incompatible assign type", assigned_variable_name, line);
+                }
+                break;
+            case JJTTHIS:
+                if(function_name.equals("main")){
+                    semanticError("Non-static variable this cannot be referenced from a static context", function_name, line);
+                }
+                else if(!this.symbolTables.getVariableIdentifierType(function_name, assigned_variable_name, num_parameters).equals(this.symbolTables.getClassName())){
+                    semanticError("Incompatible assign type", assigned_variable_name, line);
+                }
+                break;
+            case JJTTRUE:
+            case JJTFALSE:
+                if(assigned_type != Symbol.SymbolType.BOOLEAN){
+                    semanticError("Incompatible assign type", assigned_variable_name, line);
+                }
+                break;
+            case JJTNEW_CLASS: {
+                String class_name = ((ASTCLASS) value.jjtGetChild(0)).name;
+                String identifier_type = this.symbolTables.getVariableIdentifierType(function_name, assigned_variable_name, num_parameters);
+                if(!(identifier_type.equals(class_name) || identifier_type.equals(this.symbolTables.getExtendedClassName()))){
+                    semanticError("Incompatible assign type", assigned_variable_name, line);
+                }
+                break;
+            }
+            case JJTNEW_INT_ARRAY: {
+                if(assigned_type != Symbol.SymbolType.INT_ARRAY){
+                    semanticError("Incompatible assign type", assigned_variable_name, line);
+                }
+                Node size = value.jjtGetChild(0);
+                if(size.getId() == JJTIDENTIFIER){
+                    handleIdentifier(function_name, line, size, INT_ARRAY_OPERAND, num_parameters);
+                } else if(size.getId() == JJTLENGTH){
+                    handleIdentifier(function_name, line, size.jjtGetChild(0), INT_ARRAY_OPERAND, num_parameters);
+                } else if(size.getId() != JJTINT){
+                    semanticError("Incompatible types: cannot be converted to int", function_name, line);
+                }
+                break;
+            }
+            case JJTNOT:
+                if(assigned_type != Symbol.SymbolType.BOOLEAN){
+                    semanticError("Incompatible assign type", assigned_variable_name, line);
+                }
+                handleNOT(function_name, line, value, num_parameters);
+                break;
+        }
+    }
+
+    // BODIES OF WHILE AND IF STATEMENTS ARE EITHER A SINGLE STATEMENT OR A STATEMENT_LIST
+    private static Node getStatementList(Node body){
+        if(body.jjtGetChild(0).getId() == JJTSTATEMENT_LIST)
+            return body.jjtGetChild(0);
+        return body;
+    }
+
+    private static Symbol.SymbolType getSymbolType(Node type){
+        switch(type.getId()){
+            case JJTINT:
+                return Symbol.SymbolType.INT;
+            case JJTBOOLEAN:
+                return Symbol.SymbolType.BOOLEAN;
+            case JJTINT_ARRAY:
+                return Symbol.SymbolType.INT_ARRAY;
+            case JJTIDENTIFIER:
+                return Symbol.SymbolType.IDENTIFIER;
+            default:
+                return null;
+        }
+    }
+
+    private void handleCondition(String function_name, Node expression, int line, int num_parameters){
+        switch(expression.getId()){
+            case JJTNOT:
+                handleNOT(function_name, line, expression, num_parameters);
+                break;
+            case JJTIDENTIFIER: {
+                String name = ((ASTIDENTIFIER) expression).name;
+                if(this.current_function.getParameters().containsKey(name)){
+                    if(Symbol.SymbolType.BOOLEAN != this.current_function.getParameters().get(name).getType()){
+                        semanticError("Incompatible return types", function_name, line);
+                    }
+                } else if(this.symbolTables.hasVariable(function_name, name, num_parameters)){
+                    if(Symbol.SymbolType.BOOLEAN != this.symbolTables.getVariableType(function_name, name, num_parameters)){
+                        semanticError("Incompatible return types", function_name, line);
+                    }
+                    else {
+                        checkInitialized(function_name, expression, line, num_parameters);
+                    }
+                } else {
+                    semanticError("Cannot find symbol", name, line);
+                }
+                //this.symbolTables.setFunctionReturnAttribute(function_name, name);
+                break;
+            }
+            case JJTAND:
+                handleAND(function_name, line, expression, num_parameters);
+                break;
+            case JJTLT:
+                handleLT(function_name, line, expression, num_parameters);
+                break;
+            case JJTCALL_FUNCTION:
+                handleCalledFunction(function_name, expression, Symbol.SymbolType.BOOLEAN, line, num_parameters);
+                break;
+            case JJTTRUE:
+            case JJTFALSE:
+                break;
+            default:
+                semanticError("Incompatible types: cannot be converted to boolean", function_name, line);
+        }
+    }
+
+    private void handleReturnExpression(String function_name, Node expression, int line, int num_parameters){
+        Symbol.SymbolType return_type = this.symbolTables.getFunctionsReturnType(function_name, num_parameters);
+        switch(expression.getId()){
+            case JJTNOT:
+                if(return_type != Symbol.SymbolType.BOOLEAN){
+                    semanticError("Incompatible return types: cannot be converted to boolean", function_name, line);
+                }
+                handleNOT(function_name, line, expression, num_parameters);
+                break;
+            case JJTIDENTIFIER: {
+                String name = ((ASTIDENTIFIER) expression).name;
+                if(this.current_function.getParameters().containsKey(name)){
+                    if(return_type != this.current_function.getParameters().get(name).getType()){
+                        semanticError("Incompatible return types", function_name, line);
+                    }
+                } else if(this.symbolTables.hasVariable(function_name, name, num_parameters)){
+                    if(return_type != this.symbolTables.getVariableType(function_name, name, num_parameters)){
+                        semanticError("Incompatible return types", function_name, line);
+                    }
+                    else {
+                        checkInitialized(function_name, expression, line, num_parameters);
+                    }
+
+                } else {
+                    semanticError("Cannot find symbol", name, line);
+                }
+                this.current_function.setReturnAttribute(name);
+                break;
+            }
+            case JJTTRUE:
+            case JJTFALSE:
+                if(return_type != Symbol.SymbolType.BOOLEAN){
+                    semanticError("Incompatible return types: cannot be converted to boolean", function_name, line);
+                }
+                break;
+            case JJTINT:
+                if(return_type != Symbol.SymbolType.INT){
+                    semanticError("Incompatible return types: cannot be converted to int", function_name, line);
+                }
+                break;
+            case JJTACCESS_ARRAY:
+                if(return_type != Symbol.SymbolType.INT){
+                    semanticError("Incompatible return types: cannot be converted to int", function_name, line);
+                }
+                handleINT(function_name, expression.jjtGetChild(1), line, num_parameters);
+                handleIdentifier(function_name, line, expression.jjtGetChild(0), INT_ARRAY_OPERAND, num_parameters);
+                break;
+            case JJTADD:
+            case JJTSUB:
+            case JJTMUL:
+            case JJTDIV:
+                if(return_type != Symbol.SymbolType.INT){
+                    semanticError("Incompatible return types: cannot be converted to int", function_name, line);
+                }
+                handleMathOperationsReturnExpression(function_name, line, expression, num_parameters);
+                break;
+            case JJTAND:
+                if(return_type != Symbol.SymbolType.BOOLEAN){
+                    semanticError("Incompatible return types: cannot be converted to boolean", function_name, line);
+                }
+                handleAND(function_name, line, expression, num_parameters);
+                break;
+            case JJTLT:
+                if(return_type != Symbol.SymbolType.BOOLEAN){
+                    semanticError("Incompatible return types: cannot be converted to boolean", function_name, line);
+                }
+                handleLT(function_name, line, expression, num_parameters);
+                break;
+            case JJTLENGTH:
+                if(return_type != Symbol.SymbolType.INT){
+                    semanticError("Incompatible return types: cannot be converted to int", function_name, line);
+                }
+                if(expression.jjtGetChild(0).getId() == JJTIDENTIFIER){
+                    handleIdentifier(function_name, line, expression.jjtGetChild(0), LENGTH_OPERAND, num_parameters);
+                }
+                break;
+            case JJTNEW_CLASS:
+                if(return_type != Symbol.SymbolType.IDENTIFIER){
+                    semanticError("Incompatible return types", function_name, line);
+                }
+                else if(!this.symbolTables.getFunctionsReturnIdentifierType(function_name, num_parameters).equals(((ASTCLASS) expression.jjtGetChild(0)).name)){
+                    semanticError("Incompatible return types", function_name, line);
+                }
+                break;
+            case JJTNEW_INT_ARRAY:
+                if(return_type != Symbol.SymbolType.INT_ARRAY){
+                    semanticError("Incompatible return types: cannot be converted to int[]", function_name, line);
+                }
+                if(expression.jjtGetChild(0).getId() == JJTIDENTIFIER){
+                    handleIdentifier(function_name, line, expression.jjtGetChild(0), INT_OPERAND, num_parameters);
+                } else if(expression.jjtGetChild(0).getId() != JJTINT){
+                    semanticError("Incompatible types: cannot be converted to int", function_name, line);
+                }
+                break;
+            case JJTCALL_FUNCTION:
+                handleCalledFunction(function_name, expression, return_type, line, num_parameters);
+                break;
+            case JJTTHIS:
+                if(function_name.equals("main")){
+                    semanticError("Non-static variable this cannot be referenced from a static context", function_name, line);
+                } else if((return_type != Symbol.SymbolType.IDENTIFIER) || (!this.symbolTables.getFunctionsReturnIdentifierType(function_name, num_parameters).equals(this.symbolTables.getClassName()))){
+                    semanticError("Incompatible return types", function_name, line);
+                }
+                break;
+        }
+    }
+
+    private void handleParameterExpression(String function_name, Node expression, Symbol symbol, int line, int num_parameters){
+        switch(expression.getId()){
+            case JJTNOT:
+                if(symbol.getType() != Symbol.SymbolType.BOOLEAN){
+                    semanticError("Incompatible types: cannot be converted to boolean", function_name, line);
+                }
+                handleNOT(function_name, line, expression, num_parameters);
+                break;
+            case JJTIDENTIFIER: {
+                String name = ((ASTIDENTIFIER) expression).name;
+                if(this.current_function.getParameters().containsKey(name)){
+                    if(symbol.getType() != this.current_function.getParameters().get(name).getType()){
+                        semanticError("Incompatible types: cannot be converted to " + symbol.getTypeString(), function_name, line);
+                    }
+                } else if(this.symbolTables.hasVariable(function_name, name, num_parameters)){
+                    if(symbol.getType() != this.symbolTables.getVariableType(function_name, name, num_parameters)){
+                        semanticError("Incompatible types: cannot be converted to " + symbol.getTypeString(), function_name, line);
+                    }
+                    else {
+                        checkInitialized(function_name, expression, line, num_parameters);
+                    }
+
+                } else {
+                    semanticError("Cannot find symbol", name, line);
+                }
+                break;
+            }
+            case JJTTRUE:
+            case JJTFALSE:
+                if(symbol.getType() != Symbol.SymbolType.BOOLEAN){
+                    semanticError("Incompatible types: cannot be converted to " + symbol.getTypeString(), function_name, line);
+                }
+                break;
+            case JJTINT:
+                if(symbol.getType() != Symbol.SymbolType.INT){
+                    semanticError("Incompatible types: cannot be converted to " + symbol.getTypeString(), function_name, line);
+                }
+                break;
+            case JJTACCESS_ARRAY:
+                if(symbol.getType() != Symbol.SymbolType.INT){
+                    semanticError("Incompatible types: cannot be converted to " + symbol.getTypeString(), function_name, line);
+                }
+                handleINT(function_name, expression.jjtGetChild(1), line, num_parameters);
+                handleIdentifier(function_name, line, expression.jjtGetChild(0), INT_ARRAY_OPERAND, num_parameters);
+                break;
+            case JJTADD:
+            case JJTSUB:
+            case JJTMUL:
+            case JJTDIV:
+                if(symbol.getType() != Symbol.SymbolType.INT){
+                    semanticError("Incompatible types: cannot be converted to " + symbol.getTypeString(), function_name, line);
+                }
+                handleMathOperationsReturnExpression(function_name, line, expression, num_parameters);
+                break;
+            case JJTAND:
+                if(symbol.getType() != Symbol.SymbolType.BOOLEAN){
+                    semanticError("Incompatible types: cannot be converted to " + symbol.getTypeString(), function_name, line);
+                }
+                handleAND(function_name, line, expression, num_parameters);
+                break;
+            case JJTLT:
+                if(symbol.getType() != Symbol.SymbolType.BOOLEAN){
+                    semanticError("Incompatible types: cannot be converted to " + symbol.getTypeString(), function_name, line);
+                }
+                handleLT(function_name, line, expression, num_parameters);
+                break;
+            case JJTLENGTH:
+                if(symbol.getType() != Symbol.SymbolType.INT){
+                    semanticError("Incompatible types: cannot be converted to " + symbol.getTypeString(), function_name, line);
+                }
+                if(expression.jjtGetChild(0).getId() == JJTIDENTIFIER){
+                    handleIdentifier(function_name, line, expression.jjtGetChild(0), LENGTH_OPERAND, num_parameters);
+                }
+                break;
+            case JJTNEW_CLASS:
+                if((symbol.getType() != Symbol.SymbolType.IDENTIFIER) || (!symbol.getIdentifier_name().equals(((ASTCLASS) expression.jjtGetChild(0)).name))){
+                    semanticError("Incompatible types: cannot be converted to " + symbol.getTypeString(), function_name, line);
+                }
+                break;
+            case JJTNEW_INT_ARRAY:
+                if(symbol.getType() != Symbol.SymbolType.INT_ARRAY){
+                    semanticError("Incompatible types: cannot be converted to " + symbol.getTypeString(), function_name, line);
+                }
+                if(expression.jjtGetChild(0).getId() == JJTIDENTIFIER){
+                    handleIdentifier(function_name, line, expression.jjtGetChild(0), INT_OPERAND, num_parameters);
+                } else if(expression.jjtGetChild(0).getId() != JJTINT){
+                    semanticError("Incompatible types: cannot be converted to int", expression.jjtGetChild(0).toString(), line);
+                }
+                break;
+            case JJTCALL_FUNCTION:
+                handleCalledFunction(function_name,expression, symbol.getType(), line, num_parameters);
+                break;
+            case JJTTHIS:
+                if((symbol.getType() != Symbol.SymbolType.IDENTIFIER) || (!symbol.getIdentifier_name().equals(this.symbolTables.getClassName()))){
+                    semanticError("Incompatible types: cannot be converted to " + symbol.getTypeString(), function_name, line);
+                }
+                break;
+        }
+    }
+
+    private void handleINT(String function_name, Node expression, int line, int num_parameters){
+        switch(expression.getId()){
+            case JJTIDENTIFIER:
+                handleIdentifier(function_name, line, expression, INT_OPERAND, num_parameters);
+                break;
+            case JJTADD:
+            case JJTSUB:
+            case JJTMUL:
+            case JJTDIV:
+                handleMathOperationsReturnExpression(function_name, line, expression, num_parameters);
+                break;
+            case JJTACCESS_ARRAY:
+                handleIdentifier(function_name, line, expression.jjtGetChild(0), INT_ARRAY_OPERAND, num_parameters);
+                handleINT(function_name, expression.jjtGetChild(1), line, num_parameters);
+                break;
+            case JJTCALL_FUNCTION:
+                handleCalledFunction(function_name, expression, Symbol.SymbolType.INT, line, num_parameters);
+                break;
+            case JJTLENGTH:
+            case JJTINT:
+                break;
+            default:
+                semanticError("Incompatible types: cannot be converted to int", function_name, line);
+        }
+    }
+
+    private void handleCalledFunction(String function_name, Node node, Symbol.SymbolType type, int line, int num_parameters){
+        String receiver_class = registeredReceiverClass(node.jjtGetChild(0));
+        if(receiver_class != null){
+            checkRegisteredCall(function_name, receiver_class, node, type, line, num_parameters);
+        } else if(node.jjtGetChild(0) instanceof ASTTHIS){
+            String function_call_name = ((ASTFUNCTION) node.jjtGetChild(1)).name;
+            int num_parameters_function_call_name = node.jjtGetChild(2).jjtGetNumChildren();
+            if(!this.symbolTables.getFunctions().containsKey(function_call_name)
+            && !this.symbolTables.itExtends()){
+                semanticError("Function not found", function_call_name, line);
+            } else if(type != null && type != this.symbolTables.getFunctionsReturnType(function_call_name, num_parameters_function_call_name)
+            && !this.symbolTables.itExtends()){
+                semanticError("Incompatible return types for called function", function_name, line);
+            } else if (!this.symbolTables.itExtends()){
+                handleFunctionArguments(function_name, function_call_name, line, node.jjtGetChild(2), num_parameters, num_parameters_function_call_name);
+            } else {
+                handleUncheckedArguments(function_name, node.jjtGetChild(2), line, num_parameters);
+            }
+        } else if(node.jjtGetChild(0) instanceof ASTIDENTIFIER){
+            String name = ((ASTIDENTIFIER) node.jjtGetChild(0)).name;
+            String function_call_name = ((ASTFUNCTION) node.jjtGetChild(1)).name;
+            int num_parameters_function_call_name = node.jjtGetChild(2).jjtGetNumChildren();
+            if(this.symbolTables.hasVariable(function_name, name, num_parameters)
+                    && this.symbolTables.getVariableType(function_name, name, num_parameters) == Symbol.SymbolType.IDENTIFIER
+                    && (this.symbolTables.getVariableIdentifierType(function_name, name, num_parameters).equals(this.symbolTables.getClassName())
+                     || this.symbolTables.getVariableIdentifierType(function_name, name, num_parameters).equals(this.symbolTables.getExtendedClassName()))){
+                if(!this.symbolTables.getFunctions().containsKey(function_call_name)
+                && this.symbolTables.getVariableIdentifierType(function_name, name, num_parameters).equals(this.symbolTables.getClassName())){
+                    semanticError("Function not found", function_call_name, line);
+                } else if(this.symbolTables.getVariableIdentifierType(function_name, name, num_parameters).equals(this.symbolTables.getClassName())
+                && type != null && type != this.symbolTables.getFunction(function_call_name, num_parameters_function_call_name).getReturnType()){
+                    semanticError("Incompatible return types for called function", function_name, line);
+                } else if (this.symbolTables.getVariableIdentifierType(function_name, name, num_parameters).equals(this.symbolTables.getClassName())){
+                    handleFunctionArguments(function_name, function_call_name, line, node.jjtGetChild(2), num_parameters, num_parameters_function_call_name);
+                } else {
+                    handleUncheckedArguments(function_name, node.jjtGetChild(2), line, num_parameters);
+                }
+            } else if(this.symbolTables.hasVariable(function_name, name, num_parameters)){
+                semanticError("Function not found", function_call_name, line);
+            } else {
+                handleUncheckedArguments(function_name, node.jjtGetChild(2), line, num_parameters);
+            }
+        } else {
+            handleUncheckedArguments(function_name, node.jjtGetChild(2), line, num_parameters);
+        }
+    }
+
+    // ARGUMENTS OF A CALL WHOSE PARAMETERS ARE NOT KNOWN (A CLASS OUTSIDE THE PROJECT LIKE io, AN UNKNOWN SUPERCLASS):
+    // THE CALLS IN THEM ARE STILL CHECKED, WITHOUT A TYPE TO MATCH, SO A FUNCTION THAT DOES NOT EXIST IS REPORTED
+    private void handleUncheckedArguments(String function_name, Node arguments, int line, int num_parameters){
+        for(int i = 0; i < arguments.jjtGetNumChildren(); i++)
+            handleUncheckedExpression(function_name, arguments.jjtGetChild(i), line, num_parameters);
+    }
+
+    private void handleUncheckedExpression(String function_name, Node expression, int line, int num_parameters){
+        if(expression.getId() == JJTCALL_FUNCTION){
+            handleCalledFunction(function_name, expression, null, line, num_parameters);
+            return;
+        }
+        for(int i = 0; i < expression.jjtGetNumChildren(); i++)
+            handleUncheckedExpression(function_name, expression.jjtGetChild(i), line, num_parameters);
+    }
+
+    // CLASS OF THE OBJECT A CALL IS MADE ON, IF THE CALL IS CHECKED AGAINST THE REGISTRY: WHEN THE CLASS IS REGISTERED AND IS
+    // ANOTHER CLASS, OR THIS ONE EXTENDING A CLASS (CALLS ON A CLASS OF ITS OWN ARE CHECKED AS WHEN IT IS COMPILED ALONE)
+    // null FOR ANY OTHER CALL
+    private String registeredReceiverClass(Node receiver){
+        if(this.registry == null)
+            return null;
+        String class_name = null;
+        switch(receiver.getId()){
+            case JJTTHIS:
+                class_name = this.symbolTables.getClassName();
+                break;
+            case JJTIDENTIFIER: {
+                int id = ((SimpleNode) receiver).nameId;
+                Symbol symbol = this.current_function.getVariable(id);
+                if(symbol == null)
+                    symbol = this.symbolTables.getGlobalVariable(id);
+                if(symbol != null && symbol.getType() == Symbol.SymbolType.IDENTIFIER)
+                    class_name = symbol.getIdentifier_name();
+                break;
+            }
+            case JJTNEW_CLASS:
+                class_name = ((SimpleNode) receiver.jjtGetChild(0)).name;
+                break;
+        }
+        if(!this.registry.contains(class_name))
+            return null;
+        if(class_name.equals(this.symbolTables.getClassName()) && !this.symbolTables.itExtends())
+            return null;
+        return class_name;
+    }
+
+    // CHECKS A CALL AGAINST THE FUNCTIONS OF A REGISTERED CLASS AND OF ITS REGISTERED SUPERCLASSES
+    // type IS THE TYPE THE VALUE OF THE CALL MUST HAVE, null WHEN THE CALL IS A STATEMENT
+    private void checkRegisteredCall(String function_name, String class_name, Node call, Symbol.SymbolType type, int line, int num_parameters){
+        String function_call_name = ((ASTFUNCTION) call.jjtGetChild(1)).name;
+        Node arguments = call.jjtGetChild(2);
+        FunctionSymbolTable function = this.registry.getFunction(class_name, function_call_name, arguments.jjtGetNumChildren());
+        if(function == null){
+            // THE FUNCTIONS OF A SUPERCLASS OUTSIDE THE REGISTRY ARE NOT KNOWN
+            if(this.registry.isComplete(class_name))
+                semanticError("Function not found", function_call_name, line);
+            else
+                handleUncheckedArguments(function_name, arguments, line, num_parameters);
+        } else if(type != null && type != function.getReturnType()){
+            semanticError("Incompatible return types for called function", function_name, line);
+        } else {
+            int i = 0;
+            for(Symbol parameter : function.getParameters().values())
+                handleParameterExpression(function_name, arguments.jjtGetChild(i++), parameter, line, num_parameters);
+        }
+    }
+
+    private void handleFunctionArguments(String function_name, String function_called_name, int line, Node node, int num_parameters, int num_parameters_function_call_name) {
+        if(this.symbolTables.getFunction(function_called_name, num_parameters_function_call_name) == null){
+            semanticError("Missing parameters", function_called_name, line);
+            return;
+        }
+
+        int i = 0;
+        for (Map.Entry<String, Symbol> entry : this.symbolTables.getFunction(function_called_name, num_parameters_function_call_name).getParameters().entrySet()){
+            handleParameterExpression(function_name, node.jjtGetChild(i), entry.getValue(), line, num_parameters);
+            i++;
+        }
+    }
+
+    private void handleNOT(String function_name, int line, Node node, int num_parameters){
+        handleBooleanOperand(function_name, line, node.jjtGetChild(0), "Bad operand type for unary operator '!'", num_parameters);
+    }
+
+    private void handleLT(String function_name, int line, Node node, int num_parameters){
+        handleIntOperand(function_name, line, node.jjtGetChild(0), "Bad operand types for binary operator '<'", num_parameters);
+        handleIntOperand(function_name, line, node.jjtGetChild(1), "Bad operand types for binary operator '<'", num_parameters);
+    }
+
+    private void handleAND(String function_name, int line, Node node, int num_parameters){
+        handleBooleanOperand(function_name, line, node.jjtGetChild(0), "Bad operand types for binary operator '&&'", num_parameters);
+        handleBooleanOperand(function_name, line, node.jjtGetChild(1), "Bad operand types for binary operator '&&'", num_parameters);
+    }
+
+    // OPERAND OF ! OR &&, problem IS THE ERROR REPORTED WHEN IT IS NOT A BOOLEAN EXPRESSION
+    private void handleBooleanOperand(String function_name, int line, Node operand, String problem, int num_parameters){
+        switch(operand.getId()){
+            case JJTIDENTIFIER:
+                handleIdentifier(function_name, line, operand, BOOLEAN_OPERAND, num_parameters);
+                break;
+            case JJTNOT:
+                handleNOT(function_name, line, operand, num_parameters);
+                break;
+            case JJTLT:
+                handleLT(function_name, line, operand, num_parameters);
+                break;
+            case JJTAND:
+                handleAND(function_name, line, operand, num_parameters);
+                break;
+            case JJTCALL_FUNCTION:
+                handleCalledFunction(function_name, operand, Symbol.SymbolType.BOOLEAN, line, num_parameters);
+                break;
+            case JJTTRUE:
+            case JJTFALSE:
+                break;
+            default:
+                semanticError(problem, function_name, line);
+        }
+    }
+
+    // OPERAND OF < OR OF AN ARITHMETIC OPERATOR, problem IS THE ERROR REPORTED WHEN IT IS NOT AN INT EXPRESSION
+    private void handleIntOperand(String function_name, int line, Node operand, String problem, int num_parameters){
+        switch(operand.getId()){
+            case JJTIDENTIFIER:
+                handleIdentifier(function_name, line, operand, INT_OPERAND, num_parameters);
+                break;
+            case JJTACCESS_ARRAY:
+                handleINT(function_name, operand.jjtGetChild(1), line, num_parameters);
+                handleIdentifier(function_name, line, operand.jjtGetChild(0), INT_ARRAY_OPERAND, num_parameters);
+                break;
+            case JJTCALL_FUNCTION:
+                handleCalledFunction(function_name, operand, Symbol.SymbolType.INT, line, num_parameters);
+                break;
+            case JJTADD:
+            case JJTSUB:
+            case JJTMUL:
+            case JJTDIV:
+                handleMathOperationsReturnExpression(function_name, line, operand, num_parameters);
+                break;
+            case JJTLENGTH:
+                handleIdentifier(function_name, line, operand.jjtGetChild(0), INT_ARRAY_OPERAND, num_parameters);
+                break;
+            case JJTINT:
+                break;
+            default:
+                semanticError(problem, function_name, line);
+        }
+    }
+
+    // THE SET WITH ONLY type, EMPTY IF type IS UNKNOWN
+    private static int typeSet(Symbol.SymbolType type){
+        return type == null ? 0 : type.mask();
+    }
+
+    private static boolean accepts(int types, Symbol.SymbolType type){
+        return type != null && (types & type.mask()) != 0;
+    }
+
+    private void handleIdentifier(String function_name, int line, Node node, int accepted_types, int num_parameters){
+        ASTIDENTIFIER identifier = (ASTIDENTIFIER) node;
+        String variable_name = identifier.name;
+
+        // LOOKUPS BY IDENTIFIER ID: PARAMETERS, THEN LOCAL VARIABLES, THEN GLOBAL VARIABLES
+        Symbol variable = this.current_function.getParameter(identifier.nameId);
+        if(variable != null){
+            if(!accepts(accepted_types, variable.getType())){
+                semanticError("Bad operand type", variable_name, line);
+            }
+            return;
+        }
+
+        variable = this.current_function.getLocalVariable(identifier.nameId);
+        if(variable == null)
+            variable = this.symbolTables.getGlobalVariable(identifier.nameId);
+
+        if(variable != null){
+            if(!accepts(accepted_types, variable.getType())){
+                semanticError("Bad operand type", variable_name, line);
+            }
+            else {
+                checkInitialized(function_name, identifier, line, num_parameters);
+            }
+        } else {
+            semanticError("Cannot find symbol", variable_name, line);
+        }
+    }
+
+    private void handleMathOperationsReturnExpression(String function_name, int line, Node node, int num_parameters){
+        handleIntOperand(function_name, line, node.jjtGetChild(0), "Wrong symbol type", num_parameters);
+        handleIntOperand(function_name, line, node.jjtGetChild(1), "Wrong symbol type", num_parameters);
+    }
+
+    public void printSymbolTables(){
+        printSymbolTables(System.out);
+    }
+
+    public void printSymbolTables(PrintStream out){
+        if(this.symbolTables.getExtendedClassName().equals("")){
+            out.println("> Class name: " + this.symbolTables.getClassName());
+        }else{
+            out.println("> Class name: " + this.symbolTables.getClassName() + "\t> Extends: " + this.symbolTables.getExtendedClassName());
+        }
+
+        out.println("> Global variables:");
+        for (Map.Entry<String, Symbol> entry : this.symbolTables.getGlobal_variables().entrySet()) {
+            out.println("\t>Name: " + entry.getKey() + "\t>Type: " + entry.getValue().getTypeString());
+        }
+
+        if(this.symbolTables.getFunctions().entrySet().size() != 0)
+            out.println("> Functions:");
+
+        for (Map.Entry<String, List<FunctionSymbolTable>> entry : this.symbolTables.getFunctions().entrySet()) {
+            for (int i = 0; i < entry.getValue().size(); i++){
+                out.println("\t> Function name: " + entry.getKey());
+
+                if(entry.getValue().get(i).getParameters().entrySet().size() != 0)
+                    out.println("\t\t> Parameters:");
+
+                for (Map.Entry<String, Symbol> parameter_entry : entry.getValue().get(i).getParameters().entrySet()){
+                    out.println("\t\t\t>Name: " + parameter_entry.getValue().getAttribute() + "\tType: " + parameter_entry.getValue().getTypeString());
+                }
+
+                if(entry.getValue().get(i).getLocalVariables().entrySet().size() != 0)
+                    out.println("\t\t> Local Variables:");
+
+                for (Map.Entry<String, Symbol> variable_entry : entry.getValue().get(i).getLocalVariables().entrySet()){
+                    out.println("\t\t\t>Name: " + variable_entry.getValue().getAttribute() + "\tType: " + variable_entry.getValue().getTypeString());
+                }
+
+                if(!entry.getKey().equals("main")){
+                    out.println("\t\t> Return: " + entry.getValue().get(i).getReturnSymbol().getTypeString());
+                }
+            }
+        }
+    }
+
+    // ONLY GLOBAL VARIABLES ARE RECORDED, THE LOCAL ONES ARE FOLLOWED ALONG EVERY PATH BY DefiniteAssignment
+    private void setInitVariable(String function_name, String variable_name, int num_parameters){
+        if(!this.current_function.getLocalVariables().containsKey(variable_name) && this.symbolTables.getGlobal_variables().containsKey(variable_name))
+            this.initialized_globals.add(variable_name);
+    }
+
+    private void checkInitialized(String function_name, Node identifier, int line, int num_parameters){
+        String variable_name = ((ASTIDENTIFIER) identifier).name;
+        if(this.current_function.getLocalVariables().containsKey(variable_name)){
+            if(!this.assignments.isAssigned(identifier))
+                semanticWarning("Variable might not have been initialized", variable_name, line);
+        } else if(!this.initialized_globals.contains(variable_name)){
+            this.messages.add(new Message(false, line, "Variable might not have been initialized", variable_name, variable_name));
+        }
+    }
+
+    // REPORTS THE ERRORS AND WARNINGS FOUND SO FAR, NUMBERING THE ERRORS AFTER THE ONES ALREADY REPORTED
+    // ERRORS PAST THE ERROR LIMIT OF THE DIAGNOSTICS ARE DROPPED AND NOT NUMBERED
+    public void reportMessages(){
+        for(Message message : this.messages){
+            String description = message.problem + " -> " + message.name;
+            String text = "(line " + message.line + "): " + description;
+            String code = diagnosticCode(message.problem);
+            if(!message.error)
+                this.diagnostics.report(new Diagnostic(Diagnostic.Severity.WARNING, message.line, 0, code, description, "> Semantic Warning " + text));
+            else if(this.diagnostics.report(new Diagnostic(Diagnostic.Severity.ERROR, message.line, 0, code, description, "> " + (number_errors + 1) + "º Semantic Error " + text)))
+                number_errors++;
+        }
+        this.messages.clear();
+    }
+
+    // THE PROBLEM UP TO ANY DETAILS AFTER ':', AS LOWER CASE WORDS JOINED BY '-' ("Incompatible types: ..." -> incompatible-types)
+    private static String diagnosticCode(String problem){
+        int details = problem.indexOf(':');
+        String kind = (details < 0 ? problem : problem.substring(0, details)).toLowerCase();
+        return kind.replaceAll("[^a-z0-9]+", "-").replaceAll("^-|-$", "");
+    }
+
+    private void semanticError(String error, String name, int line_number){
+        this.errors_found++;
+        this.messages.add(new Message(true, line_number, error, name, null));
+    }
+
+    private void semanticWarning(String warning, String name, int line_number){
+        this.messages.add(new Message(false, line_number, warning, name, null));
+    }
+
+    private static class Message{
+        private final boolean error;
+        private final int line;
+        private final String problem;
+        // NAME THE PROBLEM IS ABOUT
+        private final String name;
+        // GLOBAL VARIABLE THE WARNING DEPENDS ON, IF ANY
+        private final String global;
+
+        private Message(boolean error, int line, String problem, String name, String global){
+            this.error = error;
+            this.line = line;
+            this.problem = problem;
+            this.name = name;
+            this.global = global;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package symbol;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Symbol tables of all the classes compiled together, by class name
+// Classes are registered once their declarations are read and the tables are only read after that,
+// so the methods of several classes can be checked and generated at the same time
+// A class that is not registered is looked for as a signature file (<class name>.jms) in the
+// directories of the signature path, in order, and is mapped the first time it is asked for
+public class ClassRegistry {
+
+    private final ConcurrentHashMap<String, ClassSymbolTable> classes;
+    private final List<Path> signaturePath;
+    // Classes looked up in the signature path, empty if there is no signature file for them
+    private final ConcurrentHashMap<String, Optional<ClassSymbolTable>> signatures;
+    // Names of the classes looked up through this registry, null if they are not recorded
+    private final Set<String> used;
+
+    public ClassRegistry() {
+        this(List.of());
+    }
+
+    public ClassRegistry(List<Path> signaturePath) {
+        this.classes = new ConcurrentHashMap<>();
+        this.signaturePath = new ArrayList<>(signaturePath);
+        this.signatures = new ConcurrentHashMap<>();
+        this.used = null;
+    }
+
+    private ClassRegistry(ClassRegistry registry, Set<String> used) {
+        this.classes = registry.classes;
+        this.signaturePath = registry.signaturePath;
+        this.signatures = registry.signatures;
+        this.used = used;
+    }
+
+    // The same registry, adding to used the name of every class looked up through it, found or not,
+    // i.e. the classes whose signatures the compilation of a class depends on
+    public ClassRegistry recording(Set<String> used) {
+        return new ClassRegistry(this, used);
+    }
+
+    // Returns false if a class with the same name is already registered
+    public boolean register(ClassSymbolTable table) {
+        return classes.putIfAbsent(table.getClassName(), table) == null;
+    }
+
+    // A registered class wins over a signature file of the same name
+    public ClassSymbolTable getClass(String className) {
+        if(className == null)
+            return null;
+        if(used != null)
+            used.add(className);
+        ClassSymbolTable table = classes.get(className);
+        if(table != null || signaturePath.isEmpty())
+            return table;
+        return signatures.computeIfAbsent(className, this::loadSignature).orElse(null);
+    }
+
+    public boolean contains(String className) {
+        return getClass(className) != null;
+    }
+
+    // The registered classes, not the ones read from signature files
+    public List<String> getClassNames() {
+        return new ArrayList<>(classes.keySet());
+    }
+
+    // The function of the class or of the closest registered superclass that declares it,
+    // null if there is none (a superclass outside the registry is not checked)
+    public FunctionSymbolTable getFunction(String className, String functionName, int num_parameters) {
+        Set<String> visited = new HashSet<>();
+        for(ClassSymbolTable table = getClass(className); table != null && visited.add(table.getClassName()); table = getClass(table.getExtendedClassName())) {
+            FunctionSymbolTable function = table.getFunction(functionName, num_parameters);
+            if(function != null)
+                return function;
+        }
+        return null;
+    }
+
+    // Whether every superclass of the class is registered, so a function that getFunction
+    // does not find does not exist
+    public boolean isComplete(String className) {
+        Set<String> visited = new HashSet<>();
+        ClassSymbolTable table = getClass(className);
+        while(table != null && visited.add(table.getClassName())) {
+            if(!table.itExtends())
+                return true;
+            table = getClass(table.getExtendedClassName());
+        }
+        return false;
+    }
+
+    private Optional<ClassSymbolTable> loadSignature(String className) {
+        for(Path directory : signaturePath) {
+            Path file = directory.resolve(className + SignatureFile.EXTENSION);
+            if(!Files.isRegularFile(file))
+                continue;
+            try {
+                ClassSymbolTable table = SignatureFile.map(file);
+                if(table != null && table.getClassName().equals(className))
+                    return Optional.of(table);
+            } catch(IOException | BufferUnderflowException exception) {
+                // An unreadable or truncated file is skipped as if it was not there
+            }
+        }
+        return Optional.empty();
+    }
+}
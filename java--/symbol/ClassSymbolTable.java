@@ -12,12 +12,20 @@ public class ClassSymbolTable {
     private LinkedHashMap<String, List<FunctionSymbolTable>> functions;
     // Key is the variable name
     private LinkedHashMap<String, Symbol> global_variables;
+    // Same functions and variables, key is the identifier id of the name
+    private IntMap<List<FunctionSymbolTable>> function_ids;
+    private IntMap<Symbol> global_variable_ids;
+    // Set while the method bodies are analysed, possibly in parallel: the analysers share the table and only read it,
+    // each one only writes the local variables and the return attribute of its own FunctionSymbolTable
+    private volatile boolean read_only = false;
 
     public ClassSymbolTable(String className){
         this.className = className;
         this.extendedClassName = "";
         this.functions = new LinkedHashMap<>();
         this.global_variables = new LinkedHashMap<>();
+        this.function_ids = new IntMap<>();
+        this.global_variable_ids = new IntMap<>();
     }
 
     public ClassSymbolTable(String className, String extendedName){
@@ -25,44 +33,50 @@ public class ClassSymbolTable {
         this.extendedClassName = extendedName;
         this.functions = new LinkedHashMap<>();
         this.global_variables = new LinkedHashMap<>();
+        this.function_ids = new IntMap<>();
+        this.global_variable_ids = new IntMap<>();
     }
 
-    public boolean addFunction(String name, int num_parameters){
+    public boolean addFunction(String name, int id, int num_parameters){
+        checkWritable();
         if(functions.containsKey(name)){
             for (int i = 0; i < functions.get(name).size(); i++) {
                 if(functions.get(name).get(i).getNum_parameters() == num_parameters)
                     return false;
             }
-            functions.get(name).add(new FunctionSymbolTable(num_parameters));
+            functions.get(name).add(new FunctionSymbolTable(className, num_parameters));
             return true;
         } else{
             List<FunctionSymbolTable> list = new ArrayList<>();
-            list.add(new FunctionSymbolTable(num_parameters));
+            list.add(new FunctionSymbolTable(className, num_parameters));
             functions.put(name, list);
+            function_ids.put(id, list);
             return true;
         }
     }
 
-    public boolean addFunctionParameter(String functionName, String atr, Symbol.SymbolType type, int num_parameters){
+    public boolean addFunctionParameter(String functionName, String atr, int id, Symbol.SymbolType type, int num_parameters){
+        checkWritable();
         if(!functions.containsKey(functionName)){
             return false;
         }
         for(int i = 0; i < functions.get(functionName).size(); i++){
             if(functions.get(functionName).get(i).getNum_parameters() == num_parameters){
-                functions.get(functionName).get(i).addParameter(atr, type);
+                functions.get(functionName).get(i).addParameter(atr, id, type);
                 return true;
             }
         }
         return false;
     }
 
-    public boolean addFunctionParameter(String functionName, String atr, Symbol.SymbolType type, String identifier_name, int num_parameters){
+    public boolean addFunctionParameter(String functionName, String atr, int id, Symbol.SymbolType type, String identifier_name, int num_parameters){
+        checkWritable();
         if(!functions.containsKey(functionName)){
             return false;
         }
         for(int i = 0; i < functions.get(functionName).size(); i++){
             if(functions.get(functionName).get(i).getNum_parameters() == num_parameters){
-                functions.get(functionName).get(i).addParameter(atr, type, identifier_name);
+                functions.get(functionName).get(i).addParameter(atr, id, type, identifier_name);
                 return true;
             }
         }
@@ -70,6 +84,7 @@ public class ClassSymbolTable {
     }
 
     public boolean setFunctionReturnType(String functionName, Symbol.SymbolType type, int num_parameters){
+        checkWritable();
         if(!functions.containsKey(functionName)){
             return false;
         }
@@ -83,6 +98,7 @@ public class ClassSymbolTable {
     }
 
     public boolean setFunctionReturnType(String functionName, Symbol.SymbolType type, String identifier_name, int num_parameters){
+        checkWritable();
         if(!functions.containsKey(functionName)){
             return false;
         }
@@ -96,6 +112,7 @@ public class ClassSymbolTable {
     }
 
     public boolean setFunctionReturnAttribute(String functionName, String atr, int num_parameters){
+        checkWritable();
         if(!functions.containsKey(functionName)){
             return false;
         }
@@ -126,24 +143,39 @@ public class ClassSymbolTable {
         return null;
     }
 
-    public boolean addGlobalVariable(String atr, Symbol.SymbolType type){
+    public boolean addGlobalVariable(String atr, int id, Symbol.SymbolType type){
+        checkWritable();
         if(global_variables.containsKey(atr)){
             return false;
         }
         Symbol s = new Symbol(atr, type);
+        s.setField(true);
         global_variables.put(atr, s);
+        global_variable_ids.put(id, s);
         return true;
     }
 
-    public boolean addGlobalVariable(String atr, Symbol.SymbolType type, String indentifier_name){
+    public boolean addGlobalVariable(String atr, int id, Symbol.SymbolType type, String indentifier_name){
+        checkWritable();
         if(global_variables.containsKey(atr)){
             return false;
         }
-        Symbol s = new Symbol(atr, type, indentifier_name == extendedClassName ? className : extendedClassName);
+        Symbol s = new Symbol(atr, type, indentifier_name);
+        s.setField(true);
         global_variables.put(atr, s);
+        global_variable_ids.put(id, s);
         return true;
     }
 
+    public void setReadOnly(boolean read_only) {
+        this.read_only = read_only;
+    }
+
+    private void checkWritable() {
+        if(read_only)
+            throw new IllegalStateException("The symbol table of " + className + " is read only while its methods are analysed");
+    }
+
     public LinkedHashMap<String, List<FunctionSymbolTable>> getFunctions() {
         return functions;
     }
@@ -158,10 +190,25 @@ public class ClassSymbolTable {
         return null;
     }
 
+    public FunctionSymbolTable getFunction(int id, int num_parameters){
+        List<FunctionSymbolTable> list = function_ids.get(id);
+        if(list == null) return null;
+        for(int i = 0; i < list.size(); i++){
+            if(list.get(i).getNum_parameters() == num_parameters){
+                return list.get(i);
+            }
+        }
+        return null;
+    }
+
     public LinkedHashMap<String, Symbol> getGlobal_variables() {
         return global_variables;
     }
 
+    public Symbol getGlobalVariable(int id) {
+        return global_variable_ids.get(id);
+    }
+
     public boolean hasVariable(String functionName, String variableName, int num_parameters){
         for(int i = 0; i < functions.get(functionName).size(); i++){
             if(functions.get(functionName).get(i).getNum_parameters() == num_parameters){
@@ -177,37 +224,13 @@ public class ClassSymbolTable {
         return global_variables.containsKey(variableName);
     }
 
-    public boolean hasVariableBeenInitialized(String functionName, String variableName, int num_parameters){
-        for(int i = 0; i < functions.get(functionName).size(); i++){
-            if(functions.get(functionName).get(i).getNum_parameters() == num_parameters){
-                if(functions.get(functionName).get(i).getLocalVariables().containsKey(variableName)){
-                    return functions.get(functionName).get(i).getLocalVariables().get(variableName).isInit();
-                }
-                break;
-            }
-        }
-
-        return global_variables.get(variableName).isInit();
-    }
-
-    public void setInitVariable(String functionName, String variableName, int num_parameters){
-        for(int i = 0; i < functions.get(functionName).size(); i++){
-            if(functions.get(functionName).get(i).getNum_parameters() == num_parameters){
-                if(functions.get(functionName).get(i).getLocalVariables().containsKey(variableName)){
-                    functions.get(functionName).get(i).getLocalVariables().get(variableName).setInit(true);
-                }
-                else if (global_variables.containsKey(variableName))
-                    global_variables.get(variableName).setInit(true);
-                break;
-            }
-        }
-    }
-
     public String getVariableIdentifierType(String functionName, String variableName, int num_parameters){
         for(int i = 0; i < functions.get(functionName).size(); i++){
             if(functions.get(functionName).get(i).getNum_parameters() == num_parameters){
                 if(functions.get(functionName).get(i).getLocalVariables().containsKey(variableName))
                     return functions.get(functionName).get(i).getLocalVariables().get(variableName).getIdentifier_name();
+                else if(functions.get(functionName).get(i).getParameters().containsKey(variableName))
+                    return functions.get(functionName).get(i).getParameters().get(variableName).getIdentifier_name();
                 else
                     return global_variables.get(variableName).getIdentifier_name();
             }
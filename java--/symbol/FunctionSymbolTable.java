@@ -8,14 +8,23 @@ public class FunctionSymbolTable {
     private LinkedHashMap<String, Symbol> parameters;
     // Key is the variable name
     private LinkedHashMap<String, Symbol> local_variables;
+    // Same symbols, key is the identifier id of the name
+    private IntMap<Symbol> parameter_ids;
+    private IntMap<Symbol> local_variable_ids;
 
     private Symbol returnSymbol;
 
     private int num_parameters;
 
-    public FunctionSymbolTable(int num_parameters) {
+    // Class that declares the function
+    private final String className;
+
+    public FunctionSymbolTable(String className, int num_parameters) {
+        this.className = className;
         this.parameters = new LinkedHashMap<>();
         this.local_variables = new LinkedHashMap<>();
+        this.parameter_ids = new IntMap<>();
+        this.local_variable_ids = new IntMap<>();
         this.returnSymbol = null;
         this.num_parameters = num_parameters;
     }
@@ -28,43 +37,75 @@ public class FunctionSymbolTable {
         return local_variables;
     }
 
+    public Symbol getParameter(int id) {
+        return parameter_ids.get(id);
+    }
+
+    public Symbol getLocalVariable(int id) {
+        return local_variable_ids.get(id);
+    }
+
+    // Parameter or local variable
+    public Symbol getVariable(int id) {
+        Symbol s = parameter_ids.get(id);
+        return s != null ? s : local_variable_ids.get(id);
+    }
+
     public Symbol getReturnSymbol() {
         return returnSymbol;
     }
 
-    public boolean addParameter(String atr, Symbol.SymbolType type){
+    public boolean addParameter(String atr, int id, Symbol.SymbolType type){
         if(parameters.containsKey(atr))
             return false;
         Symbol s = new Symbol(atr, type);
-        s.setInit(true);
-        parameters.put(atr, s);
+        putParameter(atr, id, s);
         return true;
     }
 
-    public boolean addParameter(String atr, Symbol.SymbolType type, String identifier_name){
+    public boolean addParameter(String atr, int id, Symbol.SymbolType type, String identifier_name){
         if(parameters.containsKey(atr))
             return false;
         Symbol s = new Symbol(atr, type, identifier_name);
-        parameters.put(atr, s);
+        putParameter(atr, id, s);
         return true;
     }
 
-    public boolean addLocalVariable(String atr, Symbol.SymbolType type, int local_value){
+    public boolean addLocalVariable(String atr, int id, Symbol.SymbolType type, int local_value){
         if(local_variables.containsKey(atr))
             return false;
         Symbol s = new Symbol(atr, type, local_value);
-        local_variables.put(atr, s);
+        putLocalVariable(atr, id, s);
         return true;
     }
 
-    public boolean addLocalVariable(String atr, Symbol.SymbolType type, String identifier_name, int local_value){
+    public boolean addLocalVariable(String atr, int id, Symbol.SymbolType type, String identifier_name, int local_value){
         if(local_variables.containsKey(atr))
             return false;
         Symbol s = new Symbol(atr, type, identifier_name, local_value);
-        local_variables.put(atr, s);
+        putLocalVariable(atr, id, s);
         return true;
     }
 
+    // Drops the local variables of a method that is already compiled, its signature is all the calls need
+    public void clearLocalVariables() {
+        this.local_variables = new LinkedHashMap<>();
+        this.local_variable_ids = new IntMap<>(0);
+    }
+
+    // Slot 0 is this, parameters come next and then the local variables
+    private void putParameter(String atr, int id, Symbol s){
+        s.setIndex(1 + parameters.size());
+        parameters.put(atr, s);
+        parameter_ids.put(id, s);
+    }
+
+    private void putLocalVariable(String atr, int id, Symbol s){
+        s.setIndex(1 + parameters.size() + local_variables.size());
+        local_variables.put(atr, s);
+        local_variable_ids.put(id, s);
+    }
+
     public boolean setReturnType(Symbol.SymbolType returnType) {
         if(this.returnSymbol != null)
             return false;
@@ -95,4 +136,8 @@ public class FunctionSymbolTable {
     public int getNum_parameters() {
         return num_parameters;
     }
+
+    public String getClassName() {
+        return className;
+    }
 }
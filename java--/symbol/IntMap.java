@@ -0,0 +1,88 @@
+package symbol;
+
+import java.util.Arrays;
+
+// Open addressing map from non-negative int keys (identifier ids) to values
+public class IntMap<V> {
+
+    private int[] keys;
+    private Object[] values;
+    private int size = 0;
+
+    public IntMap() {
+        this(8);
+    }
+
+    public IntMap(int capacity) {
+        int length = 8;
+        while(length < capacity * 2)
+            length <<= 1;
+        this.keys = new int[length];
+        this.values = new Object[length];
+        Arrays.fill(this.keys, -1);
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        if(key < 0)
+            return null;
+        int mask = keys.length - 1;
+        for(int i = hash(key) & mask; keys[i] != -1; i = (i + 1) & mask){
+            if(keys[i] == key)
+                return (V) values[i];
+        }
+        return null;
+    }
+
+    public boolean containsKey(int key) {
+        return get(key) != null;
+    }
+
+    public void put(int key, V value) {
+        if(key < 0)
+            return;
+        if((size + 1) * 2 > keys.length)
+            resize();
+        int mask = keys.length - 1;
+        int i = hash(key) & mask;
+        while(keys[i] != -1 && keys[i] != key)
+            i = (i + 1) & mask;
+        if(keys[i] == -1)
+            size++;
+        keys[i] = key;
+        values[i] = value;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Empties the map, keeping its capacity
+    public void clear() {
+        Arrays.fill(keys, -1);
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    private void resize() {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new int[oldKeys.length * 2];
+        values = new Object[oldKeys.length * 2];
+        Arrays.fill(keys, -1);
+        int mask = keys.length - 1;
+        for(int i = 0; i < oldKeys.length; i++){
+            if(oldKeys[i] == -1)
+                continue;
+            int j = hash(oldKeys[i]) & mask;
+            while(keys[j] != -1)
+                j = (j + 1) & mask;
+            keys[j] = oldKeys[i];
+            values[j] = oldValues[i];
+        }
+    }
+
+    private static int hash(int key) {
+        return key * 0x9E3779B9 >>> 16 ^ key;
+    }
+}
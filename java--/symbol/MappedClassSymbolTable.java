@@ -0,0 +1,147 @@
+package symbol;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+
+// Symbol table of a class read from its memory mapped signature file (see SignatureFile)
+// A method is decoded and added to the table the first time it is looked up, the fields the first
+// time they are asked for. The names of the parameters are not in the file, they are p0, p1, ...
+// The lookups are synchronized, the classes compiled together share the table
+public class MappedClassSymbolTable extends ClassSymbolTable {
+
+    private final ByteBuffer buffer;
+    private final int num_fields;
+    private final int num_methods;
+    private final int fields_offset;
+    // Found by skipping the fields the first time a method is looked up
+    private int methods_offset = -1;
+
+    private boolean fields_loaded = false;
+    private boolean methods_loaded = false;
+    // Methods looked up and not in the file, "name/number of parameters"
+    private final Set<String> missing = new HashSet<>();
+
+    // buffer is just after the class and superclass names
+    MappedClassSymbolTable(String className, String extendedName, ByteBuffer buffer) {
+        super(className, extendedName);
+        this.num_fields = buffer.getInt();
+        this.num_methods = buffer.getInt();
+        this.fields_offset = buffer.position();
+        this.buffer = buffer;
+    }
+
+    @Override
+    public synchronized FunctionSymbolTable getFunction(String functionName, int num_parameters) {
+        FunctionSymbolTable function = super.getFunction(functionName, num_parameters);
+        if(function != null || methods_loaded || missing.contains(functionName + "/" + num_parameters))
+            return function;
+
+        byte[] name = functionName.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer methods = methods();
+        for(int i = 0; i < num_methods; i++) {
+            int start = methods.position();
+            boolean same_name = sameString(methods, name);
+            if(same_name && (methods.getShort() & 0xFFFF) == num_parameters) {
+                methods.position(start);
+                loadMethod(methods);
+                return super.getFunction(functionName, num_parameters);
+            }
+            methods.position(start);
+            SignatureFile.skipString(methods);
+            methods.getShort();
+            SignatureFile.skipString(methods);
+        }
+        missing.add(functionName + "/" + num_parameters);
+        return null;
+    }
+
+    @Override
+    public synchronized LinkedHashMap<String, List<FunctionSymbolTable>> getFunctions() {
+        if(!methods_loaded) {
+            ByteBuffer methods = methods();
+            for(int i = 0; i < num_methods; i++) {
+                int start = methods.position();
+                String name = SignatureFile.readString(methods);
+                int num_parameters = methods.getShort() & 0xFFFF;
+                if(super.getFunction(name, num_parameters) == null) {
+                    methods.position(start);
+                    loadMethod(methods);
+                } else {
+                    SignatureFile.skipString(methods);
+                }
+            }
+            methods_loaded = true;
+        }
+        return super.getFunctions();
+    }
+
+    @Override
+    public synchronized LinkedHashMap<String, Symbol> getGlobal_variables() {
+        if(!fields_loaded) {
+            ByteBuffer fields = buffer.duplicate();
+            fields.position(fields_offset);
+            for(int i = 0; i < num_fields; i++) {
+                String name = SignatureFile.readString(fields);
+                Symbol type = SignatureFile.parseDescriptor(SignatureFile.readString(fields)).get(0);
+                if(type.getType() == Symbol.SymbolType.IDENTIFIER)
+                    addGlobalVariable(name, -1, type.getType(), type.getIdentifier_name());
+                else
+                    addGlobalVariable(name, -1, type.getType());
+            }
+            fields_loaded = true;
+        }
+        return super.getGlobal_variables();
+    }
+
+    // A view of the buffer at the first method
+    private ByteBuffer methods() {
+        ByteBuffer methods = buffer.duplicate();
+        if(methods_offset < 0) {
+            methods.position(fields_offset);
+            for(int i = 0; i < 2 * num_fields; i++)
+                SignatureFile.skipString(methods);
+            methods_offset = methods.position();
+        }
+        methods.position(methods_offset);
+        return methods;
+    }
+
+    // Reads the method at the position of the buffer and adds it to the table
+    private void loadMethod(ByteBuffer methods) {
+        String name = SignatureFile.readString(methods);
+        int num_parameters = methods.getShort() & 0xFFFF;
+        List<Symbol> types = SignatureFile.parseDescriptor(SignatureFile.readString(methods));
+
+        addFunction(name, -1, num_parameters);
+        for(int i = 0; i < num_parameters; i++) {
+            Symbol type = types.get(i);
+            if(type.getType() == Symbol.SymbolType.IDENTIFIER)
+                addFunctionParameter(name, "p" + i, -1, type.getType(), type.getIdentifier_name(), num_parameters);
+            else
+                addFunctionParameter(name, "p" + i, -1, type.getType(), num_parameters);
+        }
+        Symbol returnType = types.get(num_parameters);
+        if(returnType.getType() == Symbol.SymbolType.IDENTIFIER)
+            setFunctionReturnType(name, returnType.getType(), returnType.getIdentifier_name(), num_parameters);
+        else
+            setFunctionReturnType(name, returnType.getType(), num_parameters);
+    }
+
+    // Whether the string at the position of the buffer has these bytes, the buffer is left after it
+    private static boolean sameString(ByteBuffer buffer, byte[] bytes) {
+        int length = buffer.getShort() & 0xFFFF;
+        int start = buffer.position();
+        buffer.position(start + length);
+        if(length != bytes.length)
+            return false;
+        for(int i = 0; i < length; i++) {
+            if(buffer.get(start + i) != bytes[i])
+                return false;
+        }
+        return true;
+    }
+}
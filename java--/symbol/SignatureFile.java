@@ -0,0 +1,137 @@
+package symbol;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Binary signature of a compiled class (<class name>.jms next to its .j file), what the classes
+// that use it need to know without parsing its source:
+//
+//   int    magic "JMMS"
+//   short  version
+//   string class name
+//   string superclass name, "" if the class does not extend another
+//   int    number of fields
+//   int    number of methods
+//   fields:  string name, string type descriptor
+//   methods: string name, short number of parameters, string method descriptor, e.g. (I[ILFoo;)Z
+//
+// A string is a short with its length in bytes followed by the bytes in UTF-8.
+// main is static and is not written.
+public class SignatureFile {
+
+    public static final String EXTENSION = ".jms";
+
+    static final int MAGIC = 0x4A4D4D53;
+    static final short VERSION = 1;
+
+    public static void write(ClassSymbolTable table, Path path) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        List<Map.Entry<String, FunctionSymbolTable>> methods = new ArrayList<>();
+        for(Map.Entry<String, List<FunctionSymbolTable>> entry : table.getFunctions().entrySet()) {
+            for(FunctionSymbolTable function : entry.getValue()) {
+                if(function.getReturnSymbol() != null)
+                    methods.add(Map.entry(entry.getKey(), function));
+            }
+        }
+
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        writeString(out, table.getClassName());
+        writeString(out, table.getExtendedClassName());
+        out.writeInt(table.getGlobal_variables().size());
+        out.writeInt(methods.size());
+        for(Symbol field : table.getGlobal_variables().values()) {
+            writeString(out, field.getAttribute());
+            writeString(out, field.getTypeDescriptor());
+        }
+        for(Map.Entry<String, FunctionSymbolTable> method : methods) {
+            writeString(out, method.getKey());
+            out.writeShort(method.getValue().getNum_parameters());
+            writeString(out, methodDescriptor(method.getValue()));
+        }
+        out.flush();
+        Files.write(path, bytes.toByteArray());
+    }
+
+    // Maps the signature file, only its header is read here: the fields and methods are decoded
+    // the first time they are looked up. null if the file is not a signature file
+    public static ClassSymbolTable map(Path path) throws IOException {
+        ByteBuffer buffer;
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if(buffer.remaining() < 6 || buffer.getInt() != MAGIC || buffer.getShort() != VERSION)
+            return null;
+        return new MappedClassSymbolTable(readString(buffer), readString(buffer), buffer);
+    }
+
+    public static String methodDescriptor(FunctionSymbolTable function) {
+        StringBuilder descriptor = new StringBuilder("(");
+        for(Symbol parameter : function.getParameters().values())
+            descriptor.append(parameter.getTypeDescriptor());
+        return descriptor.append(')').append(function.getReturnSymbol().getTypeDescriptor()).toString();
+    }
+
+    // Types of a field descriptor or of the parameters and return of a method descriptor, in order
+    static List<Symbol> parseDescriptor(String descriptor) {
+        List<Symbol> types = new ArrayList<>();
+        int i = 0;
+        while(i < descriptor.length()) {
+            char c = descriptor.charAt(i);
+            if(c == '(' || c == ')') {
+                i++;
+            } else if(c == 'I') {
+                types.add(new Symbol(Symbol.SymbolType.INT));
+                i++;
+            } else if(c == 'Z') {
+                types.add(new Symbol(Symbol.SymbolType.BOOLEAN));
+                i++;
+            } else if(descriptor.startsWith("[I", i)) {
+                types.add(new Symbol(Symbol.SymbolType.INT_ARRAY));
+                i += 2;
+            } else if(descriptor.startsWith("[Ljava/lang/String;", i)) {
+                types.add(new Symbol(Symbol.SymbolType.STRING_ARRAY));
+                i += "[Ljava/lang/String;".length();
+            } else if(c == 'L') {
+                int end = descriptor.indexOf(';', i);
+                if(end < 0)
+                    throw new IllegalArgumentException("Bad descriptor " + descriptor);
+                types.add(new Symbol(null, Symbol.SymbolType.IDENTIFIER, descriptor.substring(i + 1, end)));
+                i = end + 1;
+            } else {
+                throw new IllegalArgumentException("Bad descriptor " + descriptor);
+            }
+        }
+        return types;
+    }
+
+    static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Moves past a string without decoding it
+    static void skipString(ByteBuffer buffer) {
+        int length = buffer.getShort() & 0xFFFF;
+        buffer.position(buffer.position() + length);
+    }
+
+    private static void writeString(DataOutputStream out, String string) throws IOException {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+}
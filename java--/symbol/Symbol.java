@@ -3,15 +3,25 @@ package symbol;
 public class Symbol {
 
     public enum SymbolType {
-        INT, BOOLEAN, INT_ARRAY, STRING_ARRAY, IDENTIFIER
+        INT, BOOLEAN, INT_ARRAY, STRING_ARRAY, IDENTIFIER;
+
+        // Bit of the type in a set of types held in an int
+        public int mask() {
+            return 1 << ordinal();
+        }
     }
 
     private String attribute = null;
     private SymbolType type;
-    private boolean init = false;
 
     private int local_value;
 
+    // Slot of a parameter or local variable in its method
+    private int index;
+
+    // Global variable, read and written with getfield and putfield
+    private boolean field = false;
+
     // If type is IDENTIFIER
     private String identifier_name;
 
@@ -51,10 +61,6 @@ public class Symbol {
         return type;
     }
 
-    public void setInit(boolean init) {
-        this.init = init;
-    }
-
     public String getIdentifier_name() {
         return identifier_name;
     }
@@ -63,10 +69,6 @@ public class Symbol {
         this.identifier_name = identifier_name;
     }
 
-    public boolean isInit() {
-        return init;
-    }
-
     public void setAttribute(String attribute) {
         this.attribute = attribute;
     }
@@ -96,14 +98,35 @@ public class Symbol {
             case INT_ARRAY:
                 return "[I";
             case STRING_ARRAY:
-                return "[Ljava/lang/String";
+                return "[Ljava/lang/String;";
             case IDENTIFIER:
-                return getIdentifier_name();
+                return "L" + getIdentifier_name() + ";";
             default:
                 return "V";
         }
     }
 
+    // Int and boolean values are both ints in the JVM
+    public boolean isIntValue(){
+        return type == SymbolType.INT || type == SymbolType.BOOLEAN;
+    }
+
+    public boolean isField() {
+        return field;
+    }
+
+    public void setField(boolean field) {
+        this.field = field;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
     public int getLocalValue(){
         
         return local_value;
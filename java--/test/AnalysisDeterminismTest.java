@@ -0,0 +1,97 @@
+import diagnostics.Diagnostic;
+import diagnostics.Diagnostics;
+import parser.LeanTokenManager;
+import parser.ParseException;
+import parser.Parser;
+import parser.SimpleNode;
+import parser.SourceCharStream;
+import semantic.SemanticAnalyzer;
+
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Checks that the methods of a class analysed in parallel give the diagnostics of the serial analysis,
+ * in the same order: errors and warnings of every method, and the warnings on global variables, which
+ * depend on the methods before them assigning the variable
+ *
+ * An error limit makes the analysis serial, without one a class with 8 or more methods is analysed in
+ * parallel on the common pool, which is given 4 threads here even on a single processor
+ *
+ * make test, or: java -cp bin:jasmin/jasmin.jar AnalysisDeterminismTest
+ */
+public class AnalysisDeterminismTest{
+
+	private static final int METHODS = 24;
+	private static final int RUNS = 20;
+
+	// Any error limit the source does not reach
+	private static final int SERIAL_LIMIT = 1000000;
+
+	private static int failures = 0;
+
+	public static void main(String[] args) throws ParseException{
+
+		System.setProperty("java.util.concurrent.ForkJoinPool.common.parallelism", "4");
+
+		String source = source();
+		List<String> serial = analyze(source, new Diagnostics(null, SERIAL_LIMIT));
+		if(serial.size() < METHODS * 4){
+			failures++;
+			System.out.println("FAILED: only " + serial.size() + " diagnostics in the serial analysis:\n" + String.join("\n", serial));
+		}
+
+		for(int run = 0; run < RUNS; run++){
+			List<String> parallel = analyze(source, new Diagnostics());
+			if(!parallel.equals(serial)){
+				failures++;
+				System.out.println("FAILED: run " + run + ": diagnostics\n" + String.join("\n", parallel) + "\ninstead of\n" + String.join("\n", serial));
+				break;
+			}
+		}
+		if(failures == 0)
+			System.out.println("ok: " + serial.size() + " diagnostics of " + METHODS + " methods, same in " + RUNS + " parallel runs");
+
+		System.out.println(failures == 0 ? "Analysis: all checks passed" : "Analysis: " + failures + " checks failed");
+		if(failures > 0)
+			System.exit(1);
+	}
+
+	private static List<String> analyze(String source, Diagnostics diagnostics) throws ParseException{
+
+		Parser parser = new Parser(new LeanTokenManager(new SourceCharStream(CharBuffer.wrap(source))));
+		parser.setDiagnostics(diagnostics);
+		SimpleNode root = parser.Program();
+		new SemanticAnalyzer(root, diagnostics);
+
+		List<String> texts = new ArrayList<>();
+		for(Diagnostic diagnostic : diagnostics.getDiagnostics())
+			texts.add(diagnostic.getText());
+		return texts;
+	}
+
+	/*
+	 * Every method has errors and warnings of its own, every fourth one assigns a global variable
+	 * that the methods after it read, so their warnings on it depend on the methods before them
+	 */
+	private static String source(){
+
+		StringBuilder source = new StringBuilder("class Analysed {\n    int g0;\n    int g1;\n    int g2;\n");
+		for(int i = 0; i < METHODS; i++){
+			source.append("    public boolean m").append(i).append("(int a) {\n");
+			source.append("        int b;\n        int c;\n        boolean d;\n");
+			source.append("        if (a < ").append(i).append(") { b = a; } else { }\n");
+			source.append("        c = b + 1;\n");
+			if(i % 4 == 0)
+				source.append("        g").append(i % 3).append(" = a;\n");
+			source.append("        c = g").append((i + 1) % 3).append(";\n");
+			source.append("        d = a;\n");
+			source.append("        c = this.missing").append(i).append("(a);\n");
+			source.append("        c = unknown").append(i).append(";\n");
+			source.append("        return c;\n    }\n");
+		}
+		source.append("    public static void main(String[] args) {\n    }\n}\n");
+		return source.toString();
+	}
+}
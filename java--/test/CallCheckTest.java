@@ -0,0 +1,104 @@
+import compiler.CompilationResult;
+import compiler.JmmCompiler;
+import compiler.ProjectCompiler;
+import diagnostics.Diagnostic;
+import diagnostics.Diagnostics;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+/*
+ * Checks that a call of a function that does not exist is a semantic error wherever the call is, in
+ * particular as an argument of a call on a class outside the project (io.println(c.get())), which is
+ * not checked against parameters; the generator used to fail on it with an internal error
+ *
+ * make test, or: java -cp bin:jasmin/jasmin.jar CallCheckTest
+ */
+public class CallCheckTest{
+
+	private static final String COUNTER =
+		"class Counter {\n" +
+		"    int n;\n" +
+		"    public int got() { return n; }\n" +
+		"    public int inc(int k) { n = n + k; return n; }\n" +
+		"    public static void main(String[] args) { }\n" +
+		"}\n";
+
+	private static final String SUB =
+		"class Sub extends Counter {\n" +
+		"    public int twice() { return 2; }\n" +
+		"    public static void main(String[] args) { }\n" +
+		"}\n";
+
+	private static final String MAIN =
+		"class Main {\n" +
+		"    public static void main(String[] args) {\n" +
+		"        Counter c;\n" +
+		"        Sub s;\n" +
+		"        c = new Counter();\n" +
+		"        s = new Sub();\n" +
+		"        io.println(c.got());\n" +
+		"        io.println(c.get());\n" +
+		"        io.println(s.get());\n" +
+		"        io.println(c.inc(c.get()) + 1);\n" +
+		"        io.println(c.got() + s.nope());\n" +
+		"    }\n" +
+		"}\n";
+
+	private static final String ALONE =
+		"class Alone {\n" +
+		"    public static void main(String[] args) {\n" +
+		"        Alone a;\n" +
+		"        a = new Alone();\n" +
+		"        io.println(a.nope());\n" +
+		"    }\n" +
+		"}\n";
+
+	private static int failures = 0;
+
+	public static void main(String[] args) throws IOException{
+
+		Path directory = Files.createTempDirectory("jmm-calls");
+		Path counter = write(directory, "Counter.jmm", COUNTER);
+		Path sub = write(directory, "Sub.jmm", SUB);
+		Path main = write(directory, "Main.jmm", MAIN);
+		Path alone = write(directory, "Alone.jmm", ALONE);
+
+		List<CompilationResult> results = new ProjectCompiler(directory.resolve("out"), false, Diagnostics.NO_LIMIT).compile(List.of(counter, sub, main));
+		expectErrors(results.get(0), "Counter");
+		expectErrors(results.get(1), "Sub");
+		expectErrors(results.get(2), "Main", 8, 9, 10, 11);
+
+		CompilationResult result = JmmCompiler.compileFile(alone, directory.resolve("Alone.j"), new Diagnostics(null));
+		expectErrors(result, "Alone compiled alone", 5);
+
+		System.out.println(failures == 0 ? "Calls: all checks passed" : "Calls: " + failures + " checks failed");
+		if(failures > 0)
+			System.exit(1);
+	}
+
+	/*
+	 * The class must have a "Function not found" error on each of these lines and no other error
+	 */
+	private static void expectErrors(CompilationResult result, String description, int... lines){
+
+		StringBuilder errors = new StringBuilder();
+		int[] found = result.getDiagnosticList().stream().filter(diagnostic -> diagnostic.getSeverity() == Diagnostic.Severity.ERROR).mapToInt(diagnostic -> {
+			errors.append(diagnostic.getText()).append('\n');
+			return diagnostic.getCode().equals("function-not-found") ? diagnostic.getLine() : -1;
+		}).toArray();
+		if(!Arrays.equals(found, lines)){
+			failures++;
+			System.out.println("FAILED: " + description + ": errors\n" + errors + "instead of function-not-found on lines " + Arrays.toString(lines));
+		}
+		else
+			System.out.println("ok: " + description);
+	}
+
+	private static Path write(Path directory, String name, String text) throws IOException{
+		return Files.writeString(directory.resolve(name), text);
+	}
+}
@@ -0,0 +1,129 @@
+import compiler.EditSession;
+import diagnostics.Diagnostic;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/*
+ * Checks that the edits an EditSession handles by parsing one method again give the diagnostics and the
+ * code of compiling the edited text from scratch, in particular the lines of the diagnostics that come
+ * after an edit that adds or removes lines
+ *
+ * make test, or: java -cp bin:jasmin/jasmin.jar EditSessionTest
+ */
+public class EditSessionTest{
+
+	private static final String SOURCE =
+		"class Edited {\n" +
+		"    int field;\n" +
+		"    public int first(int a) {\n" +
+		"        int b;\n" +
+		"        b = a + 1;\n" +
+		"        return b;\n" +
+		"    }\n" +
+		"    public int second(int a) {\n" +
+		"        int b;\n" +
+		"        b = true;\n" +
+		"        return b;\n" +
+		"    }\n" +
+		"    public boolean third(int a) {\n" +
+		"        boolean c;\n" +
+		"        c = a;\n" +
+		"        return c;\n" +
+		"    }\n" +
+		"    public static void main(String[] args) {\n" +
+		"    }\n" +
+		"}\n";
+
+	private static int failures = 0;
+
+	public static void main(String[] args){
+
+		EditSession session = new EditSession(SOURCE);
+		check(session, "initial", false);
+		expectLines(session, "initial", 10, 15);
+
+		edit(session, "b = a + 1;", "b = a\n\n        + 1;", "two lines added to the first method");
+		expectLines(session, "two lines added", 12, 17);
+
+		edit(session, "b = a\n\n        + 1;", "b = a + 1;", "two lines removed from the first method");
+		expectLines(session, "two lines removed", 10, 15);
+
+		edit(session, "b = a + 1;", "b = a +\r\n 1;", "a line added with \\r\\n");
+		expectLines(session, "\\r\\n line added", 11, 16);
+
+		edit(session, "b = true;", "b =\n\n\n true;", "lines added to a method with an error");
+		expectLines(session, "lines added to the error", 11, 19);
+
+		edit(session, "c = a;", "c\n = a;", "a line added to the last method with an error");
+		expectLines(session, "line added to the last method", 11, 19);
+
+		edit(session, "b =\n\n\n true;", "b = 2;", "error fixed and lines removed");
+		expectLines(session, "error fixed", 16);
+
+		/*
+		 * The second first is reported with the declarations, on a line of the edited method
+		 */
+		EditSession duplicate = new EditSession(SOURCE.replace("second(int a)", "first(int a)"));
+		check(duplicate, "duplicate method", false);
+		expectLines(duplicate, "duplicate method", 8, 10, 15);
+		edit(duplicate, "b = true;", "b = true;\n", "a line added to a method with an error of the declarations");
+		expectLines(duplicate, "line added to the duplicate method", 8, 10, 16);
+
+		System.out.println(failures == 0 ? "EditSession: all checks passed" : "EditSession: " + failures + " checks failed");
+		if(failures > 0)
+			System.exit(1);
+	}
+
+	/*
+	 * Replaces the first occurrence of from with to and checks the session
+	 */
+	private static void edit(EditSession session, String from, String to, String description){
+
+		int offset = session.getText().indexOf(from);
+		if(offset < 0)
+			throw new IllegalStateException("No " + from + " in the text for " + description);
+		session.edit(offset, from.length(), to);
+		check(session, description, true);
+	}
+
+	/*
+	 * The diagnostics and the code must be those of a session that compiled the same text from scratch
+	 */
+	private static void check(EditSession session, String description, boolean edited){
+
+		EditSession fresh = new EditSession(session.getText());
+		if(!texts(session.getDiagnostics()).equals(texts(fresh.getDiagnostics())))
+			fail(description, "diagnostics\n" + texts(session.getDiagnostics()) + "instead of\n" + texts(fresh.getDiagnostics()));
+		else if(!Objects.equals(session.getCode(), fresh.getCode()))
+			fail(description, "code differs from a compilation from scratch");
+		else
+			System.out.println("ok: " + description + (edited && session.wasIncremental() ? " (method parsed again)" : ""));
+	}
+
+	/*
+	 * The errors must be on these lines, in this order
+	 */
+	private static void expectLines(EditSession session, String description, int... lines){
+
+		List<Diagnostic> diagnostics = session.getDiagnostics();
+		int[] errorLines = diagnostics.stream().filter(diagnostic -> diagnostic.getSeverity() == Diagnostic.Severity.ERROR).mapToInt(Diagnostic::getLine).toArray();
+		if(!Arrays.equals(errorLines, lines))
+			fail(description, "errors on lines " + Arrays.toString(errorLines) + " instead of " + Arrays.toString(lines));
+	}
+
+	private static String texts(List<Diagnostic> diagnostics){
+
+		StringBuilder texts = new StringBuilder();
+		for(Diagnostic diagnostic : diagnostics)
+			texts.append(diagnostic.getText()).append('\n');
+		return texts.toString();
+	}
+
+	private static void fail(String description, String problem){
+
+		failures++;
+		System.out.println("FAILED: " + description + ": " + problem);
+	}
+}